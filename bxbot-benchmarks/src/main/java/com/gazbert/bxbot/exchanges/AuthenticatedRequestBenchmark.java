@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
+import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
+import com.gazbert.bxbot.trading.api.TradingApiException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the Exchange Adapters building and signing authenticated requests.
+ *
+ * <p>Cancelling an order goes through the adapter's sendAuthenticatedRequestToExchange method:
+ * the nonce, request params, HMAC signature and headers are all created for real. The recorded
+ * cancel response is tiny, so the time is mostly spent building and signing the request.
+ *
+ * @author gazbert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+// GSON reflects into HashMap to decode the Kraken asset pairs
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.util=ALL-UNNAMED")
+public class AuthenticatedRequestBenchmark {
+
+  /** The exchange whose recorded responses are replayed. */
+  @Param({"KRAKEN", "BITSTAMP", "BITFINEX", "GEMINI"})
+  public String exchange;
+
+  private RecordedExchange recordedExchange;
+  private ExchangeAdapter exchangeAdapter;
+
+  /** Creates an adapter that replays the recorded responses for the exchange. */
+  @Setup
+  public void setup() {
+    recordedExchange = RecordedExchange.valueOf(exchange);
+    exchangeAdapter = recordedExchange.createAdapter();
+  }
+
+  /**
+   * Signs and sends a cancel order request.
+   *
+   * @return true if the recorded response says the order was cancelled.
+   * @throws TradingApiException if the recorded response cannot be decoded.
+   * @throws ExchangeNetworkException never - there is no network.
+   */
+  @Benchmark
+  public boolean cancelOrder() throws TradingApiException, ExchangeNetworkException {
+    return exchangeAdapter.cancelOrder(
+        recordedExchange.getOrderId(), recordedExchange.getMarketId());
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
+import com.gazbert.bxbot.trading.api.BalanceInfo;
+import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.TradingApiException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the Exchange Adapters decoding the recorded exchange responses into Trading API
+ * objects.
+ *
+ * <p>Each benchmark makes a Trading API call on the adapter, which replays the recorded response
+ * through the same HTTP response handling, GSON decoding and adapting code that runs in
+ * production. Only the network is left out.
+ *
+ * <p>The balance and open orders calls are authenticated, so they include signing the request:
+ * see {@link AuthenticatedRequestBenchmark} for what that costs on its own.
+ *
+ * @author gazbert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+// GSON reflects into HashMap to decode the Kraken asset pairs
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.util=ALL-UNNAMED")
+public class ExchangeResponseDecodingBenchmark {
+
+  /** The exchange whose recorded responses are replayed. */
+  @Param({"KRAKEN", "BITSTAMP", "BITFINEX", "GEMINI"})
+  public String exchange;
+
+  private RecordedExchange recordedExchange;
+  private ExchangeAdapter exchangeAdapter;
+
+  /** Creates an adapter that replays the recorded responses for the exchange. */
+  @Setup
+  public void setup() {
+    recordedExchange = RecordedExchange.valueOf(exchange);
+    exchangeAdapter = recordedExchange.createAdapter();
+  }
+
+  /**
+   * Decodes the order book.
+   *
+   * @return the order book.
+   * @throws TradingApiException if the recorded response cannot be decoded.
+   * @throws ExchangeNetworkException never - there is no network.
+   */
+  @Benchmark
+  public MarketOrderBook getMarketOrders() throws TradingApiException, ExchangeNetworkException {
+    return exchangeAdapter.getMarketOrders(recordedExchange.getMarketId());
+  }
+
+  /**
+   * Decodes the ticker.
+   *
+   * @return the latest market price.
+   * @throws TradingApiException if the recorded response cannot be decoded.
+   * @throws ExchangeNetworkException never - there is no network.
+   */
+  @Benchmark
+  public BigDecimal getLatestMarketPrice() throws TradingApiException, ExchangeNetworkException {
+    return exchangeAdapter.getLatestMarketPrice(recordedExchange.getMarketId());
+  }
+
+  /**
+   * Signs the request and decodes the balances.
+   *
+   * @return the balance info.
+   * @throws TradingApiException if the recorded response cannot be decoded.
+   * @throws ExchangeNetworkException never - there is no network.
+   */
+  @Benchmark
+  public BalanceInfo getBalanceInfo() throws TradingApiException, ExchangeNetworkException {
+    return exchangeAdapter.getBalanceInfo();
+  }
+
+  /**
+   * Signs the request and decodes the open orders.
+   *
+   * @return the open orders.
+   * @throws TradingApiException if the recorded response cannot be decoded.
+   * @throws ExchangeNetworkException never - there is no network.
+   */
+  @Benchmark
+  public List<OpenOrder> getYourOpenOrders() throws TradingApiException, ExchangeNetworkException {
+    return exchangeAdapter.getYourOpenOrders(recordedExchange.getMarketId());
+  }
+}
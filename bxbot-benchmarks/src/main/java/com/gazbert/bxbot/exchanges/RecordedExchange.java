@@ -0,0 +1,233 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import com.gazbert.bxbot.exchange.api.AuthenticationConfig;
+import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
+import com.gazbert.bxbot.exchange.api.ExchangeConfig;
+import com.gazbert.bxbot.exchange.api.NetworkConfig;
+import com.gazbert.bxbot.exchange.api.OtherConfig;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The exchanges we have recorded API responses for, and how to wire up their adapters to replay
+ * them.
+ *
+ * <p>The recorded responses are the ones the adapter unit tests use.
+ *
+ * @author gazbert
+ */
+enum RecordedExchange {
+
+  /** Kraken. */
+  KRAKEN(
+      KrakenExchangeAdapter::new,
+      "kraken",
+      "XBTUSD",
+      "OLD2Z4-L4C7H-MKH5BW",
+      Map.of(
+          "/AssetPairs", "AssetPairs.json",
+          "/Depth", "Depth.json",
+          "/Ticker", "Ticker.json",
+          "/Balance", "Balance.json",
+          "/OpenOrders", "OpenOrders.json",
+          "/CancelOrder", "CancelOrder.json")),
+
+  /** Bitstamp. */
+  BITSTAMP(
+      BitstampExchangeAdapter::new,
+      "bitstamp",
+      "btcusd",
+      "80894263",
+      Map.of(
+          "/order_book/", "order_book.json",
+          "/ticker/", "ticker.json",
+          "/balance", "balance.json",
+          "/open_orders/", "open_orders.json",
+          "/cancel_order", "cancel_order.json")),
+
+  /** Bitfinex. */
+  BITFINEX(
+      BitfinexExchangeAdapter::new,
+      "bitfinex",
+      "btcusd",
+      "426152651",
+      Map.of(
+          "/book/", "book.json",
+          "/pubticker/", "pubticker.json",
+          "/balances", "balances.json",
+          "/orders", "orders.json",
+          "/order/cancel", "order_cancel.json")),
+
+  /** Gemini. */
+  GEMINI(
+      GeminiExchangeAdapter::new,
+      "gemini",
+      "btcusd",
+      "426152651",
+      Map.of(
+          "/book/", "book.json",
+          "/pubticker/", "pubticker.json",
+          "/balances", "balances.json",
+          "/orders", "orders.json",
+          "/order/cancel", "order_cancel.json"));
+
+  // Kraken expects a Base64 encoded secret; the other exchanges are happy with any string.
+  private static final String SECRET =
+      "AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8gISIjJCUmJygpKissLS4vMDEyMzQ1Njc4OTo7PD0+Pw==";
+
+  private static final Map<String, String> AUTHENTICATION_CONFIG =
+      Map.of("key", "key123", "secret", SECRET, "client-id", "clientId123");
+
+  private static final Map<String, String> OTHER_CONFIG =
+      Map.of("buy-fee", "0.25", "sell-fee", "0.25", "keep-alive-during-maintenance", "false");
+
+  private static final int CONNECTION_TIMEOUT = 30;
+
+  private final Supplier<ExchangeAdapter> adapterFactory;
+  private final String exchangeDataDirectory;
+  private final String marketId;
+  private final String orderId;
+  private final Map<String, String> recordedResponseFiles;
+
+  RecordedExchange(
+      Supplier<ExchangeAdapter> adapterFactory,
+      String exchangeDataDirectory,
+      String marketId,
+      String orderId,
+      Map<String, String> recordedResponseFiles) {
+    this.adapterFactory = adapterFactory;
+    this.exchangeDataDirectory = exchangeDataDirectory;
+    this.marketId = marketId;
+    this.orderId = orderId;
+    this.recordedResponseFiles = recordedResponseFiles;
+  }
+
+  /**
+   * Returns a market ID that is in the recorded responses.
+   *
+   * @return the market ID.
+   */
+  String getMarketId() {
+    return marketId;
+  }
+
+  /**
+   * Returns an order ID that is in the recorded responses.
+   *
+   * @return the order ID.
+   */
+  String getOrderId() {
+    return orderId;
+  }
+
+  /**
+   * Creates an initialised adapter that replays the recorded responses instead of calling the
+   * exchange.
+   *
+   * @return the adapter.
+   * @throws UncheckedIOException if the recorded responses cannot be loaded.
+   */
+  ExchangeAdapter createAdapter() {
+    final Map<String, byte[]> recordedResponses = loadRecordedResponses();
+    final ExchangeAdapter exchangeAdapter = adapterFactory.get();
+    ((AbstractExchangeAdapter) exchangeAdapter)
+        .setHttpClientFactory(
+            connectTimeout -> new ReplayingHttpClient(recordedResponses, connectTimeout));
+    exchangeAdapter.init(new ReplayExchangeConfig(exchangeAdapter.getClass().getName()));
+    return exchangeAdapter;
+  }
+
+  private Map<String, byte[]> loadRecordedResponses() {
+    final Map<String, byte[]> recordedResponses = new HashMap<>();
+    for (final Map.Entry<String, String> file : recordedResponseFiles.entrySet()) {
+      final String resource = "/exchange-data/" + exchangeDataDirectory + "/" + file.getValue();
+      try (InputStream inputStream = RecordedExchange.class.getResourceAsStream(resource)) {
+        if (inputStream == null) {
+          throw new IOException("Recorded response not found: " + resource);
+        }
+        recordedResponses.put(file.getKey(), inputStream.readAllBytes());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return recordedResponses;
+  }
+
+  /** Exchange config for the replaying adapters. */
+  private static final class ReplayExchangeConfig implements ExchangeConfig, NetworkConfig {
+
+    private final String exchangeAdapter;
+
+    ReplayExchangeConfig(String exchangeAdapter) {
+      this.exchangeAdapter = exchangeAdapter;
+    }
+
+    @Override
+    public String getExchangeName() {
+      return "Recorded";
+    }
+
+    @Override
+    public String getExchangeAdapter() {
+      return exchangeAdapter;
+    }
+
+    @Override
+    public AuthenticationConfig getAuthenticationConfig() {
+      return AUTHENTICATION_CONFIG::get;
+    }
+
+    @Override
+    public NetworkConfig getNetworkConfig() {
+      return this;
+    }
+
+    @Override
+    public OtherConfig getOtherConfig() {
+      return OTHER_CONFIG::get;
+    }
+
+    @Override
+    public List<Integer> getNonFatalErrorCodes() {
+      return List.of();
+    }
+
+    @Override
+    public List<String> getNonFatalErrorMessages() {
+      return List.of();
+    }
+
+    @Override
+    public Integer getConnectionTimeout() {
+      return CONNECTION_TIMEOUT;
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+
+/**
+ * A HttpClient that replays recorded exchange responses instead of going over the network.
+ *
+ * <p>Each response body is fed through the adapter's own body handler, so the benchmarks measure
+ * the same response handling and decoding code that runs in production.
+ *
+ * @author gazbert
+ */
+final class ReplayingHttpClient extends HttpClient {
+
+  private static final int HTTP_OK_STATUS = 200;
+
+  private final Map<String, byte[]> recordedResponses;
+  private final Duration connectTimeout;
+
+  /**
+   * Creates the HttpClient.
+   *
+   * @param recordedResponses the recorded response bodies, keyed by a fragment of the request URI
+   *     path that identifies the API call, e.g. "/Depth".
+   * @param connectTimeout the connection timeout the adapter configured.
+   */
+  ReplayingHttpClient(Map<String, byte[]> recordedResponses, Duration connectTimeout) {
+    this.recordedResponses = recordedResponses;
+    this.connectTimeout = connectTimeout;
+  }
+
+  @Override
+  public <T> HttpResponse<T> send(
+      HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) throws IOException {
+
+    final byte[] responseBody = findRecordedResponse(request.uri());
+    final HttpResponse.ResponseInfo responseInfo = new ReplayedResponseInfo();
+    final HttpResponse.BodySubscriber<T> bodySubscriber = responseBodyHandler.apply(responseInfo);
+    bodySubscriber.onSubscribe(new ReplayedSubscription());
+    bodySubscriber.onNext(List.of(ByteBuffer.wrap(responseBody)));
+    bodySubscriber.onComplete();
+    return new ReplayedResponse<>(request, bodySubscriber.getBody().toCompletableFuture().join());
+  }
+
+  @Override
+  public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+      HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) {
+    throw new UnsupportedOperationException("The exchange adapters only send synchronously");
+  }
+
+  @Override
+  public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+      HttpRequest request,
+      HttpResponse.BodyHandler<T> responseBodyHandler,
+      HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+    throw new UnsupportedOperationException("The exchange adapters only send synchronously");
+  }
+
+  @Override
+  public Optional<CookieHandler> cookieHandler() {
+    return Optional.empty();
+  }
+
+  @Override
+  public Optional<Duration> connectTimeout() {
+    return Optional.of(connectTimeout);
+  }
+
+  @Override
+  public Redirect followRedirects() {
+    return Redirect.NORMAL;
+  }
+
+  @Override
+  public Optional<ProxySelector> proxy() {
+    return Optional.empty();
+  }
+
+  @Override
+  public SSLContext sslContext() {
+    throw new UnsupportedOperationException("Recorded responses are not sent over TLS");
+  }
+
+  @Override
+  public SSLParameters sslParameters() {
+    throw new UnsupportedOperationException("Recorded responses are not sent over TLS");
+  }
+
+  @Override
+  public Optional<Authenticator> authenticator() {
+    return Optional.empty();
+  }
+
+  @Override
+  public Version version() {
+    return Version.HTTP_1_1;
+  }
+
+  @Override
+  public Optional<Executor> executor() {
+    return Optional.empty();
+  }
+
+  private byte[] findRecordedResponse(URI uri) throws IOException {
+    for (final Map.Entry<String, byte[]> recordedResponse : recordedResponses.entrySet()) {
+      if (uri.getPath().contains(recordedResponse.getKey())) {
+        return recordedResponse.getValue();
+      }
+    }
+    throw new IOException("No recorded response for: " + uri);
+  }
+
+  /** The response status and headers. */
+  private static final class ReplayedResponseInfo implements HttpResponse.ResponseInfo {
+
+    @Override
+    public int statusCode() {
+      return HTTP_OK_STATUS;
+    }
+
+    @Override
+    public HttpHeaders headers() {
+      return HttpHeaders.of(Map.of(), (name, value) -> true);
+    }
+
+    @Override
+    public HttpClient.Version version() {
+      return HttpClient.Version.HTTP_1_1;
+    }
+  }
+
+  /** The whole response body is pushed in one go, so demand is ignored. */
+  private static final class ReplayedSubscription implements Flow.Subscription {
+
+    @Override
+    public void request(long n) {
+      // No flow control needed.
+    }
+
+    @Override
+    public void cancel() {
+      // Nothing to cancel.
+    }
+  }
+
+  /**
+   * A replayed response.
+   *
+   * @param request the request that was sent.
+   * @param body the decoded response body.
+   * @param <T> the response body type.
+   */
+  private record ReplayedResponse<T>(HttpRequest request, T body) implements HttpResponse<T> {
+
+    @Override
+    public int statusCode() {
+      return HTTP_OK_STATUS;
+    }
+
+    @Override
+    public Optional<HttpResponse<T>> previousResponse() {
+      return Optional.empty();
+    }
+
+    @Override
+    public HttpHeaders headers() {
+      return HttpHeaders.of(Map.of(), (name, value) -> true);
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+      return Optional.empty();
+    }
+
+    @Override
+    public URI uri() {
+      return request.uri();
+    }
+
+    @Override
+    public HttpClient.Version version() {
+      return HttpClient.Version.HTTP_1_1;
+    }
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks signing authenticated requests with the Request Signer, against the way the Exchange
+ * Adapters used to sign them: concatenating strings, URL encoding with the URLEncoder, getting a
+ * new SHA-256 digest for each request and hex encoding with String.format.
+ *
+ * <p>Run it with -prof gc to compare the garbage created per request.
+ *
+ * <p>The exchange calls are made on short-lived virtual threads, so the Kraken signatures are also
+ * benchmarked with each request signed on a new virtual thread, as it is in the adapters.
+ *
+ * @author gazbert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestSigningBenchmark {
+
+  private static final String NONCE = "1700000000000";
+  private static final String PRIVATE_PATH = "/0/private/AddOrder";
+  private static final String JSON_PAYLOAD =
+      Base64.getEncoder()
+          .encodeToString(
+              ("{\"request\":\"/v1/order/new\",\"nonce\":\"1700000000000\",\"symbol\":\"btcusd\","
+                      + "\"amount\":\"0.5\",\"price\":\"37201.12\",\"side\":\"buy\"}")
+                  .getBytes(StandardCharsets.UTF_8));
+
+  private final Map<String, String> params = new LinkedHashMap<>();
+  private RequestSigner requestSigner;
+  private Mac mac;
+
+  /**
+   * Creates the signers and the params of a Kraken add order request.
+   *
+   * @throws NoSuchAlgorithmException if HmacSHA512 is not installed.
+   * @throws InvalidKeyException never.
+   */
+  @Setup
+  public void setup() throws NoSuchAlgorithmException, InvalidKeyException {
+    final byte[] secret = "benchmark-secret".getBytes(StandardCharsets.UTF_8);
+    requestSigner = new RequestSigner("HmacSHA512", secret);
+    mac = Mac.getInstance("HmacSHA512");
+    mac.init(new SecretKeySpec(secret, "HmacSHA512"));
+
+    params.put("nonce", NONCE);
+    params.put("pair", "XXBTZUSD");
+    params.put("type", "buy");
+    params.put("ordertype", "limit");
+    params.put("price", "37201.12");
+    params.put("volume", "0.5");
+    params.put("oflags", "post,fciq");
+  }
+
+  /**
+   * Signs a Kraken request the way the Kraken adapter used to.
+   *
+   * @return the signature.
+   * @throws NoSuchAlgorithmException if SHA-256 is not installed.
+   */
+  @Benchmark
+  public String krakenSignatureBaseline() throws NoSuchAlgorithmException {
+    final StringBuilder postData = new StringBuilder();
+    for (final Map.Entry<String, String> param : params.entrySet()) {
+      if (!postData.isEmpty()) {
+        postData.append("&");
+      }
+      postData.append(param.getKey());
+      postData.append("=");
+      postData.append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8));
+    }
+    final MessageDigest md = MessageDigest.getInstance("SHA-256");
+    md.update((NONCE + postData).getBytes(StandardCharsets.UTF_8));
+    mac.reset();
+    mac.update(PRIVATE_PATH.getBytes(StandardCharsets.UTF_8));
+    mac.update(md.digest());
+    return Base64.getEncoder().encodeToString(mac.doFinal()) + postData;
+  }
+
+  /**
+   * Signs a Kraken request with the Request Signer.
+   *
+   * @return the signature.
+   */
+  @Benchmark
+  public String krakenSignature() {
+    final String postData = requestSigner.formEncode(params);
+    final byte[] messageHash = requestSigner.sha256(NONCE, postData);
+    return requestSigner.sign().update(PRIVATE_PATH).update(messageHash).toBase64() + postData;
+  }
+
+  /**
+   * Signs a Kraken request the way the Kraken adapter used to, on a new virtual thread.
+   *
+   * @return the signature.
+   * @throws Exception if the signing fails or the benchmark thread is interrupted.
+   */
+  @Benchmark
+  public String krakenSignatureBaselineOnVirtualThread() throws Exception {
+    return onNewVirtualThread(this::krakenSignatureBaseline);
+  }
+
+  /**
+   * Signs a Kraken request with the Request Signer, on a new virtual thread.
+   *
+   * @return the signature.
+   * @throws Exception if the signing fails or the benchmark thread is interrupted.
+   */
+  @Benchmark
+  public String krakenSignatureOnVirtualThread() throws Exception {
+    return onNewVirtualThread(this::krakenSignature);
+  }
+
+  /**
+   * Signs a Base64 JSON payload, as Bitfinex and Gemini need, the way the adapters used to.
+   *
+   * @return the signature.
+   */
+  @Benchmark
+  public String hexSignatureBaseline() {
+    mac.reset();
+    mac.update(JSON_PAYLOAD.getBytes(StandardCharsets.UTF_8));
+    final StringBuilder hexString = new StringBuilder();
+    for (final byte aByte : mac.doFinal()) {
+      hexString.append(String.format("%02x", aByte & 0xff));
+    }
+    return hexString.toString().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Signs a Base64 JSON payload, as Bitfinex and Gemini need, with the Request Signer.
+   *
+   * @return the signature.
+   */
+  @Benchmark
+  public String hexSignature() {
+    return requestSigner.sign().update(JSON_PAYLOAD).toLowerCaseHex();
+  }
+
+  private static String onNewVirtualThread(Callable<String> signing) throws Exception {
+    final AtomicReference<String> signature = new AtomicReference<>();
+    final AtomicReference<Exception> failure = new AtomicReference<>();
+    Thread.ofVirtual()
+        .start(
+            () -> {
+              try {
+                signature.set(signing.call());
+              } catch (Exception e) {
+                failure.set(e);
+              }
+            })
+        .join();
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+    return signature.get();
+  }
+}
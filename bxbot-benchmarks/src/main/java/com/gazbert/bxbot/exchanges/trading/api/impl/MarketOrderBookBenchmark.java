@@ -0,0 +1,150 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges.trading.api.impl;
+
+import com.gazbert.bxbot.trading.api.MarketOrder;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OrderType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks building an order book from the price and quantity strings an exchange sends.
+ *
+ * <p>{@link MarketOrderBookImpl} is built the way most of the adapters do it: a BigDecimal price,
+ * quantity and total, and a {@link MarketOrderImpl}, for every order. A new {@link
+ * CompactMarketOrderBook} is built for each book, the way the Kraken adapter decodes each Depth
+ * response, so both are compared on the work done for each response.
+ *
+ * @author gazbert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarketOrderBookBenchmark {
+
+  private static final String MARKET_ID = "btcusd";
+  private static final int PRICE_SCALE = 10;
+  private static final int QUANTITY_SCALE = 8;
+
+  /** The number of orders on each side of the book. */
+  @Param({"10", "100", "1000"})
+  public int depth;
+
+  private String[] askPrices;
+  private String[] bidPrices;
+  private String[] quantities;
+
+  /** Creates the order book input: prices either side of 18778.25 and varying quantities. */
+  @Setup
+  public void setup() {
+    askPrices = new String[depth];
+    bidPrices = new String[depth];
+    quantities = new String[depth];
+    final BigDecimal midPrice = new BigDecimal("18778.25");
+    final BigDecimal tick = new BigDecimal("0.01");
+    for (int i = 0; i < depth; i++) {
+      final BigDecimal ticks = tick.multiply(BigDecimal.valueOf(i + 1L));
+      askPrices[i] = midPrice.add(ticks).toPlainString();
+      bidPrices[i] = midPrice.subtract(ticks).toPlainString();
+      quantities[i] = BigDecimal.valueOf(i * 1_234_567L + 1, QUANTITY_SCALE).toPlainString();
+    }
+  }
+
+  /**
+   * Builds a new MarketOrderBookImpl.
+   *
+   * @return the order book.
+   */
+  @Benchmark
+  public MarketOrderBook buildMarketOrderBookImpl() {
+    final List<MarketOrder> sellOrders = new ArrayList<>(depth);
+    final List<MarketOrder> buyOrders = new ArrayList<>(depth);
+    for (int i = 0; i < depth; i++) {
+      sellOrders.add(marketOrder(OrderType.SELL, askPrices[i], quantities[i]));
+      buyOrders.add(marketOrder(OrderType.BUY, bidPrices[i], quantities[i]));
+    }
+    return new MarketOrderBookImpl(MARKET_ID, sellOrders, buyOrders);
+  }
+
+  /**
+   * Builds a new CompactMarketOrderBook.
+   *
+   * @return the order book.
+   */
+  @Benchmark
+  public MarketOrderBook buildCompactMarketOrderBook() {
+    return compactMarketOrderBook();
+  }
+
+  /**
+   * Builds a new CompactMarketOrderBook and reads every order back, like a strategy that walks the
+   * whole book would.
+   *
+   * @param blackhole consumes the orders.
+   */
+  @Benchmark
+  public void buildAndReadCompactMarketOrderBook(Blackhole blackhole) {
+    final MarketOrderBook marketOrderBook = compactMarketOrderBook();
+    for (final MarketOrder sellOrder : marketOrderBook.getSellOrders()) {
+      blackhole.consume(sellOrder);
+    }
+    for (final MarketOrder buyOrder : marketOrderBook.getBuyOrders()) {
+      blackhole.consume(buyOrder);
+    }
+  }
+
+  private CompactMarketOrderBook compactMarketOrderBook() {
+    final CompactMarketOrderBook compactMarketOrderBook =
+        new CompactMarketOrderBook(MARKET_ID, PRICE_SCALE, QUANTITY_SCALE);
+    for (int i = 0; i < depth; i++) {
+      compactMarketOrderBook.addSellOrder(askPrices[i], quantities[i]);
+      compactMarketOrderBook.addBuyOrder(bidPrices[i], quantities[i]);
+    }
+    return compactMarketOrderBook;
+  }
+
+  private static MarketOrder marketOrder(OrderType type, String price, String quantity) {
+    final BigDecimal orderPrice = new BigDecimal(price);
+    final BigDecimal orderQuantity = new BigDecimal(quantity);
+    return new MarketOrderImpl(type, orderPrice, orderQuantity, orderPrice.multiply(orderQuantity));
+  }
+}
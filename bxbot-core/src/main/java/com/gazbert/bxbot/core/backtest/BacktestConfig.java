@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * The config for a backtest. It is loaded from the ./config/backtest.yaml file.
+ *
+ * <p>The simulated balances and fees are the same as the Try-Mode Exchange Adapter otherConfig
+ * items.
+ *
+ * @author gazbert
+ */
+@Data
+public class BacktestConfig {
+
+  /**
+   * The recorded market data: a file, or a directory of files, written by the Market Data Recorder
+   * or in CSV.
+   */
+  private String recordedMarketData;
+
+  /** The fully qualified class name of the Trading Strategy to backtest. */
+  private String strategyClassName;
+
+  /** The config items passed to the Trading Strategy. */
+  private Map<String, String> configItems = new HashMap<>();
+
+  /** The id of the market to trade on. */
+  private String marketId;
+
+  /** The market base currency. */
+  private String baseCurrency;
+
+  /** The market counter currency. */
+  private String counterCurrency;
+
+  /** The simulated interval in secs between the start of each trade cycle. */
+  private int tradeCycleInterval;
+
+  /** The base currency balance at the start of the backtest. */
+  private BigDecimal simulatedBaseCurrencyStartingBalance;
+
+  /** The counter currency balance at the start of the backtest. */
+  private BigDecimal simulatedCounterCurrencyStartingBalance;
+
+  /** The fraction of each BUY order taken by the exchange as a fee. */
+  private BigDecimal simulatedBuyFee;
+
+  /** The fraction of each SELL order taken by the exchange as a fee. */
+  private BigDecimal simulatedSellFee;
+
+  /** Creates the Backtest Config. */
+  public BacktestConfig() {
+    // No extra init needed.
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * The result of a backtest.
+ *
+ * <p>Equity is the counter currency balance plus the base currency balance valued at the latest
+ * market price. It is measured at the end of each trade cycle.
+ *
+ * @param tradeCycles the number of trade cycles executed.
+ * @param filledOrders the number of simulated orders that were filled.
+ * @param simulatedPeriod the simulated time from the first to the last trade cycle.
+ * @param elapsedTime the real time the backtest took.
+ * @param startingEquity the equity at the start of the backtest, in the counter currency.
+ * @param finalEquity the equity at the end of the backtest, in the counter currency.
+ * @param maxDrawdown the largest fall in equity from a previous peak, in the counter currency.
+ * @param maxDrawdownPercentage the largest fall in equity, as a percentage of the previous peak.
+ * @author gazbert
+ */
+public record BacktestResult(
+    long tradeCycles,
+    long filledOrders,
+    Duration simulatedPeriod,
+    Duration elapsedTime,
+    BigDecimal startingEquity,
+    BigDecimal finalEquity,
+    BigDecimal maxDrawdown,
+    BigDecimal maxDrawdownPercentage) {
+
+  /**
+   * Returns the profit, or loss if negative, made by the strategy.
+   *
+   * @return the profit and loss, in the counter currency.
+   */
+  public BigDecimal profitAndLoss() {
+    return finalEquity.subtract(startingEquity);
+  }
+
+  /**
+   * Returns how many trade cycles were executed per second of real time.
+   *
+   * @return the throughput, in trade cycles per second.
+   */
+  public double tradeCyclesPerSecond() {
+    final long elapsedNanos = Math.max(1, elapsedTime.toNanos());
+    return tradeCycles * 1_000_000_000.0 / elapsedNanos;
+  }
+}
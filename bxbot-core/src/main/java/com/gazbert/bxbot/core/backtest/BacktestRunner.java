@@ -0,0 +1,367 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import com.gazbert.bxbot.core.config.exchange.ExchangeConfigImpl;
+import com.gazbert.bxbot.core.config.exchange.OtherConfigImpl;
+import com.gazbert.bxbot.core.config.market.MarketImpl;
+import com.gazbert.bxbot.core.config.strategy.StrategyConfigItems;
+import com.gazbert.bxbot.core.util.ConfigurableComponentFactory;
+import com.gazbert.bxbot.datastore.yaml.ConfigurationManager;
+import com.gazbert.bxbot.exchange.api.MarketDataListener;
+import com.gazbert.bxbot.exchanges.AsyncTradingApiBridge;
+import com.gazbert.bxbot.exchanges.TryModeExchangeAdapter;
+import com.gazbert.bxbot.strategy.api.StrategyConfig;
+import com.gazbert.bxbot.strategy.api.StrategyException;
+import com.gazbert.bxbot.strategy.api.StreamingTradingStrategy;
+import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import com.gazbert.bxbot.trading.api.Market;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.Ticker;
+import com.gazbert.bxbot.trading.api.TradingApiException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Backtests a Trading Strategy by replaying recorded market data through it.
+ *
+ * <p>The strategy is executed just as the Trading Engine would execute it, but against a simulated
+ * clock: each trade cycle starts tradeCycleInterval secs of recorded time after the previous one,
+ * without waiting in between, so months of history can be replayed as fast as the CPU allows. The
+ * recorded tickers and order books are served by an Exchange Adapter that replays them, wrapped in
+ * the {@link TryModeExchangeAdapter} that simulates the orders, balances and fees.
+ *
+ * <p>Streaming Trading Strategies are passed the recorded market data for their market, and the
+ * simulated order fills, between trade cycles.
+ *
+ * <p>Each call to {@link #run(TradingStrategy, StrategyConfig)} is isolated in its own simulated
+ * adapter, so a runner can be used for many backtests of the same recorded market data.
+ *
+ * @author gazbert
+ */
+@Log4j2
+public final class BacktestRunner {
+
+  private static final String DEFAULT_CONFIG_FILE = "./config/backtest.yaml";
+  private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+  private static final int PERCENTAGE_SCALE = 8;
+
+  private final RecordedMarketData recordedMarketData;
+  private final BacktestConfig backtestConfig;
+
+  /**
+   * Creates the Backtest Runner.
+   *
+   * @param recordedMarketData the recorded market data to replay.
+   * @param backtestConfig the backtest config.
+   * @throws IllegalArgumentException if the trade cycle interval is less than 1 sec.
+   */
+  public BacktestRunner(RecordedMarketData recordedMarketData, BacktestConfig backtestConfig) {
+    if (backtestConfig.getTradeCycleInterval() < 1) {
+      throw new IllegalArgumentException(
+          "Trade Cycle Interval must be 1 or more: " + backtestConfig.getTradeCycleInterval());
+    }
+    this.recordedMarketData = recordedMarketData;
+    this.backtestConfig = backtestConfig;
+  }
+
+  /**
+   * Runs a backtest using the ./config/backtest.yaml file, or the file given as the first arg.
+   *
+   * @param args the optional backtest config file.
+   * @throws IOException if the recorded market data cannot be read.
+   * @throws StrategyException if the Trading Strategy fails.
+   */
+  public static void main(String[] args) throws IOException, StrategyException {
+    final String configFile = args.length > 0 ? args[0] : DEFAULT_CONFIG_FILE;
+    final BacktestConfig backtestConfig =
+        new ConfigurationManager().loadConfig(BacktestConfig.class, configFile);
+
+    final TradingStrategy tradingStrategy =
+        new ConfigurableComponentFactory().createComponent(backtestConfig.getStrategyClassName());
+    final StrategyConfigItems strategyConfig = new StrategyConfigItems();
+    if (backtestConfig.getConfigItems() != null) {
+      strategyConfig.setItems(backtestConfig.getConfigItems());
+    }
+
+    new BacktestRunner(recordedMarketData(backtestConfig), backtestConfig)
+        .run(tradingStrategy, strategyConfig);
+  }
+
+  /**
+   * Returns the recorded market data in the backtest config: the files written by the Market Data
+   * Recorder if there are any, or else the CSV files.
+   *
+   * @param backtestConfig the backtest config.
+   * @return the recorded market data.
+   * @throws IOException if the recorded market data directory cannot be listed.
+   */
+  static RecordedMarketData recordedMarketData(BacktestConfig backtestConfig) throws IOException {
+    final Path path = Path.of(backtestConfig.getRecordedMarketData());
+    return MappedRecordedMarketData.isRecordedBy(path)
+        ? new MappedRecordedMarketData(path)
+        : new CsvRecordedMarketData(path);
+  }
+
+  /**
+   * Backtests a Trading Strategy.
+   *
+   * @param tradingStrategy a new instance of the Trading Strategy. It is initialised by the runner.
+   * @param strategyConfig the config items for the Trading Strategy.
+   * @return the result.
+   * @throws IOException if the recorded market data cannot be read.
+   * @throws StrategyException if the Trading Strategy fails. The backtest is stopped.
+   */
+  public BacktestResult run(TradingStrategy tradingStrategy, StrategyConfig strategyConfig)
+      throws IOException, StrategyException {
+    final SimulatedClock clock = new SimulatedClock();
+    final ReplayExchangeAdapter replayExchangeAdapter = new ReplayExchangeAdapter();
+    final TryModeExchangeAdapter exchangeAdapter =
+        new TryModeExchangeAdapter(replayExchangeAdapter, clock);
+    exchangeAdapter.init(createExchangeConfig());
+
+    final String marketId = backtestConfig.getMarketId();
+    final Market market =
+        new MarketImpl(
+            marketId,
+            marketId,
+            backtestConfig.getBaseCurrency(),
+            backtestConfig.getCounterCurrency());
+    final StrategyEvents strategyEvents = new StrategyEvents(marketId, tradingStrategy);
+    exchangeAdapter.subscribeToMarketData(List.of(marketId), strategyEvents);
+
+    // Async calls are made on the calling thread: the simulated adapter is not thread safe.
+    tradingStrategy.init(
+        exchangeAdapter,
+        new AsyncTradingApiBridge(exchangeAdapter, Runnable::run),
+        market,
+        strategyConfig);
+
+    log.info("Starting backtest of {} on market {}", tradingStrategy.getClass(), marketId);
+    final long tradeCycleIntervalMillis =
+        Duration.ofSeconds(backtestConfig.getTradeCycleInterval()).toMillis();
+    final EquityCurve equityCurve = new EquityCurve();
+    final long startTime = System.nanoTime();
+    long tradeCycles = 0;
+    long firstCycleTime;
+    long cycleTime;
+
+    try (RecordedMarketData.Cursor cursor = recordedMarketData.open()) {
+      MarketDataRecord next = cursor.next();
+      if (next == null) {
+        throw new IllegalArgumentException("There is no recorded market data to replay");
+      }
+      firstCycleTime = next.timestamp();
+      cycleTime = firstCycleTime;
+
+      while (next != null) {
+        clock.setMillis(cycleTime);
+        while (next != null && next.timestamp() <= cycleTime) {
+          replayExchangeAdapter.apply(next);
+          next = cursor.next();
+        }
+
+        strategyEvents.deliver();
+        if (tradeCycles == 0) {
+          equityCurve.add(equity(exchangeAdapter, replayExchangeAdapter));
+        }
+        tradingStrategy.execute();
+        strategyEvents.deliver();
+        equityCurve.add(equity(exchangeAdapter, replayExchangeAdapter));
+
+        tradeCycles++;
+        cycleTime += tradeCycleIntervalMillis;
+      }
+    }
+
+    if (equityCurve.startingEquity == null) {
+      throw new IllegalArgumentException(
+          "No market data has been recorded for market: " + marketId);
+    }
+    final BacktestResult result =
+        new BacktestResult(
+            tradeCycles,
+            strategyEvents.filledOrders,
+            Duration.ofMillis(cycleTime - tradeCycleIntervalMillis - firstCycleTime),
+            Duration.ofNanos(System.nanoTime() - startTime),
+            equityCurve.startingEquity,
+            equityCurve.finalEquity,
+            equityCurve.maxDrawdown,
+            equityCurve.maxDrawdownPercentage);
+
+    log.info(
+        "Backtest of {} on market {} completed: {} trade cycles over {} of recorded time,"
+            + " {} orders filled. P&L: {} {} ({} -> {}). Max drawdown: {} {} ({}%)."
+            + " Throughput: {} trade cycles/sec",
+        tradingStrategy.getClass(),
+        marketId,
+        result.tradeCycles(),
+        result.simulatedPeriod(),
+        result.filledOrders(),
+        result.profitAndLoss(),
+        backtestConfig.getCounterCurrency(),
+        result.startingEquity(),
+        result.finalEquity(),
+        result.maxDrawdown(),
+        backtestConfig.getCounterCurrency(),
+        result.maxDrawdownPercentage(),
+        String.format("%.1f", result.tradeCyclesPerSecond()));
+    return result;
+  }
+
+  private ExchangeConfigImpl createExchangeConfig() {
+    final Map<String, String> items = new HashMap<>();
+    items.put("simulatedBaseCurrency", backtestConfig.getBaseCurrency());
+    items.put(
+        "simulatedBaseCurrencyStartingBalance",
+        backtestConfig.getSimulatedBaseCurrencyStartingBalance().toPlainString());
+    items.put("simulatedCounterCurrency", backtestConfig.getCounterCurrency());
+    items.put(
+        "simulatedCounterCurrencyStartingBalance",
+        backtestConfig.getSimulatedCounterCurrencyStartingBalance().toPlainString());
+    items.put("simulatedBuyFee", backtestConfig.getSimulatedBuyFee().toPlainString());
+    items.put("simulatedSellFee", backtestConfig.getSimulatedSellFee().toPlainString());
+
+    final OtherConfigImpl otherConfig = new OtherConfigImpl();
+    otherConfig.setItems(items);
+    final ExchangeConfigImpl exchangeConfig = new ExchangeConfigImpl();
+    exchangeConfig.setOtherConfig(otherConfig);
+    return exchangeConfig;
+  }
+
+  /* Returns null until market data has been recorded for the market. */
+  private BigDecimal equity(
+      TryModeExchangeAdapter exchangeAdapter, ReplayExchangeAdapter replayExchangeAdapter) {
+    final BigDecimal marketPrice;
+    try {
+      marketPrice = replayExchangeAdapter.getLatestMarketPrice(backtestConfig.getMarketId());
+    } catch (TradingApiException e) {
+      return null;
+    }
+    final Map<String, BigDecimal> balances =
+        exchangeAdapter.getBalanceInfo().getBalancesAvailable();
+    return balances
+        .get(backtestConfig.getCounterCurrency())
+        .add(balances.get(backtestConfig.getBaseCurrency()).multiply(marketPrice));
+  }
+
+  /** Tracks the starting, final and peak equity, and the max drawdown from a peak. */
+  private static final class EquityCurve {
+
+    private BigDecimal startingEquity;
+    private BigDecimal finalEquity;
+    private BigDecimal peakEquity;
+    private BigDecimal maxDrawdown = BigDecimal.ZERO;
+    private BigDecimal maxDrawdownPercentage = BigDecimal.ZERO;
+
+    void add(BigDecimal equity) {
+      if (equity == null) {
+        return;
+      }
+      if (startingEquity == null) {
+        startingEquity = equity;
+        peakEquity = equity;
+      }
+      finalEquity = equity;
+
+      if (equity.compareTo(peakEquity) > 0) {
+        peakEquity = equity;
+      }
+      final BigDecimal drawdown = peakEquity.subtract(equity);
+      if (drawdown.compareTo(maxDrawdown) > 0) {
+        maxDrawdown = drawdown;
+        if (peakEquity.signum() > 0) {
+          maxDrawdownPercentage =
+              drawdown
+                  .multiply(ONE_HUNDRED)
+                  .divide(peakEquity, PERCENTAGE_SCALE, RoundingMode.HALF_EVEN);
+        }
+      }
+    }
+  }
+
+  /**
+   * Queues the pushed market data and order fills, so they are passed to a Streaming Trading
+   * Strategy between trade cycles, never whilst it is executing.
+   */
+  private static final class StrategyEvents implements MarketDataListener {
+
+    private final String backtestMarketId;
+    private final StreamingTradingStrategy streamingTradingStrategy;
+    private final Queue<StrategyCallback> callbacks = new ArrayDeque<>();
+    private long filledOrders;
+
+    StrategyEvents(String backtestMarketId, TradingStrategy tradingStrategy) {
+      this.backtestMarketId = backtestMarketId;
+      this.streamingTradingStrategy =
+          tradingStrategy instanceof StreamingTradingStrategy streamingStrategy
+              ? streamingStrategy
+              : null;
+    }
+
+    @Override
+    public void onTicker(String marketId, Ticker ticker) {
+      queue(marketId, strategy -> strategy.onTicker(ticker));
+    }
+
+    @Override
+    public void onOrderBookUpdate(String marketId, MarketOrderBook marketOrderBook) {
+      queue(marketId, strategy -> strategy.onOrderBookUpdate(marketOrderBook));
+    }
+
+    @Override
+    public void onOrderFilled(String marketId, OpenOrder filledOrder) {
+      filledOrders++;
+      queue(marketId, strategy -> strategy.onOrderFilled(filledOrder));
+    }
+
+    void deliver() throws StrategyException {
+      while (!callbacks.isEmpty()) {
+        callbacks.remove().call(streamingTradingStrategy);
+      }
+    }
+
+    private void queue(String marketId, StrategyCallback callback) {
+      if (streamingTradingStrategy != null && backtestMarketId.equals(marketId)) {
+        callbacks.add(callback);
+      }
+    }
+  }
+
+  /** A callback on a Streaming Trading Strategy. */
+  @FunctionalInterface
+  private interface StrategyCallback {
+    void call(StreamingTradingStrategy strategy) throws StrategyException;
+  }
+}
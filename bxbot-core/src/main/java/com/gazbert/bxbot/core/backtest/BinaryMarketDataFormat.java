@@ -0,0 +1,283 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderBookImpl;
+import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderImpl;
+import com.gazbert.bxbot.exchanges.trading.api.impl.TickerImpl;
+import com.gazbert.bxbot.trading.api.MarketOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import com.gazbert.bxbot.trading.api.Ticker;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The binary format of the market data files written by the Market Data Recorder.
+ *
+ * <p>A file starts with a header: the magic number and the format version, both ints. It is
+ * followed by the records, each one prefixed with its length in bytes, so a reader can skip a
+ * record without decoding it. All numbers are big-endian. A record is:
+ *
+ * <pre>
+ * int length | byte type | long timestamp | short market id length | market id UTF-8 | body
+ * </pre>
+ *
+ * <p>Decimals are stored in fixed-point: a scale byte shared by the related values, followed by a
+ * long unscaled value for each of them. The body of each record type is:
+ *
+ * <ul>
+ *   <li>ticker: scale, short mask of the fields set (last, bid, ask, low, high, open, volume, vwap,
+ *       timestamp), then a long for each field set.
+ *   <li>order book: price scale, quantity scale, int number of buy orders, then a long price and
+ *       quantity for each buy order, then the same for the sell orders.
+ *   <li>latest market price: scale, long price.
+ * </ul>
+ *
+ * @author gazbert
+ */
+final class BinaryMarketDataFormat {
+
+  /** The magic number at the start of each file: "BXMD". */
+  static final int MAGIC = 0x42584d44;
+
+  /** The version of the format. */
+  static final int VERSION = 1;
+
+  /** The length of the file header in bytes. */
+  static final int HEADER_LENGTH = 2 * Integer.BYTES;
+
+  /** The length of the prefix of each record in bytes. */
+  static final int LENGTH_PREFIX = Integer.BYTES;
+
+  private static final byte TICKER = 1;
+  private static final byte ORDER_BOOK = 2;
+  private static final byte LATEST_MARKET_PRICE = 3;
+
+  private static final int TICKER_DECIMAL_COUNT = 8;
+  private static final int TICKER_TIMESTAMP_BIT = 1 << TICKER_DECIMAL_COUNT;
+  private static final int ORDER_LENGTH = 2 * Long.BYTES;
+
+  private BinaryMarketDataFormat() {}
+
+  /**
+   * Writes the file header.
+   *
+   * @param buffer the buffer to write to.
+   */
+  static void writeHeader(ByteBuffer buffer) {
+    buffer.putInt(MAGIC).putInt(VERSION);
+  }
+
+  /**
+   * Checks the file header.
+   *
+   * @param buffer the buffer to read from.
+   * @return true if the header is for this format and version, false otherwise.
+   */
+  static boolean readHeader(ByteBuffer buffer) {
+    return buffer.remaining() >= HEADER_LENGTH
+        && buffer.getInt() == MAGIC
+        && buffer.getInt() == VERSION;
+  }
+
+  /**
+   * Encodes a record, including its length prefix.
+   *
+   * @param marketDataRecord the record.
+   * @return the encoded record.
+   * @throws ArithmeticException if a decimal does not fit in the fixed-point encoding.
+   */
+  static byte[] encode(MarketDataRecord marketDataRecord) {
+    final byte[] marketId = marketDataRecord.marketId().getBytes(StandardCharsets.UTF_8);
+    final int headerLength = 1 + Long.BYTES + Short.BYTES + marketId.length;
+    final ByteBuffer buffer;
+
+    if (marketDataRecord.ticker() != null) {
+      final BigDecimal[] decimals = tickerDecimals(marketDataRecord.ticker());
+      final Long timestamp = marketDataRecord.ticker().getTimestamp();
+      int mask = timestamp == null ? 0 : TICKER_TIMESTAMP_BIT;
+      for (int i = 0; i < TICKER_DECIMAL_COUNT; i++) {
+        mask |= decimals[i] == null ? 0 : 1 << i;
+      }
+      final int bodyLength = 1 + Short.BYTES + Integer.bitCount(mask) * Long.BYTES;
+      buffer = startRecord(TICKER, marketDataRecord, marketId, headerLength + bodyLength);
+      final int scale = scaleOf(decimals);
+      buffer.put((byte) scale).putShort((short) mask);
+      for (final BigDecimal decimal : decimals) {
+        if (decimal != null) {
+          buffer.putLong(unscaled(decimal, scale));
+        }
+      }
+      if (timestamp != null) {
+        buffer.putLong(timestamp);
+      }
+
+    } else if (marketDataRecord.orderBook() != null) {
+      final List<MarketOrder> buyOrders = marketDataRecord.orderBook().getBuyOrders();
+      final List<MarketOrder> sellOrders = marketDataRecord.orderBook().getSellOrders();
+      final int bodyLength =
+          2 + 2 * Integer.BYTES + (buyOrders.size() + sellOrders.size()) * ORDER_LENGTH;
+      buffer = startRecord(ORDER_BOOK, marketDataRecord, marketId, headerLength + bodyLength);
+      int priceScale = 0;
+      int quantityScale = 0;
+      for (final List<MarketOrder> orders : List.of(buyOrders, sellOrders)) {
+        for (final MarketOrder order : orders) {
+          priceScale = Math.max(priceScale, scaleOf(order.getPrice()));
+          quantityScale = Math.max(quantityScale, scaleOf(order.getQuantity()));
+        }
+      }
+      buffer.put((byte) priceScale).put((byte) quantityScale);
+      putOrders(buffer, buyOrders, priceScale, quantityScale);
+      putOrders(buffer, sellOrders, priceScale, quantityScale);
+
+    } else {
+      final BigDecimal price = marketDataRecord.latestMarketPrice();
+      buffer =
+          startRecord(
+              LATEST_MARKET_PRICE, marketDataRecord, marketId, headerLength + 1 + Long.BYTES);
+      final int scale = scaleOf(price);
+      buffer.put((byte) scale).putLong(unscaled(price, scale));
+    }
+    return buffer.array();
+  }
+
+  /**
+   * Decodes a record. The buffer must be positioned after the length prefix and limited to the
+   * end of the record.
+   *
+   * @param buffer the buffer to read from.
+   * @return the record.
+   * @throws IllegalArgumentException if the record type is unknown.
+   */
+  static MarketDataRecord decode(ByteBuffer buffer) {
+    final byte type = buffer.get();
+    final long timestamp = buffer.getLong();
+    final byte[] marketIdBytes = new byte[buffer.getShort()];
+    buffer.get(marketIdBytes);
+    final String marketId = new String(marketIdBytes, StandardCharsets.UTF_8);
+
+    switch (type) {
+      case TICKER -> {
+        final int scale = buffer.get();
+        final int mask = buffer.getShort();
+        final BigDecimal[] decimals = new BigDecimal[TICKER_DECIMAL_COUNT];
+        for (int i = 0; i < TICKER_DECIMAL_COUNT; i++) {
+          decimals[i] = (mask & 1 << i) == 0 ? null : BigDecimal.valueOf(buffer.getLong(), scale);
+        }
+        final Long tickerTimestamp = (mask & TICKER_TIMESTAMP_BIT) == 0 ? null : buffer.getLong();
+        return MarketDataRecord.ofTicker(
+            timestamp,
+            marketId,
+            new TickerImpl(
+                decimals[0],
+                decimals[1],
+                decimals[2],
+                decimals[3],
+                decimals[4],
+                decimals[5],
+                decimals[6],
+                decimals[7],
+                tickerTimestamp));
+      }
+      case ORDER_BOOK -> {
+        final int priceScale = buffer.get();
+        final int quantityScale = buffer.get();
+        final List<MarketOrder> buyOrders =
+            getOrders(buffer, OrderType.BUY, priceScale, quantityScale);
+        final List<MarketOrder> sellOrders =
+            getOrders(buffer, OrderType.SELL, priceScale, quantityScale);
+        return MarketDataRecord.ofOrderBook(
+            timestamp, marketId, new MarketOrderBookImpl(marketId, sellOrders, buyOrders));
+      }
+      case LATEST_MARKET_PRICE -> {
+        final int scale = buffer.get();
+        return MarketDataRecord.ofLatestMarketPrice(
+            timestamp, marketId, BigDecimal.valueOf(buffer.getLong(), scale));
+      }
+      default -> throw new IllegalArgumentException("Unknown market data record type: " + type);
+    }
+  }
+
+  private static ByteBuffer startRecord(
+      byte type, MarketDataRecord marketDataRecord, byte[] marketId, int length) {
+    final ByteBuffer buffer = ByteBuffer.allocate(LENGTH_PREFIX + length);
+    buffer.putInt(length).put(type).putLong(marketDataRecord.timestamp());
+    buffer.putShort((short) marketId.length).put(marketId);
+    return buffer;
+  }
+
+  private static BigDecimal[] tickerDecimals(Ticker ticker) {
+    return new BigDecimal[] {
+      ticker.getLast(),
+      ticker.getBid(),
+      ticker.getAsk(),
+      ticker.getLow(),
+      ticker.getHigh(),
+      ticker.getOpen(),
+      ticker.getVolume(),
+      ticker.getVwap()
+    };
+  }
+
+  private static void putOrders(
+      ByteBuffer buffer, List<MarketOrder> orders, int priceScale, int quantityScale) {
+    buffer.putInt(orders.size());
+    for (final MarketOrder order : orders) {
+      buffer.putLong(unscaled(order.getPrice(), priceScale));
+      buffer.putLong(unscaled(order.getQuantity(), quantityScale));
+    }
+  }
+
+  private static List<MarketOrder> getOrders(
+      ByteBuffer buffer, OrderType orderType, int priceScale, int quantityScale) {
+    final int count = buffer.getInt();
+    final List<MarketOrder> orders = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final BigDecimal price = BigDecimal.valueOf(buffer.getLong(), priceScale);
+      final BigDecimal quantity = BigDecimal.valueOf(buffer.getLong(), quantityScale);
+      orders.add(new MarketOrderImpl(orderType, price, quantity, price.multiply(quantity)));
+    }
+    return orders;
+  }
+
+  private static int scaleOf(BigDecimal... decimals) {
+    int scale = 0;
+    for (final BigDecimal decimal : decimals) {
+      if (decimal != null) {
+        scale = Math.max(scale, decimal.scale());
+      }
+    }
+    if (scale > Byte.MAX_VALUE) {
+      throw new ArithmeticException("Decimal scale is too big to record: " + scale);
+    }
+    return scale;
+  }
+
+  private static long unscaled(BigDecimal decimal, int scale) {
+    return decimal.setScale(scale).unscaledValue().longValueExact();
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderBookImpl;
+import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderImpl;
+import com.gazbert.bxbot.exchanges.trading.api.impl.TickerImpl;
+import com.gazbert.bxbot.trading.api.MarketOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reads market data recorded in CSV files.
+ *
+ * <p>The path can be a single file, or a directory: all the .csv files in it are read in filename
+ * order, e.g. 1 file per day named by date. Blank lines and lines starting with # are ignored. Each
+ * of the other lines is a ticker, a market order book or a latest market price:
+ *
+ * <pre>
+ * # timestamp,market-id,ticker,last,bid,ask,low,high,open,volume,vwap
+ * 1700000000000,btcusd,ticker,37201.5,37201.1,37202.3,36800,37450,36950,1234.5,37120.4
+ * # timestamp,market-id,book,buy orders,sell orders
+ * 1700000000000,btcusd,book,37201.1:0.5 37200.0:1.25,37202.3:0.75 37203.9:2
+ * # timestamp,market-id,price,latest market price
+ * 1700000000000,btcusd,price,37201.5
+ * </pre>
+ *
+ * <p>Timestamps are in millis since the epoch and must be in time order. Ticker values that were
+ * not recorded are left empty. Orders are price:quantity pairs separated by spaces, best price
+ * first.
+ *
+ * @author gazbert
+ */
+public final class CsvRecordedMarketData implements RecordedMarketData {
+
+  private static final String CSV_FILE_EXTENSION = ".csv";
+  private static final String COMMENT_PREFIX = "#";
+  private static final String TICKER_RECORD_TYPE = "ticker";
+  private static final String ORDER_BOOK_RECORD_TYPE = "book";
+  private static final String LATEST_MARKET_PRICE_RECORD_TYPE = "price";
+  private static final int TICKER_FIELD_COUNT = 11;
+  private static final int ORDER_BOOK_FIELD_COUNT = 5;
+  private static final int LATEST_MARKET_PRICE_FIELD_COUNT = 4;
+
+  private final Path path;
+
+  /**
+   * Creates the CSV Recorded Market Data.
+   *
+   * @param path the CSV file, or a directory of CSV files.
+   */
+  public CsvRecordedMarketData(Path path) {
+    this.path = path;
+  }
+
+  @Override
+  public Cursor open() throws IOException {
+    final List<Path> files = new ArrayList<>();
+    if (Files.isDirectory(path)) {
+      try (Stream<Path> directory = Files.list(path)) {
+        directory
+            .filter(file -> file.getFileName().toString().endsWith(CSV_FILE_EXTENSION))
+            .sorted()
+            .forEach(files::add);
+      }
+    } else {
+      files.add(path);
+    }
+    return new CsvCursor(files.iterator());
+  }
+
+  /** Reads the files one line at a time, so the recorded data does not have to fit in memory. */
+  private static final class CsvCursor implements Cursor {
+
+    private final Iterator<Path> files;
+    private Path file;
+    private BufferedReader reader;
+    private int lineNumber;
+    private long previousTimestamp = Long.MIN_VALUE;
+
+    CsvCursor(Iterator<Path> files) {
+      this.files = files;
+    }
+
+    @Override
+    public MarketDataRecord next() throws IOException {
+      while (true) {
+        if (reader == null) {
+          if (!files.hasNext()) {
+            return null;
+          }
+          file = files.next();
+          reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+          lineNumber = 0;
+        }
+
+        final String line = reader.readLine();
+        if (line == null) {
+          reader.close();
+          reader = null;
+          continue;
+        }
+        lineNumber++;
+        if (line.isBlank() || line.startsWith(COMMENT_PREFIX)) {
+          continue;
+        }
+
+        final MarketDataRecord marketDataRecord = parse(line);
+        if (marketDataRecord.timestamp() < previousTimestamp) {
+          throw invalidLine("the record is not in time order", null);
+        }
+        previousTimestamp = marketDataRecord.timestamp();
+        return marketDataRecord;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (reader != null) {
+        reader.close();
+        reader = null;
+      }
+    }
+
+    private MarketDataRecord parse(String line) throws IOException {
+      final String[] fields = line.split(",", -1);
+      try {
+        final long timestamp = Long.parseLong(fields[0].trim());
+        final String marketId = fields[1].trim();
+        final String recordType = fields[2].trim();
+
+        if (TICKER_RECORD_TYPE.equals(recordType) && fields.length == TICKER_FIELD_COUNT) {
+          return MarketDataRecord.ofTicker(
+              timestamp,
+              marketId,
+              new TickerImpl(
+                  toDecimal(fields[3]),
+                  toDecimal(fields[4]),
+                  toDecimal(fields[5]),
+                  toDecimal(fields[6]),
+                  toDecimal(fields[7]),
+                  toDecimal(fields[8]),
+                  toDecimal(fields[9]),
+                  toDecimal(fields[10]),
+                  timestamp));
+
+        } else if (ORDER_BOOK_RECORD_TYPE.equals(recordType)
+            && fields.length == ORDER_BOOK_FIELD_COUNT) {
+          return MarketDataRecord.ofOrderBook(
+              timestamp,
+              marketId,
+              new MarketOrderBookImpl(
+                  marketId,
+                  toOrders(OrderType.SELL, fields[4]),
+                  toOrders(OrderType.BUY, fields[3])));
+
+        } else if (LATEST_MARKET_PRICE_RECORD_TYPE.equals(recordType)
+            && fields.length == LATEST_MARKET_PRICE_FIELD_COUNT) {
+          return MarketDataRecord.ofLatestMarketPrice(
+              timestamp, marketId, new BigDecimal(fields[3].trim()));
+        }
+        throw invalidLine("expected a ticker, book or price record", null);
+
+      } catch (NumberFormatException | IndexOutOfBoundsException e) {
+        throw invalidLine(e.getMessage(), e);
+      }
+    }
+
+    private static BigDecimal toDecimal(String field) {
+      final String value = field.trim();
+      return value.isEmpty() ? null : new BigDecimal(value);
+    }
+
+    private static List<MarketOrder> toOrders(OrderType orderType, String field) {
+      final List<MarketOrder> orders = new ArrayList<>();
+      for (final String order : field.trim().split(" +")) {
+        if (order.isEmpty()) {
+          continue;
+        }
+        final int separator = order.indexOf(':');
+        final BigDecimal price = new BigDecimal(order.substring(0, separator));
+        final BigDecimal quantity = new BigDecimal(order.substring(separator + 1));
+        orders.add(new MarketOrderImpl(orderType, price, quantity, price.multiply(quantity)));
+      }
+      return orders;
+    }
+
+    private IOException invalidLine(String reason, Exception cause) {
+      return new IOException(
+          "Invalid recorded market data at " + file + ":" + lineNumber + " - " + reason, cause);
+    }
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Reads market data recorded by the Market Data Recorder.
+ *
+ * <p>The path can be a single file, or a directory: all the .bxmd files in it are read in filename
+ * order, which is date order for the files the recorder writes.
+ *
+ * <p>The files are memory-mapped rather than read through a stream, so scanning a large history
+ * does not copy it through an intermediate buffer, and the pages are cached by the OS for the next
+ * backtest. Large files are mapped in windows, so they do not have to fit in the address space.
+ *
+ * <p>The records are read in the order they were recorded. A record that was partly written when
+ * the bot stopped is skipped with a warning.
+ *
+ * @author gazbert
+ */
+@Log4j2
+public final class MappedRecordedMarketData implements RecordedMarketData {
+
+  private static final long DEFAULT_MAX_WINDOW_SIZE = 1L << 30;
+
+  private final Path path;
+  private final long maxWindowSize;
+
+  /**
+   * Creates the Mapped Recorded Market Data.
+   *
+   * @param path the market data file, or a directory of market data files.
+   */
+  public MappedRecordedMarketData(Path path) {
+    this(path, DEFAULT_MAX_WINDOW_SIZE);
+  }
+
+  /**
+   * Creates the Mapped Recorded Market Data with the given window size. Used by the tests.
+   *
+   * @param path the market data file, or a directory of market data files.
+   * @param maxWindowSize the max number of bytes of a file to map at a time.
+   */
+  MappedRecordedMarketData(Path path, long maxWindowSize) {
+    this.path = path;
+    this.maxWindowSize = maxWindowSize;
+  }
+
+  /**
+   * Checks if a path holds market data written by the Market Data Recorder.
+   *
+   * @param path the file or directory.
+   * @return true if the path is a market data file, or a directory with market data files in it.
+   * @throws IOException if the directory cannot be listed.
+   */
+  public static boolean isRecordedBy(Path path) throws IOException {
+    return !listFiles(path).isEmpty();
+  }
+
+  @Override
+  public Cursor open() throws IOException {
+    return new MappedCursor(listFiles(path).iterator());
+  }
+
+  private static List<Path> listFiles(Path path) throws IOException {
+    final List<Path> files = new ArrayList<>();
+    if (Files.isDirectory(path)) {
+      try (Stream<Path> directory = Files.list(path)) {
+        directory.filter(MappedRecordedMarketData::isMarketDataFile).sorted().forEach(files::add);
+      }
+    } else if (isMarketDataFile(path)) {
+      files.add(path);
+    }
+    return files;
+  }
+
+  private static boolean isMarketDataFile(Path file) {
+    return file.getFileName().toString().endsWith(MarketDataRecorder.FILE_EXTENSION);
+  }
+
+  /** Maps each file in turn, remapping the window when the next record is not inside it. */
+  private final class MappedCursor implements Cursor {
+
+    private final Iterator<Path> files;
+    private Path file;
+    private FileChannel channel;
+    private long fileSize;
+    private long windowStart;
+    private MappedByteBuffer window;
+
+    MappedCursor(Iterator<Path> files) {
+      this.files = files;
+    }
+
+    @Override
+    public MarketDataRecord next() throws IOException {
+      while (true) {
+        if (channel == null) {
+          if (!files.hasNext()) {
+            return null;
+          }
+          openNextFile();
+        }
+
+        final long position = windowStart + window.position();
+        final long remaining = fileSize - position;
+        if (remaining < BinaryMarketDataFormat.LENGTH_PREFIX) {
+          endFile(remaining);
+          continue;
+        }
+        if (window.remaining() < BinaryMarketDataFormat.LENGTH_PREFIX) {
+          map(position, BinaryMarketDataFormat.LENGTH_PREFIX);
+        }
+        final int length = window.getInt(window.position());
+        if (length <= 0 || length > remaining - BinaryMarketDataFormat.LENGTH_PREFIX) {
+          endFile(remaining);
+          continue;
+        }
+        if (window.remaining() < BinaryMarketDataFormat.LENGTH_PREFIX + length) {
+          map(position, BinaryMarketDataFormat.LENGTH_PREFIX + length);
+        }
+
+        final int start = window.position() + BinaryMarketDataFormat.LENGTH_PREFIX;
+        window.position(start + length);
+        try {
+          return BinaryMarketDataFormat.decode(window.slice(start, length));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+          throw new IOException("Invalid recorded market data at " + file + ":" + position, e);
+        }
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      window = null;
+      if (channel != null) {
+        channel.close();
+        channel = null;
+      }
+    }
+
+    private void openNextFile() throws IOException {
+      file = files.next();
+      channel = FileChannel.open(file, StandardOpenOption.READ);
+      fileSize = channel.size();
+      map(0, Math.min(fileSize, BinaryMarketDataFormat.HEADER_LENGTH));
+      if (!BinaryMarketDataFormat.readHeader(window)) {
+        close();
+        throw new IOException("Not a market data file in a supported format: " + file);
+      }
+    }
+
+    /** Maps a window from the position that is at least the size needed. */
+    private void map(long position, long sizeNeeded) throws IOException {
+      final long size = Math.min(fileSize - position, Math.max(maxWindowSize, sizeNeeded));
+      windowStart = position;
+      window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    private void endFile(long remaining) throws IOException {
+      if (remaining > 0) {
+        log.warn("Skipping the last {} byte(s) of {}: the record is incomplete", remaining, file);
+      }
+      close();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.Ticker;
+import java.math.BigDecimal;
+
+/**
+ * A ticker, market order book or latest market price that was recorded from an exchange.
+ *
+ * <p>Exactly 1 of the ticker, the order book and the latest market price is set.
+ *
+ * @param timestamp when the data was recorded, in millis since the epoch.
+ * @param marketId the id of the market.
+ * @param ticker the recorded ticker, or null.
+ * @param orderBook the recorded market order book, or null.
+ * @param latestMarketPrice the recorded latest market price, or null.
+ * @author gazbert
+ */
+public record MarketDataRecord(
+    long timestamp,
+    String marketId,
+    Ticker ticker,
+    MarketOrderBook orderBook,
+    BigDecimal latestMarketPrice) {
+
+  /**
+   * Creates a recorded ticker.
+   *
+   * @param timestamp when the ticker was recorded, in millis since the epoch.
+   * @param marketId the id of the market.
+   * @param ticker the ticker.
+   * @return the record.
+   */
+  public static MarketDataRecord ofTicker(long timestamp, String marketId, Ticker ticker) {
+    return new MarketDataRecord(timestamp, marketId, ticker, null, null);
+  }
+
+  /**
+   * Creates a recorded market order book.
+   *
+   * @param timestamp when the order book was recorded, in millis since the epoch.
+   * @param marketId the id of the market.
+   * @param orderBook the market order book.
+   * @return the record.
+   */
+  public static MarketDataRecord ofOrderBook(
+      long timestamp, String marketId, MarketOrderBook orderBook) {
+    return new MarketDataRecord(timestamp, marketId, null, orderBook, null);
+  }
+
+  /**
+   * Creates a recorded latest market price.
+   *
+   * @param timestamp when the price was recorded, in millis since the epoch.
+   * @param marketId the id of the market.
+   * @param latestMarketPrice the latest market price.
+   * @return the record.
+   */
+  public static MarketDataRecord ofLatestMarketPrice(
+      long timestamp, String marketId, BigDecimal latestMarketPrice) {
+    return new MarketDataRecord(timestamp, marketId, null, null, latestMarketPrice);
+  }
+}
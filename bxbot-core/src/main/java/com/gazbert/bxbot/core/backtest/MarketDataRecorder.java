@@ -0,0 +1,221 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Records market data to compact binary files that can be replayed by a backtest.
+ *
+ * <p>The records are encoded on the calling thread, so the market data can be reused by the
+ * Exchange Adapter as soon as this returns, and queued for a background writer thread. If the
+ * writer falls behind and the queue is full, the record is dropped rather than block the trade
+ * cycle.
+ *
+ * <p>The writer appends the records to a file per UTC day, named market-data-yyyy-MM-dd.bxmd, in
+ * the {@link BinaryMarketDataFormat}. If a file write fails, the recording is stopped and the error
+ * is logged: the bot keeps trading.
+ *
+ * <p>This class is thread safe.
+ *
+ * @author gazbert
+ */
+@Log4j2
+public final class MarketDataRecorder implements Closeable {
+
+  /** The extension of the market data files. */
+  static final String FILE_EXTENSION = ".bxmd";
+
+  private static final String FILE_PREFIX = "market-data-";
+  private static final int QUEUE_CAPACITY = 10_000;
+  private static final int MAX_BATCH_SIZE = 256;
+  private static final long POLL_INTERVAL_MILLIS = 100;
+  private static final long CLOSE_TIMEOUT_MILLIS = 5_000;
+  private static final long DROPPED_RECORDS_LOG_INTERVAL = 1_000;
+
+  private final Path directory;
+  private final BlockingQueue<EncodedRecord> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+  private final AtomicLong droppedRecordCount = new AtomicLong();
+  private final Thread writerThread;
+  private volatile boolean closed;
+
+  private FileChannel channel;
+  private LocalDate channelDate;
+
+  /**
+   * Creates the recorder and starts its writer thread.
+   *
+   * @param directory the directory to write the market data files to. It is created if needed.
+   * @throws IOException if the directory cannot be created.
+   */
+  public MarketDataRecorder(Path directory) throws IOException {
+    this.directory = Files.createDirectories(directory);
+    writerThread =
+        Thread.ofPlatform().name("bxbot-market-data-recorder").daemon().start(this::writeRecords);
+  }
+
+  /**
+   * Queues a record to be written. It never blocks.
+   *
+   * @param marketDataRecord the record.
+   */
+  public void record(MarketDataRecord marketDataRecord) {
+    if (closed) {
+      return;
+    }
+    final byte[] bytes;
+    try {
+      bytes = BinaryMarketDataFormat.encode(marketDataRecord);
+    } catch (ArithmeticException e) {
+      log.warn(
+          "Failed to record market data for market {}: {}",
+          marketDataRecord.marketId(),
+          e.getMessage());
+      return;
+    }
+    if (!queue.offer(new EncodedRecord(marketDataRecord.timestamp(), bytes))
+        && droppedRecordCount.getAndIncrement() % DROPPED_RECORDS_LOG_INTERVAL == 0) {
+      log.warn(
+          "Market data recorder cannot keep up: {} record(s) dropped so far",
+          droppedRecordCount.get());
+    }
+  }
+
+  /**
+   * Stops recording. The records already queued are written before the files are closed.
+   *
+   * @throws IOException if the writer thread is interrupted.
+   */
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    try {
+      writerThread.join(CLOSE_TIMEOUT_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while closing the market data recorder", e);
+    }
+  }
+
+  private void writeRecords() {
+    final List<EncodedRecord> batch = new ArrayList<>(MAX_BATCH_SIZE);
+    try {
+      while (!closed || !queue.isEmpty()) {
+        final EncodedRecord encodedRecord = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        if (encodedRecord != null) {
+          batch.add(encodedRecord);
+          queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+          write(batch);
+          batch.clear();
+        }
+      }
+    } catch (IOException e) {
+      closed = true;
+      queue.clear();
+      log.error("Market data recording stopped: failed to write to " + directory, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      closeChannel();
+    }
+  }
+
+  /** Writes the batch with a gathering write per file, rolling to a new file each day. */
+  private void write(List<EncodedRecord> batch) throws IOException {
+    int start = 0;
+    while (start < batch.size()) {
+      final LocalDate date = dateOf(batch.get(start));
+      int end = start + 1;
+      while (end < batch.size() && date.equals(dateOf(batch.get(end)))) {
+        end++;
+      }
+      final ByteBuffer[] buffers = new ByteBuffer[end - start];
+      for (int i = start; i < end; i++) {
+        buffers[i - start] = ByteBuffer.wrap(batch.get(i).bytes());
+      }
+      final FileChannel fileChannel = channelFor(date);
+      while (buffers[buffers.length - 1].hasRemaining()) {
+        fileChannel.write(buffers);
+      }
+      start = end;
+    }
+  }
+
+  private FileChannel channelFor(LocalDate date) throws IOException {
+    if (date.equals(channelDate)) {
+      return channel;
+    }
+    closeChannel();
+    final Path file = directory.resolve(FILE_PREFIX + date + FILE_EXTENSION);
+    channel =
+        FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    channelDate = date;
+    if (channel.size() == 0) {
+      final ByteBuffer header = ByteBuffer.allocate(BinaryMarketDataFormat.HEADER_LENGTH);
+      BinaryMarketDataFormat.writeHeader(header);
+      header.flip();
+      while (header.hasRemaining()) {
+        channel.write(header);
+      }
+    }
+    log.info("Recording market data to: {}", file);
+    return channel;
+  }
+
+  private void closeChannel() {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        log.warn("Failed to close market data file for " + channelDate, e);
+      }
+      channel = null;
+      channelDate = null;
+    }
+  }
+
+  private static LocalDate dateOf(EncodedRecord encodedRecord) {
+    return LocalDate.ofInstant(Instant.ofEpochMilli(encodedRecord.timestamp()), ZoneOffset.UTC);
+  }
+
+  /** A record encoded on the calling thread, waiting to be written. */
+  private record EncodedRecord(long timestamp, byte[] bytes) {}
+}
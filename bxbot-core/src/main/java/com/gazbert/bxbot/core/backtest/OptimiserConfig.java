@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * The config for optimising a Trading Strategy. It is loaded from the ./config/optimiser.yaml file.
+ *
+ * @author gazbert
+ */
+@Data
+public class OptimiserConfig {
+
+  /** The backtest config file. The strategy config items in it are the defaults. */
+  private String backtestConfig = "./config/backtest.yaml";
+
+  /**
+   * The strategy config items to search, and the values to try for each one: a list of values
+   * separated by commas, e.g. 20, 50, 100, or for a random search only, a range, e.g. 0.5..2.5.
+   */
+  private Map<String, String> parameters = new LinkedHashMap<>();
+
+  /** How to search the parameters. */
+  private SearchType search = SearchType.GRID;
+
+  /** The number of parameter combinations to backtest in a random search. */
+  private int randomSamples;
+
+  /** Optional seed for a random search, so it can be repeated. */
+  private Long randomSeed;
+
+  /** Optional number of backtests to run at a time. If not set, the number of CPU cores is used. */
+  private int parallelism;
+
+  /** Creates the Optimiser Config. */
+  public OptimiserConfig() {
+    // No extra init needed.
+  }
+
+  /** How the parameters are searched. */
+  public enum SearchType {
+
+    /** Backtests every combination of the parameter values. */
+    GRID,
+
+    /** Backtests randomly chosen combinations of the parameter values. */
+    RANDOM
+  }
+}
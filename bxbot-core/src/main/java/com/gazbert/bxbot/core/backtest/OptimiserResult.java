@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The result of backtesting a Trading Strategy with 1 combination of parameter values.
+ *
+ * @param parameters the strategy config item values that were searched.
+ * @param backtestResult the backtest result, or null if the strategy failed.
+ * @param failure why the strategy failed, or null if it did not.
+ * @author gazbert
+ */
+public record OptimiserResult(
+    Map<String, String> parameters, BacktestResult backtestResult, String failure) {
+
+  /**
+   * Ranks the results: the highest profit first, then the smallest max drawdown. Failures are
+   * ranked last.
+   */
+  public static final Comparator<OptimiserResult> RANKING =
+      Comparator.comparing(
+              OptimiserResult::backtestResult,
+              Comparator.nullsLast(
+                  Comparator.comparing(BacktestResult::profitAndLoss)
+                      .reversed()
+                      .thenComparing(BacktestResult::maxDrawdown)));
+
+  /**
+   * Creates the result of a backtest that completed.
+   *
+   * @param parameters the strategy config item values that were searched.
+   * @param backtestResult the backtest result.
+   * @return the result.
+   */
+  public static OptimiserResult completed(
+      Map<String, String> parameters, BacktestResult backtestResult) {
+    return new OptimiserResult(copyOf(parameters), backtestResult, null);
+  }
+
+  /**
+   * Creates the result of a backtest that the strategy failed.
+   *
+   * @param parameters the strategy config item values that were searched.
+   * @param failure why the strategy failed.
+   * @return the result.
+   */
+  public static OptimiserResult failed(Map<String, String> parameters, String failure) {
+    return new OptimiserResult(copyOf(parameters), null, failure);
+  }
+
+  private static Map<String, String> copyOf(Map<String, String> parameters) {
+    return Collections.unmodifiableMap(new LinkedHashMap<>(parameters));
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Creates the combinations of strategy config item values to backtest.
+ *
+ * <p>Each parameter is a list of values separated by commas, e.g. 20, 50, 100, or a range, e.g.
+ * 0.5..2.5. A range can only be searched randomly: the values are drawn uniformly from it, to the
+ * decimal places of its bounds.
+ *
+ * @author gazbert
+ */
+final class ParameterSearch {
+
+  private static final String RANGE_SEPARATOR = "..";
+  private static final int MAX_ATTEMPTS_PER_SAMPLE = 10;
+
+  private ParameterSearch() {}
+
+  /**
+   * Returns every combination of the parameter values.
+   *
+   * @param parameters the parameter names and values.
+   * @return the combinations, in the order the values are listed.
+   * @throws IllegalArgumentException if a parameter is a range, or has no values.
+   */
+  static List<Map<String, String>> grid(Map<String, String> parameters) {
+    List<Map<String, String>> combinations = new ArrayList<>();
+    combinations.add(new LinkedHashMap<>());
+    for (final Map.Entry<String, String> parameter : parameters.entrySet()) {
+      if (isRange(parameter.getValue())) {
+        throw new IllegalArgumentException(
+            "A grid search needs a list of values, not a range, for: " + parameter.getKey());
+      }
+      final List<Map<String, String>> extendedCombinations = new ArrayList<>();
+      for (final Map<String, String> combination : combinations) {
+        for (final String value : values(parameter.getKey(), parameter.getValue())) {
+          final Map<String, String> extendedCombination = new LinkedHashMap<>(combination);
+          extendedCombination.put(parameter.getKey(), value);
+          extendedCombinations.add(extendedCombination);
+        }
+      }
+      combinations = extendedCombinations;
+    }
+    return combinations;
+  }
+
+  /**
+   * Returns distinct combinations of randomly chosen parameter values. Fewer are returned if there
+   * are not enough distinct combinations.
+   *
+   * @param parameters the parameter names and values.
+   * @param samples the number of combinations to return.
+   * @param random the source of the random values.
+   * @return the combinations.
+   * @throws IllegalArgumentException if a parameter has no values, or an invalid range.
+   */
+  static List<Map<String, String>> random(
+      Map<String, String> parameters, int samples, Random random) {
+    final Map<String, List<String>> valueLists = new LinkedHashMap<>();
+    final Map<String, BigDecimal[]> ranges = new LinkedHashMap<>();
+    for (final Map.Entry<String, String> parameter : parameters.entrySet()) {
+      if (isRange(parameter.getValue())) {
+        ranges.put(parameter.getKey(), range(parameter.getKey(), parameter.getValue()));
+      } else {
+        valueLists.put(parameter.getKey(), values(parameter.getKey(), parameter.getValue()));
+      }
+    }
+
+    final Set<Map<String, String>> combinations = new LinkedHashSet<>();
+    for (int attempt = 0;
+        combinations.size() < samples && attempt < samples * MAX_ATTEMPTS_PER_SAMPLE;
+        attempt++) {
+      final Map<String, String> combination = new LinkedHashMap<>();
+      for (final String name : parameters.keySet()) {
+        final List<String> values = valueLists.get(name);
+        combination.put(
+            name,
+            values != null
+                ? values.get(random.nextInt(values.size()))
+                : randomValue(ranges.get(name), random));
+      }
+      combinations.add(combination);
+    }
+    return new ArrayList<>(combinations);
+  }
+
+  private static boolean isRange(String parameterValues) {
+    return parameterValues.contains(RANGE_SEPARATOR);
+  }
+
+  private static List<String> values(String name, String parameterValues) {
+    final List<String> values = new ArrayList<>();
+    for (final String value : parameterValues.split(",")) {
+      if (!value.isBlank()) {
+        values.add(value.trim());
+      }
+    }
+    if (values.isEmpty()) {
+      throw new IllegalArgumentException("No values to search for: " + name);
+    }
+    return values;
+  }
+
+  private static BigDecimal[] range(String name, String parameterValues) {
+    final int separator = parameterValues.indexOf(RANGE_SEPARATOR);
+    try {
+      final BigDecimal min = new BigDecimal(parameterValues.substring(0, separator).trim());
+      final BigDecimal max =
+          new BigDecimal(parameterValues.substring(separator + RANGE_SEPARATOR.length()).trim());
+      if (min.compareTo(max) > 0) {
+        throw new IllegalArgumentException("The range min is more than the max for: " + name);
+      }
+      return new BigDecimal[] {min, max};
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid range for: " + name, e);
+    }
+  }
+
+  private static String randomValue(BigDecimal[] range, Random random) {
+    final int scale = Math.max(range[0].scale(), range[1].scale());
+    final BigDecimal value =
+        range[0].add(range[1].subtract(range[0]).multiply(BigDecimal.valueOf(random.nextDouble())));
+    return value.setScale(scale, RoundingMode.HALF_EVEN).toPlainString();
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Market data that was recorded from an exchange, for replaying in backtests.
+ *
+ * <p>The data can be read any number of times, so several backtests can replay it.
+ *
+ * @author gazbert
+ */
+public interface RecordedMarketData {
+
+  /**
+   * Opens a new cursor positioned at the start of the recorded data.
+   *
+   * @return the cursor. The caller must close it.
+   * @throws IOException if the data cannot be opened.
+   */
+  Cursor open() throws IOException;
+
+  /** Reads the recorded data in time order. */
+  interface Cursor extends Closeable {
+
+    /**
+     * Reads the next record.
+     *
+     * @return the next record, or null if there are no more records.
+     * @throws IOException if the data cannot be read, or is not in time order.
+     */
+    MarketDataRecord next() throws IOException;
+  }
+}
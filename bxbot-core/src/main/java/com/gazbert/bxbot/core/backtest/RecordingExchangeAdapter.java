@@ -0,0 +1,201 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
+import com.gazbert.bxbot.exchange.api.ExchangeConfig;
+import com.gazbert.bxbot.exchange.api.MarketDataListener;
+import com.gazbert.bxbot.trading.api.BalanceInfo;
+import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import com.gazbert.bxbot.trading.api.Ticker;
+import com.gazbert.bxbot.trading.api.TradingApiException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wraps an Exchange Adapter and records the market order books, tickers and latest market prices
+ * it returns, so they can be replayed by a backtest.
+ *
+ * <p>The records are written by the Market Data Recorder's background thread: recording only adds
+ * the time taken to encode the response to each call. All the other calls go straight through to
+ * the Exchange Adapter.
+ *
+ * <p>This class is thread safe if the wrapped Exchange Adapter is.
+ *
+ * @author gazbert
+ */
+public final class RecordingExchangeAdapter implements ExchangeAdapter {
+
+  private final ExchangeAdapter exchangeAdapter;
+  private final MarketDataRecorder marketDataRecorder;
+  private final Clock clock;
+
+  /**
+   * Creates the Recording Exchange Adapter.
+   *
+   * @param exchangeAdapter the Exchange Adapter to wrap.
+   * @param marketDataRecorder the recorder to write the market data to.
+   * @param clock the clock used to timestamp the records.
+   */
+  public RecordingExchangeAdapter(
+      ExchangeAdapter exchangeAdapter, MarketDataRecorder marketDataRecorder, Clock clock) {
+    this.exchangeAdapter = exchangeAdapter;
+    this.marketDataRecorder = marketDataRecorder;
+    this.clock = clock;
+  }
+
+  @Override
+  public void init(ExchangeConfig config) {
+    exchangeAdapter.init(config);
+  }
+
+  @Override
+  public void subscribeToMarketData(Collection<String> marketIds, MarketDataListener listener) {
+    exchangeAdapter.subscribeToMarketData(marketIds, listener);
+  }
+
+  @Override
+  public String getVersion() {
+    return exchangeAdapter.getVersion();
+  }
+
+  @Override
+  public String getImplName() {
+    return exchangeAdapter.getImplName();
+  }
+
+  @Override
+  public boolean isThreadSafe() {
+    return exchangeAdapter.isThreadSafe();
+  }
+
+  @Override
+  public MarketOrderBook getMarketOrders(String marketId)
+      throws ExchangeNetworkException, TradingApiException {
+    final MarketOrderBook marketOrderBook = exchangeAdapter.getMarketOrders(marketId);
+    if (marketOrderBook != null) {
+      marketDataRecorder.record(
+          MarketDataRecord.ofOrderBook(clock.millis(), marketId, marketOrderBook));
+    }
+    return marketOrderBook;
+  }
+
+  @Override
+  public Map<String, MarketOrderBook> getMarketOrders(Collection<String> marketIds)
+      throws ExchangeNetworkException, TradingApiException {
+    final Map<String, MarketOrderBook> marketOrderBooks =
+        exchangeAdapter.getMarketOrders(marketIds);
+    final long timestamp = clock.millis();
+    marketOrderBooks.forEach(
+        (marketId, marketOrderBook) -> {
+          if (marketOrderBook != null) {
+            marketDataRecorder.record(
+                MarketDataRecord.ofOrderBook(timestamp, marketId, marketOrderBook));
+          }
+        });
+    return marketOrderBooks;
+  }
+
+  @Override
+  public List<OpenOrder> getYourOpenOrders(String marketId)
+      throws ExchangeNetworkException, TradingApiException {
+    return exchangeAdapter.getYourOpenOrders(marketId);
+  }
+
+  @Override
+  public String createOrder(
+      String marketId, OrderType orderType, BigDecimal quantity, BigDecimal price)
+      throws ExchangeNetworkException, TradingApiException {
+    return exchangeAdapter.createOrder(marketId, orderType, quantity, price);
+  }
+
+  @Override
+  public boolean cancelOrder(String orderId, String marketId)
+      throws ExchangeNetworkException, TradingApiException {
+    return exchangeAdapter.cancelOrder(orderId, marketId);
+  }
+
+  @Override
+  public BigDecimal getLatestMarketPrice(String marketId)
+      throws ExchangeNetworkException, TradingApiException {
+    final BigDecimal latestMarketPrice = exchangeAdapter.getLatestMarketPrice(marketId);
+    if (latestMarketPrice != null) {
+      marketDataRecorder.record(
+          MarketDataRecord.ofLatestMarketPrice(clock.millis(), marketId, latestMarketPrice));
+    }
+    return latestMarketPrice;
+  }
+
+  @Override
+  public BalanceInfo getBalanceInfo() throws ExchangeNetworkException, TradingApiException {
+    return exchangeAdapter.getBalanceInfo();
+  }
+
+  @Override
+  public BigDecimal getPercentageOfBuyOrderTakenForExchangeFee(String marketId)
+      throws TradingApiException, ExchangeNetworkException {
+    return exchangeAdapter.getPercentageOfBuyOrderTakenForExchangeFee(marketId);
+  }
+
+  @Override
+  public BigDecimal getPercentageOfSellOrderTakenForExchangeFee(String marketId)
+      throws TradingApiException, ExchangeNetworkException {
+    return exchangeAdapter.getPercentageOfSellOrderTakenForExchangeFee(marketId);
+  }
+
+  @Override
+  public BigDecimal getMinimumOrderVolume(String marketId)
+      throws TradingApiException, ExchangeNetworkException {
+    return exchangeAdapter.getMinimumOrderVolume(marketId);
+  }
+
+  @Override
+  public Ticker getTicker(String marketId) throws TradingApiException, ExchangeNetworkException {
+    final Ticker ticker = exchangeAdapter.getTicker(marketId);
+    if (ticker != null) {
+      marketDataRecorder.record(MarketDataRecord.ofTicker(clock.millis(), marketId, ticker));
+    }
+    return ticker;
+  }
+
+  @Override
+  public Map<String, Ticker> getTickers(Collection<String> marketIds)
+      throws TradingApiException, ExchangeNetworkException {
+    final Map<String, Ticker> tickers = exchangeAdapter.getTickers(marketIds);
+    final long timestamp = clock.millis();
+    tickers.forEach(
+        (marketId, ticker) -> {
+          if (ticker != null) {
+            marketDataRecorder.record(MarketDataRecord.ofTicker(timestamp, marketId, ticker));
+          }
+        });
+    return tickers;
+  }
+}
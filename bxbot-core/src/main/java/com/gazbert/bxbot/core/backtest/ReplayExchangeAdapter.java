@@ -0,0 +1,208 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
+import com.gazbert.bxbot.exchange.api.ExchangeConfig;
+import com.gazbert.bxbot.exchange.api.MarketDataListener;
+import com.gazbert.bxbot.exchanges.trading.api.impl.TickerImpl;
+import com.gazbert.bxbot.trading.api.BalanceInfo;
+import com.gazbert.bxbot.trading.api.MarketOrder;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import com.gazbert.bxbot.trading.api.Ticker;
+import com.gazbert.bxbot.trading.api.TradingApiException;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An Exchange Adapter that serves recorded market data instead of calling an exchange.
+ *
+ * <p>The backtest runner applies each record when the simulated clock reaches it; the adapter
+ * then serves the latest ticker, order book and market price for each market. If only order books
+ * were recorded, the ticker bid and ask are taken from the best orders in the book. If no market
+ * price was recorded, it is taken from the ticker.
+ *
+ * <p>The backtest runner wraps this adapter in the Try-Mode Exchange Adapter, which simulates the
+ * orders and balances, so the authenticated calls are not supported.
+ *
+ * <p>This class is not thread safe: the backtest runner uses it from a single thread.
+ *
+ * @author gazbert
+ */
+final class ReplayExchangeAdapter implements ExchangeAdapter {
+
+  private static final String NOT_SUPPORTED = " is simulated by the Try-Mode Exchange Adapter";
+  private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+  private final Map<String, Ticker> tickers = new HashMap<>();
+  private final Map<String, MarketOrderBook> orderBooks = new HashMap<>();
+  private final Map<String, BigDecimal> latestMarketPrices = new HashMap<>();
+  private MarketDataListener marketDataListener;
+
+  /**
+   * Applies a record: it replaces the previous ticker, order book or market price for the market.
+   *
+   * @param marketDataRecord the record.
+   */
+  void apply(MarketDataRecord marketDataRecord) {
+    final String marketId = marketDataRecord.marketId();
+    if (marketDataRecord.ticker() != null) {
+      tickers.put(marketId, marketDataRecord.ticker());
+      if (marketDataListener != null) {
+        marketDataListener.onTicker(marketId, marketDataRecord.ticker());
+      }
+    } else if (marketDataRecord.orderBook() != null) {
+      orderBooks.put(marketId, marketDataRecord.orderBook());
+      if (marketDataListener != null) {
+        marketDataListener.onOrderBookUpdate(marketId, marketDataRecord.orderBook());
+      }
+    } else {
+      latestMarketPrices.put(marketId, marketDataRecord.latestMarketPrice());
+    }
+  }
+
+  @Override
+  public void init(ExchangeConfig config) {
+    // Nothing to connect to.
+  }
+
+  @Override
+  public void subscribeToMarketData(Collection<String> marketIds, MarketDataListener listener) {
+    marketDataListener = listener;
+  }
+
+  @Override
+  public String getImplName() {
+    return "Recorded market data replay";
+  }
+
+  @Override
+  public MarketOrderBook getMarketOrders(String marketId) throws TradingApiException {
+    final MarketOrderBook orderBook = orderBooks.get(marketId);
+    if (orderBook == null) {
+      throw new TradingApiException("No order book has been recorded yet for market: " + marketId);
+    }
+    return orderBook;
+  }
+
+  @Override
+  public Map<String, MarketOrderBook> getMarketOrders(Collection<String> marketIds)
+      throws TradingApiException {
+    final Map<String, MarketOrderBook> marketOrderBooks = new LinkedHashMap<>();
+    for (final String marketId : marketIds) {
+      marketOrderBooks.put(marketId, getMarketOrders(marketId));
+    }
+    return marketOrderBooks;
+  }
+
+  @Override
+  public List<OpenOrder> getYourOpenOrders(String marketId) throws TradingApiException {
+    throw new TradingApiException("getYourOpenOrders" + NOT_SUPPORTED);
+  }
+
+  @Override
+  public String createOrder(
+      String marketId, OrderType orderType, BigDecimal quantity, BigDecimal price)
+      throws TradingApiException {
+    throw new TradingApiException("createOrder" + NOT_SUPPORTED);
+  }
+
+  @Override
+  public boolean cancelOrder(String orderId, String marketId) throws TradingApiException {
+    throw new TradingApiException("cancelOrder" + NOT_SUPPORTED);
+  }
+
+  @Override
+  public BigDecimal getLatestMarketPrice(String marketId) throws TradingApiException {
+    final BigDecimal latestMarketPrice = latestMarketPrices.get(marketId);
+    if (latestMarketPrice != null) {
+      return latestMarketPrice;
+    }
+    final Ticker ticker = getTicker(marketId);
+    if (ticker.getLast() != null) {
+      return ticker.getLast();
+    }
+    if (ticker.getBid() == null || ticker.getAsk() == null) {
+      throw new TradingApiException(
+          "No market price has been recorded yet for market: " + marketId);
+    }
+    return ticker.getBid().add(ticker.getAsk()).divide(TWO);
+  }
+
+  @Override
+  public BalanceInfo getBalanceInfo() throws TradingApiException {
+    throw new TradingApiException("getBalanceInfo" + NOT_SUPPORTED);
+  }
+
+  @Override
+  public BigDecimal getPercentageOfBuyOrderTakenForExchangeFee(String marketId)
+      throws TradingApiException {
+    throw new TradingApiException("getPercentageOfBuyOrderTakenForExchangeFee" + NOT_SUPPORTED);
+  }
+
+  @Override
+  public BigDecimal getPercentageOfSellOrderTakenForExchangeFee(String marketId)
+      throws TradingApiException {
+    throw new TradingApiException("getPercentageOfSellOrderTakenForExchangeFee" + NOT_SUPPORTED);
+  }
+
+  @Override
+  public Ticker getTicker(String marketId) throws TradingApiException {
+    final Ticker ticker = tickers.get(marketId);
+    if (ticker != null) {
+      return ticker;
+    }
+    final MarketOrderBook orderBook = getMarketOrders(marketId);
+    return new TickerImpl(
+        null,
+        bestPrice(orderBook.getBuyOrders()),
+        bestPrice(orderBook.getSellOrders()),
+        null,
+        null,
+        null,
+        null,
+        null,
+        null);
+  }
+
+  @Override
+  public Map<String, Ticker> getTickers(Collection<String> marketIds)
+      throws TradingApiException {
+    final Map<String, Ticker> marketTickers = new LinkedHashMap<>();
+    for (final String marketId : marketIds) {
+      marketTickers.put(marketId, getTicker(marketId));
+    }
+    return marketTickers;
+  }
+
+  private static BigDecimal bestPrice(List<MarketOrder> orders) {
+    return orders.isEmpty() ? null : orders.getFirst().getPrice();
+  }
+}
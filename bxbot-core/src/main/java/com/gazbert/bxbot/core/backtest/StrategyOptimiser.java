@@ -0,0 +1,279 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import com.gazbert.bxbot.core.config.strategy.StrategyConfigItems;
+import com.gazbert.bxbot.core.util.ConfigurableComponentFactory;
+import com.gazbert.bxbot.datastore.yaml.ConfigurationManager;
+import com.gazbert.bxbot.strategy.api.StrategyException;
+import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Optimises a Trading Strategy by backtesting it with many combinations of its config item values,
+ * and ranking the results.
+ *
+ * <p>The backtests are run concurrently in a work-stealing fork/join pool, 1 per CPU core by
+ * default. Each backtest uses a new instance of the strategy, and its own simulated Exchange
+ * Adapter and clock, so the backtests do not share any state: the strategy does not need to be
+ * thread safe. The recorded market data is read by each backtest; the OS caches the files, so
+ * they are only read from disk once.
+ *
+ * <p>The config items searched are set in the ./config/optimiser.yaml file; the other strategy
+ * config items are taken from the backtest config.
+ *
+ * @author gazbert
+ */
+@Log4j2
+public final class StrategyOptimiser {
+
+  private static final String DEFAULT_CONFIG_FILE = "./config/optimiser.yaml";
+  private static final String COLUMN_SEPARATOR = "  ";
+  private static final String NOT_AVAILABLE = "-";
+  private static final int PERCENTAGE_DECIMAL_PLACES = 2;
+
+  private final BacktestRunner backtestRunner;
+  private final Supplier<TradingStrategy> tradingStrategyFactory;
+  private final Map<String, String> defaultConfigItems;
+  private final int parallelism;
+
+  /**
+   * Creates the Strategy Optimiser.
+   *
+   * @param backtestRunner the runner for the backtests.
+   * @param tradingStrategyFactory creates a new instance of the Trading Strategy for each backtest.
+   * @param defaultConfigItems the strategy config items that are not searched.
+   * @param parallelism the number of backtests to run at a time.
+   * @throws IllegalArgumentException if the parallelism is less than 1.
+   */
+  public StrategyOptimiser(
+      BacktestRunner backtestRunner,
+      Supplier<TradingStrategy> tradingStrategyFactory,
+      Map<String, String> defaultConfigItems,
+      int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be 1 or more: " + parallelism);
+    }
+    this.backtestRunner = backtestRunner;
+    this.tradingStrategyFactory = tradingStrategyFactory;
+    this.defaultConfigItems = Map.copyOf(defaultConfigItems);
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Optimises the Trading Strategy in the ./config/optimiser.yaml file, or the file given as the
+   * first arg, and logs the ranked results.
+   *
+   * @param args the optional optimiser config file.
+   * @throws IOException if the recorded market data cannot be read.
+   */
+  public static void main(String[] args) throws IOException {
+    final String configFile = args.length > 0 ? args[0] : DEFAULT_CONFIG_FILE;
+    final ConfigurationManager configurationManager = new ConfigurationManager();
+    final OptimiserConfig optimiserConfig =
+        configurationManager.loadConfig(OptimiserConfig.class, configFile);
+    final BacktestConfig backtestConfig =
+        configurationManager.loadConfig(BacktestConfig.class, optimiserConfig.getBacktestConfig());
+
+    final ConfigurableComponentFactory componentFactory = new ConfigurableComponentFactory();
+    final StrategyOptimiser strategyOptimiser =
+        new StrategyOptimiser(
+            new BacktestRunner(BacktestRunner.recordedMarketData(backtestConfig), backtestConfig),
+            () -> componentFactory.createComponent(backtestConfig.getStrategyClassName()),
+            backtestConfig.getConfigItems() == null
+                ? Map.of()
+                : backtestConfig.getConfigItems(),
+            optimiserConfig.getParallelism() > 0
+                ? optimiserConfig.getParallelism()
+                : Runtime.getRuntime().availableProcessors());
+
+    final List<OptimiserResult> results =
+        strategyOptimiser.optimise(parameterCombinations(optimiserConfig));
+    log.info(
+        "Optimiser results for {} on market {}:{}{}",
+        backtestConfig.getStrategyClassName(),
+        backtestConfig.getMarketId(),
+        System.lineSeparator(),
+        formatTable(results, backtestConfig.getCounterCurrency()));
+  }
+
+  /**
+   * Backtests the Trading Strategy with each combination of parameter values.
+   *
+   * @param parameterCombinations the strategy config item values to backtest.
+   * @return the results, ranked best first.
+   * @throws IOException if the recorded market data cannot be read. The other backtests are
+   *     cancelled.
+   */
+  public List<OptimiserResult> optimise(List<Map<String, String>> parameterCombinations)
+      throws IOException {
+    log.info(
+        "Optimising with {} backtests, {} at a time", parameterCombinations.size(), parallelism);
+    final ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      final List<ForkJoinTask<OptimiserResult>> backtests = new ArrayList<>();
+      for (final Map<String, String> parameters : parameterCombinations) {
+        backtests.add(pool.submit(() -> backtest(parameters)));
+      }
+      final List<OptimiserResult> results = new ArrayList<>();
+      for (final ForkJoinTask<OptimiserResult> backtest : backtests) {
+        results.add(backtest.join());
+      }
+      results.sort(OptimiserResult.RANKING);
+      return results;
+
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Formats the results as a table, 1 row per result.
+   *
+   * @param results the ranked results.
+   * @param counterCurrency the currency the profit and drawdown are in.
+   * @return the table.
+   */
+  public static String formatTable(List<OptimiserResult> results, String counterCurrency) {
+    final List<String> parameterNames = new ArrayList<>();
+    for (final OptimiserResult result : results) {
+      for (final String name : result.parameters().keySet()) {
+        if (!parameterNames.contains(name)) {
+          parameterNames.add(name);
+        }
+      }
+    }
+
+    final List<List<String>> rows = new ArrayList<>();
+    final List<String> header =
+        new ArrayList<>(
+            List.of(
+                "Rank",
+                "P&L (" + counterCurrency + ")",
+                "Max drawdown (" + counterCurrency + ")",
+                "Max drawdown %",
+                "Filled orders"));
+    header.addAll(parameterNames);
+    rows.add(header);
+
+    for (int i = 0; i < results.size(); i++) {
+      final OptimiserResult result = results.get(i);
+      final BacktestResult backtestResult = result.backtestResult();
+      final List<String> row = new ArrayList<>();
+      row.add(String.valueOf(i + 1));
+      if (backtestResult == null) {
+        // The failure is logged when the backtest fails.
+        row.addAll(List.of("failed", NOT_AVAILABLE, NOT_AVAILABLE, NOT_AVAILABLE));
+      } else {
+        row.add(backtestResult.profitAndLoss().toPlainString());
+        row.add(backtestResult.maxDrawdown().toPlainString());
+        row.add(
+            backtestResult
+                .maxDrawdownPercentage()
+                .setScale(PERCENTAGE_DECIMAL_PLACES, RoundingMode.HALF_EVEN)
+                .toPlainString());
+        row.add(String.valueOf(backtestResult.filledOrders()));
+      }
+      for (final String name : parameterNames) {
+        row.add(result.parameters().getOrDefault(name, NOT_AVAILABLE));
+      }
+      rows.add(row);
+    }
+    return formatColumns(rows);
+  }
+
+  /**
+   * Returns the parameter combinations to backtest for the optimiser config.
+   *
+   * @param optimiserConfig the optimiser config.
+   * @return the parameter combinations.
+   * @throws IllegalArgumentException if the parameters are invalid for the search type.
+   */
+  static List<Map<String, String>> parameterCombinations(OptimiserConfig optimiserConfig) {
+    final Map<String, String> parameters = optimiserConfig.getParameters();
+    if (parameters == null || parameters.isEmpty()) {
+      throw new IllegalArgumentException("There are no parameters to search");
+    }
+    if (optimiserConfig.getSearch() == OptimiserConfig.SearchType.RANDOM) {
+      if (optimiserConfig.getRandomSamples() < 1) {
+        throw new IllegalArgumentException(
+            "Random Samples must be 1 or more: " + optimiserConfig.getRandomSamples());
+      }
+      final Random random =
+          optimiserConfig.getRandomSeed() == null
+              ? new Random()
+              : new Random(optimiserConfig.getRandomSeed());
+      return ParameterSearch.random(parameters, optimiserConfig.getRandomSamples(), random);
+    }
+    return ParameterSearch.grid(parameters);
+  }
+
+  private OptimiserResult backtest(Map<String, String> parameters) {
+    final Map<String, String> configItems = new HashMap<>(defaultConfigItems);
+    configItems.putAll(parameters);
+    final StrategyConfigItems strategyConfig = new StrategyConfigItems();
+    strategyConfig.setItems(configItems);
+    try {
+      return OptimiserResult.completed(
+          parameters, backtestRunner.run(tradingStrategyFactory.get(), strategyConfig));
+    } catch (StrategyException e) {
+      log.warn("Backtest with {} failed: {}", parameters, e.getMessage());
+      return OptimiserResult.failed(parameters, e.getMessage());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static String formatColumns(List<List<String>> rows) {
+    final int[] widths = new int[rows.getFirst().size()];
+    for (final List<String> row : rows) {
+      for (int column = 0; column < row.size(); column++) {
+        widths[column] = Math.max(widths[column], row.get(column).length());
+      }
+    }
+    final StringBuilder table = new StringBuilder();
+    for (final List<String> row : rows) {
+      final StringBuilder line = new StringBuilder();
+      for (int column = 0; column < row.size(); column++) {
+        line.append(String.format("%-" + widths[column] + "s", row.get(column)))
+            .append(COLUMN_SEPARATOR);
+      }
+      table.append(line.toString().stripTrailing()).append(System.lineSeparator());
+    }
+    return table.toString();
+  }
+}
@@ -57,6 +57,11 @@ public final class ExchangeApiConfigBuilder {
     if (networkConfig != null) {
       final NetworkConfigImpl exchangeApiNetworkConfig = new NetworkConfigImpl();
       exchangeApiNetworkConfig.setConnectionTimeout(networkConfig.getConnectionTimeout());
+      exchangeApiNetworkConfig.setMaxConnections(networkConfig.getMaxConnections());
+      exchangeApiNetworkConfig.setPublicRequestsPerMinute(
+          networkConfig.getPublicRequestsPerMinute());
+      exchangeApiNetworkConfig.setPrivateRequestsPerMinute(
+          networkConfig.getPrivateRequestsPerMinute());
 
       final List<Integer> nonFatalErrorCodes = networkConfig.getNonFatalErrorCodes();
       if (nonFatalErrorCodes != null && !nonFatalErrorCodes.isEmpty()) {
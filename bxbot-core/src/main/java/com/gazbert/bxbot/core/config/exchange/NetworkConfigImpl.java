@@ -41,6 +41,9 @@ public class NetworkConfigImpl implements NetworkConfig {
   private Integer connectionTimeout;
   private List<Integer> nonFatalErrorCodes;
   private List<String> nonFatalErrorMessages;
+  private Integer maxConnections;
+  private Integer publicRequestsPerMinute;
+  private Integer privateRequestsPerMinute;
 
   /** Creates the Network config. */
   public NetworkConfigImpl() {
@@ -62,4 +65,19 @@ public class NetworkConfigImpl implements NetworkConfig {
   public List<String> getNonFatalErrorMessages() {
     return nonFatalErrorMessages;
   }
+
+  @Override
+  public Integer getMaxConnections() {
+    return maxConnections;
+  }
+
+  @Override
+  public Integer getPublicRequestsPerMinute() {
+    return publicRequestsPerMinute;
+  }
+
+  @Override
+  public Integer getPrivateRequestsPerMinute() {
+    return privateRequestsPerMinute;
+  }
 }
@@ -0,0 +1,53 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.config.strategy;
+
+import com.gazbert.bxbot.domain.market.MarketConfig;
+import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Binds an initialised Trading Strategy to the config of the Market it trades on.
+ *
+ * @author gazbert
+ */
+@Getter
+@ToString
+public class MarketTradingStrategy {
+
+  private final TradingStrategy tradingStrategy;
+  private final MarketConfig marketConfig;
+
+  /**
+   * Creates the Market Trading Strategy.
+   *
+   * @param tradingStrategy the initialised Trading Strategy.
+   * @param marketConfig the config of the Market the strategy trades on.
+   */
+  public MarketTradingStrategy(TradingStrategy tradingStrategy, MarketConfig marketConfig) {
+    this.tradingStrategy = tradingStrategy;
+    this.marketConfig = marketConfig;
+  }
+}
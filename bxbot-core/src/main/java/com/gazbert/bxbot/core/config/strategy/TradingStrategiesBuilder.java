@@ -27,11 +27,14 @@ import com.gazbert.bxbot.core.config.market.MarketImpl;
 import com.gazbert.bxbot.domain.market.MarketConfig;
 import com.gazbert.bxbot.domain.strategy.StrategyConfig;
 import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
+import com.gazbert.bxbot.exchanges.AsyncTradingApiBridge;
 import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import com.gazbert.bxbot.trading.api.AsyncTradingApi;
 import com.gazbert.bxbot.trading.api.Market;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -78,7 +81,28 @@ public class TradingStrategiesBuilder {
       List<MarketConfig> markets,
       ExchangeAdapter exchangeAdapter) {
 
-    final List<TradingStrategy> tradingStrategiesToExecute = new ArrayList<>();
+    return buildMarketTradingStrategies(strategies, markets, exchangeAdapter).stream()
+        .map(MarketTradingStrategy::getTradingStrategy)
+        .toList();
+  }
+
+  /**
+   * Builds the Trading Strategy execution list, binding each strategy to the config of the Market
+   * it trades on. A Market with additional strategies gets an entry for each of them.
+   *
+   * @param strategies the strategies.
+   * @param markets the markets.
+   * @param exchangeAdapter the Exchange Adapter.
+   * @return the Market Trading Strategy list.
+   */
+  public List<MarketTradingStrategy> buildMarketTradingStrategies(
+      List<StrategyConfig> strategies,
+      List<MarketConfig> markets,
+      ExchangeAdapter exchangeAdapter) {
+
+    final List<MarketTradingStrategy> tradingStrategiesToExecute = new ArrayList<>();
+    // Only makes concurrent calls if the Exchange Adapter is thread safe, else 1 call at a time
+    final AsyncTradingApi asyncTradingApi = new AsyncTradingApiBridge(exchangeAdapter);
 
     // Register the strategies
     final Map<String, StrategyConfig> tradingStrategyConfigs = new HashMap<>();
@@ -111,53 +135,85 @@ public class TradingStrategiesBuilder {
             "Registered Market with Trading Engine: Id={}, Name={}", market.getId(), marketName);
       }
 
-      // Get the strategy to use for this Market
-      final String strategyToUse = market.getTradingStrategyId();
-      log.info("Market Trading Strategy Id to use: {}", strategyToUse);
-
-      if (tradingStrategyConfigs.containsKey(strategyToUse)) {
-        final StrategyConfig tradingStrategy = tradingStrategyConfigs.get(strategyToUse);
-        final StrategyConfigItems tradingStrategyConfig = new StrategyConfigItems();
-        final Map<String, String> configItems = tradingStrategy.getConfigItems();
-        if (configItems != null && !configItems.isEmpty()) {
-          tradingStrategyConfig.setItems(configItems);
-        } else {
-          log.info(
-              "No (optional) configuration has been set for Trading Strategy: {}", strategyToUse);
+      // Get the strategies to use for this Market - they share its cycle-cached market data
+      final Set<String> marketStrategyIds = new LinkedHashSet<>();
+      marketStrategyIds.add(market.getTradingStrategyId());
+      if (market.getAdditionalTradingStrategyIds() != null) {
+        for (final String strategyId : market.getAdditionalTradingStrategyIds()) {
+          if (!marketStrategyIds.add(strategyId)) {
+            final String errorMsg =
+                "Found duplicate Strategy [" + strategyId + "] for Market: " + market;
+            log.fatal(errorMsg);
+            throw new IllegalArgumentException(errorMsg);
+          }
         }
-        log.info("StrategyConfigImpl (optional): {}", tradingStrategyConfig);
-
-        /*
-         * Load the Trading Strategy impl, instantiate it, set its config, and store in the
-         * Trading Strategy execution list.
-         */
-        final TradingStrategy strategyImpl =
-            tradingStrategyFactory.createTradingStrategy(tradingStrategy);
-        strategyImpl.init(exchangeAdapter, tradingMarket, tradingStrategyConfig);
+      }
 
-        log.info(
-            "Initialized trading strategy successfully. Name: [{}] Class: [{}] Bean: [{}]",
-            tradingStrategy.getName(),
-            tradingStrategy.getClassName(),
-            tradingStrategy.getBeanName());
+      for (final String strategyToUse : marketStrategyIds) {
+        tradingStrategiesToExecute.add(
+            buildMarketTradingStrategy(
+                strategyToUse,
+                tradingStrategyConfigs,
+                market,
+                tradingMarket,
+                exchangeAdapter,
+                asyncTradingApi));
+      }
+    }
+    return tradingStrategiesToExecute;
+  }
 
-        tradingStrategiesToExecute.add(strategyImpl);
+  private MarketTradingStrategy buildMarketTradingStrategy(
+      String strategyToUse,
+      Map<String, StrategyConfig> tradingStrategyConfigs,
+      MarketConfig market,
+      Market tradingMarket,
+      ExchangeAdapter exchangeAdapter,
+      AsyncTradingApi asyncTradingApi) {
+
+    log.info("Market Trading Strategy Id to use: {}", strategyToUse);
+
+    if (tradingStrategyConfigs.containsKey(strategyToUse)) {
+      final StrategyConfig tradingStrategy = tradingStrategyConfigs.get(strategyToUse);
+      final StrategyConfigItems tradingStrategyConfig = new StrategyConfigItems();
+      final Map<String, String> configItems = tradingStrategy.getConfigItems();
+      if (configItems != null && !configItems.isEmpty()) {
+        tradingStrategyConfig.setItems(configItems);
       } else {
-
-        // Game over. Config integrity blown - we can't find strategy.
-        final String errorMsg =
-            "Failed to find matching Strategy for Market "
-                + market
-                + " - The Strategy "
-                + "["
-                + strategyToUse
-                + "] cannot be found in the "
-                + " Strategy Descriptions map: "
-                + tradingStrategyConfigs;
-        log.error(errorMsg);
-        throw new IllegalArgumentException(errorMsg);
+        log.info(
+            "No (optional) configuration has been set for Trading Strategy: {}", strategyToUse);
       }
+      log.info("StrategyConfigImpl (optional): {}", tradingStrategyConfig);
+
+      /*
+       * Load the Trading Strategy impl, instantiate it, set its config, and store in the
+       * Trading Strategy execution list.
+       */
+      final TradingStrategy strategyImpl =
+          tradingStrategyFactory.createTradingStrategy(tradingStrategy);
+      strategyImpl.init(exchangeAdapter, asyncTradingApi, tradingMarket, tradingStrategyConfig);
+
+      log.info(
+          "Initialized trading strategy successfully. Name: [{}] Class: [{}] Bean: [{}]",
+          tradingStrategy.getName(),
+          tradingStrategy.getClassName(),
+          tradingStrategy.getBeanName());
+
+      return new MarketTradingStrategy(strategyImpl, market);
+    } else {
+
+      // Game over. Config integrity blown - we can't find strategy.
+      final String errorMsg =
+          "Failed to find matching Strategy for Market "
+              + market
+              + " - The Strategy "
+              + "["
+              + strategyToUse
+              + "] cannot be found in the "
+              + " Strategy Descriptions map: "
+              + tradingStrategyConfigs;
+      log.error(errorMsg);
+      throw new IllegalArgumentException(errorMsg);
     }
-    return tradingStrategiesToExecute;
   }
 }
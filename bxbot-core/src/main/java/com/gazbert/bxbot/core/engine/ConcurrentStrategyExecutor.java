@@ -0,0 +1,219 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.engine;
+
+import com.gazbert.bxbot.strategy.api.StrategyException;
+import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Executes the Trading Strategies concurrently during a trade cycle.
+ *
+ * <p>Each Trading Strategy is executed in its own virtual thread, so a slow exchange call made by
+ * one strategy does not hold up the strategies trading on other markets.
+ *
+ * <p>A Trading Strategy is only ever executed by 1 thread at a time: if a strategy overruns the
+ * execution timeout, it is left to complete in the background and is skipped in subsequent trade
+ * cycles until it has finished. The outcome of an overrunning execution is reported in the trade
+ * cycle after it completes.
+ *
+ * <p>Error handling follows the same fail hard and fast policy as the Trading Engine: the first
+ * StrategyException or unexpected exception cancels the other executions and is rethrown.
+ *
+ * <p>This class is not thread safe: it must only be called by the Trading Engine thread.
+ *
+ * @author gazbert
+ */
+@Log4j2
+class ConcurrentStrategyExecutor {
+
+  private final ExecutorService executorService;
+  private final long executionTimeoutInNanos;
+  private final StrategyExecution strategyExecution;
+  private final Map<TradingStrategy, Future<TradingStrategy>> overrunningExecutions =
+      new IdentityHashMap<>();
+
+  /**
+   * Creates the Concurrent Strategy Executor.
+   *
+   * @param executionTimeout the max time to wait for the strategies to complete each cycle.
+   * @param timeUnit the time unit of the timeout.
+   * @param strategyExecution executes each strategy, e.g. timing how long it takes.
+   */
+  ConcurrentStrategyExecutor(
+      long executionTimeout, TimeUnit timeUnit, StrategyExecution strategyExecution) {
+    this.executionTimeoutInNanos = timeUnit.toNanos(executionTimeout);
+    this.strategyExecution = strategyExecution;
+    this.executorService =
+        Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("bxbot-strategy-", 0).factory());
+  }
+
+  /**
+   * Executes the given Trading Strategies concurrently and waits for them to complete.
+   *
+   * @param tradingStrategies the Trading Strategies to execute.
+   * @throws StrategyException if a strategy reported a fatal issue.
+   */
+  void execute(List<TradingStrategy> tradingStrategies) throws StrategyException {
+
+    final CompletionService<TradingStrategy> completionService =
+        new ExecutorCompletionService<>(executorService);
+    final List<Future<TradingStrategy>> executions = new ArrayList<>();
+
+    for (final TradingStrategy tradingStrategy : tradingStrategies) {
+      final Future<TradingStrategy> overrunningExecution =
+          overrunningExecutions.get(tradingStrategy);
+      if (overrunningExecution != null) {
+        if (!overrunningExecution.isDone()) {
+          log.warn(
+              "Skipping Trading Strategy ---> {} - its previous execution has not completed",
+              tradingStrategy.getClass().getSimpleName());
+          continue;
+        }
+        overrunningExecutions.remove(tradingStrategy);
+        try {
+          checkOutcome(overrunningExecution);
+        } catch (StrategyException | RuntimeException e) {
+          cancel(executions);
+          throw e;
+        }
+      }
+
+      log.info("Executing Trading Strategy ---> {}", tradingStrategy.getClass().getSimpleName());
+      executions.add(
+          completionService.submit(
+              () -> {
+                strategyExecution.execute(tradingStrategy);
+                return tradingStrategy;
+              }));
+    }
+
+    final long deadline = System.nanoTime() + executionTimeoutInNanos;
+    try {
+      for (int i = 0; i < executions.size(); i++) {
+        final Future<TradingStrategy> completed =
+            completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        if (completed == null) {
+          trackOverrunningExecutions(tradingStrategies, executions);
+          break;
+        }
+        try {
+          checkOutcome(completed);
+        } catch (StrategyException | RuntimeException e) {
+          cancel(executions);
+          throw e;
+        }
+      }
+    } catch (InterruptedException e) {
+      log.warn("Interrupted whilst waiting for Trading Strategies to complete");
+      cancel(executions);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Stops tracking the given Trading Strategies, e.g. when the Market config has been reloaded. An
+   * overrunning execution of a retired strategy is left to complete in the background, but its
+   * outcome is not reported.
+   *
+   * @param tradingStrategies the retired Trading Strategies.
+   */
+  void retire(List<TradingStrategy> tradingStrategies) {
+    tradingStrategies.forEach(overrunningExecutions::remove);
+  }
+
+  /** Stops the executor, interrupting any strategies that are still executing. */
+  void shutdown() {
+    executorService.shutdownNow();
+  }
+
+  private void trackOverrunningExecutions(
+      List<TradingStrategy> tradingStrategies, List<Future<TradingStrategy>> executions) {
+    int executionIndex = 0;
+    for (final TradingStrategy tradingStrategy : tradingStrategies) {
+      if (overrunningExecutions.containsKey(tradingStrategy)) {
+        continue; // was skipped this cycle
+      }
+      final Future<TradingStrategy> execution = executions.get(executionIndex++);
+      if (!execution.isDone()) {
+        log.error(
+            "Trading Strategy ---> {} did not complete within {}ms - it will be skipped until it"
+                + " completes",
+            tradingStrategy.getClass().getSimpleName(),
+            TimeUnit.NANOSECONDS.toMillis(executionTimeoutInNanos));
+        overrunningExecutions.put(tradingStrategy, execution);
+      }
+    }
+  }
+
+  private static void checkOutcome(Future<TradingStrategy> execution) throws StrategyException {
+    try {
+      execution.get();
+    } catch (InterruptedException e) {
+      // Never happens: only called for completed executions.
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof StrategyException strategyException) {
+        throw strategyException;
+      } else if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      } else if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  private static void cancel(List<Future<TradingStrategy>> executions) {
+    for (final Future<TradingStrategy> execution : executions) {
+      execution.cancel(true);
+    }
+  }
+
+  /** Executes a single Trading Strategy. */
+  @FunctionalInterface
+  interface StrategyExecution {
+
+    /**
+     * Executes the Trading Strategy.
+     *
+     * @param tradingStrategy the Trading Strategy to execute.
+     * @throws StrategyException if the strategy reported a fatal issue.
+     */
+    void execute(TradingStrategy tradingStrategy) throws StrategyException;
+  }
+}
@@ -0,0 +1,333 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.engine;
+
+import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
+import com.gazbert.bxbot.exchange.api.ExchangeConfig;
+import com.gazbert.bxbot.exchange.api.MarketDataListener;
+import com.gazbert.bxbot.trading.api.BalanceInfo;
+import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import com.gazbert.bxbot.trading.api.Ticker;
+import com.gazbert.bxbot.trading.api.TradingApiException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Wraps the Exchange Adapter and caches the balance info, tickers and market order books it
+ * returns for the duration of a trade cycle.
+ *
+ * <p>The Emergency Stop check and the Trading Strategies often fetch the same data within moments
+ * of each other: the first call in a trade cycle goes to the exchange, the rest are served from
+ * the cache. This lets several strategies trade the same market without fetching its ticker and
+ * order book once each. If strategies that are executed concurrently ask for the same ticker or
+ * order book at the same time, only 1 request is sent: the others wait for its response.
+ *
+ * <p>The cache is discarded at the start of each trade cycle, and whenever an order is created or
+ * cancelled, as that changes the balances and order books on the exchange. All the other calls go
+ * straight through to the Exchange Adapter.
+ *
+ * <p>The cache is thread safe: it can be shared by strategies that are executed concurrently. The
+ * calls that go straight through are only thread safe if the wrapped Exchange Adapter is.
+ *
+ * @author gazbert
+ */
+class CycleCachingExchangeAdapter implements ExchangeAdapter {
+
+  private final ExchangeAdapter exchangeAdapter;
+  private volatile CycleCache cycleCache = new CycleCache();
+
+  /**
+   * Creates the Cycle Caching Exchange Adapter.
+   *
+   * @param exchangeAdapter the Exchange Adapter to wrap.
+   */
+  CycleCachingExchangeAdapter(ExchangeAdapter exchangeAdapter) {
+    this.exchangeAdapter = exchangeAdapter;
+  }
+
+  /**
+   * Discards the cached responses. The Trading Engine calls this at the start of each trade cycle.
+   *
+   * <p>A response that is in flight when the cache is discarded is not cached.
+   */
+  void invalidate() {
+    cycleCache = new CycleCache();
+  }
+
+  @Override
+  public void init(ExchangeConfig config) {
+    exchangeAdapter.init(config);
+  }
+
+  @Override
+  public void subscribeToMarketData(Collection<String> marketIds, MarketDataListener listener) {
+    exchangeAdapter.subscribeToMarketData(marketIds, listener);
+  }
+
+  @Override
+  public String getVersion() {
+    return exchangeAdapter.getVersion();
+  }
+
+  @Override
+  public String getImplName() {
+    return exchangeAdapter.getImplName();
+  }
+
+  @Override
+  public boolean isThreadSafe() {
+    return exchangeAdapter.isThreadSafe();
+  }
+
+  @Override
+  public MarketOrderBook getMarketOrders(String marketId)
+      throws ExchangeNetworkException, TradingApiException {
+    return getOnce(marketId, cycleCache.marketOrderBooks, exchangeAdapter::getMarketOrders);
+  }
+
+  @Override
+  public Map<String, MarketOrderBook> getMarketOrders(Collection<String> marketIds)
+      throws ExchangeNetworkException, TradingApiException {
+    return getAll(marketIds, cycleCache.marketOrderBooks, exchangeAdapter::getMarketOrders);
+  }
+
+  @Override
+  public List<OpenOrder> getYourOpenOrders(String marketId)
+      throws ExchangeNetworkException, TradingApiException {
+    return exchangeAdapter.getYourOpenOrders(marketId);
+  }
+
+  @Override
+  public String createOrder(
+      String marketId, OrderType orderType, BigDecimal quantity, BigDecimal price)
+      throws ExchangeNetworkException, TradingApiException {
+    try {
+      return exchangeAdapter.createOrder(marketId, orderType, quantity, price);
+    } finally {
+      // The order might have been placed even if the call failed.
+      invalidate();
+    }
+  }
+
+  @Override
+  public boolean cancelOrder(String orderId, String marketId)
+      throws ExchangeNetworkException, TradingApiException {
+    try {
+      return exchangeAdapter.cancelOrder(orderId, marketId);
+    } finally {
+      // The order might have been cancelled even if the call failed.
+      invalidate();
+    }
+  }
+
+  @Override
+  public BigDecimal getLatestMarketPrice(String marketId)
+      throws ExchangeNetworkException, TradingApiException {
+    return exchangeAdapter.getLatestMarketPrice(marketId);
+  }
+
+  @Override
+  public BalanceInfo getBalanceInfo() throws ExchangeNetworkException, TradingApiException {
+    final CycleCache cache = cycleCache;
+    BalanceInfo balanceInfo = cache.balanceInfo;
+    if (balanceInfo == null) {
+      balanceInfo = exchangeAdapter.getBalanceInfo();
+      cache.balanceInfo = balanceInfo;
+    }
+    return balanceInfo;
+  }
+
+  @Override
+  public BigDecimal getPercentageOfBuyOrderTakenForExchangeFee(String marketId)
+      throws TradingApiException, ExchangeNetworkException {
+    return exchangeAdapter.getPercentageOfBuyOrderTakenForExchangeFee(marketId);
+  }
+
+  @Override
+  public BigDecimal getPercentageOfSellOrderTakenForExchangeFee(String marketId)
+      throws TradingApiException, ExchangeNetworkException {
+    return exchangeAdapter.getPercentageOfSellOrderTakenForExchangeFee(marketId);
+  }
+
+  @Override
+  public BigDecimal getMinimumOrderVolume(String marketId)
+      throws TradingApiException, ExchangeNetworkException {
+    return exchangeAdapter.getMinimumOrderVolume(marketId);
+  }
+
+  @Override
+  public Ticker getTicker(String marketId) throws TradingApiException, ExchangeNetworkException {
+    return getOnce(marketId, cycleCache.tickers, exchangeAdapter::getTicker);
+  }
+
+  @Override
+  public Map<String, Ticker> getTickers(Collection<String> marketIds)
+      throws TradingApiException, ExchangeNetworkException {
+    return getAll(marketIds, cycleCache.tickers, exchangeAdapter::getTickers);
+  }
+
+  /*
+   * Serves the response if it is cached or being fetched by another thread, otherwise fetches it
+   * and shares it with any thread that asks for it while it is in flight.
+   */
+  private static <T> T getOnce(
+      String marketId, Map<String, CompletableFuture<T>> cache, MarketCall<T> marketCall)
+      throws ExchangeNetworkException, TradingApiException {
+    final CompletableFuture<T> response = new CompletableFuture<>();
+    final CompletableFuture<T> sharedResponse = cache.putIfAbsent(marketId, response);
+    if (sharedResponse != null) {
+      return await(sharedResponse);
+    }
+    try {
+      final T result = marketCall.call(marketId);
+      complete(marketId, cache, response, result);
+      return result;
+    } catch (Throwable t) {
+      fail(marketId, cache, response, t);
+      throw t;
+    }
+  }
+
+  /*
+   * Serves the markets that are cached or in flight and fetches the rest in 1 call, so the
+   * Exchange Adapter can still fetch them in 1 request.
+   */
+  private static <T> Map<String, T> getAll(
+      Collection<String> marketIds,
+      Map<String, CompletableFuture<T>> cache,
+      MultiMarketCall<T> multiMarketCall)
+      throws ExchangeNetworkException, TradingApiException {
+    // keeps the order the market ids were given in
+    final Map<String, CompletableFuture<T>> responses = new LinkedHashMap<>();
+    final Map<String, CompletableFuture<T>> uncachedResponses = new LinkedHashMap<>();
+    for (final String marketId : new LinkedHashSet<>(marketIds)) {
+      final CompletableFuture<T> response = new CompletableFuture<>();
+      final CompletableFuture<T> sharedResponse = cache.putIfAbsent(marketId, response);
+      if (sharedResponse == null) {
+        uncachedResponses.put(marketId, response);
+        responses.put(marketId, response);
+      } else {
+        responses.put(marketId, sharedResponse);
+      }
+    }
+
+    if (!uncachedResponses.isEmpty()) {
+      try {
+        final Map<String, T> fetchedResults =
+            multiMarketCall.call(new ArrayList<>(uncachedResponses.keySet()));
+        uncachedResponses.forEach(
+            (marketId, response) ->
+                complete(marketId, cache, response, fetchedResults.get(marketId)));
+      } catch (Throwable t) {
+        uncachedResponses.forEach((marketId, response) -> fail(marketId, cache, response, t));
+        throw t;
+      }
+    }
+
+    final Map<String, T> results = new LinkedHashMap<>();
+    for (final Map.Entry<String, CompletableFuture<T>> response : responses.entrySet()) {
+      results.put(response.getKey(), await(response.getValue()));
+    }
+    return results;
+  }
+
+  /* A null response is shared with the threads waiting for it, but it is not cached. */
+  private static <T> void complete(
+      String marketId,
+      Map<String, CompletableFuture<T>> cache,
+      CompletableFuture<T> response,
+      T result) {
+    if (result == null) {
+      cache.remove(marketId, response);
+    }
+    response.complete(result);
+  }
+
+  /* A failed response is passed on to the threads waiting for it, but it is not cached. */
+  private static <T> void fail(
+      String marketId,
+      Map<String, CompletableFuture<T>> cache,
+      CompletableFuture<T> response,
+      Throwable failure) {
+    cache.remove(marketId, response);
+    response.completeExceptionally(failure);
+  }
+
+  private static <T> T await(CompletableFuture<T> response)
+      throws ExchangeNetworkException, TradingApiException {
+    try {
+      return response.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ExchangeNetworkException("Interrupted whilst waiting for a shared response.", e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof ExchangeNetworkException exchangeNetworkException) {
+        throw exchangeNetworkException;
+      } else if (cause instanceof TradingApiException tradingApiException) {
+        throw tradingApiException;
+      } else if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      } else if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new TradingApiException("Shared response failed unexpectedly.", cause);
+    }
+  }
+
+  /** A single market call to the Exchange Adapter. */
+  @FunctionalInterface
+  private interface MarketCall<T> {
+    T call(String marketId) throws ExchangeNetworkException, TradingApiException;
+  }
+
+  /** A multi-market call to the Exchange Adapter. */
+  @FunctionalInterface
+  private interface MultiMarketCall<T> {
+    Map<String, T> call(Collection<String> marketIds)
+        throws ExchangeNetworkException, TradingApiException;
+  }
+
+  /**
+   * The responses cached during a trade cycle, or in flight. Replaced, never cleared, when
+   * invalidated.
+   */
+  private static final class CycleCache {
+    private volatile BalanceInfo balanceInfo;
+    private final Map<String, CompletableFuture<Ticker>> tickers = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<MarketOrderBook>> marketOrderBooks =
+        new ConcurrentHashMap<>();
+  }
+}
@@ -0,0 +1,373 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.engine;
+
+import com.gazbert.bxbot.core.config.strategy.MarketTradingStrategy;
+import com.gazbert.bxbot.exchange.api.MarketDataListener;
+import com.gazbert.bxbot.strategy.api.StrategyException;
+import com.gazbert.bxbot.strategy.api.StreamingTradingStrategy;
+import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.Ticker;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Delivers the market data the Exchange Adapter pushes to the Streaming Trading Strategies as soon
+ * as the adapter sees it.
+ *
+ * <p>Each Streaming Trading Strategy has its own bounded event queue, drained by its own virtual
+ * thread, so a slow strategy does not hold up the others. Events are delivered in the order they
+ * were queued, which preserves the per-market order the adapter guarantees. If a queue is full,
+ * the oldest ticker or order book update is dropped to make room; order fills are never dropped
+ * to make room for market data. If the queue is full of order fills, the strategy cannot be told
+ * about the new fill, so it is failed as if its callback had thrown a {@link StrategyException}.
+ *
+ * <p>A strategy's callbacks are never called concurrently with its {@link
+ * TradingStrategy#execute()}: the Trading Engine executes the strategies through {@link
+ * #executeStrategy(TradingStrategy)}, which holds the same lock as the strategy's event delivery.
+ *
+ * <p>If a strategy fails, i.e. a callback throws an exception or an order fill cannot be queued,
+ * the strategy receives no more events and the exception is rethrown to the Trading Engine at the
+ * start of the next trade cycle by {@link #checkForFailure()}, which stops the bot.
+ *
+ * <p>This class is thread safe: the adapter can push events from any thread.
+ *
+ * @author gazbert
+ */
+@Log4j2
+class StreamingStrategyDispatcher implements MarketDataListener {
+
+  static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+  /** Wakes up the delivery thread of a retired or failed strategy so it can end. */
+  private static final StrategyEvent RETIRE = new StrategyEvent(false, strategy -> {});
+
+  private final TradingEngineMetrics tradingEngineMetrics;
+  private final int queueCapacity;
+  private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+  // Replaced, never modified, when the strategies are updated: the adapter threads read them.
+  private volatile Map<String, List<StrategyEventQueue>> eventQueuesByMarket;
+  private volatile Map<TradingStrategy, StrategyEventQueue> eventQueuesByStrategy;
+  private volatile boolean started;
+
+  /**
+   * Creates the Streaming Strategy Dispatcher. Events are not delivered until it is started.
+   *
+   * @param marketTradingStrategies all the strategies. Those that are not Streaming Trading
+   *     Strategies are executed, but never receive events.
+   * @param tradingEngineMetrics records how long each strategy takes to execute.
+   */
+  StreamingStrategyDispatcher(
+      List<MarketTradingStrategy> marketTradingStrategies,
+      TradingEngineMetrics tradingEngineMetrics) {
+    this(marketTradingStrategies, DEFAULT_QUEUE_CAPACITY, tradingEngineMetrics);
+  }
+
+  StreamingStrategyDispatcher(
+      List<MarketTradingStrategy> marketTradingStrategies,
+      int queueCapacity,
+      TradingEngineMetrics tradingEngineMetrics) {
+
+    this.tradingEngineMetrics = tradingEngineMetrics;
+    this.queueCapacity = queueCapacity;
+    createEventQueues(marketTradingStrategies, Map.of());
+  }
+
+  /**
+   * Returns the ids of the markets traded by Streaming Trading Strategies.
+   *
+   * @return the market ids, in Market config order. Empty if there are no Streaming Strategies.
+   */
+  Set<String> getMarketIds() {
+    return eventQueuesByMarket.keySet();
+  }
+
+  /** Starts delivering events to the Streaming Trading Strategies. */
+  void start() {
+    started = true;
+    eventQueuesByStrategy.values().forEach(StrategyEventQueue::start);
+  }
+
+  /**
+   * Replaces the strategies, e.g. when the Market config has been reloaded. The strategies that
+   * are still running keep their event queues. The retired strategies receive no more events: any
+   * callback in progress completes, and the events still queued are dropped. If the dispatcher has
+   * been started, events are delivered to the new strategies straight away.
+   *
+   * @param marketTradingStrategies all the strategies.
+   * @return the ids of the markets that had no Streaming Trading Strategies before, in Market
+   *     config order. The Exchange Adapter must be subscribed to their market data.
+   */
+  Set<String> update(List<MarketTradingStrategy> marketTradingStrategies) {
+    final Set<String> previousMarketIds = eventQueuesByMarket.keySet();
+    final Map<TradingStrategy, StrategyEventQueue> previousEventQueues = eventQueuesByStrategy;
+    createEventQueues(marketTradingStrategies, previousEventQueues);
+
+    for (final Map.Entry<TradingStrategy, StrategyEventQueue> previousEventQueue :
+        previousEventQueues.entrySet()) {
+      if (!eventQueuesByStrategy.containsKey(previousEventQueue.getKey())) {
+        previousEventQueue.getValue().retire();
+      }
+    }
+    if (started) {
+      for (final Map.Entry<TradingStrategy, StrategyEventQueue> eventQueue :
+          eventQueuesByStrategy.entrySet()) {
+        if (!previousEventQueues.containsKey(eventQueue.getKey())) {
+          eventQueue.getValue().start();
+        }
+      }
+    }
+
+    final Set<String> newMarketIds = new LinkedHashSet<>(eventQueuesByMarket.keySet());
+    newMarketIds.removeAll(previousMarketIds);
+    return newMarketIds;
+  }
+
+  /** Stops delivering events, interrupting any callbacks that are in progress. */
+  void shutdown() {
+    eventQueuesByStrategy.values().forEach(StrategyEventQueue::stop);
+  }
+
+  /**
+   * Executes the Trading Strategy. Its callbacks are not called until the execution completes.
+   *
+   * @param tradingStrategy the Trading Strategy to execute.
+   * @throws StrategyException if the strategy reported a fatal issue.
+   */
+  void executeStrategy(TradingStrategy tradingStrategy) throws StrategyException {
+    final StrategyEventQueue eventQueue = eventQueuesByStrategy.get(tradingStrategy);
+    if (eventQueue == null) {
+      tradingEngineMetrics.executeStrategy(tradingStrategy);
+      return;
+    }
+    eventQueue.lock.lock();
+    try {
+      tradingEngineMetrics.executeStrategy(tradingStrategy);
+    } finally {
+      eventQueue.lock.unlock();
+    }
+  }
+
+  /**
+   * Rethrows the first exception thrown by a strategy callback.
+   *
+   * @throws StrategyException if a callback reported a fatal issue.
+   */
+  void checkForFailure() throws StrategyException {
+    final Exception exception = failure.get();
+    if (exception instanceof StrategyException strategyException) {
+      throw strategyException;
+    } else if (exception instanceof RuntimeException runtimeException) {
+      throw runtimeException;
+    }
+  }
+
+  @Override
+  public void onTicker(String marketId, Ticker ticker) {
+    publish(marketId, new StrategyEvent(true, strategy -> strategy.onTicker(ticker)));
+  }
+
+  @Override
+  public void onOrderBookUpdate(String marketId, MarketOrderBook marketOrderBook) {
+    publish(
+        marketId,
+        new StrategyEvent(true, strategy -> strategy.onOrderBookUpdate(marketOrderBook)));
+  }
+
+  @Override
+  public void onOrderFilled(String marketId, OpenOrder filledOrder) {
+    publish(marketId, new StrategyEvent(false, strategy -> strategy.onOrderFilled(filledOrder)));
+  }
+
+  private void publish(String marketId, StrategyEvent event) {
+    final List<StrategyEventQueue> eventQueues = eventQueuesByMarket.get(marketId);
+    if (eventQueues != null) {
+      for (final StrategyEventQueue eventQueue : eventQueues) {
+        eventQueue.offer(event);
+      }
+    }
+  }
+
+  /*
+   * Creates the event queues of the Streaming Trading Strategies, reusing the existing ones, and
+   * publishes them to the adapter threads.
+   */
+  private void createEventQueues(
+      List<MarketTradingStrategy> marketTradingStrategies,
+      Map<TradingStrategy, StrategyEventQueue> existingEventQueues) {
+    final Map<String, List<StrategyEventQueue>> queuesByMarket = new LinkedHashMap<>();
+    final Map<TradingStrategy, StrategyEventQueue> queuesByStrategy = new IdentityHashMap<>();
+    for (final MarketTradingStrategy marketTradingStrategy : marketTradingStrategies) {
+      if (marketTradingStrategy.getTradingStrategy()
+          instanceof StreamingTradingStrategy streamingTradingStrategy) {
+        final String marketId = marketTradingStrategy.getMarketConfig().getId();
+        StrategyEventQueue eventQueue = existingEventQueues.get(streamingTradingStrategy);
+        if (eventQueue == null) {
+          eventQueue = new StrategyEventQueue(streamingTradingStrategy, marketId, queueCapacity);
+        }
+        queuesByMarket.computeIfAbsent(marketId, id -> new ArrayList<>()).add(eventQueue);
+        queuesByStrategy.put(streamingTradingStrategy, eventQueue);
+      }
+    }
+    eventQueuesByStrategy = queuesByStrategy;
+    eventQueuesByMarket = queuesByMarket;
+  }
+
+  /** A callback to a Streaming Trading Strategy. */
+  @FunctionalInterface
+  private interface StrategyCallback {
+    void call(StreamingTradingStrategy strategy) throws StrategyException;
+  }
+
+  /** An event, and whether it can be dropped when the queue is full. */
+  private record StrategyEvent(boolean isMarketData, StrategyCallback callback) {}
+
+  /** The event queue of a single Streaming Trading Strategy. */
+  private final class StrategyEventQueue implements Runnable {
+
+    private final StreamingTradingStrategy strategy;
+    private final String marketId;
+    private final BlockingDeque<StrategyEvent> events;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Thread deliveryThread;
+    private volatile boolean stopped;
+
+    StrategyEventQueue(StreamingTradingStrategy strategy, String marketId, int capacity) {
+      this.strategy = strategy;
+      this.marketId = marketId;
+      this.events = new LinkedBlockingDeque<>(capacity);
+    }
+
+    void start() {
+      deliveryThread =
+          Thread.ofVirtual()
+              .name("bxbot-streaming-" + strategy.getClass().getSimpleName() + "-" + marketId)
+              .start(this);
+    }
+
+    void stop() {
+      stopped = true;
+      final Thread thread = deliveryThread;
+      if (thread != null) {
+        thread.interrupt();
+      }
+    }
+
+    /*
+     * Stops delivering events once any callback in progress completes. The delivery thread is
+     * woken up rather than interrupted, so the callback is not interrupted.
+     */
+    synchronized void retire() {
+      stopped = true;
+      events.clear();
+      events.offerLast(RETIRE);
+    }
+
+    // Synchronized so events from different adapter threads are queued whilst making room.
+    synchronized void offer(StrategyEvent event) {
+      if (stopped || events.offerLast(event)) {
+        return;
+      }
+      if (removeOldestMarketData()) {
+        events.offerLast(event);
+      } else {
+        fail(
+            new StrategyException(
+                "Streaming Trading Strategy ---> "
+                    + strategy.getClass().getSimpleName()
+                    + " on market "
+                    + marketId
+                    + " cannot be sent an order fill - its queue is full of order fills"));
+      }
+    }
+
+    /*
+     * Stops delivering events and reports the failure to the Trading Engine. The delivery thread
+     * is woken up, in case the queue has been emptied whilst it was waiting for an event.
+     */
+    synchronized void fail(Exception e) {
+      log.error(
+          "Streaming Trading Strategy ---> {} failed on market {} - it will receive no more events",
+          strategy.getClass().getSimpleName(),
+          marketId,
+          e);
+      stopped = true;
+      events.clear();
+      events.offerLast(RETIRE);
+      failure.compareAndSet(null, e);
+    }
+
+    private boolean removeOldestMarketData() {
+      final Iterator<StrategyEvent> queuedEvents = events.iterator();
+      while (queuedEvents.hasNext()) {
+        if (queuedEvents.next().isMarketData()) {
+          queuedEvents.remove();
+          log.warn(
+              "Streaming Trading Strategy ---> {} is falling behind on market {} - dropped its"
+                  + " oldest market data event",
+              strategy.getClass().getSimpleName(),
+              marketId);
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (!Thread.currentThread().isInterrupted()) {
+          final StrategyEvent event = events.take();
+          lock.lock();
+          try {
+            if (stopped) {
+              return;
+            }
+            event.callback().call(strategy);
+          } finally {
+            lock.unlock();
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (StrategyException | RuntimeException e) {
+        fail(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.engine;
+
+import com.gazbert.bxbot.core.config.strategy.MarketTradingStrategy;
+import com.gazbert.bxbot.domain.market.MarketConfig;
+import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Schedules when each Trading Strategy is due to be executed.
+ *
+ * <p>Each Market can have its own trade cycle interval; Markets that don't set one use the Engine
+ * trade cycle interval.
+ *
+ * <p>Strategies are scheduled at a fixed rate against the monotonic {@link System#nanoTime()}
+ * clock: the next due time is derived from the previous due time, not from when the strategy
+ * finished executing, so sleep and execution time do not accumulate as drift. If a strategy falls
+ * behind by more than 1 interval, the missed executions are skipped rather than run back-to-back.
+ *
+ * <p>This class is not thread safe: it must only be called by the Trading Engine thread.
+ *
+ * @author gazbert
+ */
+@Log4j2
+class TradeCycleScheduler {
+
+  private final List<ScheduledStrategy> scheduledStrategies;
+  private final int defaultTradeCycleInterval;
+  private final long defaultIntervalInNanos;
+  private final LongSupplier nanoClock;
+
+  /**
+   * Creates the Trade Cycle Scheduler. All the strategies are due immediately.
+   *
+   * @param marketTradingStrategies the strategies to schedule.
+   * @param defaultTradeCycleInterval the interval (secs) for Markets that don't set one.
+   * @throws IllegalArgumentException if an interval is less than 1 sec.
+   */
+  TradeCycleScheduler(
+      List<MarketTradingStrategy> marketTradingStrategies, int defaultTradeCycleInterval) {
+    this(marketTradingStrategies, defaultTradeCycleInterval, System::nanoTime);
+  }
+
+  TradeCycleScheduler(
+      List<MarketTradingStrategy> marketTradingStrategies,
+      int defaultTradeCycleInterval,
+      LongSupplier nanoClock) {
+
+    checkTradeCycleInterval(defaultTradeCycleInterval, "Engine");
+    this.nanoClock = nanoClock;
+    this.defaultTradeCycleInterval = defaultTradeCycleInterval;
+    this.defaultIntervalInNanos = TimeUnit.SECONDS.toNanos(defaultTradeCycleInterval);
+    this.scheduledStrategies = new ArrayList<>(marketTradingStrategies.size());
+
+    final long now = nanoClock.getAsLong();
+    for (final MarketTradingStrategy marketTradingStrategy : marketTradingStrategies) {
+      scheduledStrategies.add(schedule(marketTradingStrategy, now));
+    }
+  }
+
+  /**
+   * Replaces the strategies to schedule, e.g. when the Market config has been reloaded. The
+   * strategies that were already scheduled keep their schedule; the new ones are due immediately.
+   *
+   * @param marketTradingStrategies the strategies to schedule.
+   * @throws IllegalArgumentException if an interval is less than 1 sec. The current schedule is
+   *     kept.
+   */
+  void reschedule(List<MarketTradingStrategy> marketTradingStrategies) {
+    final Map<TradingStrategy, ScheduledStrategy> previouslyScheduled = new IdentityHashMap<>();
+    for (final ScheduledStrategy scheduledStrategy : scheduledStrategies) {
+      previouslyScheduled.put(scheduledStrategy.tradingStrategy, scheduledStrategy);
+    }
+
+    final List<ScheduledStrategy> rescheduledStrategies =
+        new ArrayList<>(marketTradingStrategies.size());
+    final long now = nanoClock.getAsLong();
+    for (final MarketTradingStrategy marketTradingStrategy : marketTradingStrategies) {
+      final ScheduledStrategy scheduledStrategy =
+          previouslyScheduled.get(marketTradingStrategy.getTradingStrategy());
+      rescheduledStrategies.add(
+          scheduledStrategy != null ? scheduledStrategy : schedule(marketTradingStrategy, now));
+    }
+    scheduledStrategies.clear();
+    scheduledStrategies.addAll(rescheduledStrategies);
+  }
+
+  /**
+   * Checks the trade cycle intervals set by the enabled Markets can be scheduled.
+   *
+   * @param markets the Market config to check.
+   * @throws IllegalArgumentException if an interval is less than 1 sec.
+   */
+  static void checkTradeCycleIntervals(List<MarketConfig> markets) {
+    for (final MarketConfig market : markets) {
+      if (market.isEnabled() && market.getTradeCycleInterval() != null) {
+        checkTradeCycleInterval(market.getTradeCycleInterval(), "Market " + market.getId());
+      }
+    }
+  }
+
+  /**
+   * Returns the strategies that are due for execution and schedules their next execution.
+   *
+   * @return the strategies that are due, in Market config order. Empty if none are due.
+   */
+  List<TradingStrategy> nextDueStrategies() {
+    final long now = nanoClock.getAsLong();
+    final List<TradingStrategy> dueStrategies = new ArrayList<>();
+    for (final ScheduledStrategy scheduledStrategy : scheduledStrategies) {
+      if (now - scheduledStrategy.nextDueTime >= 0) {
+        dueStrategies.add(scheduledStrategy.tradingStrategy);
+        scheduledStrategy.scheduleNext(now);
+      }
+    }
+    return dueStrategies;
+  }
+
+  /**
+   * Returns the time until the next strategy is due.
+   *
+   * @return the time in nanos until the next strategy is due; 0 if one is already due. If there
+   *     are no strategies, the default trade cycle interval is returned.
+   */
+  long nanosUntilNextDue() {
+    if (scheduledStrategies.isEmpty()) {
+      return defaultIntervalInNanos;
+    }
+    final long now = nanoClock.getAsLong();
+    long nanosUntilNextDue = Long.MAX_VALUE;
+    for (final ScheduledStrategy scheduledStrategy : scheduledStrategies) {
+      nanosUntilNextDue = Math.min(nanosUntilNextDue, scheduledStrategy.nextDueTime - now);
+    }
+    return Math.max(0, nanosUntilNextDue);
+  }
+
+  private ScheduledStrategy schedule(MarketTradingStrategy marketTradingStrategy, long now) {
+    final MarketConfig marketConfig = marketTradingStrategy.getMarketConfig();
+    final int interval =
+        marketConfig.getTradeCycleInterval() != null
+            ? marketConfig.getTradeCycleInterval()
+            : defaultTradeCycleInterval;
+    checkTradeCycleInterval(interval, "Market " + marketConfig.getId());
+    log.info("Market {} will be traded every {}s", marketConfig.getId(), interval);
+    return new ScheduledStrategy(
+        marketTradingStrategy.getTradingStrategy(), TimeUnit.SECONDS.toNanos(interval), now);
+  }
+
+  /*
+   * The interval must be at least 1 sec: the strategies would otherwise be due continuously, and
+   * scheduleNext() divides by it.
+   */
+  private static void checkTradeCycleInterval(int interval, String configuredBy) {
+    if (interval < 1) {
+      final String errorMsg =
+          configuredBy + " tradeCycleInterval must be 1 or more seconds, but was: " + interval;
+      log.error(errorMsg);
+      throw new IllegalArgumentException(errorMsg);
+    }
+  }
+
+  /** A Trading Strategy and its schedule. */
+  private static final class ScheduledStrategy {
+
+    private final TradingStrategy tradingStrategy;
+    private final long intervalInNanos;
+    private long nextDueTime;
+
+    ScheduledStrategy(TradingStrategy tradingStrategy, long intervalInNanos, long firstDueTime) {
+      this.tradingStrategy = tradingStrategy;
+      this.intervalInNanos = intervalInNanos;
+      this.nextDueTime = firstDueTime;
+    }
+
+    void scheduleNext(long now) {
+      nextDueTime += intervalInNanos;
+      final long behindBy = now - nextDueTime;
+      if (behindBy >= 0) {
+        // Skip the missed executions, but stay in phase with the original schedule.
+        nextDueTime += (behindBy / intervalInNanos + 1) * intervalInNanos;
+      }
+    }
+  }
+}
@@ -23,8 +23,11 @@
 
 package com.gazbert.bxbot.core.engine;
 
+import com.gazbert.bxbot.core.backtest.MarketDataRecorder;
+import com.gazbert.bxbot.core.backtest.RecordingExchangeAdapter;
 import com.gazbert.bxbot.core.config.exchange.ExchangeApiConfigBuilder;
 import com.gazbert.bxbot.core.config.exchange.ExchangeConfigImpl;
+import com.gazbert.bxbot.core.config.strategy.MarketTradingStrategy;
 import com.gazbert.bxbot.core.config.strategy.TradingStrategiesBuilder;
 import com.gazbert.bxbot.core.mail.EmailAlertMessageBuilder;
 import com.gazbert.bxbot.core.mail.EmailAlerter;
@@ -43,8 +46,17 @@ import com.gazbert.bxbot.strategy.api.StrategyException;
 import com.gazbert.bxbot.strategy.api.TradingStrategy;
 import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
 import com.gazbert.bxbot.trading.api.TradingApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.ComponentScan;
@@ -60,15 +72,31 @@ import org.springframework.stereotype.Component;
  * <p>The only time the bot does not fail hard and fast is for network issues connecting to the
  * exchange - it logs the error and retries at next trade cycle.
  *
+ * <p>The balance info, tickers and market order books fetched from the exchange are cached for the
+ * duration of a trade cycle, so the Emergency Stop check and the Trading Strategies share them.
+ *
+ * <p>The engine can trade on several exchanges: the main exchange and any additional exchanges in
+ * the Exchange config. Each Market is bound to 1 exchange by name, or to the main exchange if none
+ * is set. Each exchange has its own control loop thread, trade cycle cache and strategy executors,
+ * so a slow or unreachable exchange cannot stall the trade cycles of another. A fatal error on any
+ * exchange shuts down the whole bot.
+ *
  * <p>To keep things simple:
  *
  * <ul>
- *   <li>The engine is single threaded.
- *   <li>The engine only supports trading on 1 exchange per instance of the bot, i.e. 1 Exchange
- *       Adapter per process.
- *   <li>The engine only supports 1 Trading Strategy per Market.
+ *   <li>Each exchange is driven by a single thread, unless concurrent strategy execution has been
+ *       enabled in the Engine config. Even then, each Trading Strategy is only executed by 1 thread
+ *       at a time.
+ *   <li>The Emergency Stop check is only run against the main exchange.
+ *   <li>Several Trading Strategies can trade the same Market. They share the order book and
+ *       ticker cached for the trade cycle, so the exchange is only asked for them once.
  * </ul>
  *
+ * <p>Changes to the Market and Strategy config are applied at the start of the next trade cycle
+ * on each exchange, without restarting the bot: the Trading Strategies of the Markets that have
+ * changed are rebuilt, and the others keep running. Changes to the Engine, Exchange and Email
+ * Alerts config still need a restart.
+ *
  * @author gazbert
  */
 @Component
@@ -89,9 +117,9 @@ public class TradingEngine {
   private boolean isRunning = false;
 
   private final EmailAlerter emailAlerter;
-  private List<TradingStrategy> tradingStrategies;
   private EngineConfig engineConfig;
-  private ExchangeAdapter exchangeAdapter;
+  private List<TradedExchange> tradedExchanges;
+  private final List<Thread> exchangeThreads = new ArrayList<>();
 
   private final ExchangeConfigService exchangeConfigService;
   private final EngineConfigService engineConfigService;
@@ -100,6 +128,7 @@ public class TradingEngine {
 
   private final TradingStrategiesBuilder tradingStrategiesBuilder;
   private final ConfigurableComponentFactory configurableComponentFactory;
+  private final TradingEngineMetrics tradingEngineMetrics;
 
   /**
    * Creates the Trading Engine.
@@ -111,6 +140,7 @@ public class TradingEngine {
    * @param emailAlerter the Email Alerter.
    * @param tradingStrategiesBuilder the Trading Strategies Builder.
    * @param configurableComponentFactory the Configurable Component Factory.
+   * @param meterRegistry the registry the engine metrics are recorded in.
    */
   @Autowired
   public TradingEngine(
@@ -120,7 +150,8 @@ public class TradingEngine {
       MarketConfigService marketConfigService,
       EmailAlerter emailAlerter,
       TradingStrategiesBuilder tradingStrategiesBuilder,
-      ConfigurableComponentFactory configurableComponentFactory) {
+      ConfigurableComponentFactory configurableComponentFactory,
+      MeterRegistry meterRegistry) {
 
     this.exchangeConfigService = exchangeConfigService;
     this.engineConfigService = engineConfigService;
@@ -129,6 +160,7 @@ public class TradingEngine {
     this.emailAlerter = emailAlerter;
     this.tradingStrategiesBuilder = tradingStrategiesBuilder;
     this.configurableComponentFactory = configurableComponentFactory;
+    this.tradingEngineMetrics = new TradingEngineMetrics(meterRegistry);
   }
 
   /** Starts the bot. */
@@ -152,54 +184,125 @@ public class TradingEngine {
   private void init() {
     log.info("Initialising Trading Engine...");
     // the sequence order of these methods is significant - don't change it.
-    exchangeAdapter = loadExchangeAdapter();
+    tradedExchanges = loadExchangeAdapters();
     engineConfig = loadEngineConfig();
-    tradingStrategies = loadTradingStrategies();
+    final List<StrategyConfig> strategies = strategyConfigService.getAllStrategyConfig();
+    log.info("Fetched Strategy config from repository: {}", strategies);
+    final List<MarketConfig> markets = marketConfigService.getAllMarketConfig();
+    log.info("Fetched Markets config from repository: {}", markets);
+    checkMarketsAreBoundToKnownExchanges(markets);
+
+    for (final TradedExchange tradedExchange : tradedExchanges) {
+      tradedExchange.cycleCachingExchangeAdapter =
+          new CycleCachingExchangeAdapter(startMarketDataRecording(tradedExchange));
+      tradedExchange.tradingStrategiesReloader =
+          new TradingStrategiesReloader(
+              tradingStrategiesBuilder,
+              tradedExchange.cycleCachingExchangeAdapter,
+              market -> isBoundTo(tradedExchange, market),
+              strategies,
+              markets);
+      final List<MarketTradingStrategy> marketTradingStrategies =
+          tradedExchange.tradingStrategiesReloader.getMarketTradingStrategies();
+      tradedExchange.tradeCycleScheduler =
+          new TradeCycleScheduler(marketTradingStrategies, engineConfig.getTradeCycleInterval());
+      tradedExchange.streamingStrategyDispatcher =
+          startStreamingStrategyDispatcher(tradedExchange, marketTradingStrategies);
+      tradedExchange.concurrentStrategyExecutor = createConcurrentStrategyExecutor(tradedExchange);
+    }
   }
 
   /*
-   * The main control loop.
-   * We loop infinitely unless an unexpected exception occurs.
-   * The code fails hard and fast if an unexpected occurs. Network exceptions *should* recover.
+   * The main control loop runs on the engine thread for the main exchange. Each additional
+   * exchange gets a control loop thread of its own. When the main control loop ends, due to error
+   * or admin shutdown request, the other control loops are stopped.
    */
   private void runMainControlLoop() {
     log.info("Starting Trading Engine for {} ...", engineConfig.getBotId());
+    for (final TradedExchange tradedExchange :
+        tradedExchanges.subList(1, tradedExchanges.size())) {
+      exchangeThreads.add(
+          Thread.ofPlatform()
+              .name("bxbot-exchange-" + tradedExchange.name)
+              .start(() -> runControlLoop(tradedExchange)));
+    }
+
+    runControlLoop(tradedExchanges.getFirst());
+
+    for (final Thread exchangeThread : exchangeThreads) {
+      exchangeThread.interrupt(); // poke it in case it is sleeping
+    }
+    // Clear the poke that woke this thread, if any, so it can wait for the other control loops.
+    Thread.interrupted();
+    try {
+      for (final Thread exchangeThread : exchangeThreads) {
+        exchangeThread.join();
+      }
+    } catch (InterruptedException e) {
+      log.warn("Interrupted while waiting for the exchange control loops to stop");
+      Thread.currentThread().interrupt();
+    }
+
+    log.fatal("BX-bot {} is shutting down NOW!", engineConfig.getBotId());
+    synchronized (IS_RUNNING_MONITOR) {
+      isRunning = false;
+    }
+  }
+
+  /*
+   * The control loop for 1 exchange.
+   * We loop infinitely unless an unexpected exception occurs.
+   * The code fails hard and fast if an unexpected occurs. Network exceptions *should* recover.
+   */
+  private void runControlLoop(TradedExchange tradedExchange) {
     while (keepAlive) {
       try {
-        log.info("*** Starting next trade cycle... ***");
+        log.info("*** Starting next trade cycle on {}... ***", tradedExchange.name);
 
-        // Emergency Stop Check MUST run at start of every trade cycle.
-        if (isEmergencyStopLimitBreached()) {
+        if (!executeTradeCycle(tradedExchange)) {
           break;
         }
 
-        for (final TradingStrategy tradingStrategy : tradingStrategies) {
-          log.info(
-              "Executing Trading Strategy ---> {}", tradingStrategy.getClass().getSimpleName());
-          tradingStrategy.execute();
-        }
-
-        sleepUntilNextTradingCycle();
+        sleepUntilNextTradingCycle(tradedExchange);
 
       } catch (ExchangeNetworkException e) {
         handleExchangeNetworkException(e);
 
       } catch (TradingApiException e) {
-        handleTradingApiException(e);
+        if (!isCausedByShutdown(e, tradedExchange)) {
+          handleTradingApiException(e, tradedExchange);
+        }
 
       } catch (StrategyException e) {
-        handleStrategyException(e);
+        if (!isCausedByShutdown(e, tradedExchange)) {
+          handleStrategyException(e, tradedExchange);
+        }
 
       } catch (Exception e) {
-        handleUnexpectedException(e);
+        if (!isCausedByShutdown(e, tradedExchange)) {
+          handleUnexpectedException(e, tradedExchange);
+        }
       }
     }
 
-    // We've broken out of the control loop due to error or admin shutdown request
-    log.fatal("BX-bot {} is shutting down NOW!", engineConfig.getBotId());
-    synchronized (IS_RUNNING_MONITOR) {
-      isRunning = false;
+    // We've broken out of the control loop: the whole bot stops, not just this exchange.
+    keepAlive = false;
+    if (Thread.currentThread() != engineThread) {
+      engineThread.interrupt(); // poke it in case bot is sleeping
     }
+    tradedExchange.shutdown();
+  }
+
+  /*
+   * Returns true if the bot is already shutting down. The shutdown interrupts the control loops of
+   * the other exchanges, so the error is most likely caused by it: it is logged, not alerted.
+   */
+  private boolean isCausedByShutdown(Exception e, TradedExchange tradedExchange) {
+    if (keepAlive) {
+      return false;
+    }
+    log.warn("Trade cycle on {} ended whilst shutting down: {}", tradedExchange.name, e.toString());
+    return true;
   }
 
   /*
@@ -219,10 +322,111 @@ public class TradingEngine {
     return isRunning;
   }
 
-  private void sleepUntilNextTradingCycle() {
-    log.info("*** Sleeping {}s til next trade cycle... ***", engineConfig.getTradeCycleInterval());
+  /*
+   * Returns false if the Emergency Stop limit has been breached and the bot must stop trading.
+   * The trade cycle is timed up to here: the sleep until the next one is not included.
+   */
+  private boolean executeTradeCycle(TradedExchange tradedExchange)
+      throws TradingApiException, ExchangeNetworkException, StrategyException {
+    final Timer.Sample sample = tradingEngineMetrics.startTimer();
+    Exception exception = null;
+    try {
+      // Fail hard and fast if a strategy failed whilst handling a market data event.
+      tradedExchange.streamingStrategyDispatcher.checkForFailure();
+
+      // Market and Strategy config changes are applied between trade cycles.
+      reloadTradingStrategies(tradedExchange);
+
+      // Each trade cycle fetches fresh data from the exchange.
+      tradedExchange.cycleCachingExchangeAdapter.invalidate();
+
+      // Emergency Stop Check MUST run at start of every trade cycle.
+      if (isEmergencyStopLimitBreached(tradedExchange)) {
+        return false;
+      }
+      executeTradingStrategies(
+          tradedExchange, tradedExchange.tradeCycleScheduler.nextDueStrategies());
+      return true;
+    } catch (Exception e) {
+      exception = e;
+      throw e;
+    } finally {
+      tradingEngineMetrics.recordTradeCycle(sample, exception);
+    }
+  }
+
+  /*
+   * Applies any changes made to the Market and Strategy config since the last trade cycle. The
+   * config is cached by the config services, so checking it each trade cycle is cheap. If the new
+   * config is invalid, the error is logged and the exchange keeps trading with its current
+   * strategies until the config changes again.
+   */
+  private void reloadTradingStrategies(TradedExchange tradedExchange) {
+    final List<StrategyConfig> strategies = strategyConfigService.getAllStrategyConfig();
+    final List<MarketConfig> markets = marketConfigService.getAllMarketConfig();
+    if (!tradedExchange.tradingStrategiesReloader.hasChanged(strategies, markets)) {
+      return;
+    }
+
+    log.info("Market and Strategy config has changed - reloading it for {}", tradedExchange.name);
+    final TradingStrategiesReloader.Reload reload;
     try {
-      Thread.sleep(engineConfig.getTradeCycleInterval() * 1000L);
+      checkMarketsAreBoundToKnownExchanges(markets);
+      TradeCycleScheduler.checkTradeCycleIntervals(markets);
+      reload = tradedExchange.tradingStrategiesReloader.reload(strategies, markets);
+    } catch (RuntimeException e) {
+      log.error(
+          "Failed to reload the Market and Strategy config for "
+              + tradedExchange.name
+              + " - it will keep trading with its current Trading Strategies",
+          e);
+      return;
+    }
+
+    tradedExchange.tradeCycleScheduler.reschedule(reload.marketTradingStrategies());
+    final Set<String> newStreamedMarketIds =
+        tradedExchange.streamingStrategyDispatcher.update(reload.marketTradingStrategies());
+    if (!newStreamedMarketIds.isEmpty()) {
+      log.info(
+          "Subscribing to market data for Streaming Trading Strategies on markets: {}",
+          newStreamedMarketIds);
+      tradedExchange.exchangeAdapter.subscribeToMarketData(
+          List.copyOf(newStreamedMarketIds), tradedExchange.streamingStrategyDispatcher);
+    }
+    if (tradedExchange.concurrentStrategyExecutor != null) {
+      tradedExchange.concurrentStrategyExecutor.retire(
+          reload.retiredStrategies().stream()
+              .map(MarketTradingStrategy::getTradingStrategy)
+              .toList());
+    }
+    log.info(
+        "Reloaded Market and Strategy config for {}: {} Trading Strategies started, {} retired",
+        tradedExchange.name,
+        reload.startedStrategies().size(),
+        reload.retiredStrategies().size());
+  }
+
+  private void executeTradingStrategies(
+      TradedExchange tradedExchange, List<TradingStrategy> tradingStrategies)
+      throws StrategyException {
+    if (tradedExchange.concurrentStrategyExecutor != null) {
+      tradedExchange.concurrentStrategyExecutor.execute(tradingStrategies);
+      return;
+    }
+    for (final TradingStrategy tradingStrategy : tradingStrategies) {
+      log.info("Executing Trading Strategy ---> {}", tradingStrategy.getClass().getSimpleName());
+      tradedExchange.streamingStrategyDispatcher.executeStrategy(tradingStrategy);
+    }
+  }
+
+  private void sleepUntilNextTradingCycle(TradedExchange tradedExchange) {
+    final long sleepTimeInNanos = tradedExchange.tradeCycleScheduler.nanosUntilNextDue();
+    log.info(
+        "*** Sleeping {}ms til next trade cycle on {}... ***",
+        TimeUnit.NANOSECONDS.toMillis(sleepTimeInNanos),
+        tradedExchange.name);
+    try {
+      TimeUnit.NANOSECONDS.sleep(sleepTimeInNanos);
     } catch (InterruptedException e) {
       log.warn(THREAD_INTERRUPTED_WARN_MSG);
       Thread.currentThread().interrupt();
@@ -231,7 +435,8 @@ public class TradingEngine {
 
   /*
    * We have a network connection issue reported by Exchange Adapter when called directly from
-   * Trading Engine. Current policy is to log it and sleep until next trade cycle.
+   * Trading Engine. Current policy is to log it and sleep until next trade cycle. Only the control
+   * loop of the exchange that failed sleeps.
    */
   private void handleExchangeNetworkException(ExchangeNetworkException e) {
     final String errorMessage =
@@ -253,7 +458,7 @@ public class TradingEngine {
    * A serious issue has occurred in the Exchange Adapter.
    * Current policy is to log it, send email alert if required, and shutdown bot.
    */
-  private void handleTradingApiException(TradingApiException e) {
+  private void handleTradingApiException(TradingApiException e, TradedExchange tradedExchange) {
     final String fatalErrorMessage = "A FATAL error has occurred in Exchange Adapter!";
     log.fatal(fatalErrorMessage, e);
     emailAlerter.sendMessage(
@@ -267,7 +472,7 @@ public class TradingEngine {
             e,
             engineConfig.getBotId(),
             engineConfig.getBotName(),
-            exchangeAdapter.getClass().getName()));
+            tradedExchange.exchangeAdapter.getClass().getName()));
     keepAlive = false;
   }
 
@@ -275,7 +480,7 @@ public class TradingEngine {
    * A serious issue has occurred in the Trading Strategy.
    * Current policy is to log it, send email alert if required, and shutdown bot.
    */
-  private void handleStrategyException(StrategyException e) {
+  private void handleStrategyException(StrategyException e, TradedExchange tradedExchange) {
     final String fatalErrorMsg = "A FATAL error has occurred in Trading Strategy!";
     log.fatal(fatalErrorMsg, e);
     emailAlerter.sendMessage(
@@ -289,7 +494,7 @@ public class TradingEngine {
             e,
             engineConfig.getBotId(),
             engineConfig.getBotName(),
-            exchangeAdapter.getClass().getName()));
+            tradedExchange.exchangeAdapter.getClass().getName()));
     keepAlive = false;
   }
 
@@ -297,7 +502,7 @@ public class TradingEngine {
    * A serious and *unexpected* issue has occurred in the Exchange Adapter or Trading
    * Strategy. Current policy is to log it, send email alert if required, and shutdown bot.
    */
-  private void handleUnexpectedException(Exception e) {
+  private void handleUnexpectedException(Exception e, TradedExchange tradedExchange) {
     final String fatalErrorMsg =
         "An unexpected FATAL error has occurred in Exchange Adapter or " + "Trading Strategy!";
     log.fatal(fatalErrorMsg, e);
@@ -312,31 +517,81 @@ public class TradingEngine {
             e,
             engineConfig.getBotId(),
             engineConfig.getBotName(),
-            exchangeAdapter.getClass().getName()));
+            tradedExchange.exchangeAdapter.getClass().getName()));
     keepAlive = false;
   }
 
-  private boolean isEmergencyStopLimitBreached()
+  /*
+   * Each exchange is checked against its own Emergency Stop currency and balance, if it has them,
+   * otherwise against the Engine's.
+   */
+  private boolean isEmergencyStopLimitBreached(TradedExchange tradedExchange)
       throws TradingApiException, ExchangeNetworkException {
-    if (engineConfig.getEmergencyStopBalance().compareTo(BigDecimal.ZERO) == 0) {
+    final String emergencyStopCurrency =
+        tradedExchange.emergencyStopCurrency != null
+            ? tradedExchange.emergencyStopCurrency
+            : engineConfig.getEmergencyStopCurrency();
+    final BigDecimal emergencyStopBalance =
+        tradedExchange.emergencyStopBalance != null
+            ? tradedExchange.emergencyStopBalance
+            : engineConfig.getEmergencyStopBalance();
+    if (emergencyStopBalance.compareTo(BigDecimal.ZERO) == 0) {
       return false; // by-pass the emergency stop check
     }
-    return EmergencyStopChecker.isEmergencyStopLimitBreached(
-        exchangeAdapter, engineConfig, emailAlerter);
+    final Timer.Sample sample = tradingEngineMetrics.startTimer();
+    Exception exception = null;
+    try {
+      return EmergencyStopChecker.isEmergencyStopLimitBreached(
+          tradedExchange.cycleCachingExchangeAdapter,
+          tradedExchange.exchangeAdapter.getClass().getName(),
+          emergencyStopCurrency,
+          emergencyStopBalance,
+          engineConfig,
+          emailAlerter);
+    } catch (Exception e) {
+      exception = e;
+      throw e;
+    } finally {
+      tradingEngineMetrics.recordEmergencyStopCheck(sample, exception);
+    }
   }
 
-  private ExchangeAdapter loadExchangeAdapter() {
-    final ExchangeConfig exchangeConfig = exchangeConfigService.getExchangeConfig();
-    log.info("Fetched Exchange config from repository: {}", exchangeConfig);
-
-    final ExchangeAdapter adapter =
-        configurableComponentFactory.createComponent(exchangeConfig.getAdapter());
-    log.info("Trading Engine will use Exchange Adapter for: {}", adapter.getImplName());
+  /*
+   * Loads the main Exchange Adapter, followed by the additional ones. The exchange names must be
+   * unique: the Markets are bound to the exchanges by name.
+   */
+  private List<TradedExchange> loadExchangeAdapters() {
+    final List<TradedExchange> loadedExchanges = new ArrayList<>();
+    final Set<String> exchangeNames = new HashSet<>();
+    for (final ExchangeConfig exchangeConfig : exchangeConfigService.getAllExchangeConfig()) {
+      log.info("Fetched Exchange config from repository: {}", exchangeConfig);
+      final String exchangeName = exchangeConfig.getName();
+      if (!loadedExchanges.isEmpty() && (exchangeName == null || exchangeName.isBlank())) {
+        final String errorMsg = "Additional Exchange has no name! Exchange details: ";
+        log.fatal(errorMsg + exchangeConfig);
+        throw new IllegalArgumentException(errorMsg + exchangeConfig);
+      }
+      if (!exchangeNames.add(exchangeName)) {
+        final String errorMsg = "Found duplicate Exchange name! Exchange details: ";
+        log.fatal(errorMsg + exchangeConfig);
+        throw new IllegalArgumentException(errorMsg + exchangeConfig);
+      }
 
-    final ExchangeConfigImpl exchangeApiConfig =
-        ExchangeApiConfigBuilder.buildConfig(exchangeConfig);
-    adapter.init(exchangeApiConfig);
-    return adapter;
+      final ExchangeAdapter adapter =
+          configurableComponentFactory.createComponent(exchangeConfig.getAdapter());
+      log.info("Trading Engine will use Exchange Adapter for: {}", adapter.getImplName());
+
+      final ExchangeConfigImpl exchangeApiConfig =
+          ExchangeApiConfigBuilder.buildConfig(exchangeConfig);
+      adapter.init(exchangeApiConfig);
+      loadedExchanges.add(
+          new TradedExchange(
+              exchangeName,
+              adapter,
+              exchangeConfig.getEmergencyStopCurrency(),
+              exchangeConfig.getEmergencyStopBalance()));
+    }
+    return loadedExchanges;
   }
 
   private EngineConfig loadEngineConfig() {
@@ -345,11 +600,149 @@ public class TradingEngine {
     return loadedEngineConfig;
   }
 
-  private List<TradingStrategy> loadTradingStrategies() {
-    final List<StrategyConfig> strategies = strategyConfigService.getAllStrategyConfig();
-    log.info("Fetched Strategy config from repository: {}", strategies);
-    final List<MarketConfig> markets = marketConfigService.getAllMarketConfig();
-    log.info("Fetched Markets config from repository: {}", markets);
-    return tradingStrategiesBuilder.buildStrategies(strategies, markets, exchangeAdapter);
+  private void checkMarketsAreBoundToKnownExchanges(List<MarketConfig> markets) {
+    for (final MarketConfig market : markets) {
+      if (isBoundToMainExchange(market)) {
+        continue;
+      }
+      if (tradedExchanges.stream().noneMatch(e -> market.getExchange().equals(e.name))) {
+        final String errorMsg =
+            "Failed to find matching Exchange for Market "
+                + market
+                + " - The Exchange ["
+                + market.getExchange()
+                + "] cannot be found in the Exchange config";
+        log.error(errorMsg);
+        throw new IllegalArgumentException(errorMsg);
+      }
+    }
+  }
+
+  private boolean isBoundTo(TradedExchange tradedExchange, MarketConfig market) {
+    return isBoundToMainExchange(market)
+        ? tradedExchange == tradedExchanges.getFirst()
+        : market.getExchange().equals(tradedExchange.name);
+  }
+
+  private static boolean isBoundToMainExchange(MarketConfig market) {
+    return market.getExchange() == null || market.getExchange().isBlank();
+  }
+
+  /*
+   * Wraps the Exchange Adapter so the market data it fetches is recorded, if a recording
+   * directory is configured. The main exchange records to the directory; each additional
+   * exchange records to a subdirectory named after it, so the market ids of the exchanges
+   * cannot clash. The bot trades without recording if the directory cannot be created.
+   */
+  private ExchangeAdapter startMarketDataRecording(TradedExchange tradedExchange) {
+    final String recordingDirectory = engineConfig.getMarketDataRecordingDirectory();
+    if (recordingDirectory == null || recordingDirectory.isBlank()) {
+      return tradedExchange.exchangeAdapter;
+    }
+    Path directory = Path.of(recordingDirectory);
+    if (tradedExchange != tradedExchanges.getFirst()) {
+      directory = directory.resolve(tradedExchange.name.replaceAll("[^A-Za-z0-9_.-]", "_"));
+    }
+    try {
+      tradedExchange.marketDataRecorder = new MarketDataRecorder(directory);
+    } catch (IOException e) {
+      log.error("Market data will not be recorded: failed to create " + directory, e);
+      return tradedExchange.exchangeAdapter;
+    }
+    log.info("Market data for {} will be recorded to: {}", tradedExchange.name, directory);
+    return new RecordingExchangeAdapter(
+        tradedExchange.exchangeAdapter, tradedExchange.marketDataRecorder, Clock.systemUTC());
+  }
+
+  private ConcurrentStrategyExecutor createConcurrentStrategyExecutor(
+      TradedExchange tradedExchange) {
+    if (!engineConfig.isConcurrentStrategyExecution()) {
+      return null;
+    }
+    // The strategies share the adapter, so concurrent execution would make concurrent calls on it.
+    if (!tradedExchange.exchangeAdapter.isThreadSafe()) {
+      log.warn(
+          "Concurrent strategy execution is enabled, but the Exchange Adapter for {} is not thread "
+              + "safe. Trading Strategies for {} will be executed one after another.",
+          tradedExchange.name,
+          tradedExchange.name);
+      return null;
+    }
+    final int executionTimeout =
+        engineConfig.getStrategyExecutionTimeout() > 0
+            ? engineConfig.getStrategyExecutionTimeout()
+            : engineConfig.getTradeCycleInterval();
+    log.info(
+        "Trading Strategies will be executed concurrently with an execution timeout of {}s",
+        executionTimeout);
+    return new ConcurrentStrategyExecutor(
+        executionTimeout,
+        TimeUnit.SECONDS,
+        tradedExchange.streamingStrategyDispatcher::executeStrategy);
+  }
+
+  private StreamingStrategyDispatcher startStreamingStrategyDispatcher(
+      TradedExchange tradedExchange, List<MarketTradingStrategy> marketTradingStrategies) {
+    final StreamingStrategyDispatcher dispatcher =
+        new StreamingStrategyDispatcher(marketTradingStrategies, tradingEngineMetrics);
+    dispatcher.start();
+    if (!dispatcher.getMarketIds().isEmpty()) {
+      log.info(
+          "Subscribing to market data for Streaming Trading Strategies on markets: {}",
+          dispatcher.getMarketIds());
+      tradedExchange.exchangeAdapter.subscribeToMarketData(
+          List.copyOf(dispatcher.getMarketIds()), dispatcher);
+    }
+    return dispatcher;
+  }
+
+  /*
+   * The components the engine uses to trade on 1 exchange. They are only used by the control loop
+   * thread of the exchange once the engine has been initialised.
+   */
+  private static final class TradedExchange {
+
+    private final String name;
+    private final ExchangeAdapter exchangeAdapter;
+    private final String emergencyStopCurrency;
+    private final BigDecimal emergencyStopBalance;
+    private MarketDataRecorder marketDataRecorder;
+    private CycleCachingExchangeAdapter cycleCachingExchangeAdapter;
+    private TradingStrategiesReloader tradingStrategiesReloader;
+    private TradeCycleScheduler tradeCycleScheduler;
+    private StreamingStrategyDispatcher streamingStrategyDispatcher;
+    private ConcurrentStrategyExecutor concurrentStrategyExecutor;
+
+    TradedExchange(
+        String name,
+        ExchangeAdapter exchangeAdapter,
+        String emergencyStopCurrency,
+        BigDecimal emergencyStopBalance) {
+      this.name = name;
+      this.exchangeAdapter = exchangeAdapter;
+      this.emergencyStopCurrency = emergencyStopCurrency;
+      this.emergencyStopBalance = emergencyStopBalance;
+    }
+
+    void shutdown() {
+      if (concurrentStrategyExecutor != null) {
+        concurrentStrategyExecutor.shutdown();
+      }
+      if (streamingStrategyDispatcher != null) {
+        streamingStrategyDispatcher.shutdown();
+      }
+      if (marketDataRecorder != null) {
+        try {
+          marketDataRecorder.close();
+        } catch (IOException e) {
+          log.warn("Failed to write all the recorded market data for " + name, e);
+        }
+      }
+      try {
+        exchangeAdapter.shutdown();
+      } catch (RuntimeException e) {
+        log.warn("Failed to shutdown the Exchange Adapter for " + name, e);
+      }
+    }
   }
 }
@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.engine;
+
+import com.gazbert.bxbot.strategy.api.StrategyException;
+import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the Trading Engine metrics.
+ *
+ * <p>Every timer is tagged with the simple class name of the exception that ended the timed
+ * operation, or {@value #NO_EXCEPTION} if it completed normally:
+ *
+ * <ul>
+ *   <li>{@value #TRADE_CYCLE_TIMER} - the trade cycle, from the Emergency Stop check until the due
+ *       strategies have executed. The sleep until the next trade cycle is not included.
+ *   <li>{@value #STRATEGY_EXECUTION_TIMER} - each Trading Strategy execute call, also tagged with
+ *       the strategy class name.
+ *   <li>{@value #EMERGENCY_STOP_CHECK_TIMER} - the Emergency Stop check.
+ * </ul>
+ *
+ * <p>This class is thread safe: strategies executed concurrently record their own timings.
+ *
+ * @author gazbert
+ */
+class TradingEngineMetrics {
+
+  static final String TRADE_CYCLE_TIMER = "bxbot.trade.cycle";
+  static final String STRATEGY_EXECUTION_TIMER = "bxbot.strategy.execution";
+  static final String EMERGENCY_STOP_CHECK_TIMER = "bxbot.emergency.stop.check";
+
+  static final String EXCEPTION_TAG = "exception";
+  static final String STRATEGY_TAG = "strategy";
+  static final String NO_EXCEPTION = "none";
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Creates the Trading Engine Metrics.
+   *
+   * @param meterRegistry the registry to record the metrics in.
+   */
+  TradingEngineMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Starts timing an operation.
+   *
+   * @return the sample to pass to the record method once the operation has ended.
+   */
+  Timer.Sample startTimer() {
+    return Timer.start(meterRegistry);
+  }
+
+  /**
+   * Records the duration of a trade cycle.
+   *
+   * @param sample the sample started at the beginning of the trade cycle.
+   * @param exception the exception that ended the trade cycle, or null if there was none.
+   */
+  void recordTradeCycle(Timer.Sample sample, Exception exception) {
+    sample.stop(
+        Timer.builder(TRADE_CYCLE_TIMER)
+            .tag(EXCEPTION_TAG, exceptionTag(exception))
+            .register(meterRegistry));
+  }
+
+  /**
+   * Records the duration of an Emergency Stop check.
+   *
+   * @param sample the sample started at the beginning of the check.
+   * @param exception the exception that ended the check, or null if there was none.
+   */
+  void recordEmergencyStopCheck(Timer.Sample sample, Exception exception) {
+    sample.stop(
+        Timer.builder(EMERGENCY_STOP_CHECK_TIMER)
+            .tag(EXCEPTION_TAG, exceptionTag(exception))
+            .register(meterRegistry));
+  }
+
+  /**
+   * Executes the Trading Strategy and records how long it took.
+   *
+   * @param tradingStrategy the Trading Strategy to execute.
+   * @throws StrategyException if the strategy reported a fatal issue.
+   */
+  void executeStrategy(TradingStrategy tradingStrategy) throws StrategyException {
+    final Timer.Sample sample = startTimer();
+    Exception exception = null;
+    try {
+      tradingStrategy.execute();
+    } catch (StrategyException | RuntimeException e) {
+      exception = e;
+      throw e;
+    } finally {
+      sample.stop(
+          Timer.builder(STRATEGY_EXECUTION_TIMER)
+              .tags(
+                  STRATEGY_TAG,
+                  tradingStrategy.getClass().getSimpleName(),
+                  EXCEPTION_TAG,
+                  exceptionTag(exception))
+              .register(meterRegistry));
+    }
+  }
+
+  private static String exceptionTag(Exception exception) {
+    return exception == null ? NO_EXCEPTION : exception.getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.engine;
+
+import com.gazbert.bxbot.core.config.strategy.MarketTradingStrategy;
+import com.gazbert.bxbot.core.config.strategy.TradingStrategiesBuilder;
+import com.gazbert.bxbot.domain.market.MarketConfig;
+import com.gazbert.bxbot.domain.strategy.StrategyConfig;
+import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Applies changes to the Market and Strategy config to the Trading Strategies of 1 exchange,
+ * without restarting the bot.
+ *
+ * <p>The unit of change is a Market. A Market is unchanged if its config, and the config of each
+ * of its Strategies, is unchanged: its Trading Strategies are kept, along with whatever state they
+ * hold. The Trading Strategies of new and changed Markets are built and initialised by the {@link
+ * TradingStrategiesBuilder}; those of changed, disabled and deleted Markets are retired.
+ *
+ * <p>The config is compared field by field: the Market and Strategy config equality only compares
+ * the ids.
+ *
+ * <p>This class is not thread safe: it must only be called by the control loop thread of the
+ * exchange.
+ *
+ * @author gazbert
+ */
+@Log4j2
+class TradingStrategiesReloader {
+
+  private final TradingStrategiesBuilder tradingStrategiesBuilder;
+  private final ExchangeAdapter exchangeAdapter;
+  private final Predicate<MarketConfig> isTradedOnExchange;
+
+  private List<StrategyConfig> seenStrategies;
+  private List<MarketConfig> seenMarkets;
+  private Map<String, StrategyConfig> runningStrategies;
+  private Map<String, MarketConfig> runningMarkets;
+  private List<MarketTradingStrategy> marketTradingStrategies;
+
+  /**
+   * Creates the Trading Strategies Reloader and builds the initial Trading Strategies.
+   *
+   * @param tradingStrategiesBuilder the Trading Strategies Builder.
+   * @param exchangeAdapter the Exchange Adapter the strategies trade with.
+   * @param isTradedOnExchange selects the markets traded on the exchange.
+   * @param strategies all the strategies.
+   * @param markets all the markets.
+   * @throws IllegalArgumentException if the config is invalid.
+   */
+  TradingStrategiesReloader(
+      TradingStrategiesBuilder tradingStrategiesBuilder,
+      ExchangeAdapter exchangeAdapter,
+      Predicate<MarketConfig> isTradedOnExchange,
+      List<StrategyConfig> strategies,
+      List<MarketConfig> markets) {
+
+    this.tradingStrategiesBuilder = tradingStrategiesBuilder;
+    this.exchangeAdapter = exchangeAdapter;
+    this.isTradedOnExchange = isTradedOnExchange;
+    final List<MarketConfig> exchangeMarkets = markets.stream().filter(isTradedOnExchange).toList();
+    this.marketTradingStrategies =
+        tradingStrategiesBuilder.buildMarketTradingStrategies(
+            strategies, exchangeMarkets, exchangeAdapter);
+    seenStrategies = strategies;
+    seenMarkets = markets;
+    runningStrategies = strategiesById(strategies);
+    runningMarkets = enabledMarketsById(exchangeMarkets);
+  }
+
+  /**
+   * Returns the running Trading Strategies.
+   *
+   * @return the strategies, in Market config order.
+   */
+  List<MarketTradingStrategy> getMarketTradingStrategies() {
+    return marketTradingStrategies;
+  }
+
+  /**
+   * Checks if the config has changed since it was last checked, and remembers it. Invalid config
+   * is only reported once: the check returns false until it changes again.
+   *
+   * @param strategies all the strategies.
+   * @param markets all the markets.
+   * @return true if the config has changed.
+   */
+  boolean hasChanged(List<StrategyConfig> strategies, List<MarketConfig> markets) {
+    if (isSame(seenStrategies, strategies, TradingStrategiesReloader::isSameStrategy)
+        && isSame(seenMarkets, markets, TradingStrategiesReloader::isSameMarket)) {
+      return false;
+    }
+    seenStrategies = strategies;
+    seenMarkets = markets;
+    return true;
+  }
+
+  /**
+   * Applies the config: the Trading Strategies of the Markets that have changed are rebuilt.
+   *
+   * @param strategies all the strategies.
+   * @param markets all the markets.
+   * @return the changes. The running strategies are only replaced if the reload succeeds.
+   * @throws IllegalArgumentException if the config is invalid.
+   */
+  Reload reload(List<StrategyConfig> strategies, List<MarketConfig> markets) {
+    final Map<String, StrategyConfig> strategiesById = strategiesById(strategies);
+    final Map<String, MarketConfig> marketsById =
+        enabledMarketsById(markets.stream().filter(isTradedOnExchange).toList());
+
+    final Map<String, List<MarketTradingStrategy>> keptStrategiesByMarket = new HashMap<>();
+    for (final MarketTradingStrategy marketTradingStrategy : marketTradingStrategies) {
+      final String marketId = marketTradingStrategy.getMarketConfig().getId();
+      if (isUnchanged(marketsById.get(marketId), strategiesById)) {
+        keptStrategiesByMarket
+            .computeIfAbsent(marketId, id -> new ArrayList<>())
+            .add(marketTradingStrategy);
+      }
+    }
+    final List<MarketConfig> changedMarkets =
+        marketsById.values().stream()
+            .filter(market -> !keptStrategiesByMarket.containsKey(market.getId()))
+            .toList();
+
+    final Map<String, List<MarketTradingStrategy>> startedStrategiesByMarket = new HashMap<>();
+    final List<MarketTradingStrategy> startedStrategies =
+        tradingStrategiesBuilder.buildMarketTradingStrategies(
+            strategies, changedMarkets, exchangeAdapter);
+    for (final MarketTradingStrategy marketTradingStrategy : startedStrategies) {
+      startedStrategiesByMarket
+          .computeIfAbsent(marketTradingStrategy.getMarketConfig().getId(), id -> new ArrayList<>())
+          .add(marketTradingStrategy);
+    }
+
+    final List<MarketTradingStrategy> reloadedStrategies = new ArrayList<>();
+    final Set<MarketTradingStrategy> keptStrategies =
+        Collections.newSetFromMap(new IdentityHashMap<>());
+    for (final String marketId : marketsById.keySet()) {
+      final List<MarketTradingStrategy> kept = keptStrategiesByMarket.get(marketId);
+      if (kept != null) {
+        reloadedStrategies.addAll(kept);
+        keptStrategies.addAll(kept);
+      } else {
+        reloadedStrategies.addAll(startedStrategiesByMarket.getOrDefault(marketId, List.of()));
+      }
+    }
+    final List<MarketTradingStrategy> retiredStrategies =
+        marketTradingStrategies.stream().filter(s -> !keptStrategies.contains(s)).toList();
+
+    marketTradingStrategies = reloadedStrategies;
+    runningStrategies = strategiesById;
+    runningMarkets = marketsById;
+    return new Reload(reloadedStrategies, startedStrategies, retiredStrategies);
+  }
+
+  private boolean isUnchanged(MarketConfig market, Map<String, StrategyConfig> strategiesById) {
+    if (market == null || !isSameMarket(runningMarkets.get(market.getId()), market)) {
+      return false;
+    }
+    for (final String strategyId : strategyIdsOf(market)) {
+      final StrategyConfig strategy = strategiesById.get(strategyId);
+      if (strategy == null || !isSameStrategy(runningStrategies.get(strategyId), strategy)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Set<String> strategyIdsOf(MarketConfig market) {
+    final Set<String> strategyIds = new LinkedHashSet<>();
+    strategyIds.add(market.getTradingStrategyId());
+    if (market.getAdditionalTradingStrategyIds() != null) {
+      strategyIds.addAll(market.getAdditionalTradingStrategyIds());
+    }
+    return strategyIds;
+  }
+
+  private static Map<String, StrategyConfig> strategiesById(List<StrategyConfig> strategies) {
+    final Map<String, StrategyConfig> strategiesById = new HashMap<>();
+    for (final StrategyConfig strategy : strategies) {
+      strategiesById.put(strategy.getId(), strategy);
+    }
+    return strategiesById;
+  }
+
+  /*
+   * The enabled markets, in Market config order. The builder only finds duplicates among the
+   * markets it builds, so they are checked here against all of them.
+   */
+  private static Map<String, MarketConfig> enabledMarketsById(List<MarketConfig> markets) {
+    final Map<String, MarketConfig> marketsById = new LinkedHashMap<>();
+    for (final MarketConfig market : markets) {
+      if (!market.isEnabled()) {
+        continue;
+      }
+      if (marketsById.putIfAbsent(market.getId(), market) != null) {
+        final String errorMsg = "Found duplicate Market! Market details: " + market;
+        log.error(errorMsg);
+        throw new IllegalArgumentException(errorMsg);
+      }
+    }
+    return marketsById;
+  }
+
+  private static <T> boolean isSame(List<T> list, List<T> other, BiPredicate<T, T> isSame) {
+    if (list.size() != other.size()) {
+      return false;
+    }
+    for (int i = 0; i < list.size(); i++) {
+      if (!isSame.test(list.get(i), other.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSameMarket(MarketConfig market, MarketConfig other) {
+    return market != null
+        && Objects.equals(market.getId(), other.getId())
+        && Objects.equals(market.getName(), other.getName())
+        && Objects.equals(market.getBaseCurrency(), other.getBaseCurrency())
+        && Objects.equals(market.getCounterCurrency(), other.getCounterCurrency())
+        && market.isEnabled() == other.isEnabled()
+        && Objects.equals(market.getTradingStrategyId(), other.getTradingStrategyId())
+        && Objects.equals(
+            market.getAdditionalTradingStrategyIds(), other.getAdditionalTradingStrategyIds())
+        && Objects.equals(market.getTradeCycleInterval(), other.getTradeCycleInterval())
+        && Objects.equals(market.getExchange(), other.getExchange());
+  }
+
+  private static boolean isSameStrategy(StrategyConfig strategy, StrategyConfig other) {
+    return strategy != null
+        && Objects.equals(strategy.getId(), other.getId())
+        && Objects.equals(strategy.getName(), other.getName())
+        && Objects.equals(strategy.getDescription(), other.getDescription())
+        && Objects.equals(strategy.getClassName(), other.getClassName())
+        && Objects.equals(strategy.getBeanName(), other.getBeanName())
+        && Objects.equals(strategy.getConfigItems(), other.getConfigItems());
+  }
+
+  /**
+   * The outcome of a reload.
+   *
+   * @param marketTradingStrategies all the running strategies, in Market config order.
+   * @param startedStrategies the strategies that have been built and initialised.
+   * @param retiredStrategies the strategies that are no longer running.
+   */
+  record Reload(
+      List<MarketTradingStrategy> marketTradingStrategies,
+      List<MarketTradingStrategy> startedStrategies,
+      List<MarketTradingStrategy> retiredStrategies) {}
+}
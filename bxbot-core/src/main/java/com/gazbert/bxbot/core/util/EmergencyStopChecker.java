@@ -26,9 +26,9 @@ package com.gazbert.bxbot.core.util;
 import com.gazbert.bxbot.core.mail.EmailAlertMessageBuilder;
 import com.gazbert.bxbot.core.mail.EmailAlerter;
 import com.gazbert.bxbot.domain.engine.EngineConfig;
-import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
 import com.gazbert.bxbot.trading.api.BalanceInfo;
 import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
+import com.gazbert.bxbot.trading.api.TradingApi;
 import com.gazbert.bxbot.trading.api.TradingApiException;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
@@ -66,15 +66,24 @@ public class EmergencyStopChecker {
    *       this has happened.
    * </ul>
    *
-   * @param exchangeAdapter the adapter used to connect to the exchange.
-   * @param engineConfig the Trading Engine config.
+   * @param tradingApi the Trading API used to fetch the balance from the exchange.
+   * @param exchangeAdapterName the Exchange Adapter name to include in the Email Alert.
+   * @param emergencyStopCurrency the currency of the wallet to check.
+   * @param emergencyStopBalance the wallet balance below which the bot must stop trading.
+   * @param engineConfig the Trading Engine config, for the bot details to include in the Email
+   *     Alert.
    * @param emailAlerter the Email Alerter.
    * @return true if the emergency stop limit has been breached, false otherwise.
    * @throws TradingApiException if a serious error has occurred connecting to exchange.
    * @throws ExchangeNetworkException if a temporary network exception has occurred.
    */
   public static boolean isEmergencyStopLimitBreached(
-      ExchangeAdapter exchangeAdapter, EngineConfig engineConfig, EmailAlerter emailAlerter)
+      TradingApi tradingApi,
+      String exchangeAdapterName,
+      String emergencyStopCurrency,
+      BigDecimal emergencyStopBalance,
+      EngineConfig engineConfig,
+      EmailAlerter emailAlerter)
       throws TradingApiException, ExchangeNetworkException {
 
     boolean isEmergencyStopLimitBreached = true;
@@ -83,7 +92,7 @@ public class EmergencyStopChecker {
 
     BalanceInfo balanceInfo;
     try {
-      balanceInfo = exchangeAdapter.getBalanceInfo();
+      balanceInfo = tradingApi.getBalanceInfo();
     } catch (TradingApiException e) {
       final String errorMsg =
           "Failed to get Balance info from exchange to perform Emergency Stop check - letting"
@@ -94,12 +103,11 @@ public class EmergencyStopChecker {
     }
 
     final Map<String, BigDecimal> balancesAvailable = balanceInfo.getBalancesAvailable();
-    final BigDecimal currentBalance =
-        balancesAvailable.get(engineConfig.getEmergencyStopCurrency());
+    final BigDecimal currentBalance = balancesAvailable.get(emergencyStopCurrency);
     if (currentBalance == null) {
       final String errorMsg =
           "Emergency stop check: Failed to get current Emergency Stop Currency balance as '"
-              + engineConfig.getEmergencyStopCurrency()
+              + emergencyStopCurrency
               + "' key into Balances map "
               + "returned null. Balances returned: "
               + balancesAvailable;
@@ -110,26 +118,25 @@ public class EmergencyStopChecker {
       log.info(
           "Emergency Stop Currency balance available on exchange is [{}] {}",
           new DecimalFormat(DECIMAL_FORMAT_PATTERN).format(currentBalance),
-          engineConfig.getEmergencyStopCurrency());
+          emergencyStopCurrency);
 
       log.info(
           "Balance that will stop ALL trading across ALL markets is [{}] {}",
-          new DecimalFormat(DECIMAL_FORMAT_PATTERN).format(engineConfig.getEmergencyStopBalance()),
-          engineConfig.getEmergencyStopCurrency());
+          new DecimalFormat(DECIMAL_FORMAT_PATTERN).format(emergencyStopBalance),
+          emergencyStopCurrency);
 
-      if (currentBalance.compareTo(engineConfig.getEmergencyStopBalance()) < 0) {
+      if (currentBalance.compareTo(emergencyStopBalance) < 0) {
         final String balanceBlownErrorMsg =
             "EMERGENCY STOP triggered! - Current Emergency Stop Currency ["
-                + engineConfig.getEmergencyStopCurrency()
+                + emergencyStopCurrency
                 + "] wallet "
                 + "balance ["
                 + new DecimalFormat(DECIMAL_FORMAT_PATTERN).format(currentBalance)
                 + "] on exchange "
                 + "is lower than configured Emergency Stop balance ["
-                + new DecimalFormat(DECIMAL_FORMAT_PATTERN)
-                    .format(engineConfig.getEmergencyStopBalance())
+                + new DecimalFormat(DECIMAL_FORMAT_PATTERN).format(emergencyStopBalance)
                 + "] "
-                + engineConfig.getEmergencyStopCurrency();
+                + emergencyStopCurrency;
 
         log.fatal(balanceBlownErrorMsg);
 
@@ -140,7 +147,7 @@ public class EmergencyStopChecker {
                 null,
                 engineConfig.getBotId(),
                 engineConfig.getBotName(),
-                exchangeAdapter.getClass().getName()));
+                exchangeAdapterName));
       } else {
 
         isEmergencyStopLimitBreached = false;
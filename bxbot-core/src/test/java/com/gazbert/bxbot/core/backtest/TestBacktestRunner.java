@@ -0,0 +1,282 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gazbert.bxbot.core.config.strategy.StrategyConfigItems;
+import com.gazbert.bxbot.strategy.api.StrategyConfig;
+import com.gazbert.bxbot.strategy.api.StrategyException;
+import com.gazbert.bxbot.strategy.api.StreamingTradingStrategy;
+import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
+import com.gazbert.bxbot.trading.api.Market;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import com.gazbert.bxbot.trading.api.Ticker;
+import com.gazbert.bxbot.trading.api.TradingApi;
+import com.gazbert.bxbot.trading.api.TradingApiException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the Backtest Runner replays the recorded market data and reports the results as expected.
+ *
+ * @author gazbert
+ */
+class TestBacktestRunner {
+
+  private static final String MARKET_ID = "btcusd";
+
+  // Buys at 101, marks down to 90, then sells at 112. Fees are 1%.
+  private static final String RECORDED_MARKET_DATA =
+      """
+      0,btcusd,ticker,100,99,101,,,,,
+      0,btcusd,book,99:1,101:1
+      0,ethusd,book,9:1,11:1
+      60000,btcusd,ticker,90,89,91,,,,,
+      120000,btcusd,ticker,115,112,116,,,,,
+      """;
+
+  @TempDir private Path tempDir;
+  private Path recordedMarketDataFile;
+  private BacktestConfig backtestConfig;
+
+  @BeforeEach
+  void setupForEachTest() throws IOException {
+    recordedMarketDataFile =
+        Files.writeString(tempDir.resolve("2025-01-01.csv"), RECORDED_MARKET_DATA);
+
+    backtestConfig = new BacktestConfig();
+    backtestConfig.setMarketId(MARKET_ID);
+    backtestConfig.setBaseCurrency("BTC");
+    backtestConfig.setCounterCurrency("USD");
+    backtestConfig.setTradeCycleInterval(60);
+    backtestConfig.setSimulatedBaseCurrencyStartingBalance(BigDecimal.ZERO);
+    backtestConfig.setSimulatedCounterCurrencyStartingBalance(new BigDecimal("1000"));
+    backtestConfig.setSimulatedBuyFee(new BigDecimal("0.01"));
+    backtestConfig.setSimulatedSellFee(new BigDecimal("0.01"));
+  }
+
+  @Test
+  void testBacktestReportsProfitAndLossAndDrawdown() throws Exception {
+    final BuyThenSellStrategy tradingStrategy = new BuyThenSellStrategy();
+
+    final BacktestResult result =
+        new BacktestRunner(new CsvRecordedMarketData(recordedMarketDataFile), backtestConfig)
+            .run(tradingStrategy, new StrategyConfigItems());
+
+    assertEquals(3, result.tradeCycles());
+    assertEquals(2, result.filledOrders());
+    assertEquals(Duration.ofMinutes(2), result.simulatedPeriod());
+    assertDecimalEquals("1000", result.startingEquity());
+    assertDecimalEquals("1008.87", result.finalEquity());
+    assertDecimalEquals("8.87", result.profitAndLoss());
+    assertDecimalEquals("12.01", result.maxDrawdown());
+    assertDecimalEquals("1.201", result.maxDrawdownPercentage());
+    assertTrue(result.tradeCyclesPerSecond() > 0);
+  }
+
+  @Test
+  void testStreamingStrategyIsPassedItsMarketDataAndFillsBetweenTradeCycles() throws Exception {
+    final BuyThenSellStrategy tradingStrategy = new BuyThenSellStrategy();
+
+    new BacktestRunner(new CsvRecordedMarketData(tempDir), backtestConfig)
+        .run(tradingStrategy, new StrategyConfigItems());
+
+    assertEquals(3, tradingStrategy.tickers);
+    assertEquals(1, tradingStrategy.orderBooks);
+    assertEquals(2, tradingStrategy.filledOrders.size());
+    assertEquals(OrderType.BUY, tradingStrategy.filledOrders.get(0).getType());
+    assertEquals(OrderType.SELL, tradingStrategy.filledOrders.get(1).getType());
+  }
+
+  @Test
+  void testBacktestIsStoppedWhenStrategyFails() {
+    final BuyThenSellStrategy tradingStrategy = new BuyThenSellStrategy();
+    tradingStrategy.failOnCycle = 2;
+
+    final BacktestRunner backtestRunner =
+        new BacktestRunner(new CsvRecordedMarketData(recordedMarketDataFile), backtestConfig);
+    assertThrows(
+        StrategyException.class,
+        () -> backtestRunner.run(tradingStrategy, new StrategyConfigItems()));
+    assertEquals(2, tradingStrategy.cycles);
+  }
+
+  @Test
+  void testBacktestFailsWhenMarketHasNoRecordedMarketData() {
+    backtestConfig.setMarketId("ltcusd");
+
+    final BacktestRunner backtestRunner =
+        new BacktestRunner(new CsvRecordedMarketData(recordedMarketDataFile), backtestConfig);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> backtestRunner.run(new IdleStrategy(), new StrategyConfigItems()));
+  }
+
+  @Test
+  void testBacktestFailsWhenThereIsNoRecordedMarketData() throws Exception {
+    final Path emptyFile = Files.writeString(tempDir.resolve("empty.txt"), "# nothing yet\n");
+
+    final BacktestRunner backtestRunner =
+        new BacktestRunner(new CsvRecordedMarketData(emptyFile), backtestConfig);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> backtestRunner.run(new IdleStrategy(), new StrategyConfigItems()));
+  }
+
+  @Test
+  void testTradeCycleIntervalMustBeAtLeastOneSecond() {
+    backtestConfig.setTradeCycleInterval(0);
+    final CsvRecordedMarketData recordedMarketData =
+        new CsvRecordedMarketData(recordedMarketDataFile);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new BacktestRunner(recordedMarketData, backtestConfig));
+  }
+
+  @Test
+  void testBacktestIsRunFromConfigFile() throws Exception {
+    final Path configFile =
+        Files.writeString(
+            tempDir.resolve("backtest.yaml"),
+            """
+            ---
+            recordedMarketData: %s
+            strategyClassName: %s
+            configItems:
+              some-item: 1
+            marketId: btcusd
+            baseCurrency: BTC
+            counterCurrency: USD
+            tradeCycleInterval: 30
+            simulatedBaseCurrencyStartingBalance: 0
+            simulatedCounterCurrencyStartingBalance: 1000
+            simulatedBuyFee: 0.002
+            simulatedSellFee: 0.002
+            """
+                .formatted(recordedMarketDataFile, IdleStrategy.class.getName()));
+
+    BacktestRunner.main(new String[] {configFile.toString()});
+
+    assertEquals("1", IdleStrategy.lastConfig.getConfigItem("some-item"));
+    assertEquals(5, IdleStrategy.lastCycles);
+  }
+
+  private static void assertDecimalEquals(String expected, BigDecimal actual) {
+    assertEquals(0, new BigDecimal(expected).compareTo(actual), expected + " != " + actual);
+  }
+
+  /** Buys 1 unit at the ask price, then sells it for 10 more. */
+  private static final class BuyThenSellStrategy implements StreamingTradingStrategy {
+
+    private TradingApi tradingApi;
+    private Market market;
+    private BigDecimal buyPrice;
+    private boolean hasSold;
+    private int cycles;
+    private int failOnCycle;
+    private int tickers;
+    private int orderBooks;
+    private final List<OpenOrder> filledOrders = new ArrayList<>();
+
+    @Override
+    public void init(TradingApi tradingApi, Market market, StrategyConfig config) {
+      this.tradingApi = tradingApi;
+      this.market = market;
+    }
+
+    @Override
+    public void execute() throws StrategyException {
+      cycles++;
+      if (cycles == failOnCycle) {
+        throw new StrategyException("Eeek! My strat just broke.");
+      }
+      try {
+        if (buyPrice == null) {
+          buyPrice = tradingApi.getTicker(market.getId()).getAsk();
+          tradingApi.createOrder(market.getId(), OrderType.BUY, BigDecimal.ONE, buyPrice);
+        } else if (!hasSold && tradingApi.getYourOpenOrders(market.getId()).isEmpty()) {
+          tradingApi.createOrder(
+              market.getId(), OrderType.SELL, BigDecimal.ONE, buyPrice.add(BigDecimal.TEN));
+          hasSold = true;
+        } else {
+          tradingApi.getYourOpenOrders(market.getId());
+        }
+      } catch (TradingApiException | ExchangeNetworkException e) {
+        throw new StrategyException(e);
+      }
+    }
+
+    @Override
+    public void onTicker(Ticker ticker) {
+      tickers++;
+    }
+
+    @Override
+    public void onOrderBookUpdate(MarketOrderBook marketOrderBook) {
+      orderBooks++;
+    }
+
+    @Override
+    public void onOrderFilled(OpenOrder filledOrder) {
+      filledOrders.add(filledOrder);
+    }
+  }
+
+  /** Does nothing, but records how it was used. */
+  public static final class IdleStrategy implements StreamingTradingStrategy {
+
+    private static StrategyConfig lastConfig;
+    private static int lastCycles;
+    private int cycles;
+
+    /** Creates the strategy. */
+    public IdleStrategy() {
+      lastCycles = 0;
+    }
+
+    @Override
+    public void init(TradingApi tradingApi, Market market, StrategyConfig config) {
+      lastConfig = config;
+    }
+
+    @Override
+    public void execute() {
+      lastCycles = ++cycles;
+    }
+  }
+}
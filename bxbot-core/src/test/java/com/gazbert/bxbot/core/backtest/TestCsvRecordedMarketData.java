@@ -0,0 +1,153 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.gazbert.bxbot.trading.api.MarketOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the CSV Recorded Market Data is read as expected.
+ *
+ * @author gazbert
+ */
+class TestCsvRecordedMarketData {
+
+  @TempDir private Path tempDir;
+
+  @Test
+  void testTickersAndOrderBooksAreReadFromFilesInFilenameOrder() throws Exception {
+    Files.writeString(
+        tempDir.resolve("2025-01-02.csv"), "2000,btcusd,book,37201.1:0.5 37200:1.25,37202.3:2\n");
+    Files.writeString(
+        tempDir.resolve("2025-01-01.csv"),
+        """
+        # timestamp,market-id,ticker,last,bid,ask,low,high,open,volume,vwap
+
+        1000,btcusd,ticker,37201.5,37201.1,37202.3,36800,37450,36950,1234.5,
+        """);
+    Files.writeString(tempDir.resolve("notes.txt"), "Not market data");
+
+    try (RecordedMarketData.Cursor cursor = new CsvRecordedMarketData(tempDir).open()) {
+      final MarketDataRecord tickerRecord = cursor.next();
+      assertEquals(1000, tickerRecord.timestamp());
+      assertEquals("btcusd", tickerRecord.marketId());
+      assertNull(tickerRecord.orderBook());
+      assertEquals(new BigDecimal("37201.5"), tickerRecord.ticker().getLast());
+      assertEquals(new BigDecimal("37201.1"), tickerRecord.ticker().getBid());
+      assertEquals(new BigDecimal("37202.3"), tickerRecord.ticker().getAsk());
+      assertEquals(new BigDecimal("1234.5"), tickerRecord.ticker().getVolume());
+      assertNull(tickerRecord.ticker().getVwap());
+      assertEquals(1000L, tickerRecord.ticker().getTimestamp());
+
+      final MarketDataRecord orderBookRecord = cursor.next();
+      assertEquals(2000, orderBookRecord.timestamp());
+      assertNull(orderBookRecord.ticker());
+      assertEquals("btcusd", orderBookRecord.orderBook().getMarketId());
+      assertEquals(2, orderBookRecord.orderBook().getBuyOrders().size());
+      assertEquals(1, orderBookRecord.orderBook().getSellOrders().size());
+
+      final MarketOrder bestBuyOrder = orderBookRecord.orderBook().getBuyOrders().getFirst();
+      assertEquals(OrderType.BUY, bestBuyOrder.getType());
+      assertEquals(new BigDecimal("37201.1"), bestBuyOrder.getPrice());
+      assertEquals(new BigDecimal("0.5"), bestBuyOrder.getQuantity());
+      assertEquals(new BigDecimal("18600.55"), bestBuyOrder.getTotal());
+      assertEquals(
+          OrderType.SELL, orderBookRecord.orderBook().getSellOrders().getFirst().getType());
+
+      assertNull(cursor.next());
+    }
+  }
+
+  @Test
+  void testLatestMarketPriceIsRead() throws Exception {
+    final Path file =
+        Files.writeString(tempDir.resolve("price.csv"), "1000,btcusd,price,37201.5\n");
+
+    try (RecordedMarketData.Cursor cursor = new CsvRecordedMarketData(file).open()) {
+      final MarketDataRecord priceRecord = cursor.next();
+      assertEquals(new BigDecimal("37201.5"), priceRecord.latestMarketPrice());
+      assertNull(priceRecord.ticker());
+      assertNull(priceRecord.orderBook());
+    }
+  }
+
+  @Test
+  void testEmptyOrderBookSideIsRead() throws Exception {
+    final Path file = Files.writeString(tempDir.resolve("book.csv"), "1000,btcusd,book,,1:1\n");
+
+    try (RecordedMarketData.Cursor cursor = new CsvRecordedMarketData(file).open()) {
+      assertEquals(0, cursor.next().orderBook().getBuyOrders().size());
+    }
+  }
+
+  @Test
+  void testRecordsNotInTimeOrderAreRejected() throws Exception {
+    final Path file =
+        Files.writeString(
+            tempDir.resolve("late.csv"), "2000,btcusd,book,1:1,2:1\n1000,btcusd,book,1:1,2:1\n");
+
+    try (RecordedMarketData.Cursor cursor = new CsvRecordedMarketData(file).open()) {
+      cursor.next();
+      assertThrows(IOException.class, cursor::next);
+    }
+  }
+
+  @Test
+  void testUnknownRecordTypeIsRejected() throws Exception {
+    final Path file = Files.writeString(tempDir.resolve("trade.csv"), "1000,btcusd,trade,1,2\n");
+
+    try (RecordedMarketData.Cursor cursor = new CsvRecordedMarketData(file).open()) {
+      assertThrows(IOException.class, cursor::next);
+    }
+  }
+
+  @Test
+  void testInvalidOrderIsRejected() throws Exception {
+    final Path file = Files.writeString(tempDir.resolve("order.csv"), "1000,btcusd,book,1,2:1\n");
+
+    try (RecordedMarketData.Cursor cursor = new CsvRecordedMarketData(file).open()) {
+      assertThrows(IOException.class, cursor::next);
+    }
+  }
+
+  @Test
+  void testInvalidNumberIsRejected() throws Exception {
+    final Path file =
+        Files.writeString(tempDir.resolve("nan.csv"), "1000,btcusd,ticker,x,,,,,,,\n");
+
+    try (RecordedMarketData.Cursor cursor = new CsvRecordedMarketData(file).open()) {
+      assertThrows(IOException.class, cursor::next);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the Mapped Recorded Market Data reads the Market Data Recorder files as expected.
+ *
+ * @author gazbert
+ */
+class TestMappedRecordedMarketData {
+
+  private static final String MARKET_ID = "btcusd";
+
+  @TempDir private Path tempDir;
+
+  @Test
+  void testRecordsAreReadAcrossWindows() throws Exception {
+    final Path file = writeFile(100);
+
+    // A window smaller than a record is grown to fit it.
+    try (RecordedMarketData.Cursor cursor = new MappedRecordedMarketData(file, 16).open()) {
+      for (int i = 0; i < 100; i++) {
+        final MarketDataRecord marketDataRecord = cursor.next();
+        assertEquals(i, marketDataRecord.timestamp());
+        assertEquals(BigDecimal.valueOf(i), marketDataRecord.latestMarketPrice());
+      }
+      assertNull(cursor.next());
+    }
+  }
+
+  @Test
+  void testIncompleteLastRecordIsSkipped() throws Exception {
+    final Path file = writeFile(2);
+    final byte[] partRecord =
+        BinaryMarketDataFormat.encode(
+            MarketDataRecord.ofLatestMarketPrice(2, MARKET_ID, BigDecimal.ONE));
+    Files.write(file, Arrays.copyOf(partRecord, 10), StandardOpenOption.APPEND);
+
+    try (RecordedMarketData.Cursor cursor = new MappedRecordedMarketData(file).open()) {
+      cursor.next();
+      cursor.next();
+      assertNull(cursor.next());
+    }
+  }
+
+  @Test
+  void testFileInUnknownFormatIsRejected() throws Exception {
+    final Path file = Files.writeString(tempDir.resolve("market-data.bxmd"), "Not market data");
+
+    try (RecordedMarketData.Cursor cursor = new MappedRecordedMarketData(file).open()) {
+      assertThrows(IOException.class, cursor::next);
+    }
+  }
+
+  @Test
+  void testUnknownRecordTypeIsRejected() throws Exception {
+    final ByteBuffer buffer = ByteBuffer.allocate(BinaryMarketDataFormat.HEADER_LENGTH + 16);
+    BinaryMarketDataFormat.writeHeader(buffer);
+    buffer.putInt(12).put((byte) 9).putLong(1).putShort((short) 0).put((byte) 0);
+    final Path file = Files.write(tempDir.resolve("market-data.bxmd"), buffer.array());
+
+    try (RecordedMarketData.Cursor cursor = new MappedRecordedMarketData(file).open()) {
+      assertThrows(IOException.class, cursor::next);
+    }
+  }
+
+  @Test
+  void testRecorderFilesAreDetected() throws Exception {
+    assertFalse(MappedRecordedMarketData.isRecordedBy(tempDir));
+    Files.writeString(tempDir.resolve("market-data.csv"), "");
+    assertFalse(MappedRecordedMarketData.isRecordedBy(tempDir));
+
+    final Path file = writeFile(1);
+    assertTrue(MappedRecordedMarketData.isRecordedBy(tempDir));
+    assertTrue(MappedRecordedMarketData.isRecordedBy(file));
+  }
+
+  private Path writeFile(int recordCount) throws IOException {
+    final Path file = tempDir.resolve("market-data-1970-01-01.bxmd");
+    try (MarketDataRecorder recorder = new MarketDataRecorder(tempDir)) {
+      for (int i = 0; i < recordCount; i++) {
+        recorder.record(MarketDataRecord.ofLatestMarketPrice(i, MARKET_ID, BigDecimal.valueOf(i)));
+      }
+    }
+    return file;
+  }
+}
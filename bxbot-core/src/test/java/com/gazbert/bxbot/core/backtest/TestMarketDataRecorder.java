@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderBookImpl;
+import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderImpl;
+import com.gazbert.bxbot.exchanges.trading.api.impl.TickerImpl;
+import com.gazbert.bxbot.trading.api.MarketOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import com.gazbert.bxbot.trading.api.Ticker;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the Market Data Recorder writes market data that can be read back as expected.
+ *
+ * @author gazbert
+ */
+class TestMarketDataRecorder {
+
+  private static final String MARKET_ID = "btcusd";
+  private static final long DAY_1 = 1_735_689_600_000L; // 2025-01-01T00:00:00Z
+  private static final long DAY_2 = DAY_1 + 24 * 60 * 60 * 1000;
+
+  @TempDir private Path tempDir;
+
+  @Test
+  void testRecordsAreWrittenToFilePerDayAndReadBack() throws Exception {
+    final Ticker ticker =
+        new TickerImpl(
+            new BigDecimal("37201.5"),
+            new BigDecimal("37201.1"),
+            new BigDecimal("37202.30"),
+            null,
+            new BigDecimal("37450"),
+            null,
+            new BigDecimal("1234.56789012"),
+            null,
+            DAY_1 - 5);
+    final MarketOrder buyOrder =
+        new MarketOrderImpl(
+            OrderType.BUY, new BigDecimal("37201.1"), new BigDecimal("0.5"), BigDecimal.ZERO);
+    final MarketOrder sellOrder =
+        new MarketOrderImpl(OrderType.SELL, new BigDecimal("37202"), new BigDecimal("1.25"), null);
+
+    try (MarketDataRecorder recorder = new MarketDataRecorder(tempDir)) {
+      recorder.record(MarketDataRecord.ofTicker(DAY_1, MARKET_ID, ticker));
+      recorder.record(
+          MarketDataRecord.ofOrderBook(
+              DAY_1 + 1,
+              MARKET_ID,
+              new MarketOrderBookImpl(MARKET_ID, List.of(sellOrder), List.of(buyOrder))));
+      recorder.record(
+          MarketDataRecord.ofLatestMarketPrice(DAY_2, MARKET_ID, new BigDecimal("37300.25")));
+    }
+    assertTrue(Files.exists(tempDir.resolve("market-data-2025-01-01.bxmd")));
+    assertTrue(Files.exists(tempDir.resolve("market-data-2025-01-02.bxmd")));
+
+    try (RecordedMarketData.Cursor cursor = new MappedRecordedMarketData(tempDir).open()) {
+      final MarketDataRecord tickerRecord = cursor.next();
+      assertEquals(DAY_1, tickerRecord.timestamp());
+      assertEquals(MARKET_ID, tickerRecord.marketId());
+      assertEquals(0, new BigDecimal("37201.5").compareTo(tickerRecord.ticker().getLast()));
+      // The ticker values are recorded with the scale of the most precise one.
+      assertEquals(new BigDecimal("37202.30000000"), tickerRecord.ticker().getAsk());
+      assertNull(tickerRecord.ticker().getLow());
+      assertEquals(new BigDecimal("1234.56789012"), tickerRecord.ticker().getVolume());
+      assertNull(tickerRecord.ticker().getVwap());
+      assertEquals(DAY_1 - 5, tickerRecord.ticker().getTimestamp());
+
+      final MarketDataRecord orderBookRecord = cursor.next();
+      assertEquals(MARKET_ID, orderBookRecord.orderBook().getMarketId());
+      final MarketOrder recordedBuyOrder = orderBookRecord.orderBook().getBuyOrders().getFirst();
+      assertEquals(OrderType.BUY, recordedBuyOrder.getType());
+      assertEquals(new BigDecimal("37201.1"), recordedBuyOrder.getPrice());
+      assertEquals(new BigDecimal("0.50"), recordedBuyOrder.getQuantity());
+      assertEquals(0, new BigDecimal("18600.55").compareTo(recordedBuyOrder.getTotal()));
+      final MarketOrder recordedSellOrder = orderBookRecord.orderBook().getSellOrders().getFirst();
+      assertEquals(OrderType.SELL, recordedSellOrder.getType());
+      assertEquals(0, new BigDecimal("37202").compareTo(recordedSellOrder.getPrice()));
+
+      final MarketDataRecord priceRecord = cursor.next();
+      assertEquals(DAY_2, priceRecord.timestamp());
+      assertEquals(new BigDecimal("37300.25"), priceRecord.latestMarketPrice());
+
+      assertNull(cursor.next());
+    }
+  }
+
+  @Test
+  void testRecordsAreAppendedToExistingFile() throws Exception {
+    try (MarketDataRecorder recorder = new MarketDataRecorder(tempDir)) {
+      recorder.record(MarketDataRecord.ofLatestMarketPrice(DAY_1, MARKET_ID, BigDecimal.ONE));
+    }
+    try (MarketDataRecorder recorder = new MarketDataRecorder(tempDir)) {
+      recorder.record(MarketDataRecord.ofLatestMarketPrice(DAY_1 + 1, MARKET_ID, BigDecimal.TEN));
+    }
+
+    try (RecordedMarketData.Cursor cursor = new MappedRecordedMarketData(tempDir).open()) {
+      assertEquals(BigDecimal.ONE, cursor.next().latestMarketPrice());
+      assertEquals(BigDecimal.TEN, cursor.next().latestMarketPrice());
+      assertNull(cursor.next());
+    }
+  }
+
+  @Test
+  void testValueTooBigToRecordIsSkipped() throws Exception {
+    try (MarketDataRecorder recorder = new MarketDataRecorder(tempDir)) {
+      recorder.record(
+          MarketDataRecord.ofLatestMarketPrice(
+              DAY_1, MARKET_ID, new BigDecimal("92233720368547758.08")));
+      recorder.record(MarketDataRecord.ofLatestMarketPrice(DAY_1, MARKET_ID, BigDecimal.ONE));
+      recorder.close();
+      recorder.record(MarketDataRecord.ofLatestMarketPrice(DAY_1, MARKET_ID, BigDecimal.TEN));
+    }
+
+    try (RecordedMarketData.Cursor cursor = new MappedRecordedMarketData(tempDir).open()) {
+      assertEquals(BigDecimal.ONE, cursor.next().latestMarketPrice());
+      assertNull(cursor.next());
+    }
+  }
+}
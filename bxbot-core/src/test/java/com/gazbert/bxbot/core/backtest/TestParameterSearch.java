@@ -0,0 +1,109 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Parameter Search creates the combinations of parameter values as expected.
+ *
+ * @author gazbert
+ */
+class TestParameterSearch {
+
+  private static final String BUY_AMOUNT = "counter-currency-buy-order-amount";
+  private static final String MIN_GAIN = "minimum-percentage-gain";
+
+  @Test
+  void testGridSearchReturnsEveryCombination() {
+    final Map<String, String> parameters = new LinkedHashMap<>();
+    parameters.put(BUY_AMOUNT, "20, 50,100");
+    parameters.put(MIN_GAIN, "1,2");
+
+    final List<Map<String, String>> combinations = ParameterSearch.grid(parameters);
+
+    assertEquals(6, combinations.size());
+    assertEquals(Map.of(BUY_AMOUNT, "20", MIN_GAIN, "1"), combinations.get(0));
+    assertEquals(Map.of(BUY_AMOUNT, "20", MIN_GAIN, "2"), combinations.get(1));
+    assertEquals(Map.of(BUY_AMOUNT, "100", MIN_GAIN, "2"), combinations.get(5));
+  }
+
+  @Test
+  void testGridSearchRejectsRangesAndMissingValues() {
+    assertThrows(
+        IllegalArgumentException.class, () -> ParameterSearch.grid(Map.of(MIN_GAIN, "0.5..2")));
+    assertThrows(
+        IllegalArgumentException.class, () -> ParameterSearch.grid(Map.of(MIN_GAIN, " , ")));
+  }
+
+  @Test
+  void testRandomSearchReturnsDistinctCombinationsFromValuesAndRanges() {
+    final Map<String, String> parameters = new LinkedHashMap<>();
+    parameters.put(BUY_AMOUNT, "20, 50, 100");
+    parameters.put(MIN_GAIN, "0.50..2.00");
+
+    final List<Map<String, String>> combinations =
+        ParameterSearch.random(parameters, 10, new Random(42));
+
+    assertEquals(10, combinations.size());
+    assertEquals(10, Set.copyOf(combinations).size());
+    for (final Map<String, String> combination : combinations) {
+      assertTrue(Set.of("20", "50", "100").contains(combination.get(BUY_AMOUNT)));
+      final BigDecimal minGain = new BigDecimal(combination.get(MIN_GAIN));
+      assertEquals(2, minGain.scale());
+      assertTrue(minGain.compareTo(new BigDecimal("0.5")) >= 0);
+      assertTrue(minGain.compareTo(new BigDecimal("2")) <= 0);
+    }
+  }
+
+  @Test
+  void testRandomSearchReturnsFewerCombinationsWhenThereAreNotEnough() {
+    final List<Map<String, String>> combinations =
+        ParameterSearch.random(Map.of(BUY_AMOUNT, "20, 50"), 5, new Random(42));
+
+    assertEquals(
+        Set.of(Map.of(BUY_AMOUNT, "20"), Map.of(BUY_AMOUNT, "50")), Set.copyOf(combinations));
+  }
+
+  @Test
+  void testRandomSearchRejectsInvalidRanges() {
+    final Random random = new Random(42);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ParameterSearch.random(Map.of(MIN_GAIN, "2..1"), 1, random));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ParameterSearch.random(Map.of(MIN_GAIN, "a..1"), 1, random));
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
+import com.gazbert.bxbot.exchange.api.ExchangeConfig;
+import com.gazbert.bxbot.exchange.api.MarketDataListener;
+import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderBookImpl;
+import com.gazbert.bxbot.exchanges.trading.api.impl.TickerImpl;
+import com.gazbert.bxbot.trading.api.BalanceInfo;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import com.gazbert.bxbot.trading.api.Ticker;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the Recording Exchange Adapter records the market data it returns as expected.
+ *
+ * @author gazbert
+ */
+class TestRecordingExchangeAdapter {
+
+  private static final String MARKET_ID = "btcusd";
+  private static final String OTHER_MARKET_ID = "ethusd";
+  private static final long NOW = 1_735_689_600_000L;
+  private static final BigDecimal PRICE = new BigDecimal("37201.5");
+
+  @TempDir private Path tempDir;
+
+  @Test
+  void testMarketDataIsRecordedAndReturned() throws Exception {
+    final MarketOrderBook orderBook = new MarketOrderBookImpl(MARKET_ID, List.of(), List.of());
+    final Ticker ticker = new TickerImpl(PRICE, null, null, null, null, null, null, null, null);
+    final Map<String, Ticker> tickers = new HashMap<>();
+    tickers.put(MARKET_ID, ticker);
+    tickers.put(OTHER_MARKET_ID, null);
+    final Map<String, MarketOrderBook> orderBooks = new HashMap<>();
+    orderBooks.put(OTHER_MARKET_ID, null);
+
+    final ExchangeAdapter exchangeAdapter = EasyMock.createMock(ExchangeAdapter.class);
+    EasyMock.expect(exchangeAdapter.getMarketOrders(MARKET_ID)).andReturn(orderBook);
+    EasyMock.expect(exchangeAdapter.getMarketOrders(List.of(MARKET_ID)))
+        .andReturn(Map.of(MARKET_ID, orderBook));
+    EasyMock.expect(exchangeAdapter.getMarketOrders(List.of(OTHER_MARKET_ID)))
+        .andReturn(orderBooks);
+    EasyMock.expect(exchangeAdapter.getTicker(MARKET_ID)).andReturn(ticker);
+    EasyMock.expect(exchangeAdapter.getTicker(OTHER_MARKET_ID)).andReturn(null);
+    EasyMock.expect(exchangeAdapter.getTickers(List.of(MARKET_ID, OTHER_MARKET_ID)))
+        .andReturn(tickers);
+    EasyMock.expect(exchangeAdapter.getLatestMarketPrice(MARKET_ID)).andReturn(PRICE);
+    EasyMock.expect(exchangeAdapter.getLatestMarketPrice(OTHER_MARKET_ID)).andReturn(null);
+    EasyMock.replay(exchangeAdapter);
+
+    try (MarketDataRecorder recorder = new MarketDataRecorder(tempDir)) {
+      final RecordingExchangeAdapter recordingExchangeAdapter =
+          new RecordingExchangeAdapter(
+              exchangeAdapter, recorder, Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+
+      assertSame(orderBook, recordingExchangeAdapter.getMarketOrders(MARKET_ID));
+      assertSame(
+          orderBook, recordingExchangeAdapter.getMarketOrders(List.of(MARKET_ID)).get(MARKET_ID));
+      assertNull(
+          recordingExchangeAdapter.getMarketOrders(List.of(OTHER_MARKET_ID)).get(OTHER_MARKET_ID));
+      assertSame(ticker, recordingExchangeAdapter.getTicker(MARKET_ID));
+      assertNull(recordingExchangeAdapter.getTicker(OTHER_MARKET_ID));
+      assertSame(
+          tickers, recordingExchangeAdapter.getTickers(List.of(MARKET_ID, OTHER_MARKET_ID)));
+      assertEquals(PRICE, recordingExchangeAdapter.getLatestMarketPrice(MARKET_ID));
+      assertNull(recordingExchangeAdapter.getLatestMarketPrice(OTHER_MARKET_ID));
+    }
+    EasyMock.verify(exchangeAdapter);
+
+    try (RecordedMarketData.Cursor cursor = new MappedRecordedMarketData(tempDir).open()) {
+      for (int i = 0; i < 2; i++) {
+        final MarketDataRecord orderBookRecord = cursor.next();
+        assertEquals(NOW, orderBookRecord.timestamp());
+        assertEquals(MARKET_ID, orderBookRecord.marketId());
+        assertTrue(orderBookRecord.orderBook().getBuyOrders().isEmpty());
+      }
+      for (int i = 0; i < 2; i++) {
+        assertEquals(PRICE, cursor.next().ticker().getLast());
+      }
+      assertEquals(PRICE, cursor.next().latestMarketPrice());
+      assertNull(cursor.next());
+    }
+  }
+
+  @Test
+  void testOtherCallsAreDelegated() throws Exception {
+    final ExchangeConfig exchangeConfig = EasyMock.createMock(ExchangeConfig.class);
+    final MarketDataListener listener = EasyMock.createMock(MarketDataListener.class);
+    final BalanceInfo balanceInfo = EasyMock.createMock(BalanceInfo.class);
+    final List<OpenOrder> openOrders = Collections.emptyList();
+
+    final ExchangeAdapter exchangeAdapter = EasyMock.createMock(ExchangeAdapter.class);
+    exchangeAdapter.init(exchangeConfig);
+    exchangeAdapter.subscribeToMarketData(List.of(MARKET_ID), listener);
+    EasyMock.expect(exchangeAdapter.getVersion()).andReturn("1.0");
+    EasyMock.expect(exchangeAdapter.getImplName()).andReturn("Test");
+    EasyMock.expect(exchangeAdapter.isThreadSafe()).andReturn(true);
+    EasyMock.expect(exchangeAdapter.getYourOpenOrders(MARKET_ID)).andReturn(openOrders);
+    EasyMock.expect(exchangeAdapter.createOrder(MARKET_ID, OrderType.BUY, PRICE, PRICE))
+        .andReturn("1");
+    EasyMock.expect(exchangeAdapter.cancelOrder("1", MARKET_ID)).andReturn(true);
+    EasyMock.expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo);
+    EasyMock.expect(exchangeAdapter.getPercentageOfBuyOrderTakenForExchangeFee(MARKET_ID))
+        .andReturn(BigDecimal.ONE);
+    EasyMock.expect(exchangeAdapter.getPercentageOfSellOrderTakenForExchangeFee(MARKET_ID))
+        .andReturn(BigDecimal.TWO);
+    EasyMock.expect(exchangeAdapter.getMinimumOrderVolume(MARKET_ID)).andReturn(BigDecimal.TEN);
+    EasyMock.replay(exchangeAdapter);
+
+    try (MarketDataRecorder recorder = new MarketDataRecorder(tempDir)) {
+      final RecordingExchangeAdapter recordingExchangeAdapter =
+          new RecordingExchangeAdapter(exchangeAdapter, recorder, Clock.systemUTC());
+
+      recordingExchangeAdapter.init(exchangeConfig);
+      recordingExchangeAdapter.subscribeToMarketData(List.of(MARKET_ID), listener);
+      assertEquals("1.0", recordingExchangeAdapter.getVersion());
+      assertEquals("Test", recordingExchangeAdapter.getImplName());
+      assertTrue(recordingExchangeAdapter.isThreadSafe());
+      assertSame(openOrders, recordingExchangeAdapter.getYourOpenOrders(MARKET_ID));
+      assertEquals(
+          "1", recordingExchangeAdapter.createOrder(MARKET_ID, OrderType.BUY, PRICE, PRICE));
+      assertTrue(recordingExchangeAdapter.cancelOrder("1", MARKET_ID));
+      assertSame(balanceInfo, recordingExchangeAdapter.getBalanceInfo());
+      assertEquals(
+          BigDecimal.ONE,
+          recordingExchangeAdapter.getPercentageOfBuyOrderTakenForExchangeFee(MARKET_ID));
+      assertEquals(
+          BigDecimal.TWO,
+          recordingExchangeAdapter.getPercentageOfSellOrderTakenForExchangeFee(MARKET_ID));
+      assertEquals(BigDecimal.TEN, recordingExchangeAdapter.getMinimumOrderVolume(MARKET_ID));
+    }
+    EasyMock.verify(exchangeAdapter);
+  }
+}
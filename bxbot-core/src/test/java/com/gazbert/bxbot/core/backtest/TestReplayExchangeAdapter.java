@@ -0,0 +1,147 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.gazbert.bxbot.exchange.api.MarketDataListener;
+import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderBookImpl;
+import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderImpl;
+import com.gazbert.bxbot.exchanges.trading.api.impl.TickerImpl;
+import com.gazbert.bxbot.trading.api.MarketOrder;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OrderType;
+import com.gazbert.bxbot.trading.api.Ticker;
+import com.gazbert.bxbot.trading.api.TradingApiException;
+import java.math.BigDecimal;
+import java.util.List;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Replay Exchange Adapter serves the recorded market data as expected.
+ *
+ * @author gazbert
+ */
+class TestReplayExchangeAdapter {
+
+  private static final String MARKET_ID = "btcusd";
+  private static final BigDecimal BID = new BigDecimal("100");
+  private static final BigDecimal ASK = new BigDecimal("101");
+
+  private ReplayExchangeAdapter replayExchangeAdapter;
+  private MarketOrderBook orderBook;
+
+  @BeforeEach
+  void setupForEachTest() {
+    replayExchangeAdapter = new ReplayExchangeAdapter();
+    replayExchangeAdapter.init(null);
+
+    final MarketOrder buyOrder = new MarketOrderImpl(OrderType.BUY, BID, BigDecimal.ONE, BID);
+    final MarketOrder sellOrder = new MarketOrderImpl(OrderType.SELL, ASK, BigDecimal.ONE, ASK);
+    orderBook = new MarketOrderBookImpl(MARKET_ID, List.of(sellOrder), List.of(buyOrder));
+  }
+
+  @Test
+  void testRecordedMarketDataIsServedAndPushed() throws Exception {
+    final Ticker ticker = new TickerImpl(ASK, BID, ASK, null, null, null, null, null, 1L);
+    final MarketDataListener listener = EasyMock.createMock(MarketDataListener.class);
+    listener.onOrderBookUpdate(MARKET_ID, orderBook);
+    listener.onTicker(MARKET_ID, ticker);
+    EasyMock.replay(listener);
+
+    replayExchangeAdapter.subscribeToMarketData(List.of(MARKET_ID), listener);
+    replayExchangeAdapter.apply(MarketDataRecord.ofOrderBook(1, MARKET_ID, orderBook));
+    replayExchangeAdapter.apply(MarketDataRecord.ofTicker(1, MARKET_ID, ticker));
+
+    assertSame(orderBook, replayExchangeAdapter.getMarketOrders(MARKET_ID));
+    assertSame(orderBook, replayExchangeAdapter.getMarketOrders(List.of(MARKET_ID)).get(MARKET_ID));
+    assertSame(ticker, replayExchangeAdapter.getTicker(MARKET_ID));
+    assertSame(ticker, replayExchangeAdapter.getTickers(List.of(MARKET_ID)).get(MARKET_ID));
+    assertEquals(ASK, replayExchangeAdapter.getLatestMarketPrice(MARKET_ID));
+    EasyMock.verify(listener);
+  }
+
+  @Test
+  void testTickerIsTakenFromOrderBookWhenNoTickerRecorded() throws Exception {
+    replayExchangeAdapter.apply(MarketDataRecord.ofOrderBook(1, MARKET_ID, orderBook));
+
+    final Ticker ticker = replayExchangeAdapter.getTicker(MARKET_ID);
+    assertEquals(BID, ticker.getBid());
+    assertEquals(ASK, ticker.getAsk());
+    assertNull(ticker.getLast());
+    assertEquals(new BigDecimal("100.5"), replayExchangeAdapter.getLatestMarketPrice(MARKET_ID));
+  }
+
+  @Test
+  void testRecordedMarketPriceIsServedBeforeTickerPrice() throws Exception {
+    final BigDecimal latestMarketPrice = new BigDecimal("100.7");
+    replayExchangeAdapter.apply(MarketDataRecord.ofOrderBook(1, MARKET_ID, orderBook));
+    replayExchangeAdapter.apply(
+        MarketDataRecord.ofLatestMarketPrice(1, MARKET_ID, latestMarketPrice));
+
+    assertEquals(latestMarketPrice, replayExchangeAdapter.getLatestMarketPrice(MARKET_ID));
+  }
+
+  @Test
+  void testMarketPriceIsNotAvailableFromOneSidedOrderBook() {
+    replayExchangeAdapter.apply(
+        MarketDataRecord.ofOrderBook(
+            1, MARKET_ID, new MarketOrderBookImpl(MARKET_ID, List.of(), List.of())));
+
+    assertThrows(
+        TradingApiException.class, () -> replayExchangeAdapter.getLatestMarketPrice(MARKET_ID));
+  }
+
+  @Test
+  void testMarketDataIsNotAvailableUntilRecorded() {
+    assertThrows(TradingApiException.class, () -> replayExchangeAdapter.getTicker(MARKET_ID));
+    assertThrows(
+        TradingApiException.class, () -> replayExchangeAdapter.getMarketOrders(MARKET_ID));
+  }
+
+  @Test
+  void testAuthenticatedCallsAreNotSupported() {
+    assertNotNull(replayExchangeAdapter.getImplName());
+    assertThrows(
+        TradingApiException.class, () -> replayExchangeAdapter.getYourOpenOrders(MARKET_ID));
+    assertThrows(
+        TradingApiException.class,
+        () -> replayExchangeAdapter.createOrder(MARKET_ID, OrderType.BUY, BID, BID));
+    assertThrows(
+        TradingApiException.class, () -> replayExchangeAdapter.cancelOrder("123", MARKET_ID));
+    assertThrows(TradingApiException.class, () -> replayExchangeAdapter.getBalanceInfo());
+    assertThrows(
+        TradingApiException.class,
+        () -> replayExchangeAdapter.getPercentageOfBuyOrderTakenForExchangeFee(MARKET_ID));
+    assertThrows(
+        TradingApiException.class,
+        () -> replayExchangeAdapter.getPercentageOfSellOrderTakenForExchangeFee(MARKET_ID));
+  }
+}
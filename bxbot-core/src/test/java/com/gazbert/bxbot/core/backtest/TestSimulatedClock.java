@@ -0,0 +1,55 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Simulated Clock only moves when it is set.
+ *
+ * @author gazbert
+ */
+class TestSimulatedClock {
+
+  @Test
+  void testClockOnlyMovesWhenSet() {
+    final SimulatedClock clock = new SimulatedClock();
+    clock.setMillis(1000);
+
+    assertEquals(1000, clock.millis());
+    assertEquals(Instant.ofEpochMilli(1000), clock.instant());
+    assertEquals(ZoneOffset.UTC, clock.getZone());
+
+    final Clock londonClock = clock.withZone(ZoneId.of("Europe/London"));
+    clock.setMillis(2000);
+    assertEquals(Instant.ofEpochMilli(1000), londonClock.instant());
+    assertEquals(Instant.ofEpochMilli(2000), clock.instant());
+  }
+}
@@ -0,0 +1,261 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.backtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gazbert.bxbot.strategy.api.StrategyConfig;
+import com.gazbert.bxbot.strategy.api.StrategyException;
+import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
+import com.gazbert.bxbot.trading.api.Market;
+import com.gazbert.bxbot.trading.api.OrderType;
+import com.gazbert.bxbot.trading.api.TradingApi;
+import com.gazbert.bxbot.trading.api.TradingApiException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the Strategy Optimiser runs and ranks the backtests as expected.
+ *
+ * @author gazbert
+ */
+class TestStrategyOptimiser {
+
+  private static final String QUANTITY = "quantity";
+  private static final String MIN_GAIN = "minimum-percentage-gain";
+
+  // The price rises from an ask of 101 to 115, so the more bought, the bigger the profit.
+  private static final String RECORDED_MARKET_DATA =
+      """
+      0,btcusd,ticker,100,99,101,,,,,
+      60000,btcusd,ticker,90,89,91,,,,,
+      120000,btcusd,ticker,115,112,116,,,,,
+      """;
+
+  @TempDir private Path tempDir;
+  private Path recordedMarketDataFile;
+  private BacktestConfig backtestConfig;
+
+  @BeforeEach
+  void setupForEachTest() throws IOException {
+    recordedMarketDataFile =
+        Files.writeString(tempDir.resolve("2025-01-01.csv"), RECORDED_MARKET_DATA);
+
+    backtestConfig = new BacktestConfig();
+    backtestConfig.setRecordedMarketData(recordedMarketDataFile.toString());
+    backtestConfig.setStrategyClassName(BuyAndHoldStrategy.class.getName());
+    backtestConfig.setMarketId("btcusd");
+    backtestConfig.setBaseCurrency("BTC");
+    backtestConfig.setCounterCurrency("USD");
+    backtestConfig.setTradeCycleInterval(60);
+    backtestConfig.setSimulatedBaseCurrencyStartingBalance(BigDecimal.ZERO);
+    backtestConfig.setSimulatedCounterCurrencyStartingBalance(new BigDecimal("1000"));
+    backtestConfig.setSimulatedBuyFee(new BigDecimal("0.01"));
+    backtestConfig.setSimulatedSellFee(new BigDecimal("0.01"));
+    BuyAndHoldStrategy.minGains.clear();
+  }
+
+  @Test
+  void testBacktestsAreRunConcurrentlyAndRankedByProfit() throws Exception {
+    final StrategyOptimiser strategyOptimiser =
+        new StrategyOptimiser(
+            new BacktestRunner(new CsvRecordedMarketData(recordedMarketDataFile), backtestConfig),
+            BuyAndHoldStrategy::new,
+            Map.of(MIN_GAIN, "2"),
+            4);
+
+    final List<OptimiserResult> results =
+        strategyOptimiser.optimise(ParameterSearch.grid(Map.of(QUANTITY, "1, fail, 3, 2")));
+
+    assertEquals(4, results.size());
+    assertEquals(Map.of(QUANTITY, "3"), results.get(0).parameters());
+    assertDecimalEquals("38.97", results.get(0).backtestResult().profitAndLoss());
+    assertEquals(Map.of(QUANTITY, "2"), results.get(1).parameters());
+    assertEquals(Map.of(QUANTITY, "1"), results.get(2).parameters());
+    assertNull(results.get(2).failure());
+
+    final OptimiserResult failedResult = results.get(3);
+    assertEquals(Map.of(QUANTITY, "fail"), failedResult.parameters());
+    assertNull(failedResult.backtestResult());
+    assertEquals("Eeek! My strat just broke.", failedResult.failure());
+
+    // Each backtest had its own strategy, and the items that were not searched.
+    assertEquals(Set.of("2"), Set.copyOf(BuyAndHoldStrategy.minGains.values()));
+
+    final String[] table = StrategyOptimiser.formatTable(results, "USD").split("\\R");
+    assertEquals(5, table.length);
+    assertTrue(table[0].startsWith("Rank  P&L (USD)  Max drawdown (USD)"));
+    assertTrue(table[0].endsWith(QUANTITY));
+    assertTrue(table[1].matches("1 +38\\.97 +36\\.03 +3\\.60 +1 +3"), table[1]);
+    assertTrue(table[4].matches("4 +failed +- +- +- +fail"), table[4]);
+  }
+
+  @Test
+  void testOptimisationFailsWhenRecordedMarketDataCannotBeRead() {
+    final StrategyOptimiser strategyOptimiser =
+        new StrategyOptimiser(
+            new BacktestRunner(
+                new CsvRecordedMarketData(tempDir.resolve("missing.csv")), backtestConfig),
+            BuyAndHoldStrategy::new,
+            Map.of(MIN_GAIN, "2"),
+            2);
+
+    assertThrows(
+        IOException.class,
+        () -> strategyOptimiser.optimise(ParameterSearch.grid(Map.of(QUANTITY, "1, 2"))));
+  }
+
+  @Test
+  void testParallelismMustBeAtLeastOne() {
+    final BacktestRunner backtestRunner =
+        new BacktestRunner(new CsvRecordedMarketData(recordedMarketDataFile), backtestConfig);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new StrategyOptimiser(backtestRunner, BuyAndHoldStrategy::new, Map.of(), 0));
+  }
+
+  @Test
+  void testParameterCombinationsAreCreatedForSearchType() {
+    final OptimiserConfig optimiserConfig = new OptimiserConfig();
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> StrategyOptimiser.parameterCombinations(optimiserConfig));
+
+    optimiserConfig.setParameters(Map.of(QUANTITY, "1, 2, 3"));
+    assertEquals(3, StrategyOptimiser.parameterCombinations(optimiserConfig).size());
+
+    optimiserConfig.setSearch(OptimiserConfig.SearchType.RANDOM);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> StrategyOptimiser.parameterCombinations(optimiserConfig));
+
+    optimiserConfig.setRandomSamples(2);
+    assertEquals(2, StrategyOptimiser.parameterCombinations(optimiserConfig).size());
+
+    optimiserConfig.setRandomSeed(42L);
+    assertEquals(
+        StrategyOptimiser.parameterCombinations(optimiserConfig),
+        StrategyOptimiser.parameterCombinations(optimiserConfig));
+  }
+
+  @Test
+  void testOptimiserIsRunFromConfigFile() throws Exception {
+    final Path backtestConfigFile =
+        Files.writeString(
+            tempDir.resolve("backtest.yaml"),
+            """
+            ---
+            recordedMarketData: %s
+            strategyClassName: %s
+            configItems:
+              minimum-percentage-gain: 1
+            marketId: btcusd
+            baseCurrency: BTC
+            counterCurrency: USD
+            tradeCycleInterval: 60
+            simulatedBaseCurrencyStartingBalance: 0
+            simulatedCounterCurrencyStartingBalance: 1000
+            simulatedBuyFee: 0.002
+            simulatedSellFee: 0.002
+            """
+                .formatted(recordedMarketDataFile, BuyAndHoldStrategy.class.getName()));
+    final Path optimiserConfigFile =
+        Files.writeString(
+            tempDir.resolve("optimiser.yaml"),
+            """
+            ---
+            backtestConfig: %s
+            parameters:
+              quantity: 1, 2
+            search: RANDOM
+            randomSamples: 5
+            parallelism: 2
+            """
+                .formatted(backtestConfigFile));
+
+    StrategyOptimiser.main(new String[] {optimiserConfigFile.toString()});
+
+    assertEquals(2, BuyAndHoldStrategy.minGains.size());
+    assertEquals(Set.of("1"), Set.copyOf(BuyAndHoldStrategy.minGains.values()));
+  }
+
+  private static void assertDecimalEquals(String expected, BigDecimal actual) {
+    assertEquals(0, new BigDecimal(expected).compareTo(actual), expected + " != " + actual);
+  }
+
+  /** Buys the quantity in its config at the ask price, then holds it. */
+  public static final class BuyAndHoldStrategy implements TradingStrategy {
+
+    private static final Map<BuyAndHoldStrategy, String> minGains = new ConcurrentHashMap<>();
+
+    private TradingApi tradingApi;
+    private Market market;
+    private String quantity;
+    private boolean hasBought;
+
+    /** Creates the strategy. */
+    public BuyAndHoldStrategy() {
+      // No extra init needed.
+    }
+
+    @Override
+    public void init(TradingApi tradingApi, Market market, StrategyConfig config) {
+      this.tradingApi = tradingApi;
+      this.market = market;
+      this.quantity = config.getConfigItem(QUANTITY);
+      minGains.put(this, config.getConfigItem(MIN_GAIN));
+    }
+
+    @Override
+    public void execute() throws StrategyException {
+      if ("fail".equals(quantity)) {
+        throw new StrategyException("Eeek! My strat just broke.");
+      }
+      if (hasBought) {
+        return;
+      }
+      try {
+        final BigDecimal ask = tradingApi.getTicker(market.getId()).getAsk();
+        tradingApi.createOrder(market.getId(), OrderType.BUY, new BigDecimal(quantity), ask);
+        hasBought = true;
+      } catch (TradingApiException | ExchangeNetworkException e) {
+        throw new StrategyException(e);
+      }
+    }
+  }
+}
@@ -49,6 +49,9 @@ class TestExchangeApiConfigBuilder {
   private static final String SECRET_FEE_CONFIG_ITEM_VALUE = "secret-key";
 
   private static final Integer CONNECTION_TIMEOUT = 30;
+  private static final Integer MAX_CONNECTIONS = 5;
+  private static final Integer PUBLIC_REQUESTS_PER_MINUTE = 120;
+  private static final Integer PRIVATE_REQUESTS_PER_MINUTE = 600;
   private static final List<Integer> NON_FATAL_ERROR_CODES = Arrays.asList(502, 503);
   private static final List<String> NON_FATAL_ERROR_MESSAGES =
       Arrays.asList("Connection refused", "Remote host closed connection during handshake");
@@ -77,6 +80,12 @@ class TestExchangeApiConfigBuilder {
         .isEqualTo(NON_FATAL_ERROR_CODES);
     assertThat(exchangeApiConfig.getNetworkConfig().getNonFatalErrorMessages())
         .isEqualTo(NON_FATAL_ERROR_MESSAGES);
+    assertThat(exchangeApiConfig.getNetworkConfig().getMaxConnections())
+        .isEqualTo(MAX_CONNECTIONS);
+    assertThat(exchangeApiConfig.getNetworkConfig().getPublicRequestsPerMinute())
+        .isEqualTo(PUBLIC_REQUESTS_PER_MINUTE);
+    assertThat(exchangeApiConfig.getNetworkConfig().getPrivateRequestsPerMinute())
+        .isEqualTo(PRIVATE_REQUESTS_PER_MINUTE);
 
     assertThat(exchangeApiConfig.getOtherConfig().getItem(BUY_FEE_CONFIG_ITEM_KEY))
         .isEqualTo(BUY_FEE_CONFIG_ITEM_VALUE);
@@ -114,6 +123,9 @@ class TestExchangeApiConfigBuilder {
         .isEqualTo(CONNECTION_TIMEOUT);
     assertThat(exchangeApiConfig.getNetworkConfig().getNonFatalErrorCodes()).isEmpty();
     assertThat(exchangeApiConfig.getNetworkConfig().getNonFatalErrorMessages()).isEmpty();
+    assertThat(exchangeApiConfig.getNetworkConfig().getMaxConnections()).isNull();
+    assertThat(exchangeApiConfig.getNetworkConfig().getPublicRequestsPerMinute()).isNull();
+    assertThat(exchangeApiConfig.getNetworkConfig().getPrivateRequestsPerMinute()).isNull();
 
     assertThat(exchangeApiConfig.getOtherConfig().getItem(BUY_FEE_CONFIG_ITEM_KEY))
         .isEqualTo(BUY_FEE_CONFIG_ITEM_VALUE);
@@ -133,6 +145,9 @@ class TestExchangeApiConfigBuilder {
     networkConfig.setConnectionTimeout(CONNECTION_TIMEOUT);
     networkConfig.setNonFatalErrorCodes(NON_FATAL_ERROR_CODES);
     networkConfig.setNonFatalErrorMessages(NON_FATAL_ERROR_MESSAGES);
+    networkConfig.setMaxConnections(MAX_CONNECTIONS);
+    networkConfig.setPublicRequestsPerMinute(PUBLIC_REQUESTS_PER_MINUTE);
+    networkConfig.setPrivateRequestsPerMinute(PRIVATE_REQUESTS_PER_MINUTE);
     return networkConfig;
   }
 
@@ -39,6 +39,9 @@ import org.junit.jupiter.api.Test;
 class TestNetworkConfigImpl {
 
   private static final Integer CONNECTION_TIMEOUT = 30;
+  private static final Integer MAX_CONNECTIONS = 5;
+  private static final Integer PUBLIC_REQUESTS_PER_MINUTE = 120;
+  private static final Integer PRIVATE_REQUESTS_PER_MINUTE = 600;
   private static final List<Integer> NON_FATAL_ERROR_CODES = Arrays.asList(502, 503, 504);
   private static final List<String> NON_FATAL_ERROR_MESSAGES =
       Arrays.asList(
@@ -53,6 +56,9 @@ class TestNetworkConfigImpl {
     assertNull(networkConfig.getConnectionTimeout());
     assertTrue(networkConfig.getNonFatalErrorCodes().isEmpty());
     assertTrue(networkConfig.getNonFatalErrorMessages().isEmpty());
+    assertNull(networkConfig.getMaxConnections());
+    assertNull(networkConfig.getPublicRequestsPerMinute());
+    assertNull(networkConfig.getPrivateRequestsPerMinute());
   }
 
   @Test
@@ -68,6 +74,15 @@ class TestNetworkConfigImpl {
 
     networkConfig.setNonFatalErrorMessages(NON_FATAL_ERROR_MESSAGES);
     assertEquals(NON_FATAL_ERROR_MESSAGES, networkConfig.getNonFatalErrorMessages());
+
+    networkConfig.setMaxConnections(MAX_CONNECTIONS);
+    assertEquals(MAX_CONNECTIONS, networkConfig.getMaxConnections());
+
+    networkConfig.setPublicRequestsPerMinute(PUBLIC_REQUESTS_PER_MINUTE);
+    assertEquals(PUBLIC_REQUESTS_PER_MINUTE, networkConfig.getPublicRequestsPerMinute());
+
+    networkConfig.setPrivateRequestsPerMinute(PRIVATE_REQUESTS_PER_MINUTE);
+    assertEquals(PRIVATE_REQUESTS_PER_MINUTE, networkConfig.getPrivateRequestsPerMinute());
   }
 
   @Test
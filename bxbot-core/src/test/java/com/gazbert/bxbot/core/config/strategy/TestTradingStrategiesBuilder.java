@@ -83,7 +83,7 @@ class TestTradingStrategiesBuilder {
 
   @Test
   void testBuildingStrategiesSuccessfully() {
-    final ExchangeAdapter exchangeAdapter = EasyMock.createMock(ExchangeAdapter.class);
+    final ExchangeAdapter exchangeAdapter = someExchangeAdapter();
     final ConfigurableComponentFactory configurableComponentFactory =
         new ConfigurableComponentFactory();
     final TradingStrategyFactory tradingStrategyFactory =
@@ -96,9 +96,92 @@ class TestTradingStrategiesBuilder {
     assertThat(strategies).hasSize(2);
   }
 
+  @Test
+  void testBuildingMarketTradingStrategiesSuccessfully() {
+    final ExchangeAdapter exchangeAdapter = someExchangeAdapter();
+    final ConfigurableComponentFactory configurableComponentFactory =
+        new ConfigurableComponentFactory();
+    final TradingStrategyFactory tradingStrategyFactory =
+        new TradingStrategyFactory(configurableComponentFactory);
+    final TradingStrategiesBuilder tradingStrategiesBuilder = new TradingStrategiesBuilder();
+    tradingStrategiesBuilder.setTradingStrategyFactory(tradingStrategyFactory);
+    final List<MarketTradingStrategy> strategies =
+        tradingStrategiesBuilder.buildMarketTradingStrategies(
+            someStrategiesConfig(), someMarketsConfig(), exchangeAdapter);
+    assertThat(strategies).hasSize(2);
+    assertThat(strategies.get(0).getTradingStrategy()).isNotNull();
+    assertThat(strategies.get(0).getMarketConfig().getId()).isEqualTo(MARKET_1_ID);
+    assertThat(strategies.get(1).getTradingStrategy()).isNotNull();
+    assertThat(strategies.get(1).getMarketConfig().getId()).isEqualTo(MARKET_2_ID);
+  }
+
+  @Test
+  void testBuildingMultipleStrategiesForMarketSuccessfully() {
+    final ExchangeAdapter exchangeAdapter = someExchangeAdapter();
+    final ConfigurableComponentFactory configurableComponentFactory =
+        new ConfigurableComponentFactory();
+    final TradingStrategyFactory tradingStrategyFactory =
+        new TradingStrategyFactory(configurableComponentFactory);
+    final TradingStrategiesBuilder tradingStrategiesBuilder = new TradingStrategiesBuilder();
+    tradingStrategiesBuilder.setTradingStrategyFactory(tradingStrategyFactory);
+
+    final List<MarketConfig> markets = someMarketsConfig();
+    markets.getFirst().setAdditionalTradingStrategyIds(List.of(STRATEGY_2_ID));
+
+    final List<MarketTradingStrategy> strategies =
+        tradingStrategiesBuilder.buildMarketTradingStrategies(
+            someStrategiesConfig(), markets, exchangeAdapter);
+    assertThat(strategies).hasSize(3);
+    assertThat(strategies.get(0).getMarketConfig().getId()).isEqualTo(MARKET_1_ID);
+    assertThat(strategies.get(1).getMarketConfig().getId()).isEqualTo(MARKET_1_ID);
+    assertThat(strategies.get(1).getTradingStrategy())
+        .isNotSameAs(strategies.get(0).getTradingStrategy());
+    assertThat(strategies.get(2).getMarketConfig().getId()).isEqualTo(MARKET_2_ID);
+  }
+
+  @Test
+  void testBuildingStrategiesFailsForDuplicateStrategyOnMarket() {
+    final ExchangeAdapter exchangeAdapter = someExchangeAdapter();
+    final ConfigurableComponentFactory configurableComponentFactory =
+        new ConfigurableComponentFactory();
+    final TradingStrategyFactory tradingStrategyFactory =
+        new TradingStrategyFactory(configurableComponentFactory);
+    final TradingStrategiesBuilder tradingStrategiesBuilder = new TradingStrategiesBuilder();
+    tradingStrategiesBuilder.setTradingStrategyFactory(tradingStrategyFactory);
+
+    final List<MarketConfig> markets = someMarketsConfig();
+    markets.getFirst().setAdditionalTradingStrategyIds(List.of(STRATEGY_2_ID, STRATEGY_1_ID));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            tradingStrategiesBuilder.buildStrategies(
+                someStrategiesConfig(), markets, exchangeAdapter));
+  }
+
+  @Test
+  void testBuildingStrategiesFailsForUnknownAdditionalStrategyId() {
+    final ExchangeAdapter exchangeAdapter = someExchangeAdapter();
+    final ConfigurableComponentFactory configurableComponentFactory =
+        new ConfigurableComponentFactory();
+    final TradingStrategyFactory tradingStrategyFactory =
+        new TradingStrategyFactory(configurableComponentFactory);
+    final TradingStrategiesBuilder tradingStrategiesBuilder = new TradingStrategiesBuilder();
+    tradingStrategiesBuilder.setTradingStrategyFactory(tradingStrategyFactory);
+
+    final List<MarketConfig> markets = someMarketsConfig();
+    markets.getFirst().setAdditionalTradingStrategyIds(List.of(UNKNOWN_STRATEGY_ID));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            tradingStrategiesBuilder.buildStrategies(
+                someStrategiesConfig(), markets, exchangeAdapter));
+  }
+
   @Test
   void testBuildingStrategiesFailsForUnknownStrategyId() {
-    final ExchangeAdapter exchangeAdapter = EasyMock.createMock(ExchangeAdapter.class);
+    final ExchangeAdapter exchangeAdapter = someExchangeAdapter();
     final ConfigurableComponentFactory configurableComponentFactory =
         new ConfigurableComponentFactory();
     final TradingStrategyFactory tradingStrategyFactory =
@@ -117,7 +200,7 @@ class TestTradingStrategiesBuilder {
 
   @Test
   void testBuildingStrategiesFailsDuplicateMarket() {
-    final ExchangeAdapter exchangeAdapter = EasyMock.createMock(ExchangeAdapter.class);
+    final ExchangeAdapter exchangeAdapter = someExchangeAdapter();
     final ConfigurableComponentFactory configurableComponentFactory =
         new ConfigurableComponentFactory();
     final TradingStrategyFactory tradingStrategyFactory =
@@ -234,4 +317,11 @@ class TestTradingStrategiesBuilder {
     allMarkets.add(marketConfig2);
     return allMarkets;
   }
+
+  private static ExchangeAdapter someExchangeAdapter() {
+    final ExchangeAdapter exchangeAdapter = EasyMock.createMock(ExchangeAdapter.class);
+    EasyMock.expect(exchangeAdapter.isThreadSafe()).andStubReturn(false);
+    EasyMock.replay(exchangeAdapter);
+    return exchangeAdapter;
+  }
 }
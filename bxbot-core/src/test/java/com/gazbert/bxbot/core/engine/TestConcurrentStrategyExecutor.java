@@ -0,0 +1,248 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gazbert.bxbot.strategy.api.StrategyConfig;
+import com.gazbert.bxbot.strategy.api.StrategyException;
+import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import com.gazbert.bxbot.trading.api.Market;
+import com.gazbert.bxbot.trading.api.TradingApi;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Concurrent Strategy Executor behaves as expected.
+ *
+ * @author gazbert
+ */
+class TestConcurrentStrategyExecutor {
+
+  private static final long EXECUTION_TIMEOUT_MILLIS = 500;
+
+  private ConcurrentStrategyExecutor concurrentStrategyExecutor;
+
+  @BeforeEach
+  void setupForEachTest() {
+    concurrentStrategyExecutor =
+        new ConcurrentStrategyExecutor(
+            EXECUTION_TIMEOUT_MILLIS,
+            TimeUnit.MILLISECONDS,
+            new TradingEngineMetrics(new SimpleMeterRegistry())::executeStrategy);
+  }
+
+  @AfterEach
+  void tearDownAfterEachTest() {
+    concurrentStrategyExecutor.shutdown();
+  }
+
+  @Test
+  void testStrategiesAreExecutedConcurrently() throws Exception {
+    // Each strategy waits for the other to start: only completes if run concurrently.
+    final CountDownLatch bothStarted = new CountDownLatch(2);
+    final StubTradingStrategy strategy1 = new StubTradingStrategy(() -> awaitLatch(bothStarted));
+    final StubTradingStrategy strategy2 = new StubTradingStrategy(() -> awaitLatch(bothStarted));
+
+    concurrentStrategyExecutor.execute(List.of(strategy1, strategy2));
+
+    assertEquals(1, strategy1.executionCount.get());
+    assertEquals(1, strategy2.executionCount.get());
+  }
+
+  @Test
+  void testStrategyExceptionIsRethrown() {
+    final StubTradingStrategy strategy1 =
+        new StubTradingStrategy(
+            () -> {
+              throw new StrategyException("Eeek! My strat just broke.");
+            });
+    final StubTradingStrategy strategy2 = new StubTradingStrategy(() -> {});
+
+    final StrategyException exception =
+        assertThrows(
+            StrategyException.class,
+            () -> concurrentStrategyExecutor.execute(List.of(strategy1, strategy2)));
+    assertEquals("Eeek! My strat just broke.", exception.getMessage());
+  }
+
+  @Test
+  void testUnexpectedExceptionIsRethrown() {
+    final StubTradingStrategy strategy =
+        new StubTradingStrategy(
+            () -> {
+              throw new IllegalArgumentException("Ah, curse your sudden but inevitable betrayal!");
+            });
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> concurrentStrategyExecutor.execute(List.of(strategy)));
+  }
+
+  @Test
+  void testOtherStrategiesAreCancelledWhenStrategyFails() {
+    final CountDownLatch neverReleased = new CountDownLatch(1);
+    final StubTradingStrategy failingStrategy =
+        new StubTradingStrategy(
+            () -> {
+              throw new StrategyException("Eeek! My strat just broke.");
+            });
+    final StubTradingStrategy slowStrategy =
+        new StubTradingStrategy(() -> awaitLatch(neverReleased));
+
+    final long start = System.nanoTime();
+    assertThrows(
+        StrategyException.class,
+        () -> concurrentStrategyExecutor.execute(List.of(slowStrategy, failingStrategy)));
+    assertTrue(
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < EXECUTION_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  void testOverrunningStrategyIsSkippedUntilItCompletes() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final StubTradingStrategy slowStrategy = new StubTradingStrategy(() -> awaitLatch(release));
+    final StubTradingStrategy fastStrategy = new StubTradingStrategy(() -> {});
+
+    final long start = System.nanoTime();
+    concurrentStrategyExecutor.execute(List.of(slowStrategy, fastStrategy));
+    assertTrue(
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= EXECUTION_TIMEOUT_MILLIS);
+
+    // Still running - must not be executed again
+    concurrentStrategyExecutor.execute(List.of(slowStrategy, fastStrategy));
+    assertEquals(1, slowStrategy.executionCount.get());
+    assertEquals(2, fastStrategy.executionCount.get());
+
+    release.countDown();
+    slowStrategy.awaitCompletion();
+
+    concurrentStrategyExecutor.execute(List.of(slowStrategy, fastStrategy));
+    assertEquals(2, slowStrategy.executionCount.get());
+    assertEquals(3, fastStrategy.executionCount.get());
+  }
+
+  @Test
+  void testOverrunningStrategyFailureIsReportedInNextTradeCycle() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final StubTradingStrategy slowStrategy =
+        new StubTradingStrategy(
+            () -> {
+              awaitLatch(release);
+              throw new StrategyException("Too slow and broken");
+            });
+
+    concurrentStrategyExecutor.execute(List.of(slowStrategy));
+
+    release.countDown();
+    slowStrategy.awaitCompletion();
+
+    assertThrows(
+        StrategyException.class, () -> concurrentStrategyExecutor.execute(List.of(slowStrategy)));
+    assertEquals(1, slowStrategy.executionCount.get());
+  }
+
+  @Test
+  void testRetiredOverrunningStrategyFailureIsNotReported() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger executions = new AtomicInteger();
+    final StubTradingStrategy slowStrategy =
+        new StubTradingStrategy(
+            () -> {
+              if (executions.incrementAndGet() == 1) {
+                awaitLatch(release);
+                throw new StrategyException("Too slow and broken");
+              }
+            });
+
+    concurrentStrategyExecutor.execute(List.of(slowStrategy));
+    concurrentStrategyExecutor.retire(List.of(slowStrategy));
+
+    release.countDown();
+    slowStrategy.awaitCompletion();
+
+    // Not skipped, and the failure of the retired execution is not reported.
+    concurrentStrategyExecutor.execute(List.of(slowStrategy));
+    assertEquals(2, slowStrategy.executionCount.get());
+  }
+
+  // --------------------------------------------------------------------------
+  //  private utils
+  // --------------------------------------------------------------------------
+
+  private static void awaitLatch(CountDownLatch latch) throws StrategyException {
+    try {
+      if (!latch.await(5, TimeUnit.SECONDS)) {
+        throw new StrategyException("Timed out waiting for latch");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new StrategyException(e);
+    }
+  }
+
+  private interface Behaviour {
+    void run() throws StrategyException;
+  }
+
+  private static class StubTradingStrategy implements TradingStrategy {
+
+    private final Behaviour behaviour;
+    private final AtomicInteger executionCount = new AtomicInteger();
+    private volatile CountDownLatch completed = new CountDownLatch(1);
+
+    StubTradingStrategy(Behaviour behaviour) {
+      this.behaviour = behaviour;
+    }
+
+    @Override
+    public void init(TradingApi tradingApi, Market market, StrategyConfig config) {
+      // noimpl
+    }
+
+    @Override
+    public void execute() throws StrategyException {
+      executionCount.incrementAndGet();
+      try {
+        behaviour.run();
+      } finally {
+        completed.countDown();
+      }
+    }
+
+    void awaitCompletion() throws InterruptedException {
+      assertTrue(completed.await(5, TimeUnit.SECONDS));
+      Thread.sleep(50); // give the executor time to mark the future as done
+      completed = new CountDownLatch(1);
+    }
+  }
+}
@@ -0,0 +1,327 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.engine;
+
+import static org.easymock.EasyMock.expect;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
+import com.gazbert.bxbot.exchange.api.ExchangeConfig;
+import com.gazbert.bxbot.exchange.api.MarketDataListener;
+import com.gazbert.bxbot.trading.api.BalanceInfo;
+import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import com.gazbert.bxbot.trading.api.Ticker;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Cycle Caching Exchange Adapter behaves as expected.
+ *
+ * @author gazbert
+ */
+class TestCycleCachingExchangeAdapter {
+
+  private static final String MARKET_ID = "btcusd";
+  private static final String OTHER_MARKET_ID = "ethusd";
+  private static final String ORDER_ID = "80894263";
+  private static final BigDecimal QUANTITY = new BigDecimal("0.01");
+  private static final BigDecimal PRICE = new BigDecimal("18778.25");
+
+  private ExchangeAdapter exchangeAdapter;
+  private BalanceInfo balanceInfo;
+  private Ticker ticker;
+  private MarketOrderBook marketOrderBook;
+  private CycleCachingExchangeAdapter cycleCachingExchangeAdapter;
+
+  @BeforeEach
+  void setupForEachTest() {
+    exchangeAdapter = EasyMock.createMock(ExchangeAdapter.class);
+    balanceInfo = EasyMock.createMock(BalanceInfo.class);
+    ticker = EasyMock.createMock(Ticker.class);
+    marketOrderBook = EasyMock.createMock(MarketOrderBook.class);
+    cycleCachingExchangeAdapter = new CycleCachingExchangeAdapter(exchangeAdapter);
+  }
+
+  @Test
+  void testResponsesAreCachedForTheTradeCycle() throws Exception {
+    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).once();
+    expect(exchangeAdapter.getTicker(MARKET_ID)).andReturn(ticker).once();
+    expect(exchangeAdapter.getMarketOrders(MARKET_ID)).andReturn(marketOrderBook).once();
+    EasyMock.replay(exchangeAdapter);
+
+    for (int i = 0; i < 3; i++) {
+      assertSame(balanceInfo, cycleCachingExchangeAdapter.getBalanceInfo());
+      assertSame(ticker, cycleCachingExchangeAdapter.getTicker(MARKET_ID));
+      assertSame(marketOrderBook, cycleCachingExchangeAdapter.getMarketOrders(MARKET_ID));
+    }
+
+    EasyMock.verify(exchangeAdapter);
+  }
+
+  @Test
+  void testResponsesAreCachedPerMarket() throws Exception {
+    final MarketOrderBook otherMarketOrderBook = EasyMock.createMock(MarketOrderBook.class);
+    expect(exchangeAdapter.getMarketOrders(MARKET_ID)).andReturn(marketOrderBook).once();
+    expect(exchangeAdapter.getMarketOrders(OTHER_MARKET_ID))
+        .andReturn(otherMarketOrderBook)
+        .once();
+    EasyMock.replay(exchangeAdapter);
+
+    assertSame(marketOrderBook, cycleCachingExchangeAdapter.getMarketOrders(MARKET_ID));
+    assertSame(otherMarketOrderBook, cycleCachingExchangeAdapter.getMarketOrders(OTHER_MARKET_ID));
+    assertSame(marketOrderBook, cycleCachingExchangeAdapter.getMarketOrders(MARKET_ID));
+
+    EasyMock.verify(exchangeAdapter);
+  }
+
+  @Test
+  void testResponsesAreFetchedAgainAfterCacheIsInvalidated() throws Exception {
+    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).times(2);
+    expect(exchangeAdapter.getTicker(MARKET_ID)).andReturn(ticker).times(2);
+    expect(exchangeAdapter.getMarketOrders(MARKET_ID)).andReturn(marketOrderBook).times(2);
+    EasyMock.replay(exchangeAdapter);
+
+    fetchAll();
+    cycleCachingExchangeAdapter.invalidate();
+    fetchAll();
+
+    EasyMock.verify(exchangeAdapter);
+  }
+
+  @Test
+  void testCreatingOrderInvalidatesCache() throws Exception {
+    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).times(2);
+    expect(exchangeAdapter.getTicker(MARKET_ID)).andReturn(ticker).times(2);
+    expect(exchangeAdapter.getMarketOrders(MARKET_ID)).andReturn(marketOrderBook).times(2);
+    expect(exchangeAdapter.createOrder(MARKET_ID, OrderType.BUY, QUANTITY, PRICE))
+        .andReturn(ORDER_ID);
+    EasyMock.replay(exchangeAdapter);
+
+    fetchAll();
+    assertEquals(
+        ORDER_ID,
+        cycleCachingExchangeAdapter.createOrder(MARKET_ID, OrderType.BUY, QUANTITY, PRICE));
+    fetchAll();
+
+    EasyMock.verify(exchangeAdapter);
+  }
+
+  @Test
+  void testCancellingOrderInvalidatesCacheEvenIfCallFails() throws Exception {
+    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).times(2);
+    expect(exchangeAdapter.cancelOrder(ORDER_ID, MARKET_ID))
+        .andThrow(new ExchangeNetworkException("Connection reset"));
+    EasyMock.replay(exchangeAdapter);
+
+    cycleCachingExchangeAdapter.getBalanceInfo();
+    assertThrows(
+        ExchangeNetworkException.class,
+        () -> cycleCachingExchangeAdapter.cancelOrder(ORDER_ID, MARKET_ID));
+    cycleCachingExchangeAdapter.getBalanceInfo();
+
+    EasyMock.verify(exchangeAdapter);
+  }
+
+  @Test
+  void testOnlyUncachedMarketsAreFetchedInMultiMarketCalls() throws Exception {
+    final Ticker otherTicker = EasyMock.createMock(Ticker.class);
+    final MarketOrderBook otherMarketOrderBook = EasyMock.createMock(MarketOrderBook.class);
+    expect(exchangeAdapter.getTicker(MARKET_ID)).andReturn(ticker);
+    expect(exchangeAdapter.getTickers(List.of(OTHER_MARKET_ID)))
+        .andReturn(Map.of(OTHER_MARKET_ID, otherTicker));
+    expect(exchangeAdapter.getMarketOrders(List.of(OTHER_MARKET_ID, MARKET_ID)))
+        .andReturn(Map.of(OTHER_MARKET_ID, otherMarketOrderBook, MARKET_ID, marketOrderBook));
+    EasyMock.replay(exchangeAdapter);
+
+    cycleCachingExchangeAdapter.getTicker(MARKET_ID);
+    final Map<String, Ticker> tickers =
+        cycleCachingExchangeAdapter.getTickers(List.of(OTHER_MARKET_ID, MARKET_ID));
+    assertEquals(List.of(OTHER_MARKET_ID, MARKET_ID), List.copyOf(tickers.keySet()));
+    assertSame(otherTicker, tickers.get(OTHER_MARKET_ID));
+    assertSame(ticker, tickers.get(MARKET_ID));
+    assertSame(otherTicker, cycleCachingExchangeAdapter.getTicker(OTHER_MARKET_ID));
+
+    final Map<String, MarketOrderBook> marketOrderBooks =
+        cycleCachingExchangeAdapter.getMarketOrders(List.of(OTHER_MARKET_ID, MARKET_ID));
+    assertEquals(List.of(OTHER_MARKET_ID, MARKET_ID), List.copyOf(marketOrderBooks.keySet()));
+    assertSame(marketOrderBook, cycleCachingExchangeAdapter.getMarketOrders(MARKET_ID));
+    assertSame(
+        otherMarketOrderBook,
+        cycleCachingExchangeAdapter.getMarketOrders(List.of(OTHER_MARKET_ID)).get(OTHER_MARKET_ID));
+
+    EasyMock.verify(exchangeAdapter);
+  }
+
+  @Test
+  void testFailedResponsesAreNotCached() throws Exception {
+    expect(exchangeAdapter.getTicker(MARKET_ID))
+        .andThrow(new ExchangeNetworkException("Connection reset"));
+    expect(exchangeAdapter.getTicker(MARKET_ID)).andReturn(ticker);
+    EasyMock.replay(exchangeAdapter);
+
+    assertThrows(
+        ExchangeNetworkException.class, () -> cycleCachingExchangeAdapter.getTicker(MARKET_ID));
+    assertSame(ticker, cycleCachingExchangeAdapter.getTicker(MARKET_ID));
+
+    EasyMock.verify(exchangeAdapter);
+  }
+
+  @Test
+  void testConcurrentRequestsForTheSameMarketShareOneFetch() throws Exception {
+    final MarketOrderBook otherMarketOrderBook = EasyMock.createMock(MarketOrderBook.class);
+    final CountDownLatch fetchStarted = new CountDownLatch(1);
+    final CountDownLatch releaseFetch = new CountDownLatch(1);
+    expect(exchangeAdapter.getMarketOrders(MARKET_ID))
+        .andAnswer(
+            () -> {
+              fetchStarted.countDown();
+              releaseFetch.await();
+              return marketOrderBook;
+            })
+        .once();
+    expect(exchangeAdapter.getMarketOrders(List.of(OTHER_MARKET_ID)))
+        .andReturn(Map.of(OTHER_MARKET_ID, otherMarketOrderBook))
+        .once();
+    EasyMock.replay(exchangeAdapter);
+
+    final FutureTask<MarketOrderBook> firstRequest =
+        startRequest(() -> cycleCachingExchangeAdapter.getMarketOrders(MARKET_ID));
+    fetchStarted.await();
+    final FutureTask<MarketOrderBook> secondRequest =
+        startRequest(() -> cycleCachingExchangeAdapter.getMarketOrders(MARKET_ID));
+    final FutureTask<Map<String, MarketOrderBook>> multiMarketRequest =
+        startRequest(
+            () -> cycleCachingExchangeAdapter.getMarketOrders(List.of(MARKET_ID, OTHER_MARKET_ID)));
+    releaseFetch.countDown();
+
+    assertSame(marketOrderBook, firstRequest.get());
+    assertSame(marketOrderBook, secondRequest.get());
+    assertSame(marketOrderBook, multiMarketRequest.get().get(MARKET_ID));
+    assertSame(otherMarketOrderBook, multiMarketRequest.get().get(OTHER_MARKET_ID));
+    assertSame(marketOrderBook, cycleCachingExchangeAdapter.getMarketOrders(MARKET_ID));
+
+    EasyMock.verify(exchangeAdapter);
+  }
+
+  @Test
+  void testConcurrentRequestsForTheSameMarketShareFailedFetch() throws Exception {
+    final ExchangeNetworkException fetchFailure = new ExchangeNetworkException("Connection reset");
+    final CountDownLatch fetchStarted = new CountDownLatch(1);
+    final CountDownLatch releaseFetch = new CountDownLatch(1);
+    expect(exchangeAdapter.getTickers(List.of(MARKET_ID)))
+        .andAnswer(
+            () -> {
+              fetchStarted.countDown();
+              releaseFetch.await();
+              throw fetchFailure;
+            })
+        .once();
+    expect(exchangeAdapter.getTicker(MARKET_ID)).andReturn(ticker).once();
+    EasyMock.replay(exchangeAdapter);
+
+    final FutureTask<Map<String, Ticker>> firstRequest =
+        startRequest(() -> cycleCachingExchangeAdapter.getTickers(List.of(MARKET_ID)));
+    fetchStarted.await();
+    final FutureTask<Ticker> secondRequest =
+        startRequest(() -> cycleCachingExchangeAdapter.getTicker(MARKET_ID));
+    releaseFetch.countDown();
+
+    assertSame(fetchFailure, assertThrows(ExecutionException.class, firstRequest::get).getCause());
+    assertSame(
+        fetchFailure, assertThrows(ExecutionException.class, secondRequest::get).getCause());
+    assertSame(ticker, cycleCachingExchangeAdapter.getTicker(MARKET_ID));
+
+    EasyMock.verify(exchangeAdapter);
+  }
+
+  @Test
+  void testOtherCallsAreNotCached() throws Exception {
+    final ExchangeConfig exchangeConfig = EasyMock.createMock(ExchangeConfig.class);
+    final MarketDataListener marketDataListener = EasyMock.createMock(MarketDataListener.class);
+    final List<OpenOrder> openOrders = List.of();
+    exchangeAdapter.init(exchangeConfig);
+    exchangeAdapter.subscribeToMarketData(List.of(MARKET_ID), marketDataListener);
+    expect(exchangeAdapter.getVersion()).andReturn("1.0");
+    expect(exchangeAdapter.getImplName()).andReturn("Bitstamp HTTP API v2");
+    expect(exchangeAdapter.isThreadSafe()).andReturn(true);
+    expect(exchangeAdapter.getYourOpenOrders(MARKET_ID)).andReturn(openOrders).times(2);
+    expect(exchangeAdapter.getLatestMarketPrice(MARKET_ID)).andReturn(PRICE).times(2);
+    expect(exchangeAdapter.getPercentageOfBuyOrderTakenForExchangeFee(MARKET_ID))
+        .andReturn(new BigDecimal("0.0025"));
+    expect(exchangeAdapter.getPercentageOfSellOrderTakenForExchangeFee(MARKET_ID))
+        .andReturn(new BigDecimal("0.0026"));
+    expect(exchangeAdapter.getMinimumOrderVolume(MARKET_ID)).andReturn(QUANTITY);
+    EasyMock.replay(exchangeAdapter);
+
+    cycleCachingExchangeAdapter.init(exchangeConfig);
+    cycleCachingExchangeAdapter.subscribeToMarketData(List.of(MARKET_ID), marketDataListener);
+    assertEquals("1.0", cycleCachingExchangeAdapter.getVersion());
+    assertEquals("Bitstamp HTTP API v2", cycleCachingExchangeAdapter.getImplName());
+    assertTrue(cycleCachingExchangeAdapter.isThreadSafe());
+    for (int i = 0; i < 2; i++) {
+      assertSame(openOrders, cycleCachingExchangeAdapter.getYourOpenOrders(MARKET_ID));
+      assertEquals(PRICE, cycleCachingExchangeAdapter.getLatestMarketPrice(MARKET_ID));
+    }
+    assertEquals(
+        new BigDecimal("0.0025"),
+        cycleCachingExchangeAdapter.getPercentageOfBuyOrderTakenForExchangeFee(MARKET_ID));
+    assertEquals(
+        new BigDecimal("0.0026"),
+        cycleCachingExchangeAdapter.getPercentageOfSellOrderTakenForExchangeFee(MARKET_ID));
+    assertEquals(QUANTITY, cycleCachingExchangeAdapter.getMinimumOrderVolume(MARKET_ID));
+
+    EasyMock.verify(exchangeAdapter);
+  }
+
+  /* Starts the request on a new thread and waits until it is blocked on the in-flight fetch. */
+  private static <T> FutureTask<T> startRequest(Callable<T> request)
+      throws InterruptedException {
+    final FutureTask<T> task = new FutureTask<>(request);
+    final Thread thread = Thread.ofPlatform().start(task);
+    while (thread.getState() != Thread.State.WAITING && !task.isDone()) {
+      Thread.sleep(1);
+    }
+    return task;
+  }
+
+  private void fetchAll() throws Exception {
+    assertSame(balanceInfo, cycleCachingExchangeAdapter.getBalanceInfo());
+    assertSame(ticker, cycleCachingExchangeAdapter.getTicker(MARKET_ID));
+    assertSame(marketOrderBook, cycleCachingExchangeAdapter.getMarketOrders(MARKET_ID));
+  }
+}
@@ -0,0 +1,405 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gazbert.bxbot.core.config.strategy.MarketTradingStrategy;
+import com.gazbert.bxbot.domain.market.MarketConfig;
+import com.gazbert.bxbot.strategy.api.StrategyConfig;
+import com.gazbert.bxbot.strategy.api.StrategyException;
+import com.gazbert.bxbot.strategy.api.StreamingTradingStrategy;
+import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import com.gazbert.bxbot.trading.api.Market;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.Ticker;
+import com.gazbert.bxbot.trading.api.TradingApi;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Streaming Strategy Dispatcher behaves as expected.
+ *
+ * @author gazbert
+ */
+class TestStreamingStrategyDispatcher {
+
+  private static final String BTC_USD = "btc_usd";
+  private static final String ETH_USD = "eth_usd";
+  private static final long TIMEOUT_MILLIS = 5000;
+
+  private final TradingEngineMetrics tradingEngineMetrics =
+      new TradingEngineMetrics(new SimpleMeterRegistry());
+  private StreamingStrategyDispatcher dispatcher;
+
+  @AfterEach
+  void tearDownAfterEachTest() {
+    if (dispatcher != null) {
+      dispatcher.shutdown();
+    }
+  }
+
+  @Test
+  void testEventsAreDeliveredInOrderToTheStrategiesOnTheMarket() throws Exception {
+    final StubStreamingStrategy btcStrategy = new StubStreamingStrategy();
+    final StubStreamingStrategy ethStrategy = new StubStreamingStrategy();
+    final TradingStrategy pollingStrategy = EasyMock.createMock(TradingStrategy.class);
+    EasyMock.replay(pollingStrategy);
+    dispatcher =
+        new StreamingStrategyDispatcher(
+            List.of(
+                marketTradingStrategy(btcStrategy, BTC_USD),
+                marketTradingStrategy(pollingStrategy, "xmr_gbp"),
+                marketTradingStrategy(ethStrategy, ETH_USD)),
+            tradingEngineMetrics);
+    assertEquals(Set.of(BTC_USD, ETH_USD), dispatcher.getMarketIds());
+    dispatcher.start();
+
+    final Ticker ticker = EasyMock.createMock(Ticker.class);
+    final MarketOrderBook marketOrderBook = EasyMock.createMock(MarketOrderBook.class);
+    final OpenOrder filledOrder = EasyMock.createMock(OpenOrder.class);
+    dispatcher.onTicker(BTC_USD, ticker);
+    dispatcher.onOrderBookUpdate(BTC_USD, marketOrderBook);
+    dispatcher.onOrderFilled(BTC_USD, filledOrder);
+    dispatcher.onOrderBookUpdate("xmr_gbp", marketOrderBook);
+    dispatcher.onTicker(ETH_USD, ticker);
+
+    assertSame(ticker, btcStrategy.awaitEvent());
+    assertSame(marketOrderBook, btcStrategy.awaitEvent());
+    assertSame(filledOrder, btcStrategy.awaitEvent());
+    assertSame(ticker, ethStrategy.awaitEvent());
+    dispatcher.checkForFailure();
+    EasyMock.verify(pollingStrategy);
+  }
+
+  @Test
+  void testEventsAreNotDeliveredWhilstStrategyIsExecuting() throws Exception {
+    final CountDownLatch executing = new CountDownLatch(1);
+    final CountDownLatch finishExecuting = new CountDownLatch(1);
+    final StubStreamingStrategy strategy =
+        new StubStreamingStrategy() {
+          @Override
+          public void execute() {
+            executing.countDown();
+            await(finishExecuting);
+          }
+        };
+    dispatcher =
+        new StreamingStrategyDispatcher(
+            List.of(marketTradingStrategy(strategy, BTC_USD)), tradingEngineMetrics);
+    dispatcher.start();
+
+    final Thread execution =
+        Thread.ofVirtual()
+            .start(
+                () -> {
+                  try {
+                    dispatcher.executeStrategy(strategy);
+                  } catch (StrategyException e) {
+                    throw new IllegalStateException(e);
+                  }
+                });
+    await(executing);
+    final Ticker ticker = EasyMock.createMock(Ticker.class);
+    dispatcher.onTicker(BTC_USD, ticker);
+
+    assertEquals(null, strategy.events.poll(100, TimeUnit.MILLISECONDS));
+    finishExecuting.countDown();
+    assertSame(ticker, strategy.awaitEvent());
+    execution.join(TIMEOUT_MILLIS);
+  }
+
+  @Test
+  void testOldestMarketDataIsDroppedWhenQueueIsFull() throws Exception {
+    final CountDownLatch firstEventDelivered = new CountDownLatch(1);
+    final CountDownLatch releaseFirstEvent = new CountDownLatch(1);
+    final StubStreamingStrategy strategy =
+        new StubStreamingStrategy() {
+          @Override
+          public void onTicker(Ticker ticker) {
+            super.onTicker(ticker);
+            firstEventDelivered.countDown();
+            await(releaseFirstEvent);
+          }
+        };
+    dispatcher =
+        new StreamingStrategyDispatcher(
+            List.of(marketTradingStrategy(strategy, BTC_USD)), 2, tradingEngineMetrics);
+    dispatcher.start();
+
+    final Ticker ticker = EasyMock.createMock(Ticker.class);
+    final MarketOrderBook staleOrderBook = EasyMock.createMock(MarketOrderBook.class);
+    final MarketOrderBook latestOrderBook = EasyMock.createMock(MarketOrderBook.class);
+    final OpenOrder filledOrder = EasyMock.createMock(OpenOrder.class);
+    dispatcher.onTicker(BTC_USD, ticker);
+    await(firstEventDelivered); // the queue is empty again, the strategy is busy
+    dispatcher.onOrderBookUpdate(BTC_USD, staleOrderBook);
+    dispatcher.onOrderFilled(BTC_USD, filledOrder);
+    dispatcher.onOrderBookUpdate(BTC_USD, latestOrderBook);
+    releaseFirstEvent.countDown();
+
+    assertSame(ticker, strategy.awaitEvent());
+    assertSame(filledOrder, strategy.awaitEvent());
+    assertSame(latestOrderBook, strategy.awaitEvent());
+    assertEquals(null, strategy.events.poll(100, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void testStrategyFailsWhenQueueIsFullOfOrderFills() throws Exception {
+    final CountDownLatch firstEventDelivered = new CountDownLatch(1);
+    final CountDownLatch releaseFirstEvent = new CountDownLatch(1);
+    final StubStreamingStrategy strategy =
+        new StubStreamingStrategy() {
+          @Override
+          public void onTicker(Ticker ticker) {
+            super.onTicker(ticker);
+            firstEventDelivered.countDown();
+            await(releaseFirstEvent);
+          }
+        };
+    dispatcher =
+        new StreamingStrategyDispatcher(
+            List.of(marketTradingStrategy(strategy, BTC_USD)), 2, tradingEngineMetrics);
+    dispatcher.start();
+
+    final Ticker ticker = EasyMock.createMock(Ticker.class);
+    dispatcher.onTicker(BTC_USD, ticker);
+    await(firstEventDelivered); // the queue is empty again, the strategy is busy
+    dispatcher.onOrderFilled(BTC_USD, EasyMock.createMock(OpenOrder.class));
+    dispatcher.onOrderFilled(BTC_USD, EasyMock.createMock(OpenOrder.class));
+    dispatcher.onOrderFilled(BTC_USD, EasyMock.createMock(OpenOrder.class));
+    assertThrows(StrategyException.class, dispatcher::checkForFailure);
+    releaseFirstEvent.countDown();
+
+    // The strategy has missed an order fill, so it receives no more events
+    assertSame(ticker, strategy.awaitEvent());
+    dispatcher.onTicker(BTC_USD, ticker);
+    assertEquals(null, strategy.events.poll(100, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void testCallbackExceptionIsRethrownAndStopsDelivery() throws Exception {
+    final StrategyException failure = new StrategyException("Eeek! My strat just broke.");
+    final StubStreamingStrategy strategy =
+        new StubStreamingStrategy() {
+          @Override
+          public void onOrderFilled(OpenOrder filledOrder) throws StrategyException {
+            super.onOrderFilled(filledOrder);
+            throw failure;
+          }
+        };
+    dispatcher =
+        new StreamingStrategyDispatcher(
+            List.of(marketTradingStrategy(strategy, BTC_USD)), tradingEngineMetrics);
+    dispatcher.start();
+
+    final OpenOrder filledOrder = EasyMock.createMock(OpenOrder.class);
+    dispatcher.onOrderFilled(BTC_USD, filledOrder);
+    assertSame(filledOrder, strategy.awaitEvent());
+
+    final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    StrategyException thrown = null;
+    while (thrown == null && System.currentTimeMillis() < deadline) {
+      try {
+        dispatcher.checkForFailure();
+        Thread.sleep(10);
+      } catch (StrategyException e) {
+        thrown = e;
+      }
+    }
+    assertSame(failure, thrown);
+
+    dispatcher.onTicker(BTC_USD, EasyMock.createMock(Ticker.class));
+    assertEquals(null, strategy.events.poll(100, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void testUnexpectedCallbackExceptionIsRethrown() throws Exception {
+    final CountDownLatch failed = new CountDownLatch(1);
+    final StubStreamingStrategy strategy =
+        new StubStreamingStrategy() {
+          @Override
+          public void onTicker(Ticker ticker) {
+            failed.countDown();
+            throw new IllegalStateException("Unexpected!");
+          }
+        };
+    dispatcher =
+        new StreamingStrategyDispatcher(
+            List.of(marketTradingStrategy(strategy, BTC_USD)), tradingEngineMetrics);
+    dispatcher.start();
+
+    dispatcher.onTicker(BTC_USD, EasyMock.createMock(Ticker.class));
+    await(failed);
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> {
+          final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+          while (System.currentTimeMillis() < deadline) {
+            dispatcher.checkForFailure();
+            Thread.sleep(10);
+          }
+        });
+  }
+
+  @Test
+  void testUpdatedStrategiesKeepTheirQueuesAndRetiredOnesReceiveNoMoreEvents()
+      throws Exception {
+    final StubStreamingStrategy btcStrategy = new StubStreamingStrategy();
+    final StubStreamingStrategy retiredStrategy = new StubStreamingStrategy();
+    final StubStreamingStrategy ethStrategy = new StubStreamingStrategy();
+    dispatcher =
+        new StreamingStrategyDispatcher(
+            List.of(
+                marketTradingStrategy(btcStrategy, BTC_USD),
+                marketTradingStrategy(retiredStrategy, BTC_USD)),
+            tradingEngineMetrics);
+    dispatcher.start();
+
+    final Set<String> newMarketIds =
+        dispatcher.update(
+            List.of(
+                marketTradingStrategy(btcStrategy, BTC_USD),
+                marketTradingStrategy(ethStrategy, ETH_USD)));
+    assertEquals(Set.of(ETH_USD), newMarketIds);
+    assertEquals(Set.of(BTC_USD, ETH_USD), dispatcher.getMarketIds());
+
+    final Ticker ticker = EasyMock.createMock(Ticker.class);
+    dispatcher.onTicker(BTC_USD, ticker);
+    dispatcher.onTicker(ETH_USD, ticker);
+    assertSame(ticker, btcStrategy.awaitEvent());
+    assertSame(ticker, ethStrategy.awaitEvent());
+    assertEquals(null, retiredStrategy.events.poll(100, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void testRetiredStrategyCallbackInProgressIsNotInterrupted() throws Exception {
+    final CountDownLatch callbackStarted = new CountDownLatch(1);
+    final CountDownLatch finishCallback = new CountDownLatch(1);
+    final CountDownLatch callbackCompleted = new CountDownLatch(1);
+    final StubStreamingStrategy strategy =
+        new StubStreamingStrategy() {
+          @Override
+          public void onTicker(Ticker ticker) {
+            callbackStarted.countDown();
+            try {
+              assertTrue(finishCallback.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+              callbackCompleted.countDown();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        };
+    dispatcher =
+        new StreamingStrategyDispatcher(
+            List.of(marketTradingStrategy(strategy, BTC_USD)), tradingEngineMetrics);
+    dispatcher.start();
+
+    dispatcher.onTicker(BTC_USD, EasyMock.createMock(Ticker.class));
+    await(callbackStarted);
+    assertTrue(dispatcher.update(List.of()).isEmpty());
+    assertTrue(dispatcher.getMarketIds().isEmpty());
+    finishCallback.countDown();
+
+    await(callbackCompleted);
+    dispatcher.checkForFailure();
+  }
+
+  @Test
+  void testPollingStrategiesAreExecuted() throws Exception {
+    final TradingStrategy pollingStrategy = EasyMock.createMock(TradingStrategy.class);
+    pollingStrategy.execute();
+    EasyMock.replay(pollingStrategy);
+    dispatcher =
+        new StreamingStrategyDispatcher(
+            List.of(marketTradingStrategy(pollingStrategy, BTC_USD)), tradingEngineMetrics);
+
+    assertTrue(dispatcher.getMarketIds().isEmpty());
+    dispatcher.executeStrategy(pollingStrategy);
+
+    EasyMock.verify(pollingStrategy);
+  }
+
+  private static MarketTradingStrategy marketTradingStrategy(
+      TradingStrategy tradingStrategy, String marketId) {
+    return new MarketTradingStrategy(
+        tradingStrategy, new MarketConfig(marketId, marketId, "BTC", "USD", true, "scalper"));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Records the events it receives. */
+  private static class StubStreamingStrategy implements StreamingTradingStrategy {
+
+    final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+
+    @Override
+    public void init(TradingApi tradingApi, Market market, StrategyConfig config) {
+      // noimpl
+    }
+
+    @Override
+    public void execute() {
+      // noimpl
+    }
+
+    @Override
+    public void onTicker(Ticker ticker) {
+      events.add(ticker);
+    }
+
+    @Override
+    public void onOrderBookUpdate(MarketOrderBook marketOrderBook) {
+      events.add(marketOrderBook);
+    }
+
+    @Override
+    public void onOrderFilled(OpenOrder filledOrder) throws StrategyException {
+      events.add(filledOrder);
+    }
+
+    Object awaitEvent() throws InterruptedException {
+      return events.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.gazbert.bxbot.core.config.strategy.MarketTradingStrategy;
+import com.gazbert.bxbot.domain.market.MarketConfig;
+import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Trade Cycle Scheduler behaves as expected.
+ *
+ * @author gazbert
+ */
+class TestTradeCycleScheduler {
+
+  private static final int ENGINE_TRADE_CYCLE_INTERVAL = 60;
+  private static final int FAST_MARKET_TRADE_CYCLE_INTERVAL = 2;
+
+  private final AtomicLong nanoClock = new AtomicLong(Long.MAX_VALUE - secs(10)); // wraps!
+
+  private TradingStrategy fastStrategy;
+  private TradingStrategy slowStrategy;
+  private TradeCycleScheduler tradeCycleScheduler;
+
+  @BeforeEach
+  void setupForEachTest() {
+    fastStrategy = EasyMock.createMock(TradingStrategy.class);
+    slowStrategy = EasyMock.createMock(TradingStrategy.class);
+
+    final MarketConfig fastMarket =
+        new MarketConfig("btc_usd", "BTC/USD", "BTC", "USD", true, "scalper");
+    fastMarket.setTradeCycleInterval(FAST_MARKET_TRADE_CYCLE_INTERVAL);
+    final MarketConfig slowMarket =
+        new MarketConfig("xmr_gbp", "XMR/GBP", "XMR", "GBP", true, "scalper");
+
+    tradeCycleScheduler =
+        new TradeCycleScheduler(
+            List.of(
+                new MarketTradingStrategy(fastStrategy, fastMarket),
+                new MarketTradingStrategy(slowStrategy, slowMarket)),
+            ENGINE_TRADE_CYCLE_INTERVAL,
+            nanoClock::get);
+  }
+
+  @Test
+  void testAllStrategiesAreDueOnStartup() {
+    assertEquals(0, tradeCycleScheduler.nanosUntilNextDue());
+    assertThat(tradeCycleScheduler.nextDueStrategies()).containsExactly(fastStrategy, slowStrategy);
+    assertEquals(secs(FAST_MARKET_TRADE_CYCLE_INTERVAL), tradeCycleScheduler.nanosUntilNextDue());
+  }
+
+  @Test
+  void testEachMarketIsScheduledAtItsOwnInterval() {
+    tradeCycleScheduler.nextDueStrategies();
+
+    int fastExecutions = 0;
+    int slowExecutions = 0;
+    for (int i = 0; i < 60; i++) {
+      nanoClock.addAndGet(tradeCycleScheduler.nanosUntilNextDue());
+      for (final TradingStrategy strategy : tradeCycleScheduler.nextDueStrategies()) {
+        if (strategy == fastStrategy) {
+          fastExecutions++;
+        } else {
+          slowExecutions++;
+        }
+      }
+    }
+    assertEquals(60, fastExecutions);
+    assertEquals(2, slowExecutions); // at 60s and 120s
+  }
+
+  @Test
+  void testLateWakeupsDoNotAccumulateDrift() {
+    tradeCycleScheduler.nextDueStrategies();
+
+    // Wake up 300ms late every time...
+    for (int i = 0; i < 10; i++) {
+      nanoClock.addAndGet(tradeCycleScheduler.nanosUntilNextDue() + millis(300));
+      assertThat(tradeCycleScheduler.nextDueStrategies()).containsExactly(fastStrategy);
+    }
+
+    // ...but the schedule stays in phase: next due at 22s.
+    assertEquals(secs(22) - (secs(20) + millis(300)), tradeCycleScheduler.nanosUntilNextDue());
+  }
+
+  @Test
+  void testMissedExecutionsAreSkippedWhenStrategyOverruns() {
+    tradeCycleScheduler.nextDueStrategies();
+
+    // A trade cycle overran by 5 fast market intervals
+    nanoClock.addAndGet(secs(11));
+    assertThat(tradeCycleScheduler.nextDueStrategies()).containsExactly(fastStrategy);
+
+    // Next execution stays in phase at 12s - the 5 missed executions are not run back-to-back.
+    assertEquals(secs(1), tradeCycleScheduler.nanosUntilNextDue());
+    assertThat(tradeCycleScheduler.nextDueStrategies()).isEmpty();
+  }
+
+  @Test
+  void testRescheduledStrategiesKeepTheirScheduleAndNewOnesAreDueImmediately() {
+    tradeCycleScheduler.nextDueStrategies();
+    nanoClock.addAndGet(secs(1));
+
+    final TradingStrategy newStrategy = EasyMock.createMock(TradingStrategy.class);
+    tradeCycleScheduler.reschedule(
+        List.of(
+            new MarketTradingStrategy(
+                newStrategy, new MarketConfig("eth_usd", "ETH/USD", "ETH", "USD", true, "scalper")),
+            new MarketTradingStrategy(
+                fastStrategy,
+                new MarketConfig("btc_usd", "BTC/USD", "BTC", "USD", true, "scalper"))));
+
+    // The slow strategy has been retired; the fast one is still due at 2s.
+    assertThat(tradeCycleScheduler.nextDueStrategies()).containsExactly(newStrategy);
+    assertEquals(secs(1), tradeCycleScheduler.nanosUntilNextDue());
+    nanoClock.addAndGet(secs(1));
+    assertThat(tradeCycleScheduler.nextDueStrategies()).containsExactly(fastStrategy);
+  }
+
+  @Test
+  void testDefaultIntervalIsUsedWhenThereAreNoStrategies() {
+    final TradeCycleScheduler emptyScheduler =
+        new TradeCycleScheduler(List.of(), ENGINE_TRADE_CYCLE_INTERVAL);
+    assertThat(emptyScheduler.nextDueStrategies()).isEmpty();
+    assertEquals(secs(ENGINE_TRADE_CYCLE_INTERVAL), emptyScheduler.nanosUntilNextDue());
+  }
+
+  @Test
+  void testEngineIntervalLessThanOneSecIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new TradeCycleScheduler(List.of(), 0));
+  }
+
+  @Test
+  void testMarketIntervalLessThanOneSecIsRejected() {
+    final MarketConfig market =
+        new MarketConfig("eth_usd", "ETH/USD", "ETH", "USD", true, "scalper");
+    market.setTradeCycleInterval(0);
+    final List<MarketTradingStrategy> marketTradingStrategies =
+        List.of(new MarketTradingStrategy(fastStrategy, market));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new TradeCycleScheduler(marketTradingStrategies, ENGINE_TRADE_CYCLE_INTERVAL));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> TradeCycleScheduler.checkTradeCycleIntervals(List.of(market)));
+
+    market.setEnabled(false);
+    TradeCycleScheduler.checkTradeCycleIntervals(List.of(market));
+  }
+
+  @Test
+  void testRescheduleWithMarketIntervalLessThanOneSecKeepsCurrentSchedule() {
+    tradeCycleScheduler.nextDueStrategies();
+
+    final MarketConfig market =
+        new MarketConfig("eth_usd", "ETH/USD", "ETH", "USD", true, "scalper");
+    market.setTradeCycleInterval(-1);
+    final List<MarketTradingStrategy> marketTradingStrategies =
+        List.of(new MarketTradingStrategy(EasyMock.createMock(TradingStrategy.class), market));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> tradeCycleScheduler.reschedule(marketTradingStrategies));
+
+    nanoClock.addAndGet(secs(FAST_MARKET_TRADE_CYCLE_INTERVAL));
+    assertThat(tradeCycleScheduler.nextDueStrategies()).containsExactly(fastStrategy);
+  }
+
+  private static long secs(long secs) {
+    return TimeUnit.SECONDS.toNanos(secs);
+  }
+
+  private static long millis(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
@@ -29,6 +29,8 @@ import static org.easymock.EasyMock.contains;
 import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.isA;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -43,6 +45,7 @@ import com.gazbert.bxbot.domain.market.MarketConfig;
 import com.gazbert.bxbot.domain.strategy.StrategyConfig;
 import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
 import com.gazbert.bxbot.exchange.api.ExchangeConfig;
+import com.gazbert.bxbot.exchanges.AsyncTradingApiBridge;
 import com.gazbert.bxbot.services.config.EngineConfigService;
 import com.gazbert.bxbot.services.config.ExchangeConfigService;
 import com.gazbert.bxbot.services.config.MarketConfigService;
@@ -53,7 +56,11 @@ import com.gazbert.bxbot.trading.api.BalanceInfo;
 import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
 import com.gazbert.bxbot.trading.api.Market;
 import com.gazbert.bxbot.trading.api.TradingApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -61,11 +68,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.easymock.EasyMock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Tests the behaviour of the Trading Engine is as expected.
@@ -92,6 +103,9 @@ class TestTradingEngine {
   private static final String EXCHANGE_ADAPTER_IMPL_CLASS =
       "com.my.adapters.DummyBitstampExchangeAdapter";
   private static final String EXCHANGE_NAME = "Bitstamp";
+  private static final String ADDITIONAL_EXCHANGE_ADAPTER_IMPL_CLASS =
+      "com.my.adapters.DummyKrakenExchangeAdapter";
+  private static final String ADDITIONAL_EXCHANGE_NAME = "Kraken";
   private static final Integer EXCHANGE_ADAPTER_NETWORK_TIMEOUT = Integer.valueOf("30");
   private static final List<Integer> EXCHANGE_ADAPTER_NONFATAL_ERROR_CODES =
       Arrays.asList(502, 503, 504);
@@ -135,6 +149,9 @@ class TestTradingEngine {
   private ConfigurableComponentFactory configurableComponentFactory;
 
   private TradingStrategiesBuilder tradingStrategiesBuilder;
+  private MeterRegistry meterRegistry;
+
+  @TempDir private Path tempDir;
 
   /**
    * Mock out Config subsystem; we're not testing it here - has its own unit tests.
@@ -145,6 +162,9 @@ class TestTradingEngine {
   @BeforeEach
   void setupForEachTest() {
     exchangeAdapter = EasyMock.createMock(ExchangeAdapter.class);
+    expect(exchangeAdapter.isThreadSafe()).andStubReturn(false);
+    exchangeAdapter.shutdown();
+    expectLastCall().asStub();
     tradingStrategy = EasyMock.createMock(TradingStrategy.class);
     emailAlerter = EasyMock.createMock(EmailAlerter.class);
 
@@ -159,6 +179,8 @@ class TestTradingEngine {
 
     tradingStrategiesBuilder = new TradingStrategiesBuilder();
     tradingStrategiesBuilder.setTradingStrategyFactory(tradingStrategyFactory);
+
+    meterRegistry = new SimpleMeterRegistry();
   }
 
   @Test
@@ -181,7 +203,8 @@ class TestTradingEngine {
             marketConfigService,
             emailAlerter,
             tradingStrategiesBuilder,
-            configurableComponentFactory);
+            configurableComponentFactory,
+            meterRegistry);
 
     assertFalse(tradingEngine.isRunning());
 
@@ -237,7 +260,8 @@ class TestTradingEngine {
             marketConfigService,
             emailAlerter,
             tradingStrategiesBuilder,
-            configurableComponentFactory);
+            configurableComponentFactory,
+            meterRegistry);
 
     tradingEngine.start();
 
@@ -280,7 +304,8 @@ class TestTradingEngine {
             marketConfigService,
             emailAlerter,
             tradingStrategiesBuilder,
-            configurableComponentFactory);
+            configurableComponentFactory,
+            meterRegistry);
 
     final Executor executor = Executors.newSingleThreadExecutor();
     executor.execute(tradingEngine::start);
@@ -324,6 +349,76 @@ class TestTradingEngine {
     tradingStrategy.execute();
     expectLastCall().atLeastOnce();
 
+    // expect Exchange Adapter to be shutdown with the engine
+    exchangeAdapter.shutdown();
+
+    EasyMock.replay(balanceInfo);
+    EasyMock.replay(configurableComponentFactory);
+    EasyMock.replay(exchangeAdapter);
+    EasyMock.replay(tradingStrategy);
+    EasyMock.replay(emailAlerter);
+    EasyMock.replay(exchangeConfigService);
+    EasyMock.replay(engineConfigService);
+    EasyMock.replay(strategyConfigService);
+    EasyMock.replay(marketConfigService);
+
+    final TradingEngine tradingEngine =
+        new TradingEngine(
+            exchangeConfigService,
+            engineConfigService,
+            strategyConfigService,
+            marketConfigService,
+            emailAlerter,
+            tradingStrategiesBuilder,
+            configurableComponentFactory,
+            meterRegistry);
+
+    final Executor executor = Executors.newSingleThreadExecutor();
+    executor.execute(tradingEngine::start);
+
+    await().until(engineStateChanged(tradingEngine, EngineState.RUNNING));
+    assertTrue(tradingEngine.isRunning());
+
+    tradingEngine.shutdown();
+
+    await().until(engineStateChanged(tradingEngine, EngineState.SHUTDOWN));
+    assertFalse(tradingEngine.isRunning());
+
+    EasyMock.verify(balanceInfo);
+    EasyMock.verify(configurableComponentFactory);
+    EasyMock.verify(exchangeAdapter);
+    EasyMock.verify(tradingStrategy);
+    EasyMock.verify(emailAlerter);
+    EasyMock.verify(exchangeConfigService);
+    EasyMock.verify(engineConfigService);
+    EasyMock.verify(strategyConfigService);
+    EasyMock.verify(marketConfigService);
+  }
+
+  /*
+   * Tests the engine still shuts down if the Exchange Adapter throws when it is shutdown.
+   */
+  @Test
+  void testEngineShutsDownWhenExchangeAdapterFailsToShutdown() throws Exception {
+    setupConfigLoadingExpectations();
+
+    final Map<String, BigDecimal> balancesAvailable = new HashMap<>();
+    // balance limit NOT breached for BTC
+    balancesAvailable.put(ENGINE_EMERGENCY_STOP_CURRENCY, new BigDecimal("0.5"));
+
+    // expect BalanceInfo to be fetched using Trading API
+    final BalanceInfo balanceInfo = EasyMock.createMock(BalanceInfo.class);
+    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).atLeastOnce();
+    expect(balanceInfo.getBalancesAvailable()).andReturn(balancesAvailable).atLeastOnce();
+
+    // expect Trading Strategy to be invoked
+    tradingStrategy.execute();
+    expectLastCall().atLeastOnce();
+
+    // expect the engine to finish shutting down even though the Exchange Adapter fails to
+    exchangeAdapter.shutdown();
+    expectLastCall().andThrow(new IllegalStateException("Failed to close order book feed"));
+
     EasyMock.replay(balanceInfo);
     EasyMock.replay(configurableComponentFactory);
     EasyMock.replay(exchangeAdapter);
@@ -342,7 +437,8 @@ class TestTradingEngine {
             marketConfigService,
             emailAlerter,
             tradingStrategiesBuilder,
-            configurableComponentFactory);
+            configurableComponentFactory,
+            meterRegistry);
 
     final Executor executor = Executors.newSingleThreadExecutor();
     executor.execute(tradingEngine::start);
@@ -414,7 +510,8 @@ class TestTradingEngine {
             marketConfigService,
             emailAlerter,
             tradingStrategiesBuilder,
-            configurableComponentFactory);
+            configurableComponentFactory,
+            meterRegistry);
 
     tradingEngine.start();
 
@@ -430,6 +527,13 @@ class TestTradingEngine {
     EasyMock.verify(engineConfigService);
     EasyMock.verify(strategyConfigService);
     EasyMock.verify(marketConfigService);
+
+    assertEquals(2, timerCount(TradingEngineMetrics.EMERGENCY_STOP_CHECK_TIMER, "none"));
+    assertEquals(1, timerCount(TradingEngineMetrics.TRADE_CYCLE_TIMER, "none"));
+    assertEquals(1, timerCount(TradingEngineMetrics.TRADE_CYCLE_TIMER, "StrategyException"));
+    assertEquals(1, timerCount(TradingEngineMetrics.STRATEGY_EXECUTION_TIMER, "none"));
+    assertEquals(
+        1, timerCount(TradingEngineMetrics.STRATEGY_EXECUTION_TIMER, "StrategyException"));
   }
 
   /*
@@ -483,7 +587,8 @@ class TestTradingEngine {
             marketConfigService,
             emailAlerter,
             tradingStrategiesBuilder,
-            configurableComponentFactory);
+            configurableComponentFactory,
+            meterRegistry);
 
     tradingEngine.start();
 
@@ -552,7 +657,8 @@ class TestTradingEngine {
             marketConfigService,
             emailAlerter,
             tradingStrategiesBuilder,
-            configurableComponentFactory);
+            configurableComponentFactory,
+            meterRegistry);
 
     tradingEngine.start();
 
@@ -618,7 +724,8 @@ class TestTradingEngine {
             marketConfigService,
             emailAlerter,
             tradingStrategiesBuilder,
-            configurableComponentFactory);
+            configurableComponentFactory,
+            meterRegistry);
 
     tradingEngine.start();
 
@@ -687,7 +794,8 @@ class TestTradingEngine {
             marketConfigService,
             emailAlerter,
             tradingStrategiesBuilder,
-            configurableComponentFactory);
+            configurableComponentFactory,
+            meterRegistry);
 
     final Executor executor = Executors.newSingleThreadExecutor();
     executor.execute(tradingEngine::start);
@@ -718,11 +826,13 @@ class TestTradingEngine {
   }
 
   /*
-   * Tests the engine cannot be started more than once.
+   * Tests the engine executes trade cycles successfully when concurrent strategy execution is
+   * enabled. Scenario is at least one successful trade cycle, and then we shut it down.
    */
   @Test
-  void testEngineCannotBeStartedMoreThanOnce() throws Exception {
-    setupConfigLoadingExpectations();
+  void testEngineExecutesConcurrentTradeCyclesAndCanBeShutdownSuccessfully() throws Exception {
+    setupConfigLoadingExpectationsForConcurrentStrategyExecution();
+    expect(exchangeAdapter.isThreadSafe()).andReturn(true).anyTimes();
 
     final Map<String, BigDecimal> balancesAvailable = new HashMap<>();
     // balance limit NOT breached for BTC
@@ -733,7 +843,7 @@ class TestTradingEngine {
     expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).atLeastOnce();
     expect(balanceInfo.getBalancesAvailable()).andReturn(balancesAvailable).atLeastOnce();
 
-    // expect Trading Strategy to be invoked 1 time
+    // expect Trading Strategy to be invoked
     tradingStrategy.execute();
     expectLastCall().atLeastOnce();
 
@@ -755,7 +865,8 @@ class TestTradingEngine {
             marketConfigService,
             emailAlerter,
             tradingStrategiesBuilder,
-            configurableComponentFactory);
+            configurableComponentFactory,
+            meterRegistry);
 
     final Executor executor = Executors.newSingleThreadExecutor();
     executor.execute(tradingEngine::start);
@@ -763,8 +874,10 @@ class TestTradingEngine {
     await().until(engineStateChanged(tradingEngine, EngineState.RUNNING));
     assertTrue(tradingEngine.isRunning());
 
-    // try start the engine again
-    assertThrows(IllegalStateException.class, tradingEngine::start);
+    tradingEngine.shutdown();
+
+    await().until(engineStateChanged(tradingEngine, EngineState.SHUTDOWN));
+    assertFalse(tradingEngine.isRunning());
 
     EasyMock.verify(balanceInfo);
     EasyMock.verify(configurableComponentFactory);
@@ -777,27 +890,35 @@ class TestTradingEngine {
     EasyMock.verify(marketConfigService);
   }
 
+  /*
+   * Tests the engine executes the trading strategies one after another on the engine thread when
+   * concurrent strategy execution is enabled, but the exchange adapter is not thread safe.
+   */
   @Test
-  void testEngineShutsDownWhenBalancesCannotBeFetchedFromExchange() throws Exception {
-    setupConfigLoadingExpectations();
+  void testEngineExecutesTradeCyclesSequentiallyWhenExchangeAdapterIsNotThreadSafe()
+      throws Exception {
+    setupConfigLoadingExpectationsForConcurrentStrategyExecution();
+    expect(exchangeAdapter.isThreadSafe()).andReturn(false).atLeastOnce();
 
-    // empty balances from exchange
     final Map<String, BigDecimal> balancesAvailable = new HashMap<>();
+    // balance limit NOT breached for BTC
+    balancesAvailable.put(ENGINE_EMERGENCY_STOP_CURRENCY, new BigDecimal("0.5"));
 
     // expect BalanceInfo to be fetched using Trading API
     final BalanceInfo balanceInfo = EasyMock.createMock(BalanceInfo.class);
-    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo);
-    expect(balanceInfo.getBalancesAvailable()).andReturn(balancesAvailable);
+    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).atLeastOnce();
+    expect(balanceInfo.getBalancesAvailable()).andReturn(balancesAvailable).atLeastOnce();
 
-    // expect Email Alert to be sent
-    emailAlerter.sendMessage(
-        eq(CRITICAL_EMAIL_ALERT_SUBJECT),
-        contains(
-            "Emergency stop check: Failed to get current Emergency Stop Currency balance as '"
-                + ENGINE_EMERGENCY_STOP_CURRENCY
-                + "' key into Balances map "
-                + "returned null. Balances returned: "
-                + balancesAvailable));
+    // expect Trading Strategy to be invoked, but never on a strategy execution thread
+    final List<Thread> strategyThreads = new CopyOnWriteArrayList<>();
+    tradingStrategy.execute();
+    expectLastCall()
+        .andAnswer(
+            () -> {
+              strategyThreads.add(Thread.currentThread());
+              return null;
+            })
+        .atLeastOnce();
 
     EasyMock.replay(balanceInfo);
     EasyMock.replay(configurableComponentFactory);
@@ -817,9 +938,18 @@ class TestTradingEngine {
             marketConfigService,
             emailAlerter,
             tradingStrategiesBuilder,
-            configurableComponentFactory);
+            configurableComponentFactory,
+            meterRegistry);
 
-    tradingEngine.start();
+    final Executor executor = Executors.newSingleThreadExecutor();
+    executor.execute(tradingEngine::start);
+
+    await().until(engineStateChanged(tradingEngine, EngineState.RUNNING));
+    assertTrue(tradingEngine.isRunning());
+    await().until(() -> !strategyThreads.isEmpty());
+    strategyThreads.forEach(thread -> assertFalse(thread.isVirtual()));
+
+    tradingEngine.shutdown();
 
     await().until(engineStateChanged(tradingEngine, EngineState.SHUTDOWN));
     assertFalse(tradingEngine.isRunning());
@@ -835,10 +965,18 @@ class TestTradingEngine {
     EasyMock.verify(marketConfigService);
   }
 
+  /*
+   * Tests the engine executes trade cycles successfully when market data recording is enabled.
+   * Scenario is the recording directory is created, at least one successful trade cycle, and then
+   * we shut it down.
+   */
   @Test
-  void testEngineInitialisesSuccessfullyWithoutNetworkConfig() throws Exception {
-    setupExchangeAdapterConfigWithNoNetworkConfigExpectations();
-    setupEngineConfigExpectations();
+  void testEngineRecordsMarketDataAndCanBeShutdownSuccessfully() throws Exception {
+    final Path recordingDirectory = tempDir.resolve("recorded-market-data");
+    final EngineConfig engineConfig = someEngineConfig();
+    engineConfig.setMarketDataRecordingDirectory(recordingDirectory.toString());
+    setupExchangeAdapterConfigExpectations();
+    expect(engineConfigService.getEngineConfig()).andReturn(engineConfig);
     setupStrategyAndMarketConfigExpectations();
 
     final Map<String, BigDecimal> balancesAvailable = new HashMap<>();
@@ -872,13 +1010,15 @@ class TestTradingEngine {
             marketConfigService,
             emailAlerter,
             tradingStrategiesBuilder,
-            configurableComponentFactory);
+            configurableComponentFactory,
+            meterRegistry);
 
     final Executor executor = Executors.newSingleThreadExecutor();
     executor.execute(tradingEngine::start);
 
     await().until(engineStateChanged(tradingEngine, EngineState.RUNNING));
     assertTrue(tradingEngine.isRunning());
+    assertTrue(Files.isDirectory(recordingDirectory));
 
     tradingEngine.shutdown();
 
@@ -896,100 +1036,930 @@ class TestTradingEngine {
     EasyMock.verify(marketConfigService);
   }
 
-  // --------------------------------------------------------------------------
-  //  private utils
-  // --------------------------------------------------------------------------
+  /*
+   * Tests the engine shuts down when a concurrently executed Trading Strategy throws a
+   * StrategyException.
+   */
+  @Test
+  void testEngineShutsDownWhenItReceivesStrategyExceptionFromConcurrentTradingStrategy()
+      throws Exception {
+    setupConfigLoadingExpectationsForConcurrentStrategyExecution();
+    expect(exchangeAdapter.isThreadSafe()).andReturn(true).anyTimes();
 
-  private void setupExchangeAdapterConfigExpectations() {
-    expect(exchangeConfigService.getExchangeConfig()).andReturn(someExchangeConfig());
-    expect(configurableComponentFactory.createComponent(EXCHANGE_ADAPTER_IMPL_CLASS))
-        .andReturn(exchangeAdapter);
-    expect(exchangeAdapter.getImplName()).andReturn(EXCHANGE_NAME).anyTimes();
-    exchangeAdapter.init(anyObject(ExchangeConfig.class));
-  }
+    final String exceptionErrorMsg = "Eeek! My concurrent strat just broke. Please shutdown!";
+    final Map<String, BigDecimal> balancesAvailable = new HashMap<>();
+    // balance limit NOT breached for BTC
+    balancesAvailable.put(ENGINE_EMERGENCY_STOP_CURRENCY, new BigDecimal("0.5"));
+    final BalanceInfo balanceInfo = EasyMock.createMock(BalanceInfo.class);
 
-  private void setupExchangeAdapterConfigWithNoNetworkConfigExpectations() {
-    final com.gazbert.bxbot.domain.exchange.ExchangeConfig exchangeConfig =
-        someExchangeConfigWithoutNetworkConfig();
-    expect(exchangeConfigService.getExchangeConfig()).andReturn(exchangeConfig);
-    expect(configurableComponentFactory.createComponent(EXCHANGE_ADAPTER_IMPL_CLASS))
-        .andReturn(exchangeAdapter);
-    expect(exchangeAdapter.getImplName()).andReturn(EXCHANGE_NAME).anyTimes();
-    exchangeAdapter.init(anyObject(ExchangeConfig.class));
-  }
+    // expect StrategyException in 1st trade cycle
+    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo);
+    expect(balanceInfo.getBalancesAvailable()).andReturn(balancesAvailable);
+    tradingStrategy.execute();
+    expectLastCall().andThrow(new StrategyException(exceptionErrorMsg));
 
-  private void setupEngineConfigExpectations() {
-    expect(engineConfigService.getEngineConfig()).andReturn(someEngineConfig());
-  }
+    // expect Email Alert to be sent
+    emailAlerter.sendMessage(
+        eq(CRITICAL_EMAIL_ALERT_SUBJECT),
+        contains("A FATAL error has occurred in Trading Strategy! Details: " + exceptionErrorMsg));
 
-  private void setupEngineConfigForNoEmergencyStopCheckExpectations() {
-    expect(engineConfigService.getEngineConfig())
-        .andReturn(someEngineConfigForNoEmergencyStopCheck());
-  }
+    EasyMock.replay(balanceInfo);
+    EasyMock.replay(configurableComponentFactory);
+    EasyMock.replay(exchangeAdapter);
+    EasyMock.replay(tradingStrategy);
+    EasyMock.replay(emailAlerter);
+    EasyMock.replay(exchangeConfigService);
+    EasyMock.replay(engineConfigService);
+    EasyMock.replay(strategyConfigService);
+    EasyMock.replay(marketConfigService);
 
-  private void setupStrategyAndMarketConfigExpectations() {
-    expect(strategyConfigService.getAllStrategyConfig()).andReturn(allTheStrategiesConfig());
-    expect(marketConfigService.getAllMarketConfig()).andReturn(allTheMarketsConfig());
-    expect(configurableComponentFactory.createComponent(STRATEGY_IMPL_CLASS))
-        .andReturn(tradingStrategy);
-    tradingStrategy.init(
-        eq(exchangeAdapter),
-        anyObject(Market.class),
-        anyObject(com.gazbert.bxbot.strategy.api.StrategyConfig.class));
-  }
+    final TradingEngine tradingEngine =
+        new TradingEngine(
+            exchangeConfigService,
+            engineConfigService,
+            strategyConfigService,
+            marketConfigService,
+            emailAlerter,
+            tradingStrategiesBuilder,
+            configurableComponentFactory,
+            meterRegistry);
 
-  private void setupConfigLoadingExpectations() {
-    setupExchangeAdapterConfigExpectations();
-    setupEngineConfigExpectations();
-    setupStrategyAndMarketConfigExpectations();
-  }
+    tradingEngine.start();
 
-  private void setupConfigLoadingExpectationsForNoEmergencyStopCheck() {
-    setupExchangeAdapterConfigExpectations();
-    setupEngineConfigForNoEmergencyStopCheckExpectations();
-    setupStrategyAndMarketConfigExpectations();
+    await().until(engineStateChanged(tradingEngine, EngineState.SHUTDOWN));
+    assertFalse(tradingEngine.isRunning());
+
+    EasyMock.verify(balanceInfo);
+    EasyMock.verify(configurableComponentFactory);
+    EasyMock.verify(exchangeAdapter);
+    EasyMock.verify(tradingStrategy);
+    EasyMock.verify(emailAlerter);
+    EasyMock.verify(exchangeConfigService);
+    EasyMock.verify(engineConfigService);
+    EasyMock.verify(strategyConfigService);
+    EasyMock.verify(marketConfigService);
   }
 
-  private static com.gazbert.bxbot.domain.exchange.ExchangeConfig someExchangeConfig() {
-    final Map<String, String> authenticationConfig = someAuthenticationConfig();
-    final NetworkConfig networkConfig = someNetworkConfig();
-    final Map<String, String> otherConfig = someOtherConfig();
+  /*
+   * Tests the engine cannot be started more than once.
+   */
+  @Test
+  void testEngineCannotBeStartedMoreThanOnce() throws Exception {
+    setupConfigLoadingExpectations();
 
-    final com.gazbert.bxbot.domain.exchange.ExchangeConfig exchangeConfig =
-        new com.gazbert.bxbot.domain.exchange.ExchangeConfig();
-    exchangeConfig.setAuthenticationConfig(authenticationConfig);
-    exchangeConfig.setName(EXCHANGE_NAME);
-    exchangeConfig.setAdapter(EXCHANGE_ADAPTER_IMPL_CLASS);
-    exchangeConfig.setNetworkConfig(networkConfig);
-    exchangeConfig.setOtherConfig(otherConfig);
+    final Map<String, BigDecimal> balancesAvailable = new HashMap<>();
+    // balance limit NOT breached for BTC
+    balancesAvailable.put(ENGINE_EMERGENCY_STOP_CURRENCY, new BigDecimal("0.5"));
 
-    return exchangeConfig;
-  }
+    // expect BalanceInfo to be fetched using Trading API
+    final BalanceInfo balanceInfo = EasyMock.createMock(BalanceInfo.class);
+    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).atLeastOnce();
+    expect(balanceInfo.getBalancesAvailable()).andReturn(balancesAvailable).atLeastOnce();
 
-  private static com.gazbert.bxbot.domain.exchange.ExchangeConfig
-      someExchangeConfigWithoutNetworkConfig() {
-    final Map<String, String> authenticationConfig = someAuthenticationConfig();
-    final Map<String, String> otherConfig = someOtherConfig();
-    final com.gazbert.bxbot.domain.exchange.ExchangeConfig exchangeConfig =
-        new com.gazbert.bxbot.domain.exchange.ExchangeConfig();
-    exchangeConfig.setAuthenticationConfig(authenticationConfig);
-    exchangeConfig.setName(EXCHANGE_NAME);
-    exchangeConfig.setAdapter(EXCHANGE_ADAPTER_IMPL_CLASS);
-    exchangeConfig.setOtherConfig(otherConfig);
-    return exchangeConfig;
-  }
+    // expect Trading Strategy to be invoked 1 time
+    tradingStrategy.execute();
+    expectLastCall().atLeastOnce();
 
-  private static NetworkConfig someNetworkConfig() {
-    final NetworkConfig networkConfig = new NetworkConfig();
-    networkConfig.setConnectionTimeout(EXCHANGE_ADAPTER_NETWORK_TIMEOUT);
-    networkConfig.setNonFatalErrorCodes(EXCHANGE_ADAPTER_NONFATAL_ERROR_CODES);
-    networkConfig.setNonFatalErrorMessages(EXCHANGE_ADAPTER_NONFATAL_ERROR_MESSAGES);
-    return networkConfig;
-  }
+    EasyMock.replay(balanceInfo);
+    EasyMock.replay(configurableComponentFactory);
+    EasyMock.replay(exchangeAdapter);
+    EasyMock.replay(tradingStrategy);
+    EasyMock.replay(emailAlerter);
+    EasyMock.replay(exchangeConfigService);
+    EasyMock.replay(engineConfigService);
+    EasyMock.replay(strategyConfigService);
+    EasyMock.replay(marketConfigService);
 
-  private static Map<String, String> someAuthenticationConfig() {
-    final Map<String, String> authenticationConfig = new HashMap<>();
-    authenticationConfig.put(
+    final TradingEngine tradingEngine =
+        new TradingEngine(
+            exchangeConfigService,
+            engineConfigService,
+            strategyConfigService,
+            marketConfigService,
+            emailAlerter,
+            tradingStrategiesBuilder,
+            configurableComponentFactory,
+            meterRegistry);
+
+    final Executor executor = Executors.newSingleThreadExecutor();
+    executor.execute(tradingEngine::start);
+
+    await().until(engineStateChanged(tradingEngine, EngineState.RUNNING));
+    assertTrue(tradingEngine.isRunning());
+
+    // try start the engine again
+    assertThrows(IllegalStateException.class, tradingEngine::start);
+
+    EasyMock.verify(balanceInfo);
+    EasyMock.verify(configurableComponentFactory);
+    EasyMock.verify(exchangeAdapter);
+    EasyMock.verify(tradingStrategy);
+    EasyMock.verify(emailAlerter);
+    EasyMock.verify(exchangeConfigService);
+    EasyMock.verify(engineConfigService);
+    EasyMock.verify(strategyConfigService);
+    EasyMock.verify(marketConfigService);
+  }
+
+  @Test
+  void testEngineShutsDownWhenBalancesCannotBeFetchedFromExchange() throws Exception {
+    setupConfigLoadingExpectations();
+
+    // empty balances from exchange
+    final Map<String, BigDecimal> balancesAvailable = new HashMap<>();
+
+    // expect BalanceInfo to be fetched using Trading API
+    final BalanceInfo balanceInfo = EasyMock.createMock(BalanceInfo.class);
+    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo);
+    expect(balanceInfo.getBalancesAvailable()).andReturn(balancesAvailable);
+
+    // expect Email Alert to be sent
+    emailAlerter.sendMessage(
+        eq(CRITICAL_EMAIL_ALERT_SUBJECT),
+        contains(
+            "Emergency stop check: Failed to get current Emergency Stop Currency balance as '"
+                + ENGINE_EMERGENCY_STOP_CURRENCY
+                + "' key into Balances map "
+                + "returned null. Balances returned: "
+                + balancesAvailable));
+
+    EasyMock.replay(balanceInfo);
+    EasyMock.replay(configurableComponentFactory);
+    EasyMock.replay(exchangeAdapter);
+    EasyMock.replay(tradingStrategy);
+    EasyMock.replay(emailAlerter);
+    EasyMock.replay(exchangeConfigService);
+    EasyMock.replay(engineConfigService);
+    EasyMock.replay(strategyConfigService);
+    EasyMock.replay(marketConfigService);
+
+    final TradingEngine tradingEngine =
+        new TradingEngine(
+            exchangeConfigService,
+            engineConfigService,
+            strategyConfigService,
+            marketConfigService,
+            emailAlerter,
+            tradingStrategiesBuilder,
+            configurableComponentFactory,
+            meterRegistry);
+
+    tradingEngine.start();
+
+    await().until(engineStateChanged(tradingEngine, EngineState.SHUTDOWN));
+    assertFalse(tradingEngine.isRunning());
+
+    EasyMock.verify(balanceInfo);
+    EasyMock.verify(configurableComponentFactory);
+    EasyMock.verify(exchangeAdapter);
+    EasyMock.verify(tradingStrategy);
+    EasyMock.verify(emailAlerter);
+    EasyMock.verify(exchangeConfigService);
+    EasyMock.verify(engineConfigService);
+    EasyMock.verify(strategyConfigService);
+    EasyMock.verify(marketConfigService);
+  }
+
+  @Test
+  void testEngineInitialisesSuccessfullyWithoutNetworkConfig() throws Exception {
+    setupExchangeAdapterConfigWithNoNetworkConfigExpectations();
+    setupEngineConfigExpectations();
+    setupStrategyAndMarketConfigExpectations();
+
+    final Map<String, BigDecimal> balancesAvailable = new HashMap<>();
+    // balance limit NOT breached for BTC
+    balancesAvailable.put(ENGINE_EMERGENCY_STOP_CURRENCY, new BigDecimal("0.5"));
+
+    // expect BalanceInfo to be fetched using Trading API
+    final BalanceInfo balanceInfo = EasyMock.createMock(BalanceInfo.class);
+    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).atLeastOnce();
+    expect(balanceInfo.getBalancesAvailable()).andReturn(balancesAvailable).atLeastOnce();
+
+    // expect Trading Strategy to be invoked
+    tradingStrategy.execute();
+    expectLastCall().atLeastOnce();
+
+    EasyMock.replay(balanceInfo);
+    EasyMock.replay(configurableComponentFactory);
+    EasyMock.replay(exchangeAdapter);
+    EasyMock.replay(tradingStrategy);
+    EasyMock.replay(emailAlerter);
+    EasyMock.replay(exchangeConfigService);
+    EasyMock.replay(engineConfigService);
+    EasyMock.replay(strategyConfigService);
+    EasyMock.replay(marketConfigService);
+
+    final TradingEngine tradingEngine =
+        new TradingEngine(
+            exchangeConfigService,
+            engineConfigService,
+            strategyConfigService,
+            marketConfigService,
+            emailAlerter,
+            tradingStrategiesBuilder,
+            configurableComponentFactory,
+            meterRegistry);
+
+    final Executor executor = Executors.newSingleThreadExecutor();
+    executor.execute(tradingEngine::start);
+
+    await().until(engineStateChanged(tradingEngine, EngineState.RUNNING));
+    assertTrue(tradingEngine.isRunning());
+
+    tradingEngine.shutdown();
+
+    await().until(engineStateChanged(tradingEngine, EngineState.SHUTDOWN));
+    assertFalse(tradingEngine.isRunning());
+
+    EasyMock.verify(balanceInfo);
+    EasyMock.verify(configurableComponentFactory);
+    EasyMock.verify(exchangeAdapter);
+    EasyMock.verify(tradingStrategy);
+    EasyMock.verify(emailAlerter);
+    EasyMock.verify(exchangeConfigService);
+    EasyMock.verify(engineConfigService);
+    EasyMock.verify(strategyConfigService);
+    EasyMock.verify(marketConfigService);
+  }
+
+  /*
+   * Tests the engine trades on an additional exchange from the same process. Scenario is the
+   * strategy on the additional exchange is stuck, but the strategy on the main exchange keeps
+   * trading: each exchange has its own control loop. The Emergency Stop check is run against both
+   * exchanges.
+   */
+  @Test
+  void testEngineTradesOnMultipleExchangesWithoutOneStallingTheOther() throws Exception {
+    final ExchangeAdapter additionalExchangeAdapter = EasyMock.createMock(ExchangeAdapter.class);
+    final TradingStrategy additionalTradingStrategy = EasyMock.createMock(TradingStrategy.class);
+    setupMultipleExchangeConfigLoadingExpectations(
+        additionalExchangeAdapter, additionalTradingStrategy, ADDITIONAL_EXCHANGE_NAME);
+
+    final Map<String, BigDecimal> balancesAvailable = new HashMap<>();
+    // balance limit NOT breached for BTC
+    balancesAvailable.put(ENGINE_EMERGENCY_STOP_CURRENCY, new BigDecimal("0.5"));
+    final BalanceInfo balanceInfo = EasyMock.createMock(BalanceInfo.class);
+    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).atLeastOnce();
+    expect(additionalExchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).atLeastOnce();
+    expect(balanceInfo.getBalancesAvailable()).andReturn(balancesAvailable).atLeastOnce();
+
+    // the main exchange strategy keeps being executed whilst the other one is stuck
+    final CountDownLatch mainExchangeTradeCycles = new CountDownLatch(3);
+    final CountDownLatch stuckStrategyReleased = new CountDownLatch(1);
+    tradingStrategy.execute();
+    expectLastCall()
+        .andAnswer(
+            () -> {
+              mainExchangeTradeCycles.countDown();
+              return null;
+            })
+        .atLeastOnce();
+    additionalTradingStrategy.execute();
+    expectLastCall()
+        .andAnswer(
+            () -> {
+              stuckStrategyReleased.await();
+              return null;
+            })
+        .atLeastOnce();
+
+    EasyMock.replay(balanceInfo);
+    EasyMock.replay(configurableComponentFactory);
+    EasyMock.replay(exchangeAdapter);
+    EasyMock.replay(additionalExchangeAdapter);
+    EasyMock.replay(tradingStrategy);
+    EasyMock.replay(additionalTradingStrategy);
+    EasyMock.replay(emailAlerter);
+    EasyMock.replay(exchangeConfigService);
+    EasyMock.replay(engineConfigService);
+    EasyMock.replay(strategyConfigService);
+    EasyMock.replay(marketConfigService);
+
+    final TradingEngine tradingEngine =
+        new TradingEngine(
+            exchangeConfigService,
+            engineConfigService,
+            strategyConfigService,
+            marketConfigService,
+            emailAlerter,
+            tradingStrategiesBuilder,
+            configurableComponentFactory,
+            meterRegistry);
+
+    final Executor executor = Executors.newSingleThreadExecutor();
+    executor.execute(tradingEngine::start);
+
+    await().until(engineStateChanged(tradingEngine, EngineState.RUNNING));
+    assertTrue(mainExchangeTradeCycles.await(10, TimeUnit.SECONDS));
+
+    tradingEngine.shutdown();
+    stuckStrategyReleased.countDown();
+
+    await().until(engineStateChanged(tradingEngine, EngineState.SHUTDOWN));
+    assertFalse(tradingEngine.isRunning());
+
+    EasyMock.verify(balanceInfo);
+    EasyMock.verify(configurableComponentFactory);
+    EasyMock.verify(exchangeAdapter);
+    EasyMock.verify(additionalExchangeAdapter);
+    EasyMock.verify(tradingStrategy);
+    EasyMock.verify(additionalTradingStrategy);
+    EasyMock.verify(emailAlerter);
+    EasyMock.verify(exchangeConfigService);
+    EasyMock.verify(engineConfigService);
+    EasyMock.verify(strategyConfigService);
+    EasyMock.verify(marketConfigService);
+  }
+
+  /*
+   * Tests the whole engine shuts down when a Trading Strategy on an additional exchange throws a
+   * StrategyException.
+   */
+  @Test
+  void testEngineShutsDownWhenItReceivesStrategyExceptionOnAdditionalExchange() throws Exception {
+    final ExchangeAdapter additionalExchangeAdapter = EasyMock.createMock(ExchangeAdapter.class);
+    final TradingStrategy additionalTradingStrategy = EasyMock.createMock(TradingStrategy.class);
+    setupMultipleExchangeConfigLoadingExpectations(
+        additionalExchangeAdapter, additionalTradingStrategy, ADDITIONAL_EXCHANGE_NAME);
+
+    final Map<String, BigDecimal> balancesAvailable = new HashMap<>();
+    balancesAvailable.put(ENGINE_EMERGENCY_STOP_CURRENCY, new BigDecimal("0.5"));
+    final BalanceInfo balanceInfo = EasyMock.createMock(BalanceInfo.class);
+    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).anyTimes();
+    expect(additionalExchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).atLeastOnce();
+    expect(balanceInfo.getBalancesAvailable()).andReturn(balancesAvailable).anyTimes();
+
+    tradingStrategy.execute();
+    expectLastCall().anyTimes();
+    final String exceptionErrorMsg = "Eeek! My additional exchange strat just broke.";
+    additionalTradingStrategy.execute();
+    expectLastCall().andThrow(new StrategyException(exceptionErrorMsg));
+
+    // expect Email Alert to be sent with the adapter of the exchange that failed
+    emailAlerter.sendMessage(
+        eq(CRITICAL_EMAIL_ALERT_SUBJECT), contains(additionalExchangeAdapter.getClass().getName()));
+
+    EasyMock.replay(balanceInfo);
+    EasyMock.replay(configurableComponentFactory);
+    EasyMock.replay(exchangeAdapter);
+    EasyMock.replay(additionalExchangeAdapter);
+    EasyMock.replay(tradingStrategy);
+    EasyMock.replay(additionalTradingStrategy);
+    EasyMock.replay(emailAlerter);
+    EasyMock.replay(exchangeConfigService);
+    EasyMock.replay(engineConfigService);
+    EasyMock.replay(strategyConfigService);
+    EasyMock.replay(marketConfigService);
+
+    final TradingEngine tradingEngine =
+        new TradingEngine(
+            exchangeConfigService,
+            engineConfigService,
+            strategyConfigService,
+            marketConfigService,
+            emailAlerter,
+            tradingStrategiesBuilder,
+            configurableComponentFactory,
+            meterRegistry);
+
+    final Executor executor = Executors.newSingleThreadExecutor();
+    executor.execute(tradingEngine::start);
+
+    await().until(engineStateChanged(tradingEngine, EngineState.SHUTDOWN));
+    assertFalse(tradingEngine.isRunning());
+
+    EasyMock.verify(configurableComponentFactory);
+    EasyMock.verify(additionalExchangeAdapter);
+    EasyMock.verify(additionalTradingStrategy);
+    EasyMock.verify(emailAlerter);
+    EasyMock.verify(exchangeConfigService);
+    EasyMock.verify(engineConfigService);
+    EasyMock.verify(strategyConfigService);
+    EasyMock.verify(marketConfigService);
+  }
+
+  /*
+   * Tests the whole engine shuts down when the Emergency Stop balance is breached on an additional
+   * exchange. The additional exchange has its own Emergency Stop currency and balance, which are
+   * used instead of the Engine ones.
+   */
+  @Test
+  void testEngineShutsDownWhenEmergencyStopBalanceIsBreachedOnAdditionalExchange()
+      throws Exception {
+    final ExchangeAdapter additionalExchangeAdapter = EasyMock.createMock(ExchangeAdapter.class);
+    final TradingStrategy additionalTradingStrategy = EasyMock.createMock(TradingStrategy.class);
+    final com.gazbert.bxbot.domain.exchange.ExchangeConfig additionalExchangeConfig =
+        someExchangeConfig();
+    additionalExchangeConfig.setName(ADDITIONAL_EXCHANGE_NAME);
+    additionalExchangeConfig.setAdapter(ADDITIONAL_EXCHANGE_ADAPTER_IMPL_CLASS);
+    additionalExchangeConfig.setEmergencyStopCurrency("USD");
+    additionalExchangeConfig.setEmergencyStopBalance(new BigDecimal("100"));
+    setupMultipleExchangeConfigLoadingExpectations(
+        additionalExchangeAdapter, additionalTradingStrategy, additionalExchangeConfig);
+
+    // balance limit NOT breached for BTC on the main exchange
+    final Map<String, BigDecimal> balancesAvailable = new HashMap<>();
+    balancesAvailable.put(ENGINE_EMERGENCY_STOP_CURRENCY, new BigDecimal("0.5"));
+    final BalanceInfo balanceInfo = EasyMock.createMock(BalanceInfo.class);
+    expect(exchangeAdapter.getBalanceInfo()).andReturn(balanceInfo).anyTimes();
+    expect(balanceInfo.getBalancesAvailable()).andReturn(balancesAvailable).anyTimes();
+
+    // balance limit has been breached for USD on the additional exchange, but not for BTC
+    final Map<String, BigDecimal> additionalBalancesAvailable = new HashMap<>();
+    additionalBalancesAvailable.put(ENGINE_EMERGENCY_STOP_CURRENCY, new BigDecimal("0.5"));
+    additionalBalancesAvailable.put("USD", new BigDecimal("50"));
+    final BalanceInfo additionalBalanceInfo = EasyMock.createMock(BalanceInfo.class);
+    expect(additionalExchangeAdapter.getBalanceInfo()).andReturn(additionalBalanceInfo);
+    expect(additionalBalanceInfo.getBalancesAvailable()).andReturn(additionalBalancesAvailable);
+
+    tradingStrategy.execute();
+    expectLastCall().anyTimes();
+
+    // expect Email Alert to be sent for the additional exchange
+    emailAlerter.sendMessage(
+        eq(CRITICAL_EMAIL_ALERT_SUBJECT),
+        contains(
+            "EMERGENCY STOP triggered! - Current Emergency Stop Currency [USD] wallet balance [50]"
+                + " on exchange is lower than configured Emergency Stop balance [100] USD"));
+
+    EasyMock.replay(balanceInfo);
+    EasyMock.replay(additionalBalanceInfo);
+    EasyMock.replay(configurableComponentFactory);
+    EasyMock.replay(exchangeAdapter);
+    EasyMock.replay(additionalExchangeAdapter);
+    EasyMock.replay(tradingStrategy);
+    EasyMock.replay(additionalTradingStrategy);
+    EasyMock.replay(emailAlerter);
+    EasyMock.replay(exchangeConfigService);
+    EasyMock.replay(engineConfigService);
+    EasyMock.replay(strategyConfigService);
+    EasyMock.replay(marketConfigService);
+
+    final TradingEngine tradingEngine =
+        new TradingEngine(
+            exchangeConfigService,
+            engineConfigService,
+            strategyConfigService,
+            marketConfigService,
+            emailAlerter,
+            tradingStrategiesBuilder,
+            configurableComponentFactory,
+            meterRegistry);
+
+    final Executor executor = Executors.newSingleThreadExecutor();
+    executor.execute(tradingEngine::start);
+
+    await().until(engineStateChanged(tradingEngine, EngineState.SHUTDOWN));
+    assertFalse(tradingEngine.isRunning());
+
+    EasyMock.verify(additionalBalanceInfo);
+    EasyMock.verify(configurableComponentFactory);
+    EasyMock.verify(additionalExchangeAdapter);
+    EasyMock.verify(additionalTradingStrategy);
+    EasyMock.verify(emailAlerter);
+    EasyMock.verify(exchangeConfigService);
+    EasyMock.verify(engineConfigService);
+    EasyMock.verify(strategyConfigService);
+    EasyMock.verify(marketConfigService);
+  }
+
+  /*
+   * Tests a Market added to the config whilst the engine is running is traded from the next trade
+   * cycle, without restarting the engine. The strategy on the unchanged Market keeps running: it
+   * is not rebuilt.
+   */
+  @Test
+  void testEngineAppliesMarketConfigChangesWithoutRestarting() throws Exception {
+    setupExchangeAdapterConfigExpectations();
+    setupEngineConfigForNoEmergencyStopCheckExpectations();
+
+    final TradingStrategy addedTradingStrategy = EasyMock.createMock(TradingStrategy.class);
+    final List<MarketConfig> changedMarkets = allTheMarketsConfig();
+    changedMarkets.add(
+        new MarketConfig("eth_usd", "ETH/USD", "ETH", "USD", MARKET_IS_ENABLED, STRATEGY_ID));
+    expect(strategyConfigService.getAllStrategyConfig())
+        .andReturn(allTheStrategiesConfig())
+        .atLeastOnce();
+    expect(marketConfigService.getAllMarketConfig())
+        .andReturn(allTheMarketsConfig())
+        .times(2) // at startup and first trade cycle
+        .andReturn(changedMarkets)
+        .atLeastOnce();
+    expect(configurableComponentFactory.createComponent(STRATEGY_IMPL_CLASS))
+        .andReturn(tradingStrategy)
+        .andReturn(addedTradingStrategy);
+    for (final TradingStrategy strategy : List.of(tradingStrategy, addedTradingStrategy)) {
+      strategy.init(
+          isA(CycleCachingExchangeAdapter.class),
+          isA(AsyncTradingApiBridge.class),
+          anyObject(Market.class),
+          anyObject(com.gazbert.bxbot.strategy.api.StrategyConfig.class));
+    }
+
+    tradingStrategy.execute();
+    expectLastCall().atLeastOnce();
+    final CountDownLatch addedStrategyExecuted = new CountDownLatch(1);
+    addedTradingStrategy.execute();
+    expectLastCall()
+        .andAnswer(
+            () -> {
+              addedStrategyExecuted.countDown();
+              return null;
+            })
+        .atLeastOnce();
+
+    EasyMock.replay(configurableComponentFactory);
+    EasyMock.replay(exchangeAdapter);
+    EasyMock.replay(tradingStrategy);
+    EasyMock.replay(addedTradingStrategy);
+    EasyMock.replay(emailAlerter);
+    EasyMock.replay(exchangeConfigService);
+    EasyMock.replay(engineConfigService);
+    EasyMock.replay(strategyConfigService);
+    EasyMock.replay(marketConfigService);
+
+    final TradingEngine tradingEngine =
+        new TradingEngine(
+            exchangeConfigService,
+            engineConfigService,
+            strategyConfigService,
+            marketConfigService,
+            emailAlerter,
+            tradingStrategiesBuilder,
+            configurableComponentFactory,
+            meterRegistry);
+
+    final Executor executor = Executors.newSingleThreadExecutor();
+    executor.execute(tradingEngine::start);
+
+    await().until(engineStateChanged(tradingEngine, EngineState.RUNNING));
+    assertTrue(addedStrategyExecuted.await(10, TimeUnit.SECONDS));
+
+    tradingEngine.shutdown();
+
+    await().until(engineStateChanged(tradingEngine, EngineState.SHUTDOWN));
+    assertFalse(tradingEngine.isRunning());
+
+    EasyMock.verify(configurableComponentFactory);
+    EasyMock.verify(exchangeAdapter);
+    EasyMock.verify(tradingStrategy);
+    EasyMock.verify(addedTradingStrategy);
+    EasyMock.verify(emailAlerter);
+    EasyMock.verify(exchangeConfigService);
+    EasyMock.verify(engineConfigService);
+    EasyMock.verify(strategyConfigService);
+    EasyMock.verify(marketConfigService);
+  }
+
+  /*
+   * Tests invalid Market config saved whilst the engine is running does not stop the bot: the
+   * engine keeps trading with its current strategies.
+   */
+  @Test
+  void testEngineKeepsTradingWhenChangedMarketConfigIsInvalid() throws Exception {
+    final List<MarketConfig> invalidMarkets = allTheMarketsConfig();
+    invalidMarkets.getFirst().setTradingStrategyId("unknown-strategy");
+    assertEngineKeepsTradingWhenMarketConfigChangesTo(invalidMarkets);
+  }
+
+  @Test
+  void testEngineKeepsTradingWhenChangedMarketTradeCycleIntervalIsInvalid() throws Exception {
+    final List<MarketConfig> invalidMarkets = allTheMarketsConfig();
+    invalidMarkets.getFirst().setTradeCycleInterval(0);
+    assertEngineKeepsTradingWhenMarketConfigChangesTo(invalidMarkets);
+  }
+
+  private void assertEngineKeepsTradingWhenMarketConfigChangesTo(List<MarketConfig> invalidMarkets)
+      throws Exception {
+    setupExchangeAdapterConfigExpectations();
+    setupEngineConfigForNoEmergencyStopCheckExpectations();
+
+    expect(strategyConfigService.getAllStrategyConfig())
+        .andReturn(allTheStrategiesConfig())
+        .atLeastOnce();
+    expect(marketConfigService.getAllMarketConfig())
+        .andReturn(allTheMarketsConfig())
+        .andReturn(invalidMarkets)
+        .atLeastOnce();
+    expect(configurableComponentFactory.createComponent(STRATEGY_IMPL_CLASS))
+        .andReturn(tradingStrategy);
+    tradingStrategy.init(
+        isA(CycleCachingExchangeAdapter.class),
+        isA(AsyncTradingApiBridge.class),
+        anyObject(Market.class),
+        anyObject(com.gazbert.bxbot.strategy.api.StrategyConfig.class));
+
+    final CountDownLatch tradeCycles = new CountDownLatch(2);
+    tradingStrategy.execute();
+    expectLastCall()
+        .andAnswer(
+            () -> {
+              tradeCycles.countDown();
+              return null;
+            })
+        .atLeastOnce();
+
+    EasyMock.replay(configurableComponentFactory);
+    EasyMock.replay(exchangeAdapter);
+    EasyMock.replay(tradingStrategy);
+    EasyMock.replay(emailAlerter);
+    EasyMock.replay(exchangeConfigService);
+    EasyMock.replay(engineConfigService);
+    EasyMock.replay(strategyConfigService);
+    EasyMock.replay(marketConfigService);
+
+    final TradingEngine tradingEngine =
+        new TradingEngine(
+            exchangeConfigService,
+            engineConfigService,
+            strategyConfigService,
+            marketConfigService,
+            emailAlerter,
+            tradingStrategiesBuilder,
+            configurableComponentFactory,
+            meterRegistry);
+
+    final Executor executor = Executors.newSingleThreadExecutor();
+    executor.execute(tradingEngine::start);
+
+    await().until(engineStateChanged(tradingEngine, EngineState.RUNNING));
+    assertTrue(tradeCycles.await(10, TimeUnit.SECONDS));
+    assertTrue(tradingEngine.isRunning());
+
+    tradingEngine.shutdown();
+
+    await().until(engineStateChanged(tradingEngine, EngineState.SHUTDOWN));
+    assertFalse(tradingEngine.isRunning());
+
+    EasyMock.verify(configurableComponentFactory);
+    EasyMock.verify(exchangeAdapter);
+    EasyMock.verify(tradingStrategy);
+    EasyMock.verify(emailAlerter);
+    EasyMock.verify(exchangeConfigService);
+    EasyMock.verify(engineConfigService);
+    EasyMock.verify(strategyConfigService);
+    EasyMock.verify(marketConfigService);
+  }
+
+  @Test
+  void testEngineDoesNotStartWhenMarketIsBoundToUnknownExchange() {
+    setupExchangeAdapterConfigExpectations();
+    setupEngineConfigExpectations();
+    final List<MarketConfig> markets = allTheMarketsConfig();
+    markets.getFirst().setExchange("Unknown Exchange");
+    expect(strategyConfigService.getAllStrategyConfig()).andReturn(allTheStrategiesConfig());
+    expect(marketConfigService.getAllMarketConfig()).andReturn(markets);
+
+    EasyMock.replay(configurableComponentFactory);
+    EasyMock.replay(exchangeAdapter);
+    EasyMock.replay(exchangeConfigService);
+    EasyMock.replay(engineConfigService);
+    EasyMock.replay(strategyConfigService);
+    EasyMock.replay(marketConfigService);
+
+    final TradingEngine tradingEngine =
+        new TradingEngine(
+            exchangeConfigService,
+            engineConfigService,
+            strategyConfigService,
+            marketConfigService,
+            emailAlerter,
+            tradingStrategiesBuilder,
+            configurableComponentFactory,
+            meterRegistry);
+
+    assertThrows(IllegalArgumentException.class, tradingEngine::start);
+
+    EasyMock.verify(configurableComponentFactory);
+    EasyMock.verify(exchangeConfigService);
+    EasyMock.verify(marketConfigService);
+  }
+
+  @Test
+  void testEngineDoesNotStartWhenExchangeNamesAreNotUnique() {
+    final com.gazbert.bxbot.domain.exchange.ExchangeConfig additionalExchangeConfig =
+        someExchangeConfig();
+    expect(exchangeConfigService.getAllExchangeConfig())
+        .andReturn(List.of(someExchangeConfig(), additionalExchangeConfig));
+    expect(configurableComponentFactory.createComponent(EXCHANGE_ADAPTER_IMPL_CLASS))
+        .andReturn(exchangeAdapter);
+    expect(exchangeAdapter.getImplName()).andReturn(EXCHANGE_NAME).anyTimes();
+    exchangeAdapter.init(anyObject(ExchangeConfig.class));
+
+    EasyMock.replay(configurableComponentFactory);
+    EasyMock.replay(exchangeAdapter);
+    EasyMock.replay(exchangeConfigService);
+
+    final TradingEngine tradingEngine =
+        new TradingEngine(
+            exchangeConfigService,
+            engineConfigService,
+            strategyConfigService,
+            marketConfigService,
+            emailAlerter,
+            tradingStrategiesBuilder,
+            configurableComponentFactory,
+            meterRegistry);
+
+    assertThrows(IllegalArgumentException.class, tradingEngine::start);
+
+    EasyMock.verify(configurableComponentFactory);
+    EasyMock.verify(exchangeConfigService);
+  }
+
+  @Test
+  void testEngineDoesNotStartWhenAdditionalExchangeHasNoName() {
+    final com.gazbert.bxbot.domain.exchange.ExchangeConfig additionalExchangeConfig =
+        someExchangeConfig();
+    additionalExchangeConfig.setName(" ");
+    expect(exchangeConfigService.getAllExchangeConfig())
+        .andReturn(List.of(someExchangeConfig(), additionalExchangeConfig));
+    expect(configurableComponentFactory.createComponent(EXCHANGE_ADAPTER_IMPL_CLASS))
+        .andReturn(exchangeAdapter);
+    expect(exchangeAdapter.getImplName()).andReturn(EXCHANGE_NAME).anyTimes();
+    exchangeAdapter.init(anyObject(ExchangeConfig.class));
+
+    EasyMock.replay(configurableComponentFactory);
+    EasyMock.replay(exchangeAdapter);
+    EasyMock.replay(exchangeConfigService);
+
+    final TradingEngine tradingEngine =
+        new TradingEngine(
+            exchangeConfigService,
+            engineConfigService,
+            strategyConfigService,
+            marketConfigService,
+            emailAlerter,
+            tradingStrategiesBuilder,
+            configurableComponentFactory,
+            meterRegistry);
+
+    assertThrows(IllegalArgumentException.class, tradingEngine::start);
+
+    EasyMock.verify(configurableComponentFactory);
+    EasyMock.verify(exchangeConfigService);
+  }
+
+  // --------------------------------------------------------------------------
+  //  private utils
+  // --------------------------------------------------------------------------
+
+  private void setupExchangeAdapterConfigExpectations() {
+    expect(exchangeConfigService.getAllExchangeConfig()).andReturn(List.of(someExchangeConfig()));
+    expect(configurableComponentFactory.createComponent(EXCHANGE_ADAPTER_IMPL_CLASS))
+        .andReturn(exchangeAdapter);
+    expect(exchangeAdapter.getImplName()).andReturn(EXCHANGE_NAME).anyTimes();
+    exchangeAdapter.init(anyObject(ExchangeConfig.class));
+  }
+
+  private void setupExchangeAdapterConfigWithNoNetworkConfigExpectations() {
+    final com.gazbert.bxbot.domain.exchange.ExchangeConfig exchangeConfig =
+        someExchangeConfigWithoutNetworkConfig();
+    expect(exchangeConfigService.getAllExchangeConfig()).andReturn(List.of(exchangeConfig));
+    expect(configurableComponentFactory.createComponent(EXCHANGE_ADAPTER_IMPL_CLASS))
+        .andReturn(exchangeAdapter);
+    expect(exchangeAdapter.getImplName()).andReturn(EXCHANGE_NAME).anyTimes();
+    exchangeAdapter.init(anyObject(ExchangeConfig.class));
+  }
+
+  private void setupEngineConfigExpectations() {
+    expect(engineConfigService.getEngineConfig()).andReturn(someEngineConfig());
+  }
+
+  private void setupEngineConfigForNoEmergencyStopCheckExpectations() {
+    expect(engineConfigService.getEngineConfig())
+        .andReturn(someEngineConfigForNoEmergencyStopCheck());
+  }
+
+  private void setupStrategyAndMarketConfigExpectations() {
+    // read at startup, then each trade cycle to check for config changes
+    expect(strategyConfigService.getAllStrategyConfig())
+        .andReturn(allTheStrategiesConfig())
+        .atLeastOnce();
+    expect(marketConfigService.getAllMarketConfig()).andReturn(allTheMarketsConfig()).atLeastOnce();
+    expect(configurableComponentFactory.createComponent(STRATEGY_IMPL_CLASS))
+        .andReturn(tradingStrategy);
+    // strategies share the cycle cached responses
+    tradingStrategy.init(
+        isA(CycleCachingExchangeAdapter.class),
+        isA(AsyncTradingApiBridge.class),
+        anyObject(Market.class),
+        anyObject(com.gazbert.bxbot.strategy.api.StrategyConfig.class));
+  }
+
+  private void setupConfigLoadingExpectations() {
+    setupExchangeAdapterConfigExpectations();
+    setupEngineConfigExpectations();
+    setupStrategyAndMarketConfigExpectations();
+  }
+
+  private void setupConfigLoadingExpectationsForConcurrentStrategyExecution() {
+    setupExchangeAdapterConfigExpectations();
+    expect(engineConfigService.getEngineConfig())
+        .andReturn(someEngineConfigForConcurrentStrategyExecution());
+    setupStrategyAndMarketConfigExpectations();
+  }
+
+  private void setupConfigLoadingExpectationsForNoEmergencyStopCheck() {
+    setupExchangeAdapterConfigExpectations();
+    setupEngineConfigForNoEmergencyStopCheckExpectations();
+    setupStrategyAndMarketConfigExpectations();
+  }
+
+  private void setupMultipleExchangeConfigLoadingExpectations(
+      ExchangeAdapter additionalExchangeAdapter,
+      TradingStrategy additionalTradingStrategy,
+      String additionalExchangeName) {
+    final com.gazbert.bxbot.domain.exchange.ExchangeConfig additionalExchangeConfig =
+        someExchangeConfig();
+    additionalExchangeConfig.setName(additionalExchangeName);
+    additionalExchangeConfig.setAdapter(ADDITIONAL_EXCHANGE_ADAPTER_IMPL_CLASS);
+    setupMultipleExchangeConfigLoadingExpectations(
+        additionalExchangeAdapter, additionalTradingStrategy, additionalExchangeConfig);
+  }
+
+  private void setupMultipleExchangeConfigLoadingExpectations(
+      ExchangeAdapter additionalExchangeAdapter,
+      TradingStrategy additionalTradingStrategy,
+      com.gazbert.bxbot.domain.exchange.ExchangeConfig additionalExchangeConfig) {
+    final String additionalExchangeName = additionalExchangeConfig.getName();
+    expect(additionalExchangeAdapter.isThreadSafe()).andStubReturn(false);
+    additionalExchangeAdapter.shutdown();
+    expectLastCall().asStub();
+    expect(exchangeConfigService.getAllExchangeConfig())
+        .andReturn(List.of(someExchangeConfig(), additionalExchangeConfig));
+    expect(configurableComponentFactory.createComponent(EXCHANGE_ADAPTER_IMPL_CLASS))
+        .andReturn(exchangeAdapter);
+    expect(exchangeAdapter.getImplName()).andReturn(EXCHANGE_NAME).anyTimes();
+    exchangeAdapter.init(anyObject(ExchangeConfig.class));
+    expect(configurableComponentFactory.createComponent(ADDITIONAL_EXCHANGE_ADAPTER_IMPL_CLASS))
+        .andReturn(additionalExchangeAdapter);
+    expect(additionalExchangeAdapter.getImplName()).andReturn(additionalExchangeName).anyTimes();
+    additionalExchangeAdapter.init(anyObject(ExchangeConfig.class));
+
+    setupEngineConfigExpectations();
+
+    // 1 market on each exchange, both traded by the same strategy
+    final List<MarketConfig> markets = allTheMarketsConfig();
+    final MarketConfig additionalExchangeMarket = new MarketConfig(markets.getFirst());
+    additionalExchangeMarket.setExchange(additionalExchangeName);
+    markets.add(additionalExchangeMarket);
+    expect(strategyConfigService.getAllStrategyConfig())
+        .andReturn(allTheStrategiesConfig())
+        .atLeastOnce();
+    expect(marketConfigService.getAllMarketConfig()).andReturn(markets).atLeastOnce();
+    expect(configurableComponentFactory.createComponent(STRATEGY_IMPL_CLASS))
+        .andReturn(tradingStrategy)
+        .andReturn(additionalTradingStrategy);
+    for (final TradingStrategy strategy : List.of(tradingStrategy, additionalTradingStrategy)) {
+      strategy.init(
+          isA(CycleCachingExchangeAdapter.class),
+          isA(AsyncTradingApiBridge.class),
+          anyObject(Market.class),
+          anyObject(com.gazbert.bxbot.strategy.api.StrategyConfig.class));
+    }
+  }
+
+  private static com.gazbert.bxbot.domain.exchange.ExchangeConfig someExchangeConfig() {
+    final Map<String, String> authenticationConfig = someAuthenticationConfig();
+    final NetworkConfig networkConfig = someNetworkConfig();
+    final Map<String, String> otherConfig = someOtherConfig();
+
+    final com.gazbert.bxbot.domain.exchange.ExchangeConfig exchangeConfig =
+        new com.gazbert.bxbot.domain.exchange.ExchangeConfig();
+    exchangeConfig.setAuthenticationConfig(authenticationConfig);
+    exchangeConfig.setName(EXCHANGE_NAME);
+    exchangeConfig.setAdapter(EXCHANGE_ADAPTER_IMPL_CLASS);
+    exchangeConfig.setNetworkConfig(networkConfig);
+    exchangeConfig.setOtherConfig(otherConfig);
+
+    return exchangeConfig;
+  }
+
+  private static com.gazbert.bxbot.domain.exchange.ExchangeConfig
+      someExchangeConfigWithoutNetworkConfig() {
+    final Map<String, String> authenticationConfig = someAuthenticationConfig();
+    final Map<String, String> otherConfig = someOtherConfig();
+    final com.gazbert.bxbot.domain.exchange.ExchangeConfig exchangeConfig =
+        new com.gazbert.bxbot.domain.exchange.ExchangeConfig();
+    exchangeConfig.setAuthenticationConfig(authenticationConfig);
+    exchangeConfig.setName(EXCHANGE_NAME);
+    exchangeConfig.setAdapter(EXCHANGE_ADAPTER_IMPL_CLASS);
+    exchangeConfig.setOtherConfig(otherConfig);
+    return exchangeConfig;
+  }
+
+  private static NetworkConfig someNetworkConfig() {
+    final NetworkConfig networkConfig = new NetworkConfig();
+    networkConfig.setConnectionTimeout(EXCHANGE_ADAPTER_NETWORK_TIMEOUT);
+    networkConfig.setNonFatalErrorCodes(EXCHANGE_ADAPTER_NONFATAL_ERROR_CODES);
+    networkConfig.setNonFatalErrorMessages(EXCHANGE_ADAPTER_NONFATAL_ERROR_MESSAGES);
+    return networkConfig;
+  }
+
+  private static Map<String, String> someAuthenticationConfig() {
+    final Map<String, String> authenticationConfig = new HashMap<>();
+    authenticationConfig.put(
         EXCHANGE_ADAPTER_AUTHENTICATION_CONFIG_ITEM_NAME,
         EXCHANGE_ADAPTER_AUTHENTICATION_CONFIG_ITEM_VALUE);
     return authenticationConfig;
@@ -1018,6 +1988,12 @@ class TestTradingEngine {
     return engineConfig;
   }
 
+  private static EngineConfig someEngineConfigForConcurrentStrategyExecution() {
+    final EngineConfig engineConfig = someEngineConfig();
+    engineConfig.setConcurrentStrategyExecution(true);
+    return engineConfig;
+  }
+
   private static List<StrategyConfig> allTheStrategiesConfig() {
     final Map<String, String> configItems = new HashMap<>();
     configItems.put(STRATEGY_CONFIG_ITEM_NAME, STRATEGY_CONFIG_ITEM_VALUE);
@@ -1067,4 +2043,12 @@ class TestTradingEngine {
       return stateChanged;
     };
   }
+
+  private long timerCount(String timerName, String exception) {
+    return meterRegistry
+        .get(timerName)
+        .tag(TradingEngineMetrics.EXCEPTION_TAG, exception)
+        .timer()
+        .count();
+  }
 }
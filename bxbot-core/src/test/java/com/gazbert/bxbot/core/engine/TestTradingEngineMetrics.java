@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.engine;
+
+import static org.easymock.EasyMock.expectLastCall;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.gazbert.bxbot.strategy.api.StrategyException;
+import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Trading Engine Metrics are recorded as expected.
+ *
+ * @author gazbert
+ */
+class TestTradingEngineMetrics {
+
+  private MeterRegistry meterRegistry;
+  private TradingEngineMetrics tradingEngineMetrics;
+
+  @BeforeEach
+  void setupForEachTest() {
+    meterRegistry = new SimpleMeterRegistry();
+    tradingEngineMetrics = new TradingEngineMetrics(meterRegistry);
+  }
+
+  @Test
+  void testTradeCycleIsRecordedWithExceptionTag() {
+    tradingEngineMetrics.recordTradeCycle(tradingEngineMetrics.startTimer(), null);
+    tradingEngineMetrics.recordTradeCycle(
+        tradingEngineMetrics.startTimer(), new ExchangeNetworkException("Connection reset"));
+
+    assertEquals(1, timer(TradingEngineMetrics.TRADE_CYCLE_TIMER, "none").count());
+    assertEquals(
+        1, timer(TradingEngineMetrics.TRADE_CYCLE_TIMER, "ExchangeNetworkException").count());
+  }
+
+  @Test
+  void testEmergencyStopCheckIsRecordedWithExceptionTag() {
+    tradingEngineMetrics.recordEmergencyStopCheck(tradingEngineMetrics.startTimer(), null);
+
+    assertEquals(1, timer(TradingEngineMetrics.EMERGENCY_STOP_CHECK_TIMER, "none").count());
+  }
+
+  @Test
+  void testStrategyExecutionIsRecordedWithStrategyTag() throws Exception {
+    final TradingStrategy tradingStrategy = EasyMock.createMock(TradingStrategy.class);
+    tradingStrategy.execute();
+    EasyMock.replay(tradingStrategy);
+
+    tradingEngineMetrics.executeStrategy(tradingStrategy);
+
+    assertEquals(
+        1,
+        meterRegistry
+            .get(TradingEngineMetrics.STRATEGY_EXECUTION_TIMER)
+            .tag(TradingEngineMetrics.STRATEGY_TAG, tradingStrategy.getClass().getSimpleName())
+            .tag(TradingEngineMetrics.EXCEPTION_TAG, "none")
+            .timer()
+            .count());
+    EasyMock.verify(tradingStrategy);
+  }
+
+  @Test
+  void testStrategyExecutionIsRecordedWhenStrategyThrowsException() throws Exception {
+    final TradingStrategy tradingStrategy = EasyMock.createMock(TradingStrategy.class);
+    tradingStrategy.execute();
+    expectLastCall().andThrow(new StrategyException("Eeek! My strat just broke."));
+    EasyMock.replay(tradingStrategy);
+
+    assertThrows(
+        StrategyException.class, () -> tradingEngineMetrics.executeStrategy(tradingStrategy));
+
+    assertEquals(
+        1, timer(TradingEngineMetrics.STRATEGY_EXECUTION_TIMER, "StrategyException").count());
+    EasyMock.verify(tradingStrategy);
+  }
+
+  private Timer timer(String timerName, String exception) {
+    return meterRegistry
+        .get(timerName)
+        .tag(TradingEngineMetrics.EXCEPTION_TAG, exception)
+        .timer();
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.core.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.easymock.EasyMock.expect;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gazbert.bxbot.core.config.strategy.MarketTradingStrategy;
+import com.gazbert.bxbot.core.config.strategy.TradingStrategiesBuilder;
+import com.gazbert.bxbot.core.config.strategy.TradingStrategyFactory;
+import com.gazbert.bxbot.core.util.ConfigurableComponentFactory;
+import com.gazbert.bxbot.domain.market.MarketConfig;
+import com.gazbert.bxbot.domain.strategy.StrategyConfig;
+import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
+import com.gazbert.bxbot.strategy.api.TradingStrategy;
+import com.gazbert.bxbot.trading.api.Market;
+import com.gazbert.bxbot.trading.api.TradingApi;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Trading Strategies Reloader behaves as expected.
+ *
+ * @author gazbert
+ */
+class TestTradingStrategiesReloader {
+
+  private static final String STRATEGY_IMPL_CLASS = "com.my.strats.MyMacdStrategy";
+  private static final String SCALPER = "scalper";
+  private static final String MACD = "macd";
+  private static final String BTC_USD = "btc_usd";
+  private static final String ETH_USD = "eth_usd";
+  private static final String XMR_GBP = "xmr_gbp";
+  private static final String OTHER_EXCHANGE = "Kraken";
+
+  private TradingStrategiesBuilder tradingStrategiesBuilder;
+  private ExchangeAdapter exchangeAdapter;
+
+  @BeforeEach
+  void setupForEachTest() {
+    final ConfigurableComponentFactory configurableComponentFactory =
+        EasyMock.createMock(ConfigurableComponentFactory.class);
+    expect(configurableComponentFactory.<TradingStrategy>createComponent(STRATEGY_IMPL_CLASS))
+        .andAnswer(StubTradingStrategy::new)
+        .anyTimes();
+    EasyMock.replay(configurableComponentFactory);
+
+    tradingStrategiesBuilder = new TradingStrategiesBuilder();
+    tradingStrategiesBuilder.setTradingStrategyFactory(
+        new TradingStrategyFactory(configurableComponentFactory));
+    exchangeAdapter = EasyMock.createMock(ExchangeAdapter.class);
+    EasyMock.expect(exchangeAdapter.isThreadSafe()).andStubReturn(false);
+    EasyMock.replay(exchangeAdapter);
+  }
+
+  @Test
+  void testInitialStrategiesAreBuiltForTheMarketsOnTheExchange() {
+    final List<MarketConfig> markets = someMarkets();
+    markets.get(1).setExchange(OTHER_EXCHANGE);
+
+    final TradingStrategiesReloader reloader = createReloader(someStrategies(), markets);
+
+    assertThat(marketIdsOf(reloader.getMarketTradingStrategies())).containsExactly(BTC_USD);
+  }
+
+  @Test
+  void testConfigIsUnchangedWhenItIsTheSameFieldByField() {
+    final TradingStrategiesReloader reloader = createReloader(someStrategies(), someMarkets());
+
+    assertFalse(reloader.hasChanged(someStrategies(), someMarkets()));
+
+    final List<StrategyConfig> strategies = someStrategies();
+    strategies.getFirst().getConfigItems().put("sell-amount", "0.3");
+    assertTrue(reloader.hasChanged(strategies, someMarkets()));
+    assertFalse(reloader.hasChanged(strategies, someMarkets()));
+
+    final List<MarketConfig> markets = someMarkets();
+    markets.getFirst().setTradeCycleInterval(5);
+    assertTrue(reloader.hasChanged(strategies, markets));
+  }
+
+  @Test
+  void testOnlyTheStrategiesOfChangedMarketsAreRebuilt() {
+    final TradingStrategiesReloader reloader = createReloader(someStrategies(), someMarkets());
+    final List<MarketTradingStrategy> initialStrategies = reloader.getMarketTradingStrategies();
+
+    final List<MarketConfig> markets = someMarkets();
+    markets.getFirst().setTradeCycleInterval(5);
+    markets.add(new MarketConfig(XMR_GBP, "XMR/GBP", "XMR", "GBP", true, SCALPER));
+    final TradingStrategiesReloader.Reload reload = reloader.reload(someStrategies(), markets);
+
+    assertThat(marketIdsOf(reload.marketTradingStrategies()))
+        .containsExactly(BTC_USD, ETH_USD, XMR_GBP);
+    assertThat(marketIdsOf(reload.startedStrategies())).containsExactly(BTC_USD, XMR_GBP);
+    assertThat(reload.retiredStrategies()).containsExactly(initialStrategies.get(0));
+    assertSame(initialStrategies.get(1), reload.marketTradingStrategies().get(1));
+    assertEquals(
+        5, reload.marketTradingStrategies().getFirst().getMarketConfig().getTradeCycleInterval());
+    assertSame(reload.marketTradingStrategies(), reloader.getMarketTradingStrategies());
+  }
+
+  @Test
+  void testMarketsAreRebuiltWhenTheirStrategyConfigChanges() {
+    final TradingStrategiesReloader reloader = createReloader(someStrategies(), someMarkets());
+    final List<MarketTradingStrategy> initialStrategies = reloader.getMarketTradingStrategies();
+
+    final List<StrategyConfig> strategies = someStrategies();
+    strategies.get(1).getConfigItems().put("shortEmaLength", "12");
+    final TradingStrategiesReloader.Reload reload = reloader.reload(strategies, someMarkets());
+
+    assertThat(marketIdsOf(reload.startedStrategies())).containsExactly(ETH_USD);
+    assertThat(reload.retiredStrategies()).containsExactly(initialStrategies.get(1));
+    assertSame(initialStrategies.getFirst(), reload.marketTradingStrategies().getFirst());
+  }
+
+  @Test
+  void testDisabledAndDeletedMarketsAreRetired() {
+    final TradingStrategiesReloader reloader = createReloader(someStrategies(), someMarkets());
+    final List<MarketTradingStrategy> initialStrategies = reloader.getMarketTradingStrategies();
+
+    final List<MarketConfig> markets = someMarkets();
+    markets.getFirst().setEnabled(false);
+    markets.remove(1);
+    final TradingStrategiesReloader.Reload reload = reloader.reload(someStrategies(), markets);
+
+    assertTrue(reload.marketTradingStrategies().isEmpty());
+    assertTrue(reload.startedStrategies().isEmpty());
+    assertThat(reload.retiredStrategies()).containsExactlyElementsOf(initialStrategies);
+  }
+
+  @Test
+  void testRunningStrategiesAreKeptWhenConfigIsInvalid() {
+    final TradingStrategiesReloader reloader = createReloader(someStrategies(), someMarkets());
+    final List<MarketTradingStrategy> initialStrategies = reloader.getMarketTradingStrategies();
+
+    final List<MarketConfig> unknownStrategy = someMarkets();
+    unknownStrategy.getFirst().setTradingStrategyId("unknown");
+    assertThrows(
+        IllegalArgumentException.class, () -> reloader.reload(someStrategies(), unknownStrategy));
+
+    final List<MarketConfig> duplicateMarket = someMarkets();
+    duplicateMarket.add(new MarketConfig(duplicateMarket.getFirst()));
+    assertThrows(
+        IllegalArgumentException.class, () -> reloader.reload(someStrategies(), duplicateMarket));
+
+    assertSame(initialStrategies, reloader.getMarketTradingStrategies());
+  }
+
+  private TradingStrategiesReloader createReloader(
+      List<StrategyConfig> strategies, List<MarketConfig> markets) {
+    return new TradingStrategiesReloader(
+        tradingStrategiesBuilder,
+        exchangeAdapter,
+        market -> market.getExchange() == null,
+        strategies,
+        markets);
+  }
+
+  private static List<String> marketIdsOf(List<MarketTradingStrategy> marketTradingStrategies) {
+    return marketTradingStrategies.stream().map(s -> s.getMarketConfig().getId()).toList();
+  }
+
+  private static List<StrategyConfig> someStrategies() {
+    final List<StrategyConfig> strategies = new ArrayList<>();
+    for (final String strategyId : List.of(SCALPER, MACD)) {
+      final Map<String, String> configItems = new HashMap<>();
+      configItems.put("sell-amount", "0.2");
+      strategies.add(
+          new StrategyConfig(strategyId, strategyId, null, STRATEGY_IMPL_CLASS, null, configItems));
+    }
+    return strategies;
+  }
+
+  private static List<MarketConfig> someMarkets() {
+    final List<MarketConfig> markets = new ArrayList<>();
+    markets.add(new MarketConfig(BTC_USD, "BTC/USD", "BTC", "USD", true, SCALPER));
+    markets.add(new MarketConfig(ETH_USD, "ETH/USD", "ETH", "USD", true, MACD));
+    return markets;
+  }
+
+  /** A new instance is created each time a strategy is built. */
+  private static class StubTradingStrategy implements TradingStrategy {
+
+    @Override
+    public void init(
+        TradingApi tradingApi,
+        Market market,
+        com.gazbert.bxbot.strategy.api.StrategyConfig config) {
+      // noimpl
+    }
+
+    @Override
+    public void execute() {
+      // noimpl
+    }
+  }
+}
@@ -82,6 +82,31 @@ public class EngineConfig {
   @EqualsAndHashCode.Exclude
   private int tradeCycleInterval;
 
+  @Schema(
+      description =
+          "Optional flag to make the Trading Engine execute the Trading Strategies for all markets"
+              + " concurrently during each trade cycle, instead of one after another. Only enable"
+              + " this if your Exchange Adapter is thread safe. Defaults to false.")
+  @EqualsAndHashCode.Exclude
+  private boolean concurrentStrategyExecution;
+
+  @Schema(
+      description =
+          "Optional max time (secs) the Trading Engine will wait for each Trading Strategy to"
+              + " complete when concurrentStrategyExecution is enabled. If not set, the"
+              + " tradeCycleInterval is used.")
+  @Min(value = 0, message = "Strategy Execution Timeout must be 0 or more")
+  @EqualsAndHashCode.Exclude
+  private int strategyExecutionTimeout;
+
+  @Schema(
+      description =
+          "Optional directory to record the market data fetched from the exchange to, for"
+              + " replaying in backtests. A file is written per day. If not set, the market data"
+              + " is not recorded.")
+  @EqualsAndHashCode.Exclude
+  private String marketDataRecordingDirectory;
+
   /** Creates an EngineConfig. Required by ConfigurableComponentFactory */
   public EngineConfig() {
     // noimpl
@@ -24,6 +24,8 @@
 package com.gazbert.bxbot.domain.exchange;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import java.math.BigDecimal;
 import java.util.Map;
 import lombok.Data;
 import lombok.ToString;
@@ -72,6 +74,22 @@ public class ExchangeConfig {
               + "any additional config, e.g. buy/sell fees.")
   private Map<String, String> otherConfig;
 
+  @Schema(
+      description =
+          "Optional. The currency of the wallet the Trading Engine checks the Emergency Stop "
+              + "balance of on this exchange, e.g. BTC, LTC, USD. If not set, the Engine "
+              + "emergencyStopCurrency is used.")
+  private String emergencyStopCurrency;
+
+  @Schema(
+      description =
+          "Optional. If the emergencyStopCurrency wallet balance on this exchange drops below this "
+              + "value, the Trading Engine will log it, send an Email Alert (if configured) and "
+              + "then shut down. If not set, the Engine emergencyStopBalance is used. If you set "
+              + "this value to 0, the bot will bypass the check for this exchange - be careful.")
+  @DecimalMin(message = "Emergency Stop Balance must be 0 or more", value = "0")
+  private BigDecimal emergencyStopBalance;
+
   /** Creates the Exchange config. */
   public ExchangeConfig() {
     // No extra init needed.
@@ -59,6 +59,28 @@ public class NetworkConfig {
               + "from temporary network issues.")
   private List<String> nonFatalErrorMessages;
 
+  @Schema(
+      description =
+          "Optional max number of concurrent connections the adapter can open to the exchange."
+              + " Idle connections are kept alive and reused. If not set, there is no limit.")
+  @Min(message = "Max connections must be 1 or more", value = 1)
+  private Integer maxConnections;
+
+  @Schema(
+      description =
+          "Optional max number of requests per minute the adapter can send to the exchange's"
+              + " public API endpoints. If not set, public requests are not rate limited.")
+  @Min(message = "Public requests per minute must be 1 or more", value = 1)
+  private Integer publicRequestsPerMinute;
+
+  @Schema(
+      description =
+          "Optional max number of requests per minute the adapter can send to the exchange's"
+              + " private (authenticated) API endpoints. If not set, private requests are not rate"
+              + " limited.")
+  @Min(message = "Private requests per minute must be 1 or more", value = 1)
+  private Integer privateRequestsPerMinute;
+
   /** Creates the network config. */
   public NetworkConfig() {
     nonFatalErrorCodes = new ArrayList<>();
@@ -24,6 +24,9 @@
 package com.gazbert.bxbot.domain.market;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -68,6 +71,31 @@ public class MarketConfig {
   @EqualsAndHashCode.Exclude
   private String tradingStrategyId;
 
+  @Schema(
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+      description =
+          "Optional IDs of more Strategies to run on the Market. They share the order book and"
+              + " ticker fetched for the Market each trade cycle.")
+  @EqualsAndHashCode.Exclude
+  private List<String> additionalTradingStrategyIds;
+
+  @Schema(
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+      description =
+          "Optional trade cycle interval (secs) for the Market. If not set, the Engine"
+              + " tradeCycleInterval is used.")
+  @Min(value = 1, message = "Trade Cycle Interval must be 1 or more")
+  @EqualsAndHashCode.Exclude
+  private Integer tradeCycleInterval;
+
+  @Schema(
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+      description =
+          "Optional name of the Exchange to trade the Market on. It must match the name of an"
+              + " Exchange in the Exchange config. If not set, the main Exchange is used.")
+  @EqualsAndHashCode.Exclude
+  private String exchange;
+
   /** Creates a MarketConfig. Required by ConfigurableComponentFactory */
   public MarketConfig() {
     // noimpl
@@ -85,6 +113,12 @@ public class MarketConfig {
     this.counterCurrency = other.counterCurrency;
     this.enabled = other.enabled;
     this.tradingStrategyId = other.tradingStrategyId;
+    this.additionalTradingStrategyIds =
+        other.additionalTradingStrategyIds == null
+            ? null
+            : new ArrayList<>(other.additionalTradingStrategyIds);
+    this.tradeCycleInterval = other.tradeCycleInterval;
+    this.exchange = other.exchange;
   }
 
   /**
@@ -24,8 +24,10 @@
 package com.gazbert.bxbot.domain.engine;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import org.junit.jupiter.api.Test;
@@ -42,6 +44,8 @@ class TestEngineConfig {
   private static final String EMERGENCY_STOP_CURRENCY = "BTC";
   private static final BigDecimal EMERGENCY_STOP_BALANCE = new BigDecimal("1.5");
   private static final int TRADE_CYCLE_INTERVAL = 30;
+  private static final int STRATEGY_EXECUTION_TIMEOUT = 20;
+  private static final String MARKET_DATA_RECORDING_DIRECTORY = "./recorded-market-data";
 
   @Test
   void testInitialisationWorksAsExpected() {
@@ -68,6 +72,9 @@ class TestEngineConfig {
     assertNull(engineConfig.getEmergencyStopCurrency());
     assertNull(engineConfig.getEmergencyStopBalance());
     assertEquals(0, engineConfig.getTradeCycleInterval());
+    assertFalse(engineConfig.isConcurrentStrategyExecution());
+    assertEquals(0, engineConfig.getStrategyExecutionTimeout());
+    assertNull(engineConfig.getMarketDataRecordingDirectory());
 
     engineConfig.setBotId(BOT_ID);
     assertEquals(BOT_ID, engineConfig.getBotId());
@@ -83,6 +90,16 @@ class TestEngineConfig {
 
     engineConfig.setTradeCycleInterval(TRADE_CYCLE_INTERVAL);
     assertEquals(TRADE_CYCLE_INTERVAL, engineConfig.getTradeCycleInterval());
+
+    engineConfig.setConcurrentStrategyExecution(true);
+    assertTrue(engineConfig.isConcurrentStrategyExecution());
+
+    engineConfig.setStrategyExecutionTimeout(STRATEGY_EXECUTION_TIMEOUT);
+    assertEquals(STRATEGY_EXECUTION_TIMEOUT, engineConfig.getStrategyExecutionTimeout());
+
+    engineConfig.setMarketDataRecordingDirectory(MARKET_DATA_RECORDING_DIRECTORY);
+    assertEquals(
+        MARKET_DATA_RECORDING_DIRECTORY, engineConfig.getMarketDataRecordingDirectory());
   }
 
   @Test
@@ -159,7 +176,9 @@ class TestEngineConfig {
 
     assertEquals(
         "EngineConfig(botId=avro-707_1, botName=Avro 707, emergencyStopCurrency=BTC, "
-            + "emergencyStopBalance=1.5, tradeCycleInterval=30)",
+            + "emergencyStopBalance=1.5, tradeCycleInterval=30, "
+            + "concurrentStrategyExecution=false, strategyExecutionTimeout=0, "
+            + "marketDataRecordingDirectory=null)",
         engineConfig.toString());
   }
 }
@@ -26,6 +26,7 @@ package com.gazbert.bxbot.domain.exchange;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
+import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
@@ -42,6 +43,8 @@ class TestExchangeConfig {
   private static final Map<String, String> AUTHENTICATION_CONFIG = new HashMap<>();
   private static final NetworkConfig NETWORK_CONFIG = new NetworkConfig();
   private static final Map<String, String> OTHER_CONFIG = new HashMap<>();
+  private static final String EMERGENCY_STOP_CURRENCY = "USD";
+  private static final BigDecimal EMERGENCY_STOP_BALANCE = new BigDecimal("100.5");
 
   @Test
   void testInitialisationWorksAsExpected() {
@@ -51,6 +54,8 @@ class TestExchangeConfig {
     assertNull(exchangeConfig.getAuthenticationConfig());
     assertNull(exchangeConfig.getNetworkConfig());
     assertNull(exchangeConfig.getOtherConfig());
+    assertNull(exchangeConfig.getEmergencyStopCurrency());
+    assertNull(exchangeConfig.getEmergencyStopBalance());
   }
 
   @Test
@@ -71,6 +76,12 @@ class TestExchangeConfig {
 
     exchangeConfig.setOtherConfig(OTHER_CONFIG);
     assertEquals(OTHER_CONFIG, exchangeConfig.getOtherConfig());
+
+    exchangeConfig.setEmergencyStopCurrency(EMERGENCY_STOP_CURRENCY);
+    assertEquals(EMERGENCY_STOP_CURRENCY, exchangeConfig.getEmergencyStopCurrency());
+
+    exchangeConfig.setEmergencyStopBalance(EMERGENCY_STOP_BALANCE);
+    assertEquals(EMERGENCY_STOP_BALANCE, exchangeConfig.getEmergencyStopBalance());
   }
 
   @Test
@@ -81,12 +92,16 @@ class TestExchangeConfig {
     exchangeConfig.setAuthenticationConfig(AUTHENTICATION_CONFIG);
     exchangeConfig.setNetworkConfig(NETWORK_CONFIG);
     exchangeConfig.setOtherConfig(OTHER_CONFIG);
+    exchangeConfig.setEmergencyStopCurrency(EMERGENCY_STOP_CURRENCY);
+    exchangeConfig.setEmergencyStopBalance(EMERGENCY_STOP_BALANCE);
 
     assertEquals(
         "ExchangeConfig(name=Bitstamp, "
             + "adapter=com.gazbert.bxbot.exchanges.TestExchangeAdapter, "
             + "networkConfig=NetworkConfig(connectionTimeout=null, nonFatalErrorCodes=[], "
-            + "nonFatalErrorMessages=[]), otherConfig={})",
+            + "nonFatalErrorMessages=[], maxConnections=null, publicRequestsPerMinute=null, "
+            + "privateRequestsPerMinute=null), otherConfig={}, emergencyStopCurrency=USD, "
+            + "emergencyStopBalance=100.5)",
         exchangeConfig.toString());
   }
 }
@@ -39,6 +39,9 @@ import org.junit.jupiter.api.Test;
 class TestNetworkConfig {
 
   private static final Integer CONNECTION_TIMEOUT = 30;
+  private static final Integer MAX_CONNECTIONS = 5;
+  private static final Integer PUBLIC_REQUESTS_PER_MINUTE = 120;
+  private static final Integer PRIVATE_REQUESTS_PER_MINUTE = 600;
   private static final List<Integer> NON_FATAL_ERROR_CODES = Arrays.asList(502, 503, 504);
   private static final List<String> NON_FATAL_ERROR_MESSAGES =
       Arrays.asList(
@@ -52,6 +55,9 @@ class TestNetworkConfig {
     assertNull(networkConfig.getConnectionTimeout());
     assertTrue(networkConfig.getNonFatalErrorCodes().isEmpty());
     assertTrue(networkConfig.getNonFatalErrorMessages().isEmpty());
+    assertNull(networkConfig.getMaxConnections());
+    assertNull(networkConfig.getPublicRequestsPerMinute());
+    assertNull(networkConfig.getPrivateRequestsPerMinute());
   }
 
   @Test
@@ -66,6 +72,15 @@ class TestNetworkConfig {
 
     networkConfig.setNonFatalErrorMessages(NON_FATAL_ERROR_MESSAGES);
     assertEquals(NON_FATAL_ERROR_MESSAGES, networkConfig.getNonFatalErrorMessages());
+
+    networkConfig.setMaxConnections(MAX_CONNECTIONS);
+    assertEquals(MAX_CONNECTIONS, networkConfig.getMaxConnections());
+
+    networkConfig.setPublicRequestsPerMinute(PUBLIC_REQUESTS_PER_MINUTE);
+    assertEquals(PUBLIC_REQUESTS_PER_MINUTE, networkConfig.getPublicRequestsPerMinute());
+
+    networkConfig.setPrivateRequestsPerMinute(PRIVATE_REQUESTS_PER_MINUTE);
+    assertEquals(PRIVATE_REQUESTS_PER_MINUTE, networkConfig.getPrivateRequestsPerMinute());
   }
 
   @Test
@@ -78,7 +93,8 @@ class TestNetworkConfig {
     assertEquals(
         "NetworkConfig(connectionTimeout=30, nonFatalErrorCodes=[502, 503, 504],"
             + " nonFatalErrorMessages=[Connection refused, Connection reset, "
-            + "Remote host closed connection during handshake])",
+            + "Remote host closed connection during handshake], maxConnections=null,"
+            + " publicRequestsPerMinute=null, privateRequestsPerMinute=null)",
         networkConfig.toString());
   }
 }
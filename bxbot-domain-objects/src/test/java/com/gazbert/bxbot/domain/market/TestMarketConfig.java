@@ -28,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -43,6 +44,9 @@ class TestMarketConfig {
   private static final String COUNTER_CURRENCY = "USD";
   private static final boolean IS_ENABLED = true;
   private static final String TRADING_STRATEGY = "macd_trend_follower";
+  private static final List<String> ADDITIONAL_TRADING_STRATEGIES = List.of("scalper");
+  private static final Integer TRADE_CYCLE_INTERVAL = 2;
+  private static final String EXCHANGE = "Kraken";
 
   @Test
   void testInitialisationWorksAsExpected() {
@@ -66,6 +70,9 @@ class TestMarketConfig {
     assertNull(marketConfig.getCounterCurrency());
     assertFalse(marketConfig.isEnabled());
     assertNull(marketConfig.getTradingStrategyId());
+    assertNull(marketConfig.getAdditionalTradingStrategyIds());
+    assertNull(marketConfig.getTradeCycleInterval());
+    assertNull(marketConfig.getExchange());
 
     marketConfig.setId(ID);
     assertEquals(ID, marketConfig.getId());
@@ -84,15 +91,31 @@ class TestMarketConfig {
 
     marketConfig.setTradingStrategyId(TRADING_STRATEGY);
     assertEquals(TRADING_STRATEGY, marketConfig.getTradingStrategyId());
+
+    marketConfig.setAdditionalTradingStrategyIds(ADDITIONAL_TRADING_STRATEGIES);
+    assertEquals(ADDITIONAL_TRADING_STRATEGIES, marketConfig.getAdditionalTradingStrategyIds());
+
+    marketConfig.setTradeCycleInterval(TRADE_CYCLE_INTERVAL);
+    assertEquals(TRADE_CYCLE_INTERVAL, marketConfig.getTradeCycleInterval());
+
+    marketConfig.setExchange(EXCHANGE);
+    assertEquals(EXCHANGE, marketConfig.getExchange());
   }
 
   @Test
   void testCloningWorksAsExpected() {
     final MarketConfig marketConfig =
         new MarketConfig(ID, NAME, BASE_CURRENCY, COUNTER_CURRENCY, IS_ENABLED, TRADING_STRATEGY);
+    marketConfig.setAdditionalTradingStrategyIds(ADDITIONAL_TRADING_STRATEGIES);
+    marketConfig.setTradeCycleInterval(TRADE_CYCLE_INTERVAL);
+    marketConfig.setExchange(EXCHANGE);
     final MarketConfig clonedMarketConfig = new MarketConfig(marketConfig);
 
     assertEquals(clonedMarketConfig, marketConfig);
+    assertEquals(
+        ADDITIONAL_TRADING_STRATEGIES, clonedMarketConfig.getAdditionalTradingStrategyIds());
+    assertEquals(TRADE_CYCLE_INTERVAL, clonedMarketConfig.getTradeCycleInterval());
+    assertEquals(EXCHANGE, clonedMarketConfig.getExchange());
   }
 
   @Test
@@ -134,7 +157,8 @@ class TestMarketConfig {
 
     assertEquals(
         "MarketConfig(id=gemini_usd/btc, name=BTC/USD, baseCurrency=BTC,"
-            + " counterCurrency=USD, enabled=true, tradingStrategyId=macd_trend_follower)",
+            + " counterCurrency=USD, enabled=true, tradingStrategyId=macd_trend_follower,"
+            + " additionalTradingStrategyIds=null, tradeCycleInterval=null, exchange=null)",
         market1.toString());
   }
 }
@@ -24,6 +24,7 @@
 package com.gazbert.bxbot.exchange.api;
 
 import com.gazbert.bxbot.trading.api.TradingApi;
+import java.util.Collection;
 
 /**
  * All Exchange Adapters must implement this interface. It's main purpose is for the Trading Engine
@@ -43,4 +44,33 @@ public interface ExchangeAdapter extends TradingApi {
    * @param config configuration for the Exchange Adapter.
    */
   void init(ExchangeConfig config);
+
+  /**
+   * Called by the Trading Engine after {@link #init(ExchangeConfig)} if any of the Trading
+   * Strategies want market data pushed to them as soon as the adapter sees it.
+   *
+   * <p>Adapters that can push market data, e.g. from an exchange WebSocket feed, should subscribe
+   * to the given markets and call the listener from then on. The default implementation does
+   * nothing: the strategies only see the market data they fetch each trade cycle.
+   *
+   * @param marketIds the ids of the markets to push the data for.
+   * @param listener the listener to push the data to.
+   * @since 1.1
+   */
+  default void subscribeToMarketData(Collection<String> marketIds, MarketDataListener listener) {
+    // Adapters that cannot push market data ignore the subscription.
+  }
+
+  /**
+   * Called once by the Trading Engine when it shuts down, after it has made its last call to the
+   * adapter.
+   *
+   * <p>Adapters that hold connections open, e.g. to an exchange WebSocket feed, should close them
+   * here. The default implementation does nothing.
+   *
+   * @since 1.1
+   */
+  default void shutdown() {
+    // Adapters that hold nothing open have nothing to release.
+  }
 }
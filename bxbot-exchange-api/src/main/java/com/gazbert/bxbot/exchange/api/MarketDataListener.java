@@ -0,0 +1,66 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchange.api;
+
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.Ticker;
+
+/**
+ * Receives the market data an Exchange Adapter pushes as soon as it sees it, e.g. from an exchange
+ * WebSocket feed.
+ *
+ * <p>Adapters can call the listener from any thread, but must call it from 1 thread at a time for
+ * each market, so the events for a market are received in the order the adapter saw them.
+ * Implementations must return quickly: they are called on the adapter's feed thread.
+ *
+ * @author gazbert
+ * @since 1.1
+ */
+public interface MarketDataListener {
+
+  /**
+   * Called when the adapter sees a new ticker for a market.
+   *
+   * @param marketId the id of the market.
+   * @param ticker the ticker.
+   */
+  void onTicker(String marketId, Ticker ticker);
+
+  /**
+   * Called when the adapter sees the order book for a market change.
+   *
+   * @param marketId the id of the market.
+   * @param marketOrderBook the latest order book.
+   */
+  void onOrderBookUpdate(String marketId, MarketOrderBook marketOrderBook);
+
+  /**
+   * Called when the adapter sees one of your orders on a market being filled.
+   *
+   * @param marketId the id of the market.
+   * @param filledOrder the order that was filled.
+   */
+  void onOrderFilled(String marketId, OpenOrder filledOrder);
+}
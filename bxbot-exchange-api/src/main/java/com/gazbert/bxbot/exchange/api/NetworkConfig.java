@@ -53,4 +53,34 @@ public interface NetworkConfig {
    * @return the connection timeout value if present, null otherwise.
    */
   Integer getConnectionTimeout();
+
+  /**
+   * Fetches (optional) max number of concurrent connections the Exchange Adapter can open to the
+   * exchange. Idle connections are kept alive and reused for subsequent requests.
+   *
+   * @return the max connections value if present, null otherwise.
+   */
+  default Integer getMaxConnections() {
+    return null;
+  }
+
+  /**
+   * Fetches (optional) max number of requests per minute the Exchange Adapter can send to the
+   * exchange's public API endpoints.
+   *
+   * @return the public requests per minute value if present, null otherwise.
+   */
+  default Integer getPublicRequestsPerMinute() {
+    return null;
+  }
+
+  /**
+   * Fetches (optional) max number of requests per minute the Exchange Adapter can send to the
+   * exchange's private (authenticated) API endpoints.
+   *
+   * @return the private requests per minute value if present, null otherwise.
+   */
+  default Integer getPrivateRequestsPerMinute() {
+    return null;
+  }
 }
@@ -30,25 +30,37 @@ import com.gazbert.bxbot.exchange.api.OtherConfig;
 import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
 import com.gazbert.bxbot.trading.api.TradingApiException;
 import com.google.common.base.MoreObjects;
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.net.HttpURLConnection;
-import java.net.MalformedURLException;
-import java.net.SocketTimeoutException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
-import java.net.URLConnection;
 import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.channels.UnresolvedAddressException;
 import java.nio.charset.StandardCharsets;
 import java.text.DecimalFormatSymbols;
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import lombok.extern.log4j.Log4j2;
 
 /**
@@ -69,6 +81,8 @@ abstract class AbstractExchangeAdapter {
       "Failed to connect to Exchange due to socket timeout.";
   private static final String IO_5XX_TIMEOUT_ERROR_MSG =
       "Failed to connect to Exchange due to 5xx timeout.";
+  private static final String EXCHANGE_IS_DEAD_ERROR_MSG =
+      "Failed to connect to Exchange. It's dead Jim!";
   private static final String AUTHENTICATION_CONFIG_MISSING =
       "authenticationConfig is missing in exchange.yaml file.";
   private static final String NETWORK_CONFIG_MISSING =
@@ -81,11 +95,36 @@ abstract class AbstractExchangeAdapter {
   private static final String CONNECTION_TIMEOUT_PROPERTY_NAME = "connection-timeout";
   private static final String NON_FATAL_ERROR_CODES_PROPERTY_NAME = "non-fatal-error-codes";
   private static final String NON_FATAL_ERROR_MESSAGES_PROPERTY_NAME = "non-fatal-error-messages";
+  private static final String MAX_CONNECTIONS_PROPERTY_NAME = "max-connections";
+  private static final String PUBLIC_REQUESTS_PER_MINUTE_PROPERTY_NAME =
+      "public-requests-per-minute";
+  private static final String PRIVATE_REQUESTS_PER_MINUTE_PROPERTY_NAME =
+      "private-requests-per-minute";
+
+  private static final String EXCHANGE_REQUEST_TIMER = "bxbot.exchange.requests";
+  private static final String EXCHANGE_NETWORK_ERRORS_COUNTER = "bxbot.exchange.network.errors";
+  private static final String EXCHANGE_TAG = "exchange";
+  private static final String METHOD_TAG = "method";
+  private static final String URI_TAG = "uri";
+  private static final String STATUS_TAG = "status";
+  private static final String NO_RESPONSE_STATUS = "IO_ERROR";
+
+  private static final String CONTENT_TYPE_HEADER = "Content-Type";
+  private static final int HTTP_OK_STATUS = 200;
+  private static final int HTTP_CLIENT_ERROR_STATUS = 400;
+  private static final int HTTP_NOT_FOUND_STATUS = 404;
+  private static final int HTTP_GONE_STATUS = 410;
 
   private final Set<Integer> nonFatalNetworkErrorCodes;
   private final Set<String> nonFatalNetworkErrorMessages;
 
   private int connectionTimeout;
+  private Semaphore connectionPermits;
+  private TokenBucketRateLimiter publicRequestRateLimiter;
+  private TokenBucketRateLimiter privateRequestRateLimiter;
+  private volatile HttpClient httpClient;
+  private Function<Duration, HttpClient> httpClientFactory;
+  private MeterRegistry meterRegistry;
   private final DecimalFormatSymbols decimalFormatSymbols;
 
   /**
@@ -94,6 +133,8 @@ abstract class AbstractExchangeAdapter {
    */
   AbstractExchangeAdapter() {
     connectionTimeout = 30;
+    httpClientFactory = AbstractExchangeAdapter::createHttpClient;
+    meterRegistry = Metrics.globalRegistry;
     nonFatalNetworkErrorCodes = new HashSet<>();
     nonFatalNetworkErrorMessages = new HashSet<>();
 
@@ -106,11 +147,22 @@ abstract class AbstractExchangeAdapter {
   /**
    * Makes a request to the Exchange.
    *
+   * <p>Requests are sent using a {@link HttpClient} that is shared by all requests made by the
+   * adapter: connections are kept alive and reused, and HTTP/2 is used if the exchange supports it.
+   *
+   * <p>The latency of every request is recorded in the {@value #EXCHANGE_REQUEST_TIMER} timer,
+   * tagged with the exchange, HTTP method, URI path and response status. Requests that fail with an
+   * {@link ExchangeNetworkException} are also counted in {@value #EXCHANGE_NETWORK_ERRORS_COUNTER}.
+   *
+   * <p>If the Network config sets a rate limit for the endpoint, the request waits for its turn
+   * before it is sent. See {@link #isPrivateRequest(HttpRequest)} and {@link
+   * #isOrderRequest(HttpRequest)}.
+   *
    * @param url the URL to invoke.
    * @param postData optional post data to send. This can be null.
    * @param httpMethod the HTTP method to use, e.g. GET, POST, DELETE
-   * @param requestHeaders optional request headers to set on the {@link URLConnection} used to
-   *     invoke the Exchange.
+   * @param requestHeaders optional request headers to set on the {@link HttpRequest} used to invoke
+   *     the Exchange.
    * @return the response from the Exchange.
    * @throws ExchangeNetworkException if a network error occurred trying to connect to the exchange.
    *     This exception allows for recovery from temporary network issues.
@@ -121,97 +173,72 @@ abstract class AbstractExchangeAdapter {
       URL url, String httpMethod, String postData, Map<String, String> requestHeaders)
       throws TradingApiException, ExchangeNetworkException {
 
-    HttpURLConnection exchangeConnection = null;
-    final StringBuilder exchangeResponse = new StringBuilder();
-
-    try {
-      log.debug("Using following URL for API call: {}", url);
-
-      exchangeConnection = (HttpURLConnection) url.openConnection();
-      exchangeConnection.setUseCaches(false);
-      exchangeConnection.setDoOutput(true);
-      exchangeConnection.setRequestMethod(httpMethod); // GET|POST|DELETE
-
-      setRequestHeaders(exchangeConnection, requestHeaders);
-
-      // Add a timeout, so we don't get blocked indefinitely; timeout on URLConnection is in millis.
-      final int timeoutInMillis = connectionTimeout * 1000;
-      exchangeConnection.setConnectTimeout(timeoutInMillis);
-      exchangeConnection.setReadTimeout(timeoutInMillis);
-
-      if (httpMethod.equalsIgnoreCase("POST") && postData != null) {
-        log.debug("Doing POST with request body: {}", postData);
-        try (final OutputStreamWriter outputPostStream =
-            new OutputStreamWriter(exchangeConnection.getOutputStream(), StandardCharsets.UTF_8)) {
-          outputPostStream.write(postData);
-        }
-      }
-
-      // Grab the response - we just block here as per Connection API
-      try (final BufferedReader responseInputStream =
-          new BufferedReader(
-              new InputStreamReader(exchangeConnection.getInputStream(), StandardCharsets.UTF_8))) {
-
-        // Read the JSON response lines into our response buffer
-        String responseLine;
-        while ((responseLine = responseInputStream.readLine()) != null) {
-          exchangeResponse.append(responseLine);
-        }
-
-        return new ExchangeHttpResponse(
-            exchangeConnection.getResponseCode(),
-            exchangeConnection.getResponseMessage(),
-            exchangeResponse.toString());
-      }
-
-    } catch (MalformedURLException e) {
-      final String errorMsg = UNEXPECTED_IO_ERROR_MSG;
-      log.error(errorMsg, e);
-      throw new TradingApiException(errorMsg, e);
-
-    } catch (SocketTimeoutException e) {
-      final String errorMsg = IO_SOCKET_TIMEOUT_ERROR_MSG;
-      log.error(errorMsg, e);
-      throw new ExchangeNetworkException(errorMsg, e);
+    log.debug("Using following URL for API call: {}", url);
+    final HttpRequest request = buildRequest(url, httpMethod, postData, requestHeaders);
 
-    } catch (FileNotFoundException | UnknownHostException e) {
-      // Huobi started throwing FileNotFoundException as of 8 Nov 2015.
-      // EC2 started throwing UnknownHostException for BTC-e, GDAX, as of 14 July 2016 :-/
-      final String errorMsg = "Failed to connect to Exchange. It's dead Jim!";
-      log.error(errorMsg, e);
-      throw new ExchangeNetworkException(errorMsg, e);
-
-    } catch (IOException e) {
-      try {
-        if (errorMessageIsRecoverableNetworkError(e)) {
-          final String errorMsg =
-              "Failed to connect to Exchange. SSL Connection was refused or reset by the server.";
-          log.error(errorMsg, e);
-          throw new ExchangeNetworkException(errorMsg, e);
-
-        } else if (errorCodeIsRecoverableNetworkError(exchangeConnection)) {
-          final String errorMsg = IO_5XX_TIMEOUT_ERROR_MSG;
-          log.error(errorMsg, e);
-          throw new ExchangeNetworkException(errorMsg, e);
-
-        } else {
-          // Game over!
-          String errorMsg = extractIoErrorMessage(exchangeConnection);
-          log.error(errorMsg, e);
-          throw new TradingApiException(errorMsg, e);
-        }
+    return send(
+        request,
+        HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8),
+        response -> {
+          final int statusCode = response.statusCode();
+          if (statusCode >= HTTP_CLIENT_ERROR_STATUS) {
+            handleErrorResponse(statusCode, response.body());
+          }
+          // HTTP/2 has no reason phrase
+          return new ExchangeHttpResponse(statusCode, null, response.body());
+        });
+  }
 
-      } catch (IOException e1) {
-        final String errorMsg = UNEXPECTED_IO_ERROR_MSG;
-        log.error(errorMsg, e1);
-        throw new TradingApiException(errorMsg, e1);
-      }
+  /**
+   * Makes a request to the Exchange and decodes the response payload as it is streamed off the
+   * network.
+   *
+   * <p>Use this for responses that can be large, e.g. order books: the payload is fed straight
+   * into the decoder and is never held in memory as a String. Only a 200 response is decoded; the
+   * payload of any other response is returned as a String so it can be logged.
+   *
+   * @param url the URL to invoke.
+   * @param postData optional post data to send. This can be null.
+   * @param httpMethod the HTTP method to use, e.g. GET, POST, DELETE
+   * @param requestHeaders optional request headers to set on the {@link HttpRequest} used to invoke
+   *     the Exchange.
+   * @param responseDecoder the decoder for the response payload.
+   * @param <T> the decoded payload type.
+   * @return the response from the Exchange.
+   * @throws ExchangeNetworkException if a network error occurred trying to connect to the exchange.
+   *     This exception allows for recovery from temporary network issues.
+   * @throws TradingApiException if the API call failed for any reason other than a network error.
+   *     This means something awful has happened.
+   */
+  <T> DecodedExchangeHttpResponse<T> sendNetworkRequest(
+      URL url,
+      String httpMethod,
+      String postData,
+      Map<String, String> requestHeaders,
+      ResponseDecoder<T> responseDecoder)
+      throws TradingApiException, ExchangeNetworkException {
 
-    } finally {
-      if (exchangeConnection != null) {
-        exchangeConnection.disconnect();
-      }
-    }
+    log.debug("Using following URL for API call: {}", url);
+    final HttpRequest request = buildRequest(url, httpMethod, postData, requestHeaders);
+
+    return send(
+        request,
+        HttpResponse.BodyHandlers.ofInputStream(),
+        response -> {
+          try (InputStream responseBody = response.body()) {
+            final int statusCode = response.statusCode();
+            if (statusCode != HTTP_OK_STATUS) {
+              final String payload =
+                  new String(responseBody.readAllBytes(), StandardCharsets.UTF_8);
+              if (statusCode >= HTTP_CLIENT_ERROR_STATUS) {
+                handleErrorResponse(statusCode, payload);
+              }
+              return new DecodedExchangeHttpResponse<>(statusCode, null, payload, null);
+            }
+            return new DecodedExchangeHttpResponse<>(
+                statusCode, null, null, decode(responseBody, responseDecoder));
+          }
+        });
   }
 
   /**
@@ -249,6 +276,32 @@ abstract class AbstractExchangeAdapter {
       nonFatalNetworkErrorMessages.addAll(nonFatalErrorMessagesFromConfig);
     }
     log.info(NON_FATAL_ERROR_MESSAGES_PROPERTY_NAME + ": {}", nonFatalNetworkErrorMessages);
+
+    final Integer maxConnections = networkConfig.getMaxConnections();
+    if (maxConnections != null) {
+      if (maxConnections < 1) {
+        final String errorMsg =
+            MAX_CONNECTIONS_PROPERTY_NAME + " must be 1 or more." + exchangeConfig;
+        log.error(errorMsg);
+        throw new IllegalArgumentException(errorMsg);
+      }
+      connectionPermits = new Semaphore(maxConnections, true);
+    }
+    log.info(MAX_CONNECTIONS_PROPERTY_NAME + ": {}", maxConnections);
+
+    final Integer publicRequestsPerMinute = networkConfig.getPublicRequestsPerMinute();
+    publicRequestRateLimiter =
+        createRateLimiter(
+            PUBLIC_REQUESTS_PER_MINUTE_PROPERTY_NAME, publicRequestsPerMinute, exchangeConfig);
+    log.info(PUBLIC_REQUESTS_PER_MINUTE_PROPERTY_NAME + ": {}", publicRequestsPerMinute);
+
+    final Integer privateRequestsPerMinute = networkConfig.getPrivateRequestsPerMinute();
+    privateRequestRateLimiter =
+        createRateLimiter(
+            PRIVATE_REQUESTS_PER_MINUTE_PROPERTY_NAME, privateRequestsPerMinute, exchangeConfig);
+    log.info(PRIVATE_REQUESTS_PER_MINUTE_PROPERTY_NAME + ": {}", privateRequestsPerMinute);
+
+    httpClient = null; // pick up the new connection timeout
   }
 
   /**
@@ -323,6 +376,69 @@ abstract class AbstractExchangeAdapter {
     return decimalFormatSymbols;
   }
 
+  /**
+   * Returns the connection timeout set in the Network config.
+   *
+   * @return the connection timeout.
+   */
+  Duration getConnectionTimeout() {
+    return Duration.ofSeconds(connectionTimeout);
+  }
+
+  /**
+   * Sets the factory used to create the HttpClient the adapter sends its requests with. The
+   * factory is passed the connection timeout.
+   *
+   * <p>The default factory creates a real HttpClient. The benchmarks swap it for one that replays
+   * recorded exchange responses, so the adapter code can be measured without a network.
+   *
+   * @param httpClientFactory the HttpClient factory.
+   */
+  synchronized void setHttpClientFactory(Function<Duration, HttpClient> httpClientFactory) {
+    this.httpClientFactory = httpClientFactory;
+    httpClient = null;
+  }
+
+  /**
+   * Sets the registry the adapter records its request metrics in.
+   *
+   * <p>Adapters are not Spring beans, so the default is the Micrometer global registry: Spring Boot
+   * adds its registries to it, which is how the metrics reach the actuator endpoints.
+   *
+   * @param meterRegistry the meter registry.
+   */
+  void setMeterRegistry(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Returns true if the request is for one of the exchange's private API endpoints. Private
+   * requests are rate limited separately from public ones.
+   *
+   * <p>The inbuilt adapters sign their private requests and POST them; their public requests are
+   * all GETs. Adapters that do it differently must override this method.
+   *
+   * @param request the request to the exchange.
+   * @return true if the request is for a private API endpoint, false otherwise.
+   */
+  boolean isPrivateRequest(HttpRequest request) {
+    return !"GET".equals(request.method());
+  }
+
+  /**
+   * Returns true if the request places or cancels an order. When a rate limit is set, these
+   * requests go ahead of the other requests that are waiting for their turn, e.g. market data
+   * polls.
+   *
+   * <p>Returns false by default. Adapters override this method to pick out their order endpoints.
+   *
+   * @param request the request to the exchange.
+   * @return true if the request places or cancels an order, false otherwise.
+   */
+  boolean isOrderRequest(HttpRequest request) {
+    return false;
+  }
+
   /** Wrapper for holding Exchange HTTP response. */
   static class ExchangeHttpResponse {
 
@@ -354,56 +470,349 @@ abstract class AbstractExchangeAdapter {
     }
   }
 
+  /**
+   * Wrapper for holding an Exchange HTTP response that has been decoded as it was streamed.
+   *
+   * @param <T> the decoded payload type.
+   */
+  static class DecodedExchangeHttpResponse<T> extends ExchangeHttpResponse {
+
+    private final T decodedPayload;
+
+    DecodedExchangeHttpResponse(
+        int statusCode, String reasonPhrase, String payload, T decodedPayload) {
+      super(statusCode, reasonPhrase, payload);
+      this.decodedPayload = decodedPayload;
+    }
+
+    /**
+     * Returns the decoded payload.
+     *
+     * @return the decoded payload; null if the response was not a 200.
+     */
+    T getDecodedPayload() {
+      return decodedPayload;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("statusCode", getStatusCode())
+          .add("payload", getPayload())
+          .add("decodedPayload", decodedPayload)
+          .toString();
+    }
+  }
+
+  /**
+   * Decodes an Exchange response payload as it is streamed off the network.
+   *
+   * @param <T> the decoded payload type.
+   */
+  @FunctionalInterface
+  interface ResponseDecoder<T> {
+
+    /**
+     * Decodes the response payload.
+     *
+     * @param jsonReader the reader for the response payload.
+     * @return the decoded payload.
+     * @throws IOException if the payload could not be read.
+     */
+    T decode(JsonReader jsonReader) throws IOException;
+  }
+
   // --------------------------------------------------------------------------
   //  Util methods
   // --------------------------------------------------------------------------
 
-  private void setRequestHeaders(
-      HttpURLConnection exchangeConnection, Map<String, String> requestHeaders) {
+  /*
+   * Sends the request and maps the transport exceptions to the ones the adapters expect. The
+   * connection permit is held until the response handler has consumed the response body, and the
+   * request is timed until then too. The wait for the rate limiter is not timed.
+   */
+  private <B, R> R send(
+      HttpRequest request,
+      HttpResponse.BodyHandler<B> bodyHandler,
+      ResponseHandler<B, R> responseHandler)
+      throws TradingApiException, ExchangeNetworkException {
+
+    waitForRateLimiter(request);
+
+    final Timer.Sample requestSample = Timer.start(meterRegistry);
+    String status = NO_RESPONSE_STATUS;
+    boolean connectionPermitAcquired = false;
+    try {
+      try {
+        if (connectionPermits != null) {
+          connectionPermits.acquire();
+          connectionPermitAcquired = true;
+        }
+
+        // Grab the response - we just block here as per HttpClient API
+        final HttpResponse<B> response = getHttpClient().send(request, bodyHandler);
+        status = String.valueOf(response.statusCode());
+        return responseHandler.handle(response);
+
+      } catch (HttpTimeoutException e) {
+        final String errorMsg = IO_SOCKET_TIMEOUT_ERROR_MSG;
+        log.error(errorMsg, e);
+        throw new ExchangeNetworkException(errorMsg, e);
+
+      } catch (IOException e) {
+        if (isUnknownHost(e)) {
+          // EC2 started throwing UnknownHostException for BTC-e, GDAX, as of 14 July 2016 :-/
+          final String errorMsg = EXCHANGE_IS_DEAD_ERROR_MSG;
+          log.error(errorMsg, e);
+          throw new ExchangeNetworkException(errorMsg, e);
+
+        } else if (errorMessageIsRecoverableNetworkError(e)) {
+          final String errorMsg =
+              "Failed to connect to Exchange. SSL Connection was refused or reset by the server.";
+          log.error(errorMsg, e);
+          throw new ExchangeNetworkException(errorMsg, e);
+
+        } else {
+          // Game over!
+          final String errorMsg = UNEXPECTED_IO_ERROR_MSG;
+          log.error(errorMsg, e);
+          throw new TradingApiException(errorMsg, e);
+        }
+
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        final String errorMsg = "Interrupted whilst waiting for Exchange response.";
+        log.warn(errorMsg, e);
+        throw new ExchangeNetworkException(errorMsg, e);
+      }
+
+    } catch (ExchangeNetworkException e) {
+      Counter.builder(EXCHANGE_NETWORK_ERRORS_COUNTER)
+          .tags(EXCHANGE_TAG, getClass().getSimpleName(), URI_TAG, request.uri().getPath())
+          .register(meterRegistry)
+          .increment();
+      throw e;
+
+    } finally {
+      if (connectionPermitAcquired) {
+        connectionPermits.release();
+      }
+      requestSample.stop(
+          Timer.builder(EXCHANGE_REQUEST_TIMER)
+              .tags(
+                  EXCHANGE_TAG,
+                  getClass().getSimpleName(),
+                  METHOD_TAG,
+                  request.method(),
+                  URI_TAG,
+                  request.uri().getPath(),
+                  STATUS_TAG,
+                  status)
+              .register(meterRegistry));
+    }
+  }
+
+  private void waitForRateLimiter(HttpRequest request) throws ExchangeNetworkException {
+    final TokenBucketRateLimiter rateLimiter =
+        isPrivateRequest(request) ? privateRequestRateLimiter : publicRequestRateLimiter;
+    if (rateLimiter == null) {
+      return;
+    }
+    try {
+      rateLimiter.acquire(isOrderRequest(request));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      final String errorMsg = "Interrupted whilst waiting for rate limiter.";
+      log.warn(errorMsg, e);
+      throw new ExchangeNetworkException(errorMsg, e);
+    }
+  }
+
+  private static TokenBucketRateLimiter createRateLimiter(
+      String propertyName, Integer requestsPerMinute, ExchangeConfig exchangeConfig) {
+    if (requestsPerMinute == null) {
+      return null;
+    }
+    if (requestsPerMinute < 1) {
+      final String errorMsg = propertyName + " must be 1 or more." + exchangeConfig;
+      log.error(errorMsg);
+      throw new IllegalArgumentException(errorMsg);
+    }
+    return new TokenBucketRateLimiter(requestsPerMinute);
+  }
+
+  /*
+   * HttpClient only applies the request timeout until the response headers arrive, so the body
+   * stream is closed if it is not fully read within the connection timeout: a stalled exchange
+   * must not block the adapter forever.
+   */
+  private <T> T decode(InputStream responseBody, ResponseDecoder<T> responseDecoder)
+      throws IOException {
+
+    final AtomicBoolean readTimedOut = new AtomicBoolean();
+    final CompletableFuture<Void> readTimeout =
+        CompletableFuture.runAsync(
+            () -> {
+              readTimedOut.set(true);
+              closeQuietly(responseBody);
+            },
+            CompletableFuture.delayedExecutor(connectionTimeout, TimeUnit.SECONDS));
+    try {
+      final JsonReader jsonReader =
+          new JsonReader(new InputStreamReader(responseBody, StandardCharsets.UTF_8));
+      final T decodedPayload = responseDecoder.decode(jsonReader);
+      // Drain anything the decoder did not need so the connection can be reused.
+      responseBody.transferTo(OutputStream.nullOutputStream());
+      return decodedPayload;
+
+    } catch (JsonParseException e) {
+      // Gson wraps the IO errors it hits whilst reading the stream
+      if (e.getCause() instanceof IOException ioException) {
+        throw readError(readTimedOut.get(), ioException);
+      }
+      throw e;
+
+    } catch (IOException e) {
+      throw readError(readTimedOut.get(), e);
+
+    } finally {
+      readTimeout.cancel(false);
+    }
+  }
+
+  private static IOException readError(boolean readTimedOut, IOException e) {
+    if (readTimedOut) {
+      final HttpTimeoutException timeoutException =
+          new HttpTimeoutException("Timed out reading response body");
+      timeoutException.initCause(e);
+      return timeoutException;
+    }
+    return e;
+  }
+
+  private static void closeQuietly(InputStream inputStream) {
+    try {
+      inputStream.close();
+    } catch (IOException e) {
+      log.debug("Failed to close response body", e);
+    }
+  }
+
+  private HttpRequest buildRequest(
+      URL url, String httpMethod, String postData, Map<String, String> requestHeaders)
+      throws TradingApiException {
+
+    final HttpRequest.Builder requestBuilder;
+    try {
+      requestBuilder =
+          HttpRequest.newBuilder(url.toURI()).timeout(Duration.ofSeconds(connectionTimeout));
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      final String errorMsg = UNEXPECTED_IO_ERROR_MSG;
+      log.error(errorMsg, e);
+      throw new TradingApiException(errorMsg, e);
+    }
+
     // Er, perhaps, we need to be a bit more stealth here...
     // This was needed for some exchanges back in the day!
-    exchangeConnection.setRequestProperty(
+    requestBuilder.header(
         "User-Agent",
         "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) "
             + "Chrome/74.0.3729.169 Safari/537.36");
 
+    boolean contentTypeSet = false;
     if (requestHeaders != null) {
       for (final Map.Entry<String, String> requestHeader : requestHeaders.entrySet()) {
-        exchangeConnection.setRequestProperty(requestHeader.getKey(), requestHeader.getValue());
+        requestBuilder.setHeader(requestHeader.getKey(), requestHeader.getValue());
+        contentTypeSet |= CONTENT_TYPE_HEADER.equalsIgnoreCase(requestHeader.getKey());
         log.debug("Setting following request header: {}", requestHeader);
       }
     }
-  }
 
-  private boolean errorMessageIsRecoverableNetworkError(Exception e) {
-    return e.getMessage() != null && nonFatalNetworkErrorMessages.contains(e.getMessage());
+    if (httpMethod.equalsIgnoreCase("POST") && postData != null) {
+      log.debug("Doing POST with request body: {}", postData);
+      if (!contentTypeSet) {
+        // Same default as the HttpURLConnection the adapters were originally written against.
+        requestBuilder.header(CONTENT_TYPE_HEADER, "application/x-www-form-urlencoded");
+      }
+      requestBuilder.method(
+          httpMethod, HttpRequest.BodyPublishers.ofString(postData, StandardCharsets.UTF_8));
+    } else {
+      requestBuilder.method(httpMethod, HttpRequest.BodyPublishers.noBody()); // GET|POST|DELETE
+    }
+    return requestBuilder.build();
   }
 
-  private boolean errorCodeIsRecoverableNetworkError(HttpURLConnection exchangeConnection)
-      throws IOException {
-    return (exchangeConnection != null
-        && nonFatalNetworkErrorCodes.contains(exchangeConnection.getResponseCode()));
+  /*
+   * Maps 4xx and 5xx responses to the exceptions the adapters expect: 404 and 410 mean the
+   * exchange is dead, configured non-fatal codes are recoverable, anything else is game over.
+   */
+  private void handleErrorResponse(int statusCode, String responseBody)
+      throws ExchangeNetworkException, TradingApiException {
+
+    if (statusCode == HTTP_NOT_FOUND_STATUS || statusCode == HTTP_GONE_STATUS) {
+      final String errorMsg = EXCHANGE_IS_DEAD_ERROR_MSG + " HTTP status: " + statusCode;
+      log.error(errorMsg);
+      throw new ExchangeNetworkException(errorMsg);
+
+    } else if (nonFatalNetworkErrorCodes.contains(statusCode)) {
+      final String errorMsg = IO_5XX_TIMEOUT_ERROR_MSG + " HTTP status: " + statusCode;
+      log.error(errorMsg);
+      throw new ExchangeNetworkException(errorMsg);
+
+    } else {
+      // Check for any clue in the response...
+      String errorMsg = UNEXPECTED_IO_ERROR_MSG + " HTTP status: " + statusCode;
+      if (responseBody != null && !responseBody.isEmpty()) {
+        errorMsg += " ErrorStream Response: " + responseBody;
+      }
+      log.error(errorMsg);
+      throw new TradingApiException(errorMsg);
+    }
   }
 
-  private String extractIoErrorMessage(HttpURLConnection exchangeConnection) throws IOException {
-    String errorMsg = UNEXPECTED_IO_ERROR_MSG;
-    // Check for any clue in the response...
-    if (exchangeConnection != null) {
-      final InputStream rawErrorStream = exchangeConnection.getErrorStream();
-      if (rawErrorStream != null) {
-        try (final BufferedReader errorInputStream =
-            new BufferedReader(new InputStreamReader(rawErrorStream, StandardCharsets.UTF_8))) {
-
-          final StringBuilder errorResponse = new StringBuilder();
-          String errorLine;
-          while ((errorLine = errorInputStream.readLine()) != null) {
-            errorResponse.append(errorLine);
-          }
-          errorMsg += " ErrorStream Response: " + errorResponse;
+  private HttpClient getHttpClient() {
+    HttpClient client = httpClient;
+    if (client == null) {
+      synchronized (this) {
+        client = httpClient;
+        if (client == null) {
+          client = httpClientFactory.apply(Duration.ofSeconds(connectionTimeout));
+          httpClient = client;
         }
       }
     }
-    return errorMsg;
+    return client;
+  }
+
+  private static HttpClient createHttpClient(Duration connectTimeout) {
+    return HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_2) // falls back to HTTP/1.1 if not supported
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .connectTimeout(connectTimeout)
+        .build();
+  }
+
+  /*
+   * HttpClient wraps the underlying network exceptions, so we check the cause chain for the
+   * non-fatal error messages.
+   */
+  private boolean errorMessageIsRecoverableNetworkError(Exception e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause.getMessage() != null
+          && nonFatalNetworkErrorMessages.contains(cause.getMessage())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isUnknownHost(IOException e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof UnknownHostException || cause instanceof UnresolvedAddressException) {
+        return true;
+      }
+    }
+    return false;
   }
 
   private static String assertItemExists(String itemName, String itemValue) {
@@ -415,4 +824,11 @@ abstract class AbstractExchangeAdapter {
     }
     return itemValue;
   }
+
+  /** Handles the response to a request whilst the connection is still held. */
+  @FunctionalInterface
+  private interface ResponseHandler<B, R> {
+    R handle(HttpResponse<B> response)
+        throws IOException, TradingApiException, ExchangeNetworkException;
+  }
 }
@@ -0,0 +1,230 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import com.gazbert.bxbot.trading.api.AsyncTradingApi;
+import com.gazbert.bxbot.trading.api.BalanceInfo;
+import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import com.gazbert.bxbot.trading.api.Ticker;
+import com.gazbert.bxbot.trading.api.TradingApi;
+import com.gazbert.bxbot.trading.api.TradingApiException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Bridges a (blocking) {@link TradingApi}, typically an Exchange Adapter, to the {@link
+ * AsyncTradingApi}.
+ *
+ * <p>By default, the calls are made on virtual threads: the calls spend nearly all their time
+ * waiting for the exchange to respond. If the Trading API is {@link TradingApi#isThreadSafe()
+ * thread safe}, each call is made on its own virtual thread, so the calls are made concurrently.
+ * Otherwise, they are made one at a time, in the order they were made. Most of the inbuilt Exchange
+ * Adapters are not thread safe. Either way, the exceptions the Trading API throws complete the
+ * returned future exceptionally.
+ *
+ * <p>The bridge only orders its own calls: a Trading Strategy should wait for its futures to
+ * complete before calling a Trading API that is not thread safe directly.
+ *
+ * @author gazbert
+ */
+public final class AsyncTradingApiBridge implements AsyncTradingApi {
+
+  private final TradingApi tradingApi;
+  private final Executor executor;
+
+  /**
+   * Creates the bridge. Each call is made on a new virtual thread if the Trading API is thread
+   * safe, otherwise the calls are made one at a time on a virtual thread.
+   *
+   * @param tradingApi the Trading API to make the calls on.
+   */
+  public AsyncTradingApiBridge(TradingApi tradingApi) {
+    this(tradingApi, tradingApi.isThreadSafe() ? Thread::startVirtualThread : new SerialExecutor());
+  }
+
+  /**
+   * Creates the bridge.
+   *
+   * @param tradingApi the Trading API to make the calls on.
+   * @param executor the executor to make the calls with.
+   */
+  public AsyncTradingApiBridge(TradingApi tradingApi, Executor executor) {
+    this.tradingApi = tradingApi;
+    this.executor = executor;
+  }
+
+  @Override
+  public String getImplName() {
+    return tradingApi.getImplName();
+  }
+
+  @Override
+  public CompletableFuture<MarketOrderBook> getMarketOrders(String marketId) {
+    return call(() -> tradingApi.getMarketOrders(marketId));
+  }
+
+  @Override
+  public CompletableFuture<Map<String, MarketOrderBook>> getMarketOrders(
+      Collection<String> marketIds) {
+    return call(() -> tradingApi.getMarketOrders(marketIds));
+  }
+
+  @Override
+  public CompletableFuture<List<OpenOrder>> getYourOpenOrders(String marketId) {
+    return call(() -> tradingApi.getYourOpenOrders(marketId));
+  }
+
+  @Override
+  public CompletableFuture<String> createOrder(
+      String marketId, OrderType orderType, BigDecimal quantity, BigDecimal price) {
+    return call(() -> tradingApi.createOrder(marketId, orderType, quantity, price));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> cancelOrder(String orderId, String marketId) {
+    return call(() -> tradingApi.cancelOrder(orderId, marketId));
+  }
+
+  @Override
+  public CompletableFuture<BigDecimal> getLatestMarketPrice(String marketId) {
+    return call(() -> tradingApi.getLatestMarketPrice(marketId));
+  }
+
+  @Override
+  public CompletableFuture<BalanceInfo> getBalanceInfo() {
+    return call(tradingApi::getBalanceInfo);
+  }
+
+  @Override
+  public CompletableFuture<BigDecimal> getPercentageOfBuyOrderTakenForExchangeFee(
+      String marketId) {
+    return call(() -> tradingApi.getPercentageOfBuyOrderTakenForExchangeFee(marketId));
+  }
+
+  @Override
+  public CompletableFuture<BigDecimal> getPercentageOfSellOrderTakenForExchangeFee(
+      String marketId) {
+    return call(() -> tradingApi.getPercentageOfSellOrderTakenForExchangeFee(marketId));
+  }
+
+  @Override
+  public CompletableFuture<BigDecimal> getMinimumOrderVolume(String marketId) {
+    return call(() -> tradingApi.getMinimumOrderVolume(marketId));
+  }
+
+  @Override
+  public CompletableFuture<Ticker> getTicker(String marketId) {
+    return call(() -> tradingApi.getTicker(marketId));
+  }
+
+  @Override
+  public CompletableFuture<Map<String, Ticker>> getTickers(Collection<String> marketIds) {
+    return call(() -> tradingApi.getTickers(marketIds));
+  }
+
+  // --------------------------------------------------------------------------
+  //  Util methods
+  // --------------------------------------------------------------------------
+
+  private <T> CompletableFuture<T> call(TradingApiCall<T> tradingApiCall) {
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              future.complete(tradingApiCall.call());
+            } catch (ExchangeNetworkException | TradingApiException | RuntimeException e) {
+              future.completeExceptionally(e);
+            } catch (Error e) {
+              future.completeExceptionally(e);
+              throw e;
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Runs the tasks one at a time, in the order they were submitted, on a virtual thread that is
+   * only started whilst there are tasks to run.
+   */
+  private static final class SerialExecutor implements Executor {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private boolean running;
+
+    @Override
+    public synchronized void execute(Runnable task) {
+      tasks.add(task);
+      if (!running) {
+        running = true;
+        Thread.startVirtualThread(this::runTasks);
+      }
+    }
+
+    private void runTasks() {
+      Runnable task;
+      while ((task = nextTask()) != null) {
+        try {
+          task.run();
+        } catch (RuntimeException | Error e) {
+          runRemainingTasks(); // on a new thread, as this one is about to die
+          throw e;
+        }
+      }
+    }
+
+    private synchronized Runnable nextTask() {
+      final Runnable task = tasks.poll();
+      running = task != null;
+      return task;
+    }
+
+    private synchronized void runRemainingTasks() {
+      if (tasks.isEmpty()) {
+        running = false;
+      } else {
+        Thread.startVirtualThread(this::runTasks);
+      }
+    }
+  }
+
+  /** A blocking Trading API call. */
+  @FunctionalInterface
+  private interface TradingApiCall<T> {
+    T call() throws ExchangeNetworkException, TradingApiException;
+  }
+}
@@ -44,7 +44,6 @@ import com.google.common.base.MoreObjects;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.SerializedName;
-import jakarta.xml.bind.DatatypeConverter;
 import java.io.Serial;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -53,18 +52,18 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.net.http.HttpRequest;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.text.DecimalFormat;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import lombok.extern.log4j.Log4j2;
 
 /**
@@ -81,6 +80,10 @@ import lombok.extern.log4j.Log4j2;
  * 'deposit' (liquidity SWAPs) accounts. Furthermore, the adapter does not support sending 'hidden'
  * orders.
  *
+ * <p>The adapter can enforce the API call limit if the publicRequestsPerMinute and
+ * privateRequestsPerMinute are set in the networkConfig section of the exchange.yaml file. The
+ * limit applies to all calls, so the 2 values should add up to no more than 60.
+ *
  * <p>There are different exchange fees for Takers and Makers - see <a
  * href="https://www.bitfinex.com/pages/fees">here.</a> This adapter will use the <em>Taker</em>
  * fees to keep things simple for now.
@@ -131,9 +134,9 @@ public final class BitfinexExchangeAdapter extends AbstractExchangeAdapter
   private String key = "";
   private String secret = "";
 
-  private Mac mac;
+  private RequestSigner requestSigner;
   private boolean initializedMacAuthentication = false;
-  private long nonce = 0;
+  private NonceGenerator nonceGenerator;
 
   private Gson gson;
 
@@ -148,7 +151,7 @@ public final class BitfinexExchangeAdapter extends AbstractExchangeAdapter
     setAuthenticationConfig(config);
     setNetworkConfig(config);
 
-    nonce = System.currentTimeMillis() / 1000;
+    nonceGenerator = new NonceGenerator(System.currentTimeMillis() / 1000);
     initSecureMessageLayer();
     initGson();
   }
@@ -899,6 +902,12 @@ public final class BitfinexExchangeAdapter extends AbstractExchangeAdapter
   //  Transport layer methods
   // --------------------------------------------------------------------------
 
+  @Override
+  boolean isOrderRequest(HttpRequest request) {
+    final String path = request.uri().getPath();
+    return path.endsWith("/order/new") || path.endsWith("/order/cancel");
+  }
+
   private ExchangeHttpResponse sendPublicRequestToExchange(String apiMethod)
       throws ExchangeNetworkException, TradingApiException {
     try {
@@ -955,8 +964,7 @@ public final class BitfinexExchangeAdapter extends AbstractExchangeAdapter
       }
 
       // nonce is required by Bitfinex in every request
-      params.put("nonce", Long.toString(nonce));
-      nonce++; // increment ready for next call.
+      params.put("nonce", Long.toString(nonceGenerator.next()));
 
       // must include the method in request param too
       params.put("request", "/" + BITFINEX_API_VERSION + "/" + apiMethod);
@@ -966,23 +974,20 @@ public final class BitfinexExchangeAdapter extends AbstractExchangeAdapter
 
       // Need to base64 encode payload as per API
       final String base64payload =
-          DatatypeConverter.printBase64Binary(paramsInJson.getBytes(StandardCharsets.UTF_8));
+          Base64.getEncoder().encodeToString(paramsInJson.getBytes(StandardCharsets.UTF_8));
 
       // Request headers required by Exchange
       final Map<String, String> requestHeaders = createHeaderParamMap();
       requestHeaders.put("X-BFX-APIKEY", key);
       requestHeaders.put("X-BFX-PAYLOAD", base64payload);
 
-      // Add the signature
-      mac.reset(); // force reset
-      mac.update(base64payload.getBytes(StandardCharsets.UTF_8));
-
       /*
        * signature = HMAC-SHA384(payload, api-secret) as hexadecimal - MUST be in LOWERCASE else
        * signature fails. See:
        * http://bitcoin.stackexchange.com/questions/25835/bitfinex-api-call-returns-400-bad-request
        */
-      final String signature = toHex(mac.doFinal()).toLowerCase();
+      // Add the signature
+      final String signature = requestSigner.sign().update(base64payload).toLowerCaseHex();
       requestHeaders.put("X-BFX-SIGNATURE", signature);
 
       // payload is JSON for this exchange
@@ -998,14 +1003,6 @@ public final class BitfinexExchangeAdapter extends AbstractExchangeAdapter
     }
   }
 
-  private String toHex(byte[] byteArrayToConvert) {
-    final StringBuilder hexString = new StringBuilder();
-    for (final byte aByte : byteArrayToConvert) {
-      hexString.append(String.format("%02x", aByte & 0xff));
-    }
-    return hexString.toString();
-  }
-
   /*
    * Initialises the secure messaging layer.
    * Sets up the MAC to safeguard the data we send to the exchange.
@@ -1014,10 +1011,8 @@ public final class BitfinexExchangeAdapter extends AbstractExchangeAdapter
    */
   private void initSecureMessageLayer() {
     try {
-      final SecretKeySpec keyspec =
-          new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA384");
-      mac = Mac.getInstance("HmacSHA384");
-      mac.init(keyspec);
+      requestSigner =
+          new RequestSigner("HmacSHA384", secret.getBytes(StandardCharsets.UTF_8));
       initializedMacAuthentication = true;
     } catch (NoSuchAlgorithmException e) {
       final String errorMsg = "Failed to setup MAC security. HINT: Is HMAC-SHA384 installed?";
@@ -58,7 +58,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
-import java.net.URLEncoder;
+import java.net.http.HttpRequest;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -70,8 +70,6 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import lombok.extern.log4j.Log4j2;
 
 /**
@@ -126,8 +124,8 @@ public class BitstampExchangeAdapter extends AbstractExchangeAdapter implements
   private String key = "";
   private String secret = "";
 
-  private Mac mac;
-  private long nonce = 0;
+  private RequestSigner requestSigner;
+  private NonceGenerator nonceGenerator;
   private boolean initializedMacAuthentication = false;
 
   private Gson gson;
@@ -143,7 +141,7 @@ public class BitstampExchangeAdapter extends AbstractExchangeAdapter implements
     setAuthenticationConfig(config);
     setNetworkConfig(config);
 
-    nonce = System.currentTimeMillis() / 1000;
+    nonceGenerator = new NonceGenerator(System.currentTimeMillis() / 1000);
     initSecureMessageLayer();
     initGson();
   }
@@ -754,6 +752,12 @@ public class BitstampExchangeAdapter extends AbstractExchangeAdapter implements
   //  Transport layer methods
   // --------------------------------------------------------------------------
 
+  @Override
+  boolean isOrderRequest(HttpRequest request) {
+    final String path = request.uri().getPath();
+    return path.contains("/buy/") || path.contains("/sell/") || path.contains("/cancel_order/");
+  }
+
   private ExchangeHttpResponse sendPublicRequestToExchange(String apiMethod)
       throws ExchangeNetworkException, TradingApiException {
     try {
@@ -784,14 +788,13 @@ public class BitstampExchangeAdapter extends AbstractExchangeAdapter implements
       }
 
       params.put("key", key);
+      final long nonce = nonceGenerator.next();
       params.put("nonce", Long.toString(nonce));
 
       // Create MAC message for signature
       // message = nonce + client_id + api_key
-      mac.reset(); // force reset
-      mac.update(String.valueOf(nonce).getBytes(StandardCharsets.UTF_8));
-      mac.update(clientId.getBytes(StandardCharsets.UTF_8));
-      mac.update(key.getBytes(StandardCharsets.UTF_8));
+      final RequestSigner.Signature message =
+          requestSigner.sign().update(Long.toString(nonce)).update(clientId).update(key);
 
       /*
        * Signature is a HMAC-SHA256 encoded message containing: nonce, client ID and API key.
@@ -801,22 +804,11 @@ public class BitstampExchangeAdapter extends AbstractExchangeAdapter implements
        *
        * signature = hmac.new(API_SECRET, msg=message, digestmod=hashlib.sha256).hexdigest().upper()
        */
-      final String signature = toHex(mac.doFinal()).toUpperCase();
+      final String signature = message.toUpperCaseHex();
       params.put("signature", signature);
 
-      // increment ready for next call...
-      nonce++;
-
-      // Build the URL with query param args in it
-      final StringBuilder postData = new StringBuilder();
-      for (final Map.Entry<String, String> param : params.entrySet()) {
-        if (!postData.isEmpty()) {
-          postData.append("&");
-        }
-        postData.append(param.getKey());
-        postData.append("=");
-        postData.append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8));
-      }
+      // Build the post data with the param args in it
+      final String postData = requestSigner.formEncode(params);
 
       // Request headers required by Exchange
       final Map<String, String> requestHeaders = createHeaderParamMap();
@@ -824,7 +816,7 @@ public class BitstampExchangeAdapter extends AbstractExchangeAdapter implements
 
       // MUST have the trailing slash else exchange barfs...
       final URL url = new URI(API_BASE_URL + apiMethod + File.separator).toURL();
-      return makeNetworkRequest(url, "POST", postData.toString(), requestHeaders);
+      return makeNetworkRequest(url, "POST", postData, requestHeaders);
 
     } catch (MalformedURLException | URISyntaxException e) {
       final String errorMsg = UNEXPECTED_IO_ERROR_MSG;
@@ -833,14 +825,6 @@ public class BitstampExchangeAdapter extends AbstractExchangeAdapter implements
     }
   }
 
-  private String toHex(byte[] byteArrayToConvert) {
-    final StringBuilder hexString = new StringBuilder();
-    for (final byte aByte : byteArrayToConvert) {
-      hexString.append(String.format("%02x", aByte & 0xff));
-    }
-    return hexString.toString();
-  }
-
   /*
    * Initialises the secure messaging layer.
    * Sets up the MAC to safeguard the data we send to the exchange.
@@ -849,10 +833,8 @@ public class BitstampExchangeAdapter extends AbstractExchangeAdapter implements
    */
   private void initSecureMessageLayer() {
     try {
-      final SecretKeySpec keyspec =
-          new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-      mac = Mac.getInstance("HmacSHA256");
-      mac.init(keyspec);
+      requestSigner =
+          new RequestSigner("HmacSHA256", secret.getBytes(StandardCharsets.UTF_8));
       initializedMacAuthentication = true;
     } catch (NoSuchAlgorithmException e) {
       final String errorMsg = "Failed to setup MAC security. HINT: Is HMAC-SHA256 installed?";
@@ -43,7 +43,6 @@ import com.google.common.base.MoreObjects;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.SerializedName;
-import jakarta.xml.bind.DatatypeConverter;
 import java.io.Serial;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -52,18 +51,18 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.net.http.HttpRequest;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.text.DecimalFormat;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import lombok.extern.log4j.Log4j2;
 
 /**
@@ -87,6 +86,10 @@ import lombok.extern.log4j.Log4j2;
  *       that you not exceed 5 requests per second.
  * </ul>
  *
+ * <p>The adapter can enforce these limits if the publicRequestsPerMinute and
+ * privateRequestsPerMinute are set in the networkConfig section of the exchange.yaml file, e.g. to
+ * 60 and 300.
+ *
  * <p>Exchange fees are loaded from the exchange.yaml file on startup; they are not fetched from the
  * exchange at runtime as the Gemini REST API does not support this. The fees are used across all
  * markets. Make sure you keep an eye on the <a href="https://gemini.com/fee-schedule/">exchange
@@ -156,9 +159,9 @@ public final class GeminiExchangeAdapter extends AbstractExchangeAdapter
   private String key = "";
   private String secret = "";
 
-  private Mac mac;
+  private RequestSigner requestSigner;
   private boolean initializedMacAuthentication = false;
-  private long nonce = 0;
+  private NonceGenerator nonceGenerator;
 
   private Gson gson;
 
@@ -174,7 +177,7 @@ public final class GeminiExchangeAdapter extends AbstractExchangeAdapter
     setNetworkConfig(config);
     setOtherConfig(config);
 
-    nonce = System.currentTimeMillis() / 1000;
+    nonceGenerator = new NonceGenerator(System.currentTimeMillis() / 1000);
     initSecureMessageLayer();
     initGson();
   }
@@ -644,6 +647,12 @@ public final class GeminiExchangeAdapter extends AbstractExchangeAdapter
   //  Transport layer
   // --------------------------------------------------------------------------
 
+  @Override
+  boolean isOrderRequest(HttpRequest request) {
+    final String path = request.uri().getPath();
+    return path.endsWith("/order/new") || path.endsWith("/order/cancel");
+  }
+
   private ExchangeHttpResponse sendPublicRequestToExchange(String apiMethod)
       throws ExchangeNetworkException, TradingApiException {
     try {
@@ -718,20 +727,17 @@ public final class GeminiExchangeAdapter extends AbstractExchangeAdapter
       params.put("request", "/" + GEMINI_API_VERSION + "/" + apiMethod);
 
       // nonce is required by Gemini in every request
-      params.put("nonce", Long.toString(nonce));
-      nonce++;
+      params.put("nonce", Long.toString(nonceGenerator.next()));
 
       // JSON-ify the param dictionary
       final String paramsInJson = gson.toJson(params);
 
       // Need to base64 encode payload as per API
       final String base64payload =
-          DatatypeConverter.printBase64Binary(paramsInJson.getBytes(StandardCharsets.UTF_8));
+          Base64.getEncoder().encodeToString(paramsInJson.getBytes(StandardCharsets.UTF_8));
 
       // Create the signature
-      mac.reset(); // force reset
-      mac.update(base64payload.getBytes(StandardCharsets.UTF_8));
-      final String signature = toHex(mac.doFinal()).toLowerCase();
+      final String signature = requestSigner.sign().update(base64payload).toLowerCaseHex();
 
       // Request headers required by Exchange
       final Map<String, String> requestHeaders = createHeaderParamMap();
@@ -752,14 +758,6 @@ public final class GeminiExchangeAdapter extends AbstractExchangeAdapter
     }
   }
 
-  private String toHex(byte[] byteArrayToConvert) {
-    final StringBuilder hexString = new StringBuilder();
-    for (final byte aByte : byteArrayToConvert) {
-      hexString.append(String.format("%02x", aByte & 0xff));
-    }
-    return hexString.toString();
-  }
-
   /*
    * Initialises the secure messaging layer.
    * Sets up the MAC to safeguard the data we send to the exchange.
@@ -768,10 +766,8 @@ public final class GeminiExchangeAdapter extends AbstractExchangeAdapter
    */
   private void initSecureMessageLayer() {
     try {
-      final SecretKeySpec keyspec =
-          new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA384");
-      mac = Mac.getInstance("HmacSHA384");
-      mac.init(keyspec);
+      requestSigner =
+          new RequestSigner("HmacSHA384", secret.getBytes(StandardCharsets.UTF_8));
       initializedMacAuthentication = true;
     } catch (NoSuchAlgorithmException e) {
       final String errorMsg = "Failed to setup MAC security. HINT: Is HMAC-SHA384 installed?";
@@ -29,10 +29,12 @@ import static java.util.Collections.emptyMap;
 import com.gazbert.bxbot.exchange.api.AuthenticationConfig;
 import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
 import com.gazbert.bxbot.exchange.api.ExchangeConfig;
+import com.gazbert.bxbot.exchange.api.MarketDataListener;
 import com.gazbert.bxbot.exchange.api.OtherConfig;
 import com.gazbert.bxbot.exchange.api.PairPrecisionConfig;
 import com.gazbert.bxbot.exchanges.config.PairPrecisionConfigImpl;
 import com.gazbert.bxbot.exchanges.trading.api.impl.BalanceInfoImpl;
+import com.gazbert.bxbot.exchanges.trading.api.impl.CompactMarketOrderBook;
 import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderBookImpl;
 import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderImpl;
 import com.gazbert.bxbot.exchanges.trading.api.impl.OpenOrderImpl;
@@ -49,14 +51,18 @@ import com.gazbert.bxbot.trading.api.TradingApiException;
 import com.google.common.base.MoreObjects;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import java.io.File;
+import java.io.IOException;
 import java.io.Serial;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -65,23 +71,24 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.net.URLConnection;
 import java.net.URLEncoder;
+import java.net.http.HttpRequest;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.security.InvalidKeyException;
-import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
+import java.util.function.BiConsumer;
 import lombok.extern.log4j.Log4j2;
 
 /**
@@ -106,7 +113,8 @@ import lombok.extern.log4j.Log4j2;
  *
  * <p>The Kraken API has call rate limits - see <a
  * href="https://www.kraken.com/en-gb/help/api#api-call-rate-limit">API Call Rate Limit</a> for
- * details.
+ * details. The adapter can enforce them if the publicRequestsPerMinute and
+ * privateRequestsPerMinute are set in the networkConfig section of the exchange.yaml file.
  *
  * <p>Kraken markets assets (e.g. currencies) can be referenced using their ISO4217-A3 names in the
  * case of ISO registered names, their 3 letter commonly used names in the case of unregistered
@@ -122,9 +130,28 @@ import lombok.extern.log4j.Log4j2;
  * config-item is set to true in the exchange.yaml config file, the bot will stay alive and wait
  * until the next trade cycle.
  *
- * <p>The Exchange Adapter is <em>not</em> thread safe. It expects to be called using a single
- * thread in order to preserve trade execution order. The {@link URLConnection} achieves this by
- * blocking/waiting on the input stream (response) for each API call.
+ * <p>If the use-websocket-order-book config-item is set to true, {@link #getMarketOrders(String)}
+ * returns a local copy of the order book that is kept up to date from the Kraken WebSocket book
+ * feed, instead of fetching the order book from the REST API every time. The REST API is used
+ * until the local order book has synced, and whenever it falls out of sync. The WebSocket book feed
+ * is also used to push order book updates to Streaming Trading Strategies; without it, no market
+ * data is pushed.
+ *
+ * <p>Order books fetched from the REST API are decoded straight into a new compact fixed-point
+ * book, scaled by the pair's price and volume precision. If an order does not fit, e.g. because the
+ * pair precision has changed since it was loaded, the book is decoded into BigDecimals instead. A
+ * book is only returned once the whole response has decoded cleanly, and it is never changed after
+ * it has been returned, so a strategy can hold on to it.
+ *
+ * <p>The public calls, i.e. fetching order books and tickers, are thread safe: each call decodes
+ * its response into new objects, and the pooled HTTP client, rate limiter and WebSocket order book
+ * feed are shared safely. The private calls are thread safe within the adapter too: nonces are
+ * handed out atomically and request signing is thread safe. However, concurrent private calls can
+ * reach Kraken out of nonce order, and Kraken rejects a nonce that is not bigger than the last one
+ * it received unless a nonce window has been set on the API key. So the adapter only reports itself
+ * as {@link #isThreadSafe() thread safe} if the nonce-window-enabled config-item is set to true.
+ * Calls made from a single thread are sent in the order they were made, as each call blocks until
+ * the exchange has responded.
  *
  * <p>The {@link TradingApi} calls will throw a {@link ExchangeNetworkException} if a network error
  * occurs trying to connect to the exchange. A {@link TradingApiException} is thrown for
@@ -137,6 +164,7 @@ import lombok.extern.log4j.Log4j2;
 public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
     implements ExchangeAdapter {
   private static final String KRAKEN_BASE_URI = "https://api.kraken.com/";
+  private static final String KRAKEN_WEBSOCKET_URI = "wss://ws.kraken.com/";
   private static final String KRAKEN_API_VERSION = "0";
   private static final String KRAKEN_PUBLIC_PATH = "/public/";
   private static final String KRAKEN_PRIVATE_PATH = "/private/";
@@ -144,6 +172,8 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
       KRAKEN_BASE_URI + KRAKEN_API_VERSION + KRAKEN_PUBLIC_PATH;
   private static final String AUTHENTICATED_API_URL =
       KRAKEN_BASE_URI + KRAKEN_API_VERSION + KRAKEN_PRIVATE_PATH;
+  private static final String PRIVATE_API_PATH =
+      File.separator + KRAKEN_API_VERSION + KRAKEN_PRIVATE_PATH;
 
   private static final String UNEXPECTED_ERROR_MSG =
       "Unexpected error has occurred in Kraken Exchange Adapter. ";
@@ -177,9 +207,25 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
       "keep-alive-during-maintenance";
   private static final String EXCHANGE_UNDERGOING_MAINTENANCE_RESPONSE = "EService:Unavailable";
 
+  private static final String NONCE_FILE_PROPERTY_NAME = "nonce-file";
+  private static final String NONCE_WINDOW_ENABLED_PROPERTY_NAME = "nonce-window-enabled";
+  private static final String USE_WEBSOCKET_ORDER_BOOK_PROPERTY_NAME = "use-websocket-order-book";
+  private static final String WEBSOCKET_ORDER_BOOK_DEPTH_PROPERTY_NAME =
+      "websocket-order-book-depth";
+  private static final int DEFAULT_WEBSOCKET_ORDER_BOOK_DEPTH = 100;
+
+  // Order book scales for a pair with no precision config: the most decimal places Kraken uses
+  private static final int DEFAULT_ORDER_BOOK_PRICE_SCALE = 10;
+  private static final int DEFAULT_ORDER_BOOK_QUANTITY_SCALE = 8;
+
   private PairPrecisionConfig pairPrecisionConfig;
+  private Map<String, String> webSocketPairNames = emptyMap();
+  private Map<String, String> pairNames = emptyMap();
+  private KrakenWebSocketOrderBookFeed orderBookFeed;
 
-  private long nonce = 0;
+  private NonceGenerator nonceGenerator;
+  private Path nonceFile;
+  private boolean nonceWindowEnabled;
 
   private BigDecimal buyFeePercentage;
   private BigDecimal sellFeePercentage;
@@ -189,7 +235,7 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
   private String key = "";
   private String secret = "";
 
-  private Mac mac;
+  private RequestSigner requestSigner;
   private boolean initializedMacAuthentication = false;
   private Gson gson;
 
@@ -207,7 +253,7 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
     loadPairPrecisionConfig();
     setOtherConfig(config);
 
-    nonce = System.currentTimeMillis();
+    initNonceGenerator();
     initSecureMessageLayer();
   }
 
@@ -220,26 +266,39 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
   public MarketOrderBook getMarketOrders(String marketId)
       throws TradingApiException, ExchangeNetworkException {
 
-    ExchangeHttpResponse response;
+    if (orderBookFeed != null) {
+      final String pair = webSocketPairNames.get(marketId);
+      final MarketOrderBook localOrderBook =
+          pair == null ? null : orderBookFeed.getOrderBook(marketId, pair);
+      if (localOrderBook != null) {
+        return localOrderBook;
+      }
+    }
+
+    DecodedExchangeHttpResponse<KrakenOrderBookResponse> response;
 
     try {
       final Map<String, String> params = createRequestParamMap();
       params.put("pair", marketId);
 
-      response = sendPublicRequestToExchange("Depth", params);
+      // Order books can be big - decode as it streams in, straight into a new compact book
+      final KrakenOrderBookBuilder orderBook =
+          new KrakenOrderBookBuilder(
+              marketId, orderBookPriceScale(marketId), orderBookQuantityScale(marketId));
+      response =
+          sendPublicRequestToExchange(
+              "Depth", params, jsonReader -> decodeOrderBookResponse(jsonReader, orderBook));
       log.debug("Market Orders response: {}", response);
 
       if (response.getStatusCode() == HttpURLConnection.HTTP_OK) {
-        final Type resultType =
-            new TypeToken<KrakenResponse<KrakenMarketOrderBookResult>>() {}.getType();
-        final KrakenResponse<?> krakenResponse = gson.fromJson(response.getPayload(), resultType);
+        final KrakenOrderBookResponse krakenResponse = response.getDecodedPayload();
 
         final List<?> errors = krakenResponse.error;
         if (errors == null || errors.isEmpty()) {
-          return adaptKrakenOrderBook(krakenResponse, marketId);
+          return adaptKrakenOrderBook(krakenResponse);
 
         } else {
-          if (isExchangeUndergoingMaintenance(response) && keepAliveDuringMaintenance) {
+          if (isExchangeUndergoingMaintenance(krakenResponse) && keepAliveDuringMaintenance) {
             log.warn(UNDER_MAINTENANCE_WARNING_MESSAGE);
             throw new ExchangeNetworkException(UNDER_MAINTENANCE_WARNING_MESSAGE);
           }
@@ -440,19 +499,18 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
   public BigDecimal getLatestMarketPrice(String marketId)
       throws TradingApiException, ExchangeNetworkException {
 
-    ExchangeHttpResponse response;
+    DecodedExchangeHttpResponse<KrakenResponse<KrakenTickerResult>> response;
 
     try {
       final Map<String, String> params = createRequestParamMap();
       params.put("pair", marketId);
 
-      response = sendPublicRequestToExchange("Ticker", params);
+      response = sendPublicRequestToExchange("Ticker", params, this::decodeTickerResponse);
       log.debug("Latest Market Price response: {}", response);
 
       if (response.getStatusCode() == HttpURLConnection.HTTP_OK) {
 
-        final Type resultType = new TypeToken<KrakenResponse<KrakenTickerResult>>() {}.getType();
-        final KrakenResponse<?> krakenResponse = gson.fromJson(response.getPayload(), resultType);
+        final KrakenResponse<?> krakenResponse = response.getDecodedPayload();
 
         final List<?> errors = krakenResponse.error;
         if (errors == null || errors.isEmpty()) {
@@ -466,7 +524,7 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
 
         } else {
 
-          if (isExchangeUndergoingMaintenance(response) && keepAliveDuringMaintenance) {
+          if (isExchangeUndergoingMaintenance(krakenResponse) && keepAliveDuringMaintenance) {
             log.warn(UNDER_MAINTENANCE_WARNING_MESSAGE);
             throw new ExchangeNetworkException(UNDER_MAINTENANCE_WARNING_MESSAGE);
           }
@@ -493,15 +551,20 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
   @Override
   public BalanceInfo getBalanceInfo() throws TradingApiException, ExchangeNetworkException {
 
-    ExchangeHttpResponse response;
+    DecodedExchangeHttpResponse<KrakenResponse<KrakenBalanceResult>> response;
 
     try {
-      response = sendAuthenticatedRequestToExchange("Balance", null);
+      response =
+          sendAuthenticatedRequestToExchange(
+              "Balance",
+              null,
+              jsonReader ->
+                  gson.fromJson(
+                      jsonReader, new TypeToken<KrakenResponse<KrakenBalanceResult>>() {}));
       log.debug("Balance Info response: {}", response);
 
       if (response.getStatusCode() == HttpURLConnection.HTTP_OK) {
-        final Type resultType = new TypeToken<KrakenResponse<KrakenBalanceResult>>() {}.getType();
-        return adaptKrakenBalanceInfo(response, resultType);
+        return adaptKrakenBalanceInfo(response);
 
       } else {
         final String errorMsg = FAILED_TO_GET_BALANCE + response;
@@ -543,48 +606,145 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
     return pairPrecisionConfig.getMinimalOrderVolume(marketId);
   }
 
+  @Override
+  public void subscribeToMarketData(Collection<String> marketIds, MarketDataListener listener) {
+    if (orderBookFeed == null) {
+      log.warn(
+          "Market data will not be pushed: "
+              + USE_WEBSOCKET_ORDER_BOOK_PROPERTY_NAME
+              + " is not set to true in exchange.yaml");
+      return;
+    }
+    final Map<String, String> marketIdsToPairs = new LinkedHashMap<>();
+    for (final String marketId : marketIds) {
+      final String pair = webSocketPairNames.get(marketId);
+      if (pair == null) {
+        log.warn("Market data will not be pushed for unknown market: {}", marketId);
+      } else {
+        marketIdsToPairs.put(marketId, pair);
+      }
+    }
+    orderBookFeed.streamOrderBooks(marketIdsToPairs, listener);
+  }
+
+  @Override
+  public void shutdown() {
+    if (orderBookFeed != null) {
+      log.info("Closing the Kraken WebSocket order book feed...");
+      orderBookFeed.close();
+    }
+  }
+
   @Override
   public String getImplName() {
     return "Kraken API v1";
   }
 
+  /*
+   * Concurrent private calls can reach Kraken out of nonce order, so they are only safe once a
+   * nonce window has been set on the API key.
+   */
+  @Override
+  public boolean isThreadSafe() {
+    return nonceWindowEnabled;
+  }
+
   @Override
   public Ticker getTicker(String marketId) throws TradingApiException, ExchangeNetworkException {
 
-    ExchangeHttpResponse response;
+    DecodedExchangeHttpResponse<KrakenResponse<KrakenTickerResult>> response;
 
     try {
       final Map<String, String> params = createRequestParamMap();
       params.put("pair", marketId);
 
-      response = sendPublicRequestToExchange("Ticker", params);
+      response = sendPublicRequestToExchange("Ticker", params, this::decodeTickerResponse);
       log.debug("Ticker response: {}", response);
 
       if (response.getStatusCode() == HttpURLConnection.HTTP_OK) {
 
-        final Type resultType = new TypeToken<KrakenResponse<KrakenTickerResult>>() {}.getType();
-        final KrakenResponse<?> krakenResponse = gson.fromJson(response.getPayload(), resultType);
+        final KrakenResponse<?> krakenResponse = response.getDecodedPayload();
 
         final List<?> errors = krakenResponse.error;
         if (errors == null || errors.isEmpty()) {
 
           // Assume we'll always get something here if errors array is empty; else blow fast wih NPE
-          final KrakenTickerResult tickerResult = (KrakenTickerResult) krakenResponse.result;
+          return adaptKrakenTicker((KrakenTickerResult) krakenResponse.result);
+
+        } else {
+          if (isExchangeUndergoingMaintenance(krakenResponse) && keepAliveDuringMaintenance) {
+            log.warn(UNDER_MAINTENANCE_WARNING_MESSAGE);
+            throw new ExchangeNetworkException(UNDER_MAINTENANCE_WARNING_MESSAGE);
+          }
+
+          final String errorMsg = FAILED_TO_GET_TICKER + response;
+          log.error(errorMsg);
+          throw new TradingApiException(errorMsg);
+        }
+
+      } else {
+        final String errorMsg = FAILED_TO_GET_TICKER + response;
+        log.error(errorMsg);
+        throw new TradingApiException(errorMsg);
+      }
+
+    } catch (ExchangeNetworkException | TradingApiException e) {
+      throw e;
+
+    } catch (Exception e) {
+      log.error(UNEXPECTED_ERROR_MSG, e);
+      throw new TradingApiException(UNEXPECTED_ERROR_MSG, e);
+    }
+  }
+
+  /*
+   * The Kraken Ticker API call takes a comma separated list of pairs, so the Tickers for all the
+   * markets are fetched in 1 request.
+   */
+  @Override
+  public Map<String, Ticker> getTickers(Collection<String> marketIds)
+      throws TradingApiException, ExchangeNetworkException {
 
-          // ouch!
-          return new TickerImpl(
-              new BigDecimal(tickerResult.get("c")), // last trade
-              new BigDecimal(tickerResult.get("b")), // bid
-              new BigDecimal(tickerResult.get("a")), // ask
-              new BigDecimal(tickerResult.get("l")), // low 24h
-              new BigDecimal(tickerResult.get("h")), // high 24hr
-              new BigDecimal(tickerResult.get("o")), // open
-              new BigDecimal(tickerResult.get("v")), // volume 24hr
-              new BigDecimal(tickerResult.get("p")), // vwap 24hr
-              null); // timestamp not supplied by Kraken
+    final Set<String> uniqueMarketIds = new LinkedHashSet<>(marketIds);
+    final Map<String, Ticker> tickers = new LinkedHashMap<>();
+    if (uniqueMarketIds.isEmpty()) {
+      return tickers;
+    }
+
+    DecodedExchangeHttpResponse<KrakenResponse<KrakenTickersResult>> response;
+
+    try {
+      final Map<String, String> params = createRequestParamMap();
+      params.put("pair", String.join(",", uniqueMarketIds));
+
+      response = sendPublicRequestToExchange("Ticker", params, this::decodeTickersResponse);
+      log.debug("Tickers response: {}", response);
+
+      if (response.getStatusCode() == HttpURLConnection.HTTP_OK) {
+
+        final KrakenResponse<KrakenTickersResult> krakenResponse = response.getDecodedPayload();
+
+        final List<?> errors = krakenResponse.error;
+        if (errors == null || errors.isEmpty()) {
+
+          for (final String marketId : uniqueMarketIds) {
+            // The results are keyed by Kraken's pair name, e.g. XXBTZUSD for XBTUSD
+            KrakenTickerResult tickerResult = krakenResponse.result.get(marketId);
+            if (tickerResult == null) {
+              tickerResult = krakenResponse.result.get(pairNames.get(marketId));
+            }
+            if (tickerResult == null) {
+              final String errorMsg =
+                  FAILED_TO_GET_TICKER + "no Ticker for " + marketId + " in " + response;
+              log.error(errorMsg);
+              throw new TradingApiException(errorMsg);
+            }
+            tickers.put(marketId, adaptKrakenTicker(tickerResult));
+          }
+          return tickers;
 
         } else {
-          if (isExchangeUndergoingMaintenance(response) && keepAliveDuringMaintenance) {
+          if (isExchangeUndergoingMaintenance(krakenResponse) && keepAliveDuringMaintenance) {
             log.warn(UNDER_MAINTENANCE_WARNING_MESSAGE);
             throw new ExchangeNetworkException(UNDER_MAINTENANCE_WARNING_MESSAGE);
           }
@@ -643,10 +803,21 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
     }
   }
 
-  /** GSON class that wraps Depth API call result - the Market Order Book. */
-  private static class KrakenMarketOrderBookResult extends HashMap<String, KrakenOrderBook> {
+  /**
+   * Wraps the Depth API call result. The order book is decoded straight into a new compact order
+   * book, rather than by GSON.
+   */
+  private static class KrakenOrderBookResponse extends KrakenResponse<Void> {
+
+    MarketOrderBook orderBook;
 
-    @Serial private static final long serialVersionUID = -4913711010647027721L;
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("error", error)
+          .add("orderBook", orderBook)
+          .toString();
+    }
   }
 
   /** GSON class that wraps a Balance API call result. */
@@ -665,6 +836,16 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
     }
   }
 
+  /** GSON class that wraps a Ticker API call result for several pairs, keyed by pair name. */
+  private static class KrakenTickersResult extends HashMap<String, KrakenTickerResult> {
+
+    @Serial private static final long serialVersionUID = -2390128305925718426L;
+
+    KrakenTickersResult() {
+      // noimpl
+    }
+  }
+
   private static class KrakenAssetPairsConfig extends HashMap<String, Object> {
 
     @Serial private static final long serialVersionUID = -9226840830768795L;
@@ -693,6 +874,30 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
 
       return new PairPrecisionConfigImpl(prices, volumes, orderMins);
     }
+
+    Map<String, String> loadPairNames() {
+      final Map<String, String> pairNames = new HashMap<>();
+      for (final Entry<String, Object> assetPair : this.entrySet()) {
+        final Object altName = ((Map<?, ?>) assetPair.getValue()).get("altname");
+        if (altName != null) {
+          pairNames.put((String) altName, assetPair.getKey());
+        }
+      }
+      return pairNames;
+    }
+
+    Map<String, String> loadWebSocketPairNames() {
+      final Map<String, String> webSocketPairNames = new HashMap<>();
+      for (final Object assetPair : this.values()) {
+        final Map<?, ?> assetPairFields = (Map<?, ?>) assetPair;
+        final Object name = assetPairFields.get("altname");
+        final Object webSocketPairName = assetPairFields.get("wsname");
+        if (webSocketPairName != null) {
+          webSocketPairNames.put((String) name, (String) webSocketPairName);
+        }
+      }
+      return webSocketPairNames;
+    }
   }
 
   /** GSON class that wraps an Open Order API call result - your open orders. */
@@ -807,102 +1012,129 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
     }
   }
 
-  /** GSON class for a Market Order Book. */
-  private static class KrakenOrderBook {
-
-    List<KrakenMarketOrder> bids;
-    List<KrakenMarketOrder> asks;
-
-    @Override
-    public String toString() {
-      return MoreObjects.toStringHelper(this).add("bids", bids).add("asks", asks).toString();
-    }
-  }
-
-  /**
-   * GSON class for holding Market Orders. First element in array is price, second element is
-   * amount, 3rd is UNIX time.
-   */
-  private static class KrakenMarketOrder extends ArrayList<BigDecimal> {
-
-    @Serial private static final long serialVersionUID = -4959711260742077759L;
-  }
-
   /**
-   * Custom GSON Deserializer for Ticker API call result.
+   * Custom GSON Type Adapter for Ticker API call result.
    *
    * <p>Have to do this because last entry in the Ticker param map is a String, not an array like
-   * the rest of 'em!
+   * the rest of 'em! The result is read straight off the response stream.
    */
-  private static class KrakenTickerResultDeserializer
-      implements JsonDeserializer<KrakenTickerResult> {
+  private static class KrakenTickerResultTypeAdapter extends TypeAdapter<KrakenTickerResult> {
 
-    KrakenTickerResultDeserializer() {
+    KrakenTickerResultTypeAdapter() {
       // noimpl
     }
 
-    public KrakenTickerResult deserialize(
-        JsonElement json, Type type, JsonDeserializationContext context) {
+    @Override
+    public KrakenTickerResult read(JsonReader jsonReader) throws IOException {
 
       final KrakenTickerResult krakenTickerResult = new KrakenTickerResult();
-      if (json.isJsonObject()) {
+      if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+        jsonReader.skipValue();
+        return krakenTickerResult;
+      }
 
-        final JsonObject jsonObject = json.getAsJsonObject();
+      jsonReader.beginObject();
 
-        // assume 1 (KV) entry as per API spec - the K is the market id, the V is a Map of ticker
-        // params
-        final JsonElement tickerParams = jsonObject.entrySet().iterator().next().getValue();
+      // assume 1 (KV) entry as per API spec - the K is the market id, the V is a Map of ticker
+      // params
+      if (jsonReader.hasNext()) {
+        jsonReader.nextName();
+        readTickerParams(jsonReader, krakenTickerResult);
+      }
 
-        final JsonObject tickerMap = tickerParams.getAsJsonObject();
-        for (Map.Entry<String, JsonElement> jsonTickerParam : tickerMap.entrySet()) {
+      while (jsonReader.hasNext()) {
+        jsonReader.nextName();
+        jsonReader.skipValue();
+      }
+      jsonReader.endObject();
+      return krakenTickerResult;
+    }
 
-          final String key = jsonTickerParam.getKey();
-          switch (key) {
-            case "c" -> {
-              final List<String> lastTradeDetails =
-                  context.deserialize(jsonTickerParam.getValue(), List.class);
-              krakenTickerResult.put("c", lastTradeDetails.get(0));
-            }
-            case "b" -> {
-              final List<String> bidDetails =
-                  context.deserialize(jsonTickerParam.getValue(), List.class);
-              krakenTickerResult.put("b", bidDetails.get(0));
-            }
-            case "a" -> {
-              final List<String> askDetails =
-                  context.deserialize(jsonTickerParam.getValue(), List.class);
-              krakenTickerResult.put("a", askDetails.get(0));
-            }
-            case "l" -> {
-              final List<String> lowDetails =
-                  context.deserialize(jsonTickerParam.getValue(), List.class);
-              krakenTickerResult.put("l", lowDetails.get(1));
-            }
-            case "h" -> {
-              final List<String> highDetails =
-                  context.deserialize(jsonTickerParam.getValue(), List.class);
-              krakenTickerResult.put("h", highDetails.get(1));
-            }
-            case "o" -> {
-              final String openDetails =
-                  context.deserialize(jsonTickerParam.getValue(), String.class);
-              krakenTickerResult.put("o", openDetails);
-            }
-            case "v" -> {
-              final List<String> volumeDetails =
-                  context.deserialize(jsonTickerParam.getValue(), List.class);
-              krakenTickerResult.put("v", volumeDetails.get(1));
-            }
-            case "p" -> {
-              final List<String> vWapDetails =
-                  context.deserialize(jsonTickerParam.getValue(), List.class);
-              krakenTickerResult.put("p", vWapDetails.get(1));
-            }
-            default -> log.warn("Received unexpected Ticker param - ignoring: {}", key);
+    /* Writes the ticker params that were read, keyed by param name. */
+    @Override
+    public void write(JsonWriter jsonWriter, KrakenTickerResult krakenTickerResult)
+        throws IOException {
+      writeTickerParams(jsonWriter, krakenTickerResult);
+    }
+
+    static void writeTickerParams(JsonWriter jsonWriter, KrakenTickerResult krakenTickerResult)
+        throws IOException {
+      jsonWriter.beginObject();
+      for (final Map.Entry<String, String> tickerParam : krakenTickerResult.entrySet()) {
+        jsonWriter.name(tickerParam.getKey()).value(tickerParam.getValue());
+      }
+      jsonWriter.endObject();
+    }
+
+    static void readTickerParams(JsonReader jsonReader, KrakenTickerResult krakenTickerResult)
+        throws IOException {
+      jsonReader.beginObject();
+      while (jsonReader.hasNext()) {
+        final String key = jsonReader.nextName();
+        switch (key) {
+          case "c", "b", "a" -> krakenTickerResult.put(key, readArrayItem(jsonReader, 0));
+          case "l", "h", "v", "p" -> krakenTickerResult.put(key, readArrayItem(jsonReader, 1));
+          case "o" -> krakenTickerResult.put(key, jsonReader.nextString());
+          default -> {
+            log.warn("Received unexpected Ticker param - ignoring: {}", key);
+            jsonReader.skipValue();
           }
         }
       }
-      return krakenTickerResult;
+      jsonReader.endObject();
+    }
+
+    private static String readArrayItem(JsonReader jsonReader, int index) throws IOException {
+      String item = null;
+      jsonReader.beginArray();
+      for (int i = 0; jsonReader.hasNext(); i++) {
+        if (i == index) {
+          item = jsonReader.nextString();
+        } else {
+          jsonReader.skipValue();
+        }
+      }
+      jsonReader.endArray();
+      return item;
+    }
+  }
+
+  /** GSON type adapter for the Ticker API call result for several pairs. */
+  private static class KrakenTickersResultTypeAdapter extends TypeAdapter<KrakenTickersResult> {
+
+    KrakenTickersResultTypeAdapter() {
+      // noimpl
+    }
+
+    @Override
+    public KrakenTickersResult read(JsonReader jsonReader) throws IOException {
+      final KrakenTickersResult krakenTickersResult = new KrakenTickersResult();
+      if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+        jsonReader.skipValue();
+        return krakenTickersResult;
+      }
+
+      jsonReader.beginObject();
+      while (jsonReader.hasNext()) {
+        final String pairName = jsonReader.nextName();
+        final KrakenTickerResult krakenTickerResult = new KrakenTickerResult();
+        KrakenTickerResultTypeAdapter.readTickerParams(jsonReader, krakenTickerResult);
+        krakenTickersResult.put(pairName, krakenTickerResult);
+      }
+      jsonReader.endObject();
+      return krakenTickersResult;
+    }
+
+    /* Writes the ticker params that were read for each pair, keyed by pair name. */
+    @Override
+    public void write(JsonWriter jsonWriter, KrakenTickersResult krakenTickersResult)
+        throws IOException {
+      jsonWriter.beginObject();
+      for (final Map.Entry<String, KrakenTickerResult> ticker : krakenTickersResult.entrySet()) {
+        jsonWriter.name(ticker.getKey());
+        KrakenTickerResultTypeAdapter.writeTickerParams(jsonWriter, ticker.getValue());
+      }
+      jsonWriter.endObject();
     }
   }
 
@@ -910,9 +1142,31 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
   //  Transport layer methods
   // --------------------------------------------------------------------------
 
+  @Override
+  boolean isOrderRequest(HttpRequest request) {
+    final String path = request.uri().getPath();
+    return path.endsWith("/AddOrder") || path.endsWith("/CancelOrder");
+  }
+
   private ExchangeHttpResponse sendPublicRequestToExchange(
       String apiMethod, Map<String, String> params)
       throws ExchangeNetworkException, TradingApiException {
+    return sendPublicRequest(apiMethod, params, this::makeNetworkRequest);
+  }
+
+  private <T> DecodedExchangeHttpResponse<T> sendPublicRequestToExchange(
+      String apiMethod, Map<String, String> params, ResponseDecoder<T> responseDecoder)
+      throws ExchangeNetworkException, TradingApiException {
+    return sendPublicRequest(
+        apiMethod,
+        params,
+        (url, httpMethod, postData, requestHeaders) ->
+            makeNetworkRequest(url, httpMethod, postData, requestHeaders, responseDecoder));
+  }
+
+  private <R extends ExchangeHttpResponse> R sendPublicRequest(
+      String apiMethod, Map<String, String> params, NetworkRequest<R> networkRequest)
+      throws ExchangeNetworkException, TradingApiException {
 
     if (params == null) {
       params = createRequestParamMap(); // no params, so empty query string
@@ -938,7 +1192,7 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
       }
 
       final URL url = new URI(PUBLIC_API_BASE_URL + apiMethod + queryString).toURL();
-      return makeNetworkRequest(url, "GET", null, requestHeaders);
+      return networkRequest.send(url, "GET", null, requestHeaders);
 
     } catch (MalformedURLException | URISyntaxException e) {
       final String errorMsg = UNEXPECTED_IO_ERROR_MSG;
@@ -967,6 +1221,22 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
   private ExchangeHttpResponse sendAuthenticatedRequestToExchange(
       String apiMethod, Map<String, String> params)
       throws ExchangeNetworkException, TradingApiException {
+    return sendAuthenticatedRequest(apiMethod, params, this::makeNetworkRequest);
+  }
+
+  private <T> DecodedExchangeHttpResponse<T> sendAuthenticatedRequestToExchange(
+      String apiMethod, Map<String, String> params, ResponseDecoder<T> responseDecoder)
+      throws ExchangeNetworkException, TradingApiException {
+    return sendAuthenticatedRequest(
+        apiMethod,
+        params,
+        (url, httpMethod, postData, requestHeaders) ->
+            makeNetworkRequest(url, httpMethod, postData, requestHeaders, responseDecoder));
+  }
+
+  private <R extends ExchangeHttpResponse> R sendAuthenticatedRequest(
+      String apiMethod, Map<String, String> params, NetworkRequest<R> networkRequest)
+      throws ExchangeNetworkException, TradingApiException {
 
     if (!initializedMacAuthentication) {
       final String errorMsg = "MAC Message security layer has not been initialized.";
@@ -983,38 +1253,24 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
       // The nonce is required by Kraken in every request.
       // It MUST be incremented each time and the nonce param MUST match the value used in
       // signature.
-      nonce++;
+      final long nonce = nonceGenerator.next();
       params.put("nonce", Long.toString(nonce));
 
-      // Build the URL with query param args in it - yuk!
-      final StringBuilder postData = new StringBuilder();
-      for (final Map.Entry<String, String> param : params.entrySet()) {
-        if (!postData.isEmpty()) {
-          postData.append("&");
-        }
-        postData.append(param.getKey());
-        postData.append("=");
-        postData.append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8));
-      }
+      // Build the post data with the param args in it
+      final String postData = requestSigner.formEncode(params);
 
       // And now the tricky part... ;-o
-      final byte[] pathInBytes =
-          (File.separator + KRAKEN_API_VERSION + KRAKEN_PRIVATE_PATH + apiMethod)
-              .getBytes(StandardCharsets.UTF_8);
-      final String noncePrependedToPostData = Long.toString(nonce) + postData;
-
       // Create sha256 hash of nonce and post data:
-      final MessageDigest md = MessageDigest.getInstance("SHA-256");
-      md.update(noncePrependedToPostData.getBytes(StandardCharsets.UTF_8));
-      final byte[] messageHash = md.digest();
+      final byte[] messageHash = requestSigner.sha256(Long.toString(nonce), postData);
 
-      // Create hmac_sha512 digest of path and previous sha256 hash
-      mac.reset(); // force reset
-      mac.update(pathInBytes);
-      mac.update(messageHash);
-
-      // Signature in Base64
-      final String signature = Base64.getEncoder().encodeToString(mac.doFinal());
+      // Create hmac_sha512 digest of path and previous sha256 hash - signature in Base64
+      final String signature =
+          requestSigner
+              .sign()
+              .update(PRIVATE_API_PATH)
+              .update(apiMethod)
+              .update(messageHash)
+              .toBase64();
 
       // Request headers required by Exchange
       final Map<String, String> requestHeaders = createHeaderParamMap();
@@ -1023,15 +1279,34 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
       requestHeaders.put("API-Sign", signature);
 
       final URL url = new URI(AUTHENTICATED_API_URL + apiMethod).toURL();
-      return makeNetworkRequest(url, "POST", postData.toString(), requestHeaders);
+      return networkRequest.send(url, "POST", postData, requestHeaders);
 
-    } catch (MalformedURLException | NoSuchAlgorithmException | URISyntaxException e) {
+    } catch (MalformedURLException | URISyntaxException | UncheckedIOException e) {
       final String errorMsg = UNEXPECTED_IO_ERROR_MSG;
       log.error(errorMsg, e);
       throw new TradingApiException(errorMsg, e);
     }
   }
 
+  /*
+   * Initialises the nonce generator. Kraken nonces must keep increasing, even after a restart: they
+   * start from the current time, or the last nonce reserved in the nonce file if one is set.
+   */
+  private void initNonceGenerator() {
+    final long initialNonce = System.currentTimeMillis();
+    if (nonceFile == null) {
+      nonceGenerator = new NonceGenerator(initialNonce);
+      return;
+    }
+    try {
+      nonceGenerator = new NonceGenerator(initialNonce, nonceFile);
+    } catch (IOException e) {
+      final String errorMsg = "Failed to read nonce file: " + nonceFile;
+      log.error(errorMsg, e);
+      throw new IllegalStateException(errorMsg, e);
+    }
+  }
+
   /*
    * Initialises the secure messaging layer.
    * Sets up the MAC to safeguard the data we send to the exchange.
@@ -1043,9 +1318,7 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
       // Kraken secret key is in Base64, so we need to decode it first
       final byte[] base64DecodedSecret = Base64.getDecoder().decode(secret);
 
-      final SecretKeySpec keyspec = new SecretKeySpec(base64DecodedSecret, "HmacSHA512");
-      mac = Mac.getInstance("HmacSHA512");
-      mac.init(keyspec);
+      requestSigner = new RequestSigner("HmacSHA512", base64DecodedSecret);
       initializedMacAuthentication = true;
     } catch (NoSuchAlgorithmException e) {
       final String errorMsg = "Failed to setup MAC security. HINT: Is HmacSHA512 installed?";
@@ -1089,6 +1362,33 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
     } else {
       log.info(KEEP_ALIVE_DURING_MAINTENANCE_PROPERTY_NAME + " is not set in exchange.yaml");
     }
+
+    // Optional config
+    final String nonceFileConfig = otherConfig.getItem(NONCE_FILE_PROPERTY_NAME);
+    if (nonceFileConfig != null && !nonceFileConfig.isEmpty()) {
+      nonceFile = Path.of(nonceFileConfig);
+      log.info("Persisting nonces to: {}", nonceFile);
+    }
+
+    nonceWindowEnabled =
+        Boolean.parseBoolean(otherConfig.getItem(NONCE_WINDOW_ENABLED_PROPERTY_NAME));
+    if (nonceWindowEnabled) {
+      log.info("Nonce window is enabled: the adapter can be called concurrently");
+    }
+
+    final String useWebSocketOrderBookConfig =
+        otherConfig.getItem(USE_WEBSOCKET_ORDER_BOOK_PROPERTY_NAME);
+    if (Boolean.parseBoolean(useWebSocketOrderBookConfig)) {
+      final String depthConfig = otherConfig.getItem(WEBSOCKET_ORDER_BOOK_DEPTH_PROPERTY_NAME);
+      final int depth =
+          depthConfig == null || depthConfig.isEmpty()
+              ? DEFAULT_WEBSOCKET_ORDER_BOOK_DEPTH
+              : Integer.parseInt(depthConfig);
+      log.info("Using WebSocket order book with depth: {}", depth);
+      orderBookFeed =
+          new KrakenWebSocketOrderBookFeed(
+              URI.create(KRAKEN_WEBSOCKET_URI), depth, getConnectionTimeout());
+    }
   }
 
   private void loadPairPrecisionConfig() {
@@ -1108,6 +1408,8 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
         }
 
         this.pairPrecisionConfig = krakenResponse.result.loadPrecisionConfig();
+        this.webSocketPairNames = krakenResponse.result.loadWebSocketPairNames();
+        this.pairNames = krakenResponse.result.loadPairNames();
       }
     } catch (ExchangeNetworkException | TradingApiException e) {
       final String errorMsg = "Failed to load price precision config";
@@ -1119,6 +1421,20 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
   //  Util methods
   // --------------------------------------------------------------------------
 
+  private static Ticker adaptKrakenTicker(KrakenTickerResult tickerResult) {
+    // ouch!
+    return new TickerImpl(
+        new BigDecimal(tickerResult.get("c")), // last trade
+        new BigDecimal(tickerResult.get("b")), // bid
+        new BigDecimal(tickerResult.get("a")), // ask
+        new BigDecimal(tickerResult.get("l")), // low 24h
+        new BigDecimal(tickerResult.get("h")), // high 24hr
+        new BigDecimal(tickerResult.get("o")), // open
+        new BigDecimal(tickerResult.get("v")), // volume 24hr
+        new BigDecimal(tickerResult.get("p")), // vwap 24hr
+        null); // timestamp not supplied by Kraken
+  }
+
   private List<OpenOrder> adaptKrakenOpenOrders(KrakenResponse<?> krakenResponse, String marketId)
       throws TradingApiException {
     final List<OpenOrder> openOrders = new ArrayList<>();
@@ -1172,43 +1488,14 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
     return openOrders;
   }
 
-  private MarketOrderBookImpl adaptKrakenOrderBook(
-      KrakenResponse<?> krakenResponse, String marketId) throws TradingApiException {
-
-    // Assume we'll always get something here if errors array is empty; else blow fast wih NPE
-    final KrakenMarketOrderBookResult krakenOrderBookResult =
-        (KrakenMarketOrderBookResult) krakenResponse.result;
-    final Optional<KrakenOrderBook> first = krakenOrderBookResult.values().stream().findFirst();
-    if (first.isPresent()) {
-      final KrakenOrderBook krakenOrderBook = first.get();
-
-      final List<MarketOrder> buyOrders = new ArrayList<>();
-      for (KrakenMarketOrder krakenBuyOrder : krakenOrderBook.bids) {
-        final MarketOrder buyOrder =
-            new MarketOrderImpl(
-                OrderType.BUY,
-                krakenBuyOrder.get(0),
-                krakenBuyOrder.get(1),
-                krakenBuyOrder.get(0).multiply(krakenBuyOrder.get(1)));
-        buyOrders.add(buyOrder);
-      }
-
-      final List<MarketOrder> sellOrders = new ArrayList<>();
-      for (KrakenMarketOrder krakenSellOrder : krakenOrderBook.asks) {
-        final MarketOrder sellOrder =
-            new MarketOrderImpl(
-                OrderType.SELL,
-                krakenSellOrder.get(0),
-                krakenSellOrder.get(1),
-                krakenSellOrder.get(0).multiply(krakenSellOrder.get(1)));
-        sellOrders.add(sellOrder);
-      }
-      return new MarketOrderBookImpl(marketId, sellOrders, buyOrders);
-    } else {
+  private MarketOrderBook adaptKrakenOrderBook(KrakenOrderBookResponse krakenResponse)
+      throws TradingApiException {
+    if (krakenResponse.orderBook == null) {
       final String errorMsg = FAILED_TO_GET_MARKET_ORDERS + krakenResponse;
       log.error(errorMsg);
       throw new TradingApiException(errorMsg);
     }
+    return krakenResponse.orderBook;
   }
 
   private boolean adaptKrakenCancelOrderResult(KrakenResponse<?> krakenResponse) {
@@ -1230,14 +1517,15 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
     }
   }
 
-  private BalanceInfoImpl adaptKrakenBalanceInfo(ExchangeHttpResponse response, Type resultType)
+  private BalanceInfoImpl adaptKrakenBalanceInfo(
+      DecodedExchangeHttpResponse<KrakenResponse<KrakenBalanceResult>> response)
       throws ExchangeNetworkException, TradingApiException {
-    final KrakenResponse<?> krakenResponse = gson.fromJson(response.getPayload(), resultType);
+    final KrakenResponse<KrakenBalanceResult> krakenResponse = response.getDecodedPayload();
     if (krakenResponse != null) {
       final List<?> errors = krakenResponse.error;
       if (errors == null || errors.isEmpty()) {
         // Assume we'll always get something here if errors array is empty; else blow fast wih NPE
-        final KrakenBalanceResult balanceResult = (KrakenBalanceResult) krakenResponse.result;
+        final KrakenBalanceResult balanceResult = krakenResponse.result;
         final Map<String, BigDecimal> balancesAvailable = new HashMap<>();
         final Set<Map.Entry<String, BigDecimal>> entries = balanceResult.entrySet();
         for (final Map.Entry<String, BigDecimal> entry : entries) {
@@ -1249,7 +1537,7 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
         return new BalanceInfoImpl(balancesAvailable, new HashMap<>());
 
       } else {
-        if (isExchangeUndergoingMaintenance(response) && keepAliveDuringMaintenance) {
+        if (isExchangeUndergoingMaintenance(krakenResponse) && keepAliveDuringMaintenance) {
           log.warn(UNDER_MAINTENANCE_WARNING_MESSAGE);
           throw new ExchangeNetworkException(UNDER_MAINTENANCE_WARNING_MESSAGE);
         }
@@ -1267,7 +1555,10 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
 
   private void initGson() {
     final GsonBuilder gsonBuilder = new GsonBuilder();
-    gsonBuilder.registerTypeAdapter(KrakenTickerResult.class, new KrakenTickerResultDeserializer());
+    gsonBuilder.registerTypeAdapter(
+        KrakenTickerResult.class, new KrakenTickerResultTypeAdapter().nullSafe());
+    gsonBuilder.registerTypeAdapter(
+        KrakenTickersResult.class, new KrakenTickersResultTypeAdapter().nullSafe());
     gson = gsonBuilder.create();
   }
 
@@ -1279,6 +1570,88 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
     return false;
   }
 
+  private static boolean isExchangeUndergoingMaintenance(KrakenResponse<?> krakenResponse) {
+    return krakenResponse.error != null
+        && krakenResponse.error.stream()
+            .anyMatch(error -> error.contains(EXCHANGE_UNDERGOING_MAINTENANCE_RESPONSE));
+  }
+
+  private KrakenResponse<KrakenTickerResult> decodeTickerResponse(JsonReader jsonReader) {
+    return gson.fromJson(jsonReader, new TypeToken<KrakenResponse<KrakenTickerResult>>() {});
+  }
+
+  private KrakenResponse<KrakenTickersResult> decodeTickersResponse(JsonReader jsonReader) {
+    return gson.fromJson(jsonReader, new TypeToken<KrakenResponse<KrakenTickersResult>>() {});
+  }
+
+  /*
+   * Decodes the Depth response without creating an object per order. The order book is null if the
+   * response has no order book in it.
+   */
+  private KrakenOrderBookResponse decodeOrderBookResponse(
+      JsonReader jsonReader, KrakenOrderBookBuilder orderBook) throws IOException {
+    final KrakenOrderBookResponse krakenResponse = new KrakenOrderBookResponse();
+    jsonReader.beginObject();
+    while (jsonReader.hasNext()) {
+      final String name = jsonReader.nextName();
+      if ("error".equals(name)) {
+        krakenResponse.error = gson.fromJson(jsonReader, new TypeToken<List<String>>() {});
+      } else if ("result".equals(name) && jsonReader.peek() == JsonToken.BEGIN_OBJECT) {
+        jsonReader.beginObject();
+        // assume 1 (KV) entry as per API spec - the K is the market id, the V is the order book
+        while (jsonReader.hasNext()) {
+          jsonReader.nextName();
+          jsonReader.beginObject();
+          while (jsonReader.hasNext()) {
+            switch (jsonReader.nextName()) {
+              case "asks" -> decodeOrders(jsonReader, orderBook::addSellOrder);
+              case "bids" -> decodeOrders(jsonReader, orderBook::addBuyOrder);
+              default -> jsonReader.skipValue();
+            }
+          }
+          jsonReader.endObject();
+          krakenResponse.orderBook = orderBook.build();
+        }
+        jsonReader.endObject();
+      } else {
+        jsonReader.skipValue();
+      }
+    }
+    jsonReader.endObject();
+    return krakenResponse;
+  }
+
+  private int orderBookPriceScale(String marketId) {
+    final int precision =
+        pairPrecisionConfig == null ? -1 : pairPrecisionConfig.getPricePrecision(marketId);
+    return precision < 0 ? DEFAULT_ORDER_BOOK_PRICE_SCALE : precision;
+  }
+
+  private int orderBookQuantityScale(String marketId) {
+    final int precision =
+        pairPrecisionConfig == null ? -1 : pairPrecisionConfig.getVolumePrecision(marketId);
+    return precision < 0 ? DEFAULT_ORDER_BOOK_QUANTITY_SCALE : precision;
+  }
+
+  /*
+   * Each order is a [price, volume, timestamp] array.
+   */
+  private static void decodeOrders(JsonReader jsonReader, BiConsumer<String, String> orderConsumer)
+      throws IOException {
+    jsonReader.beginArray();
+    while (jsonReader.hasNext()) {
+      jsonReader.beginArray();
+      final String price = jsonReader.nextString();
+      final String volume = jsonReader.nextString();
+      while (jsonReader.hasNext()) {
+        jsonReader.skipValue();
+      }
+      jsonReader.endArray();
+      orderConsumer.accept(price, volume);
+    }
+    jsonReader.endArray();
+  }
+
   /*
    * Hack for unit-testing map params passed to transport layer.
    */
@@ -1301,4 +1674,89 @@ public final class KrakenExchangeAdapter extends AbstractExchangeAdapter
       throws TradingApiException, ExchangeNetworkException {
     return super.sendNetworkRequest(url, httpMethod, postData, requestHeaders);
   }
+
+  /*
+   * Hack for unit-testing streamed transport layer.
+   */
+  private <T> DecodedExchangeHttpResponse<T> makeNetworkRequest(
+      URL url,
+      String httpMethod,
+      String postData,
+      Map<String, String> requestHeaders,
+      ResponseDecoder<T> responseDecoder)
+      throws TradingApiException, ExchangeNetworkException {
+    return super.sendNetworkRequest(url, httpMethod, postData, requestHeaders, responseDecoder);
+  }
+
+  /**
+   * Builds an order book as the Depth response is decoded. The orders go into a compact fixed-point
+   * book. If an order does not fit its scales, the orders are moved to a BigDecimal book rather
+   * than failing the request.
+   */
+  private static final class KrakenOrderBookBuilder {
+
+    private final String marketId;
+    private CompactMarketOrderBook compactOrderBook;
+    private List<MarketOrder> sellOrders;
+    private List<MarketOrder> buyOrders;
+
+    KrakenOrderBookBuilder(String marketId, int priceScale, int quantityScale) {
+      this.marketId = marketId;
+      compactOrderBook = new CompactMarketOrderBook(marketId, priceScale, quantityScale);
+    }
+
+    void addSellOrder(String price, String quantity) {
+      if (compactOrderBook != null) {
+        try {
+          compactOrderBook.addSellOrder(price, quantity);
+          return;
+        } catch (ArithmeticException e) {
+          useBigDecimals(e);
+        }
+      }
+      sellOrders.add(createMarketOrder(OrderType.SELL, price, quantity));
+    }
+
+    void addBuyOrder(String price, String quantity) {
+      if (compactOrderBook != null) {
+        try {
+          compactOrderBook.addBuyOrder(price, quantity);
+          return;
+        } catch (ArithmeticException e) {
+          useBigDecimals(e);
+        }
+      }
+      buyOrders.add(createMarketOrder(OrderType.BUY, price, quantity));
+    }
+
+    MarketOrderBook build() {
+      return compactOrderBook != null
+          ? compactOrderBook
+          : new MarketOrderBookImpl(marketId, sellOrders, buyOrders);
+    }
+
+    private void useBigDecimals(ArithmeticException e) {
+      log.warn(
+          "Order book for market {} does not fit its pair precision - using BigDecimals: {}",
+          marketId,
+          e.getMessage());
+      sellOrders = new ArrayList<>(compactOrderBook.getSellOrders());
+      buyOrders = new ArrayList<>(compactOrderBook.getBuyOrders());
+      compactOrderBook = null;
+    }
+
+    private static MarketOrder createMarketOrder(OrderType type, String price, String quantity) {
+      final BigDecimal priceValue = new BigDecimal(price);
+      final BigDecimal quantityValue = new BigDecimal(quantity);
+      return new MarketOrderImpl(
+          type, priceValue, quantityValue, priceValue.multiply(quantityValue));
+    }
+  }
+
+  /** Sends a built request using the plain or streamed transport. */
+  @FunctionalInterface
+  private interface NetworkRequest<R extends ExchangeHttpResponse> {
+    R send(URL url, String httpMethod, String postData, Map<String, String> requestHeaders)
+        throws TradingApiException, ExchangeNetworkException;
+  }
 }
@@ -0,0 +1,216 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderBookImpl;
+import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderImpl;
+import com.gazbert.bxbot.trading.api.MarketOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * A local copy of a Kraken order book that is kept up to date by applying the updates from the
+ * Kraken WebSocket book feed.
+ *
+ * <p>The book keeps the price and volume strings exactly as Kraken sent them: the Kraken checksum
+ * is calculated over these strings, so they cannot be normalised.
+ *
+ * <p>The book is written by the WebSocket listener thread and read by the Trading Engine thread,
+ * so all access is synchronized.
+ *
+ * @author gazbert
+ */
+final class KrakenLocalOrderBook {
+
+  private static final int CHECKSUM_LEVELS = 10;
+
+  private final String marketId;
+  private final int depth;
+  private final TreeMap<BigDecimal, PriceLevel> asks = new TreeMap<>();
+  private final TreeMap<BigDecimal, PriceLevel> bids = new TreeMap<>(Comparator.reverseOrder());
+  private boolean synced;
+
+  /**
+   * Creates an empty, unsynced order book.
+   *
+   * @param marketId the market ID to report in the order book snapshots.
+   * @param depth the number of price levels to keep on each side of the book.
+   */
+  KrakenLocalOrderBook(String marketId, int depth) {
+    this.marketId = marketId;
+    this.depth = depth;
+  }
+
+  /**
+   * Replaces the contents of the book with a snapshot. The book is synced once the snapshot is
+   * applied.
+   *
+   * @param askLevels the ask price levels: each one is a [price, volume, ...] array of strings.
+   * @param bidLevels the bid price levels: each one is a [price, volume, ...] array of strings.
+   */
+  synchronized void applySnapshot(List<String[]> askLevels, List<String[]> bidLevels) {
+    asks.clear();
+    bids.clear();
+    applyLevels(asks, askLevels);
+    applyLevels(bids, bidLevels);
+    synced = true;
+  }
+
+  /**
+   * Applies an incremental update to the book. A level with zero volume is removed from the book.
+   *
+   * @param askLevels the changed ask price levels.
+   * @param bidLevels the changed bid price levels.
+   * @param checksum the checksum Kraken calculated for the book after the update.
+   * @return true if the book is still in sync with Kraken's book, false if the checksum does not
+   *     match or the book has not received a snapshot yet.
+   */
+  synchronized boolean applyUpdate(
+      List<String[]> askLevels, List<String[]> bidLevels, String checksum) {
+    if (!synced) {
+      return false;
+    }
+    applyLevels(asks, askLevels);
+    applyLevels(bids, bidLevels);
+    if (checksum != null && !checksum.equals(Long.toString(checksum()))) {
+      clear();
+    }
+    return synced;
+  }
+
+  /** Clears the book. It is unsynced until the next snapshot is applied. */
+  synchronized void clear() {
+    asks.clear();
+    bids.clear();
+    synced = false;
+  }
+
+  /**
+   * Returns true if the book is in sync with Kraken's book.
+   *
+   * @return true if synced, false otherwise.
+   */
+  synchronized boolean isSynced() {
+    return synced;
+  }
+
+  /**
+   * Takes a snapshot of the book.
+   *
+   * @return the order book, or null if the book is not synced.
+   */
+  synchronized MarketOrderBookImpl snapshot() {
+    if (!synced) {
+      return null;
+    }
+    return new MarketOrderBookImpl(
+        marketId, toMarketOrders(OrderType.SELL, asks), toMarketOrders(OrderType.BUY, bids));
+  }
+
+  /*
+   * CRC32 of the top 10 asks (lowest first) followed by the top 10 bids (highest first). Each level
+   * contributes its price then its volume, with the decimal point and leading zeros removed.
+   * See https://docs.kraken.com/api/docs/guides/spot-ws-book-v1
+   */
+  synchronized long checksum() {
+    final StringBuilder checksumInput = new StringBuilder();
+    appendChecksumInput(checksumInput, asks);
+    appendChecksumInput(checksumInput, bids);
+    final CRC32 crc32 = new CRC32();
+    crc32.update(checksumInput.toString().getBytes(StandardCharsets.US_ASCII));
+    return crc32.getValue();
+  }
+
+  private void applyLevels(TreeMap<BigDecimal, PriceLevel> side, List<String[]> levels) {
+    for (final String[] level : levels) {
+      final BigDecimal price = new BigDecimal(level[0]);
+      final BigDecimal volume = new BigDecimal(level[1]);
+      if (volume.signum() == 0) {
+        side.remove(price);
+      } else {
+        side.put(price, new PriceLevel(level[0], level[1], volume));
+      }
+    }
+    while (side.size() > depth) {
+      side.pollLastEntry();
+    }
+  }
+
+  private static List<MarketOrder> toMarketOrders(
+      OrderType orderType, TreeMap<BigDecimal, PriceLevel> side) {
+    final List<MarketOrder> marketOrders = new ArrayList<>(side.size());
+    for (final Map.Entry<BigDecimal, PriceLevel> level : side.entrySet()) {
+      final BigDecimal price = level.getKey();
+      final BigDecimal volume = level.getValue().volume;
+      marketOrders.add(new MarketOrderImpl(orderType, price, volume, price.multiply(volume)));
+    }
+    return Collections.unmodifiableList(marketOrders);
+  }
+
+  private static void appendChecksumInput(
+      StringBuilder checksumInput, TreeMap<BigDecimal, PriceLevel> side) {
+    int levelCount = 0;
+    for (final PriceLevel level : side.values()) {
+      if (levelCount++ == CHECKSUM_LEVELS) {
+        break;
+      }
+      appendChecksumDigits(checksumInput, level.priceString);
+      appendChecksumDigits(checksumInput, level.volumeString);
+    }
+  }
+
+  private static void appendChecksumDigits(StringBuilder checksumInput, String decimal) {
+    boolean leadingZero = true;
+    for (int i = 0; i < decimal.length(); i++) {
+      final char c = decimal.charAt(i);
+      if (c == '.' || (leadingZero && c == '0')) {
+        continue;
+      }
+      leadingZero = false;
+      checksumInput.append(c);
+    }
+  }
+
+  /** A price level, as sent by Kraken. */
+  private static final class PriceLevel {
+
+    private final String priceString;
+    private final String volumeString;
+    private final BigDecimal volume;
+
+    PriceLevel(String priceString, String volumeString, BigDecimal volume) {
+      this.priceString = priceString;
+      this.volumeString = volumeString;
+      this.volume = volume;
+    }
+  }
+}
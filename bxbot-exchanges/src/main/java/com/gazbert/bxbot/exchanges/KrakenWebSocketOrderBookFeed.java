@@ -0,0 +1,350 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import com.gazbert.bxbot.exchange.api.MarketDataListener;
+import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderBookImpl;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Maintains local order books from the Kraken WebSocket (v1) book feed.
+ *
+ * <p>A market is subscribed to the first time its order book is requested. Kraken sends a snapshot
+ * of the book, followed by incremental updates that are applied to the local book. Kraken's v1 feed
+ * has no sequence numbers: instead, each update carries a checksum of the top of the book, which is
+ * verified after every update. If the checksum does not match, the local book is discarded and the
+ * market is resubscribed to get a fresh snapshot.
+ *
+ * <p>If the connection is lost, all the local books are discarded and the feed reconnects the next
+ * time an order book is requested. Whilst a book is not synced, {@link #getOrderBook(String,
+ * String)} returns null and the caller is expected to fall back to the REST API.
+ *
+ * <p>If a {@link MarketDataListener} is set, it is sent a snapshot of the local book each time the
+ * book changes, on the WebSocket thread. The feed then reconnects as soon as the connection is
+ * lost, instead of waiting for the next order book request.
+ *
+ * @author gazbert
+ */
+@Log4j2
+class KrakenWebSocketOrderBookFeed implements WebSocket.Listener {
+
+  private static final String EVENT = "event";
+  private static final String STATUS = "status";
+  private static final String PAIR = "pair";
+  private static final String ERROR_MESSAGE = "errorMessage";
+  private static final String ALREADY_SUBSCRIBED = "Already subscribed";
+
+  private final URI uri;
+  private final int depth;
+  private final HttpClient httpClient;
+  private final Map<String, KrakenLocalOrderBook> orderBooks = new ConcurrentHashMap<>();
+  private final StringBuilder partialMessage = new StringBuilder();
+  private volatile MarketDataListener marketDataListener;
+
+  // Guarded by this. Completes with the WebSocket once the last message has been sent: chaining
+  // sends onto it ensures there is only ever 1 outstanding send, as required by WebSocket.
+  private CompletableFuture<WebSocket> connection;
+
+  /**
+   * Creates the order book feed. It does not connect until the first order book is requested.
+   *
+   * @param uri the Kraken WebSocket API URI.
+   * @param depth the number of price levels to subscribe to on each side of the book.
+   * @param connectTimeout the connection timeout.
+   */
+  KrakenWebSocketOrderBookFeed(URI uri, int depth, Duration connectTimeout) {
+    this.uri = uri;
+    this.depth = depth;
+    this.httpClient = HttpClient.newBuilder().connectTimeout(connectTimeout).build();
+  }
+
+  /**
+   * Returns the local order book for a market, subscribing to the market if needed.
+   *
+   * @param marketId the market ID to report in the order book.
+   * @param pair the Kraken WebSocket pair name, e.g. XBT/USD.
+   * @return the order book, or null if the local book is not synced yet.
+   */
+  MarketOrderBookImpl getOrderBook(String marketId, String pair) {
+    final KrakenLocalOrderBook orderBook = orderBooks.get(pair);
+    if (orderBook == null) {
+      subscribe(marketId, pair);
+      return null;
+    }
+
+    final MarketOrderBookImpl snapshot = orderBook.snapshot();
+    if (snapshot == null) {
+      connect(); // reconnects if the connection was lost
+    }
+    return snapshot;
+  }
+
+  /**
+   * Subscribes to the markets and pushes their order books to the listener whenever they change.
+   *
+   * @param marketIdsToPairs the market IDs to report in the order books, mapped to their Kraken
+   *     WebSocket pair names.
+   * @param listener the listener to push the order books to.
+   */
+  synchronized void streamOrderBooks(
+      Map<String, String> marketIdsToPairs, MarketDataListener listener) {
+    marketDataListener = listener;
+    marketIdsToPairs.forEach(this::subscribe);
+  }
+
+  /** Closes the connection to Kraken. */
+  synchronized void close() {
+    marketDataListener = null; // so the feed does not reconnect
+    if (connection != null) {
+      connection.thenAccept(webSocket -> webSocket.sendClose(WebSocket.NORMAL_CLOSURE, ""));
+      connection = null;
+    }
+    orderBooks.values().forEach(KrakenLocalOrderBook::clear);
+  }
+
+  // --------------------------------------------------------------------------
+  //  WebSocket listener callbacks - WebSocket calls these sequentially
+  // --------------------------------------------------------------------------
+
+  @Override
+  public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+    partialMessage.append(data);
+    if (last) {
+      final String message = partialMessage.toString();
+      partialMessage.setLength(0);
+      try {
+        handleMessage(JsonParser.parseString(message));
+      } catch (JsonParseException
+          | IllegalStateException
+          | UnsupportedOperationException
+          | IndexOutOfBoundsException e) {
+        log.error("Failed to process Kraken WebSocket message: " + message, e);
+      }
+    }
+    webSocket.request(1);
+    return null;
+  }
+
+  @Override
+  public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+    log.warn("Kraken WebSocket closed. Status: {} Reason: {}", statusCode, reason);
+    orderBooks.values().forEach(KrakenLocalOrderBook::clear);
+    reconnectIfStreaming(webSocket);
+    return null;
+  }
+
+  @Override
+  public void onError(WebSocket webSocket, Throwable error) {
+    log.error("Kraken WebSocket failed. Local order books will be reloaded.", error);
+    orderBooks.values().forEach(KrakenLocalOrderBook::clear);
+    reconnectIfStreaming(webSocket);
+  }
+
+  // --------------------------------------------------------------------------
+  //  Util methods
+  // --------------------------------------------------------------------------
+
+  private void handleMessage(JsonElement message) {
+    if (message.isJsonArray()) {
+      handleBookMessage(message.getAsJsonArray());
+    } else if (message.isJsonObject()) {
+      handleEvent(message.getAsJsonObject());
+    }
+  }
+
+  /*
+   * Book messages are: [channelID, payload, (payload,) channelName, pair]
+   * A snapshot payload has 'as' and 'bs' levels. An update has 'a' and/or 'b' levels, which can be
+   * split across 2 payloads; the checksum 'c' is in the last payload.
+   */
+  private void handleBookMessage(JsonArray message) {
+    final String pair = message.get(message.size() - 1).getAsString();
+    final KrakenLocalOrderBook orderBook = orderBooks.get(pair);
+    if (orderBook == null) {
+      return;
+    }
+
+    final List<String[]> asks = new ArrayList<>();
+    final List<String[]> bids = new ArrayList<>();
+    boolean snapshot = false;
+    String checksum = null;
+    for (int i = 1; i < message.size() - 2; i++) {
+      final JsonObject payload = message.get(i).getAsJsonObject();
+      if (payload.has("as") || payload.has("bs")) {
+        snapshot = true;
+        addLevels(asks, payload.getAsJsonArray("as"));
+        addLevels(bids, payload.getAsJsonArray("bs"));
+      } else {
+        addLevels(asks, payload.getAsJsonArray("a"));
+        addLevels(bids, payload.getAsJsonArray("b"));
+      }
+      if (payload.has("c")) {
+        checksum = payload.get("c").getAsString();
+      }
+    }
+
+    if (snapshot) {
+      orderBook.applySnapshot(asks, bids);
+      log.info("Kraken WebSocket order book synced for pair: {}", pair);
+      publish(orderBook);
+    } else if (orderBook.applyUpdate(asks, bids, checksum)) {
+      publish(orderBook);
+    } else {
+      log.warn("Kraken WebSocket order book out of sync for pair: {} - resubscribing", pair);
+      send(subscriptionMessage("unsubscribe", pair));
+    }
+  }
+
+  private void publish(KrakenLocalOrderBook orderBook) {
+    final MarketDataListener listener = marketDataListener;
+    if (listener != null) {
+      final MarketOrderBookImpl snapshot = orderBook.snapshot();
+      if (snapshot != null) {
+        listener.onOrderBookUpdate(snapshot.getMarketId(), snapshot);
+      }
+    }
+  }
+
+  /*
+   * The WebSocket is not marked as closed until its listener callback returns, so the connection is
+   * dropped here rather than left for connect() to detect. A late callback from an older WebSocket
+   * must not drop the current connection.
+   */
+  private synchronized void reconnectIfStreaming(WebSocket closedWebSocket) {
+    if (marketDataListener == null || connection == null) {
+      return;
+    }
+    if (!connection.isDone()
+        || connection.isCompletedExceptionally()
+        || connection.join() == closedWebSocket) {
+      connection = null;
+      connect(); // resubscribes to all the markets
+    }
+  }
+
+  private void handleEvent(JsonObject event) {
+    if (!"subscriptionStatus".equals(getAsString(event, EVENT))) {
+      return; // heartbeat, systemStatus, etc.
+    }
+
+    final String pair = getAsString(event, PAIR);
+    final String status = getAsString(event, STATUS);
+    if ("unsubscribed".equals(status)) {
+      if (pair != null && orderBooks.containsKey(pair)) {
+        send(subscriptionMessage("subscribe", pair)); // resubscribe to get a fresh snapshot
+      }
+    } else if ("error".equals(status)) {
+      if (ALREADY_SUBSCRIBED.equals(getAsString(event, ERROR_MESSAGE))) {
+        // The subscription is still live, so the book is kept for the updates it sends.
+        log.warn("Kraken WebSocket already subscribed: {}", event);
+        return;
+      }
+      log.error("Kraken WebSocket subscription failed: {}", event);
+      if (pair != null) {
+        orderBooks.remove(pair); // subscribe again when the order book is next requested
+      }
+    }
+  }
+
+  /* Returns null if the member is missing, so a malformed event does not stop the feed. */
+  private static String getAsString(JsonObject jsonObject, String member) {
+    final JsonElement element = jsonObject.get(member);
+    return element == null || element.isJsonNull() ? null : element.getAsString();
+  }
+
+  private static void addLevels(List<String[]> levels, JsonArray levelsJson) {
+    if (levelsJson == null) {
+      return;
+    }
+    for (final JsonElement levelJson : levelsJson) {
+      final JsonArray level = levelJson.getAsJsonArray();
+      levels.add(new String[] {level.get(0).getAsString(), level.get(1).getAsString()});
+    }
+  }
+
+  private String subscriptionMessage(String event, String pair) {
+    final JsonObject subscription = new JsonObject();
+    subscription.addProperty("name", "book");
+    subscription.addProperty("depth", depth);
+
+    final JsonArray pairs = new JsonArray();
+    pairs.add(pair);
+
+    final JsonObject message = new JsonObject();
+    message.addProperty(EVENT, event);
+    message.add(PAIR, pairs);
+    message.add("subscription", subscription);
+    return message.toString();
+  }
+
+  /* Checks the book again, as 2 first requests for a market can both find it missing. */
+  private synchronized void subscribe(String marketId, String pair) {
+    if (orderBooks.containsKey(pair)) {
+      return;
+    }
+    connect(); // before adding the book, so a new connection does not subscribe to it as well
+    orderBooks.put(pair, new KrakenLocalOrderBook(marketId, depth));
+    send(subscriptionMessage("subscribe", pair));
+  }
+
+  private synchronized void send(String message) {
+    connection = connect().thenCompose(webSocket -> webSocket.sendText(message, true));
+  }
+
+  private synchronized CompletableFuture<WebSocket> connect() {
+    if (connection == null || isClosed(connection)) {
+      log.info("Connecting to Kraken WebSocket: {}", uri);
+      orderBooks.values().forEach(KrakenLocalOrderBook::clear);
+      connection = httpClient.newWebSocketBuilder().buildAsync(uri, this);
+      for (final String pair : orderBooks.keySet()) {
+        connection =
+            connection.thenCompose(
+                webSocket -> webSocket.sendText(subscriptionMessage("subscribe", pair), true));
+      }
+    }
+    return connection;
+  }
+
+  private static boolean isClosed(CompletableFuture<WebSocket> connection) {
+    if (!connection.isDone()) {
+      return false;
+    }
+    return connection.isCompletedExceptionally() || connection.join().isInputClosed();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the nonces the exchanges require in each authenticated request.
+ *
+ * <p>The nonces are taken from an atomic counter, so each one is bigger than the last however many
+ * threads are sending requests, without them waiting for each other.
+ *
+ * <p>The nonces can be persisted to a file, so they keep increasing after a restart even if the
+ * clock used to seed them has gone back. Rather than write every nonce, a block of nonces is
+ * reserved in the file before any of them are used: only the thread that takes the first nonce
+ * beyond the reserved block waits for the next block to be written.
+ *
+ * <p>This class is thread safe.
+ *
+ * @author gazbert
+ */
+final class NonceGenerator {
+
+  /** The number of nonces reserved in the file at a time. */
+  static final long RESERVED_BLOCK_SIZE = 10_000;
+
+  private final AtomicLong lastNonce;
+  private final Path file;
+  private volatile long reservedUpTo;
+
+  /**
+   * Creates a Nonce Generator that is not persisted.
+   *
+   * @param initialNonce the nonce to start after, e.g. the current time.
+   */
+  NonceGenerator(long initialNonce) {
+    lastNonce = new AtomicLong(initialNonce);
+    file = null;
+    reservedUpTo = Long.MAX_VALUE;
+  }
+
+  /**
+   * Creates a Nonce Generator that is persisted to a file. It starts after the initial nonce or the
+   * last nonce reserved in the file, whichever is bigger.
+   *
+   * @param initialNonce the nonce to start after, e.g. the current time.
+   * @param file the file to persist the nonces to. It is created if it does not exist.
+   * @throws IOException if the file cannot be read.
+   * @throws IllegalArgumentException if the file does not contain a nonce.
+   */
+  NonceGenerator(long initialNonce, Path file) throws IOException {
+    this.file = file;
+    long startNonce = initialNonce;
+    if (Files.exists(file)) {
+      final String persistedNonce = Files.readString(file, StandardCharsets.UTF_8).trim();
+      try {
+        startNonce = Math.max(initialNonce, Long.parseLong(persistedNonce));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException(
+            "Nonce file " + file + " does not contain a nonce: " + persistedNonce, e);
+      }
+    }
+    lastNonce = new AtomicLong(startNonce);
+    reservedUpTo = startNonce;
+  }
+
+  /**
+   * Returns the next nonce.
+   *
+   * @return the next nonce.
+   * @throws UncheckedIOException if the nonces are persisted and the next block cannot be reserved
+   *     in the file.
+   */
+  long next() {
+    final long nonce = lastNonce.incrementAndGet();
+    if (nonce > reservedUpTo) {
+      reserveBlock(nonce);
+    }
+    return nonce;
+  }
+
+  private synchronized void reserveBlock(long nonce) {
+    if (nonce <= reservedUpTo) {
+      return; // another thread has reserved it
+    }
+    final long blockEnd = nonce + RESERVED_BLOCK_SIZE;
+    try {
+      final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+      Files.writeString(tempFile, Long.toString(blockEnd), StandardCharsets.UTF_8);
+      Files.move(
+          tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to reserve nonces in " + file, e);
+    }
+    reservedUpTo = blockEnd;
+  }
+}
@@ -0,0 +1,329 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Signs the authenticated requests sent to an exchange.
+ *
+ * <p>Signing is on the path of every private call, so it avoids the usual garbage: the MACs,
+ * SHA-256 digests and byte buffers are kept in a small pool and reused for every request signed.
+ * Strings are fed to the MAC and digest through the buffer, rather than concatenated first, and
+ * the request params are URL encoded straight into it, byte by byte.
+ *
+ * <p>The pool is shared by all threads, rather than each thread keeping its own state, as the
+ * calls are made on short-lived virtual threads. Signing never blocks, so there are rarely more
+ * signings in progress than there are CPUs: if the pool is empty, new state is created, and if the
+ * pool is full, returned state is dropped.
+ *
+ * <p>This class is thread safe. State taken from the pool is only used by 1 thread until it is
+ * returned.
+ *
+ * @author gazbert
+ */
+@Log4j2
+final class RequestSigner {
+
+  private static final int INITIAL_BUFFER_SIZE = 512;
+  private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+  private static final HexFormat LOWER_CASE_HEX = HexFormat.of();
+  private static final HexFormat UPPER_CASE_HEX = HexFormat.of().withUpperCase();
+
+  private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+  private final Mac mac;
+  private final BlockingQueue<SigningState> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+  /**
+   * Creates the Request Signer.
+   *
+   * @param macAlgorithm the MAC algorithm, e.g. HmacSHA512.
+   * @param secretKey the secret key to sign with.
+   * @throws NoSuchAlgorithmException if the MAC algorithm is not installed.
+   * @throws InvalidKeyException if the secret key is invalid.
+   */
+  RequestSigner(String macAlgorithm, byte[] secretKey)
+      throws NoSuchAlgorithmException, InvalidKeyException {
+    mac = Mac.getInstance(macAlgorithm);
+    mac.init(new SecretKeySpec(secretKey, macAlgorithm));
+    MessageDigest.getInstance("SHA-256"); // fail fast if it is not installed
+  }
+
+  /**
+   * URL encodes the params as form data, e.g. nonce=1&amp;pair=XBTUSD. The values are encoded
+   * the same way as {@link java.net.URLEncoder} does with UTF-8. The names are not encoded, so
+   * they must be ASCII.
+   *
+   * @param params the request params.
+   * @return the form data.
+   */
+  String formEncode(Map<String, String> params) {
+    final SigningState state = takeState();
+    try {
+      state.length = 0;
+      for (final Map.Entry<String, String> param : params.entrySet()) {
+        if (state.length > 0) {
+          state.append('&');
+        }
+        state.appendAscii(param.getKey());
+        state.append('=');
+        state.appendUrlEncoded(param.getValue());
+      }
+      return new String(state.buffer, 0, state.length, StandardCharsets.US_ASCII);
+    } finally {
+      returnState(state);
+    }
+  }
+
+  /**
+   * Returns the SHA-256 digest of the message parts, as if they were concatenated.
+   *
+   * @param messageParts the message parts.
+   * @return the digest.
+   */
+  byte[] sha256(String... messageParts) {
+    final SigningState state = takeState();
+    try {
+      for (final String messagePart : messageParts) {
+        state.encode(messagePart);
+        state.sha256.update(state.buffer, 0, state.length);
+      }
+      return state.sha256.digest();
+    } finally {
+      state.sha256.reset(); // in case the digest failed part way through
+      returnState(state);
+    }
+  }
+
+  /**
+   * Starts signing a message with a MAC from the pool. The MAC is returned to the pool when the
+   * signature is finished; a signature that is never finished just leaves the pool a MAC short.
+   *
+   * @return the signature to add the message parts to.
+   */
+  Signature sign() {
+    final SigningState state = takeState();
+    state.mac.reset();
+    return state.signature;
+  }
+
+  private SigningState takeState() {
+    final SigningState state = pool.poll();
+    return state != null ? state : newState();
+  }
+
+  /* Only ever clones the MAC, but Mac does not say cloning is thread safe. */
+  private synchronized SigningState newState() {
+    return new SigningState(this, cloneOf(mac));
+  }
+
+  private void returnState(SigningState state) {
+    if (!pool.offer(state)) {
+      log.debug("Request signing pool is full. Dropping returned signing state.");
+    }
+  }
+
+  private static Mac cloneOf(Mac mac) {
+    try {
+      return (Mac) mac.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException(
+          "Failed to setup MAC security. " + mac.getAlgorithm() + " cannot be cloned.", e);
+    }
+  }
+
+  /**
+   * A signature being built by the thread that started it. It must not be used once it has been
+   * finished, as its MAC has been returned to the pool.
+   */
+  final class Signature {
+
+    private final SigningState state;
+
+    private Signature(SigningState state) {
+      this.state = state;
+    }
+
+    /**
+     * Adds a part of the message, encoded in UTF-8.
+     *
+     * @param messagePart the message part.
+     * @return this signature.
+     */
+    Signature update(String messagePart) {
+      state.encode(messagePart);
+      state.mac.update(state.buffer, 0, state.length);
+      return this;
+    }
+
+    /**
+     * Adds a part of the message.
+     *
+     * @param messagePart the message part.
+     * @return this signature.
+     */
+    Signature update(byte[] messagePart) {
+      state.mac.update(messagePart);
+      return this;
+    }
+
+    /**
+     * Finishes the signature.
+     *
+     * @return the signature in Base64.
+     */
+    String toBase64() {
+      return Base64.getEncoder().encodeToString(finish());
+    }
+
+    /**
+     * Finishes the signature.
+     *
+     * @return the signature in lower case hex.
+     */
+    String toLowerCaseHex() {
+      return LOWER_CASE_HEX.formatHex(finish());
+    }
+
+    /**
+     * Finishes the signature.
+     *
+     * @return the signature in upper case hex.
+     */
+    String toUpperCaseHex() {
+      return UPPER_CASE_HEX.formatHex(finish());
+    }
+
+    private byte[] finish() {
+      try {
+        return state.mac.doFinal();
+      } finally {
+        returnState(state);
+      }
+    }
+  }
+
+  /** The MAC, digest and buffer used by 1 thread at a time. */
+  private static final class SigningState {
+
+    private final Mac mac;
+    private final MessageDigest sha256;
+    private final Signature signature;
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int length;
+
+    SigningState(RequestSigner requestSigner, Mac mac) {
+      this.mac = mac;
+      try {
+        sha256 = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("Failed to setup SHA-256 digest.", e);
+      }
+      signature = requestSigner.new Signature(this);
+    }
+
+    /* Replaces the buffer contents with the UTF-8 encoded string. */
+    void encode(String string) {
+      length = 0;
+      if (isAscii(string)) {
+        appendAscii(string);
+      } else {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, 0, bytes.length);
+        length = bytes.length;
+      }
+    }
+
+    void append(char asciiChar) {
+      ensureCapacity(length + 1);
+      buffer[length++] = (byte) asciiChar;
+    }
+
+    void appendAscii(String string) {
+      ensureCapacity(length + string.length());
+      for (int i = 0; i < string.length(); i++) {
+        buffer[length++] = (byte) string.charAt(i);
+      }
+    }
+
+    /* Encodes the same way as URLEncoder.encode(value, UTF_8). */
+    void appendUrlEncoded(String value) {
+      final byte[] bytes =
+          isAscii(value) ? null : value.getBytes(StandardCharsets.UTF_8); // rare: non-ASCII
+      final int byteCount = bytes == null ? value.length() : bytes.length;
+      ensureCapacity(length + 3 * byteCount);
+      for (int i = 0; i < byteCount; i++) {
+        final int b = bytes == null ? value.charAt(i) : bytes[i] & 0xff;
+        if (isUnreserved(b)) {
+          buffer[length++] = (byte) b;
+        } else if (b == ' ') {
+          buffer[length++] = '+';
+        } else {
+          buffer[length++] = '%';
+          buffer[length++] = HEX_DIGITS[b >> 4];
+          buffer[length++] = HEX_DIGITS[b & 0xf];
+        }
+      }
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(capacity, 2 * buffer.length));
+      }
+    }
+
+    private static boolean isAscii(String string) {
+      for (int i = 0; i < string.length(); i++) {
+        if (string.charAt(i) >= 0x80) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static boolean isUnreserved(int b) {
+      return (b >= 'a' && b <= 'z')
+          || (b >= 'A' && b <= 'Z')
+          || (b >= '0' && b <= '9')
+          || b == '.'
+          || b == '-'
+          || b == '*'
+          || b == '_';
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket that limits the rate requests are sent to an exchange.
+ *
+ * <p>The bucket is refilled at the configured number of tokens per minute and holds up to one
+ * second's worth of tokens: a short burst of requests is sent straight away, and the rest are
+ * spread out evenly. Every request takes a token, waiting for the next one to be added if the
+ * bucket is empty.
+ *
+ * <p>There are 2 priority lanes. Priority requests, e.g. placing and cancelling orders, are given
+ * the next token ahead of any normal requests that are waiting, e.g. market data polls.
+ *
+ * <p>This class is thread safe.
+ *
+ * @author gazbert
+ */
+final class TokenBucketRateLimiter {
+
+  private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+  private static final int SECONDS_PER_MINUTE = 60;
+
+  private final double capacity;
+  private final double nanosPerToken;
+  private final LongSupplier nanoClock;
+
+  private double tokens;
+  private long lastRefillTime;
+  private int waitingPriorityRequests;
+
+  /**
+   * Creates a full token bucket.
+   *
+   * @param requestsPerMinute the max number of requests per minute.
+   * @throws IllegalArgumentException if requestsPerMinute is less than 1.
+   */
+  TokenBucketRateLimiter(int requestsPerMinute) {
+    this(requestsPerMinute, System::nanoTime);
+  }
+
+  /**
+   * Creates a full token bucket that uses the given clock.
+   *
+   * @param requestsPerMinute the max number of requests per minute.
+   * @param nanoClock the clock used to refill the bucket, in nanos.
+   * @throws IllegalArgumentException if requestsPerMinute is less than 1.
+   */
+  TokenBucketRateLimiter(int requestsPerMinute, LongSupplier nanoClock) {
+    if (requestsPerMinute < 1) {
+      throw new IllegalArgumentException(
+          "Requests per minute must be 1 or more: " + requestsPerMinute);
+    }
+    this.nanoClock = nanoClock;
+    capacity = Math.max(1, requestsPerMinute / SECONDS_PER_MINUTE);
+    nanosPerToken = (double) NANOS_PER_MINUTE / requestsPerMinute;
+    tokens = capacity;
+    lastRefillTime = nanoClock.getAsLong();
+  }
+
+  /**
+   * Takes a token from the bucket, waiting for one to be added if the bucket is empty.
+   *
+   * @param priority true if this is a priority request that must go ahead of the normal requests
+   *     that are waiting.
+   * @throws InterruptedException if the thread is interrupted whilst waiting.
+   */
+  synchronized void acquire(boolean priority) throws InterruptedException {
+    if (priority) {
+      waitingPriorityRequests++;
+    }
+    try {
+      while (true) {
+        refill();
+        final boolean giveWay = !priority && waitingPriorityRequests > 0;
+        if (tokens >= 1 && !giveWay) {
+          tokens--;
+          return;
+        }
+
+        // A request that gives way is woken up as soon as the priority request has its token.
+        final long nanosUntilNextToken =
+            tokens >= 1 ? (long) nanosPerToken : (long) Math.ceil((1 - tokens) * nanosPerToken);
+        TimeUnit.NANOSECONDS.timedWait(this, Math.max(1, nanosUntilNextToken));
+      }
+    } finally {
+      if (priority) {
+        waitingPriorityRequests--;
+        notifyAll();
+      }
+    }
+  }
+
+  private void refill() {
+    final long now = nanoClock.getAsLong();
+    tokens = Math.min(capacity, tokens + (now - lastRefillTime) / nanosPerToken);
+    lastRefillTime = now;
+  }
+}
@@ -25,6 +25,7 @@ package com.gazbert.bxbot.exchanges;
 
 import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
 import com.gazbert.bxbot.exchange.api.ExchangeConfig;
+import com.gazbert.bxbot.exchange.api.MarketDataListener;
 import com.gazbert.bxbot.exchange.api.OtherConfig;
 import com.gazbert.bxbot.exchanges.trading.api.impl.BalanceInfoImpl;
 import com.gazbert.bxbot.exchanges.trading.api.impl.OpenOrderImpl;
@@ -37,10 +38,13 @@ import com.gazbert.bxbot.trading.api.Ticker;
 import com.gazbert.bxbot.trading.api.TradingApiException;
 import java.lang.reflect.InvocationTargetException;
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import lombok.extern.log4j.Log4j2;
 
 /**
@@ -57,7 +61,11 @@ import lombok.extern.log4j.Log4j2;
  * <p>Authenticated API calls to create orders, cancel orders, and fetch open orders are simulated
  * based on actual ticker data from the exchange.
  *
- * <p>Only 1 open order is simulated at any time.
+ * <p>Only 1 open order is simulated at any time. When it is filled, Streaming Trading Strategies
+ * are told straight away; market data is pushed by the configured Exchange Adapter, if it can.
+ *
+ * <p>The backtest runner creates this adapter with an Exchange Adapter that replays recorded market
+ * data and a simulated clock, so the same balance and fee simulation is used for backtests.
  *
  * @author MarcDahlem
  * @since 1.0
@@ -90,20 +98,50 @@ public class TryModeExchangeAdapter extends AbstractExchangeAdapter implements E
   private String delegateExchangeClassName;
 
   private ExchangeAdapter delegateExchangeAdapter;
+  private final Clock clock;
 
   private OpenOrder currentOpenOrder;
+  private MarketDataListener marketDataListener;
   private boolean isOpenOrderCheckReentering;
 
   /** Constructs the Exchange Adapter. */
   public TryModeExchangeAdapter() {
-    // No extra init.
+    clock = Clock.systemUTC();
+  }
+
+  /**
+   * Constructs the Exchange Adapter with the Exchange Adapter to delegate to. The delegate is not
+   * initialised by this adapter, and the delegateAdapter config item is not needed.
+   *
+   * @param delegateExchangeAdapter the initialised Exchange Adapter to delegate to.
+   * @param clock the clock used to timestamp the simulated orders.
+   * @since 1.1
+   */
+  public TryModeExchangeAdapter(ExchangeAdapter delegateExchangeAdapter, Clock clock) {
+    this.delegateExchangeAdapter = delegateExchangeAdapter;
+    this.clock = clock;
   }
 
   @Override
   public void init(ExchangeConfig config) {
     log.info("About to initialise try-mode adapter with the following exchange config: {}", config);
     setOtherConfig(config);
-    initializeAdapterDelegation(config);
+    if (delegateExchangeAdapter == null) {
+      initializeAdapterDelegation(config);
+    }
+  }
+
+  @Override
+  public void subscribeToMarketData(Collection<String> marketIds, MarketDataListener listener) {
+    marketDataListener = listener;
+    log.info("Delegate 'subscribeToMarketData' to the configured delegation exchange adapter.");
+    delegateExchangeAdapter.subscribeToMarketData(marketIds, listener);
+  }
+
+  @Override
+  public void shutdown() {
+    log.info("Delegate 'shutdown' to the configured delegation exchange adapter.");
+    delegateExchangeAdapter.shutdown();
   }
 
   @Override
@@ -119,6 +157,16 @@ public class TryModeExchangeAdapter extends AbstractExchangeAdapter implements E
     return delegateExchangeAdapter.getMarketOrders(marketId);
   }
 
+  @Override
+  public Map<String, MarketOrderBook> getMarketOrders(Collection<String> marketIds)
+      throws ExchangeNetworkException, TradingApiException {
+    for (final String marketId : marketIds) {
+      checkOpenOrderExecution(marketId);
+    }
+    log.info("Delegate 'getMarketOrders' to the configured delegation exchange adapter.");
+    return delegateExchangeAdapter.getMarketOrders(marketIds);
+  }
+
   @Override
   public List<OpenOrder> getYourOpenOrders(String marketId)
       throws ExchangeNetworkException, TradingApiException {
@@ -142,8 +190,8 @@ public class TryModeExchangeAdapter extends AbstractExchangeAdapter implements E
       throw new TradingApiException(
           "Can only record/execute one order at a time. Wait for the open order to fulfill");
     }
-    final String newOrderId = "DUMMY_" + orderType + "_ORDER_ID_" + System.currentTimeMillis();
-    final Date creationDate = new Date();
+    final String newOrderId = "DUMMY_" + orderType + "_ORDER_ID_" + clock.millis();
+    final Date creationDate = Date.from(clock.instant());
     final BigDecimal total = price.multiply(quantity);
     currentOpenOrder =
         new OpenOrderImpl(
@@ -208,6 +256,16 @@ public class TryModeExchangeAdapter extends AbstractExchangeAdapter implements E
     return delegateExchangeAdapter.getTicker(marketId);
   }
 
+  @Override
+  public Map<String, Ticker> getTickers(Collection<String> marketIds)
+      throws TradingApiException, ExchangeNetworkException {
+    for (final String marketId : marketIds) {
+      checkOpenOrderExecution(marketId);
+    }
+    log.info("Delegate 'getTickers' to the configured delegation exchange adapter.");
+    return delegateExchangeAdapter.getTickers(marketIds);
+  }
+
   private void setOtherConfig(ExchangeConfig exchangeConfig) {
     log.info("Loading try-mode adapter config...");
     final OtherConfig otherConfig = getOtherConfig(exchangeConfig);
@@ -242,10 +300,13 @@ public class TryModeExchangeAdapter extends AbstractExchangeAdapter implements E
     simulatedBuyFee = new BigDecimal(buyFeeInConfig);
     log.info("Buy Fee at simulation start in BigDecimal format: {}", simulatedBuyFee);
 
-    delegateExchangeClassName =
-        getOtherConfigItem(otherConfig, DELEGATE_ADAPTER_CLASS_PROPERTY_NAME);
-    log.info(
-        "Delegate exchange adapter to be used for public API calls: {}", delegateExchangeClassName);
+    if (delegateExchangeAdapter == null) {
+      delegateExchangeClassName =
+          getOtherConfigItem(otherConfig, DELEGATE_ADAPTER_CLASS_PROPERTY_NAME);
+      log.info(
+          "Delegate exchange adapter to be used for public API calls: {}",
+          delegateExchangeClassName);
+    }
     log.info("Try-mode adapter config successfully loaded.");
   }
 
@@ -314,7 +375,7 @@ public class TryModeExchangeAdapter extends AbstractExchangeAdapter implements E
       simulatedCounterCurrencyBalance = simulatedCounterCurrencyBalance.add(netOrderPrice);
       simulatedBaseCurrencyBalance =
           simulatedBaseCurrencyBalance.subtract(currentOpenOrder.getOriginalQuantity());
-      currentOpenOrder = null;
+      orderFilled(marketId);
     }
   }
 
@@ -333,7 +394,15 @@ public class TryModeExchangeAdapter extends AbstractExchangeAdapter implements E
       simulatedCounterCurrencyBalance = simulatedCounterCurrencyBalance.subtract(netOrderPrice);
       simulatedBaseCurrencyBalance =
           simulatedBaseCurrencyBalance.add(currentOpenOrder.getOriginalQuantity());
-      currentOpenOrder = null;
+      orderFilled(marketId);
+    }
+  }
+
+  private void orderFilled(String marketId) {
+    final OpenOrder filledOrder = currentOpenOrder;
+    currentOpenOrder = null;
+    if (marketDataListener != null) {
+      marketDataListener.onOrderFilled(marketId, filledOrder);
     }
   }
 }
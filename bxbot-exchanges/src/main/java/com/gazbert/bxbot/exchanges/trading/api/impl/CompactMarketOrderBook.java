@@ -0,0 +1,216 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges.trading.api.impl;
+
+import com.gazbert.bxbot.trading.api.MarketOrder;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OrderType;
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import lombok.Value;
+
+/**
+ * A compact MarketOrderBook implementation that can be used by Exchange Adapters.
+ *
+ * <p>The prices and quantities are stored as fixed-point longs in parallel arrays, scaled by a
+ * fixed number of decimal places per book. The {@link MarketOrder}s are only created when a
+ * strategy asks for them, so a strategy that only looks at the top few orders does not pay for the
+ * rest of the book.
+ *
+ * <p>A new book is built for each order book an exchange sends: it is filled as the response is
+ * decoded, and is not changed once it has been returned to a strategy. The order lists returned by
+ * {@link #getSellOrders()} and {@link #getBuyOrders()} are read-only views of the book.
+ *
+ * <p>This class is not thread safe: a book must be filled by 1 thread before it is shared.
+ *
+ * @author gazbert
+ */
+public final class CompactMarketOrderBook implements MarketOrderBook {
+
+  private static final int DEFAULT_CAPACITY = 100;
+
+  private final String marketId;
+  private final int priceScale;
+  private final int quantityScale;
+  private final OrderList sellOrders;
+  private final OrderList buyOrders;
+
+  /**
+   * Creates a new, empty Compact Market Order Book.
+   *
+   * @param marketId the market ID.
+   * @param priceScale the number of decimal places to store prices to.
+   * @param quantityScale the number of decimal places to store quantities to.
+   */
+  public CompactMarketOrderBook(String marketId, int priceScale, int quantityScale) {
+    this.marketId = marketId;
+    this.priceScale = priceScale;
+    this.quantityScale = quantityScale;
+    this.sellOrders = new OrderList(OrderType.SELL);
+    this.buyOrders = new OrderList(OrderType.BUY);
+  }
+
+  @Override
+  public String getMarketId() {
+    return marketId;
+  }
+
+  @Override
+  public List<MarketOrder> getSellOrders() {
+    return sellOrders;
+  }
+
+  @Override
+  public List<MarketOrder> getBuyOrders() {
+    return buyOrders;
+  }
+
+  /**
+   * Adds a sell order to the end of the book.
+   *
+   * @param price the price as a decimal string.
+   * @param quantity the quantity as a decimal string.
+   * @throws NumberFormatException if the price or quantity is not a valid decimal.
+   * @throws ArithmeticException if the price or quantity has more decimal places than the book
+   *     stores, or is too big to store.
+   */
+  public void addSellOrder(CharSequence price, CharSequence quantity) {
+    sellOrders.add(toFixedPoint(price, priceScale), toFixedPoint(quantity, quantityScale));
+  }
+
+  /**
+   * Adds a buy order to the end of the book.
+   *
+   * @param price the price as a decimal string.
+   * @param quantity the quantity as a decimal string.
+   * @throws NumberFormatException if the price or quantity is not a valid decimal.
+   * @throws ArithmeticException if the price or quantity has more decimal places than the book
+   *     stores, or is too big to store.
+   */
+  public void addBuyOrder(CharSequence price, CharSequence quantity) {
+    buyOrders.add(toFixedPoint(price, priceScale), toFixedPoint(quantity, quantityScale));
+  }
+
+  @Override
+  public String toString() {
+    return "CompactMarketOrderBook(marketId="
+        + marketId
+        + ", sellOrders="
+        + sellOrders.size()
+        + ", buyOrders="
+        + buyOrders.size()
+        + ")";
+  }
+
+  /*
+   * Parses a plain decimal string straight into a fixed-point long, without creating a BigDecimal.
+   * Trailing zeros beyond the scale are allowed; any other extra digit would lose precision.
+   */
+  static long toFixedPoint(CharSequence decimal, int scale) {
+    final int length = decimal.length();
+    if (length == 0) {
+      throw new NumberFormatException("Empty decimal");
+    }
+    long value = 0;
+    int decimalPlaces = -1;
+    for (int i = 0; i < length; i++) {
+      final char c = decimal.charAt(i);
+      if (c == '.' && decimalPlaces < 0) {
+        decimalPlaces = 0;
+        continue;
+      }
+      if (c < '0' || c > '9') {
+        throw new NumberFormatException("Invalid decimal: " + decimal);
+      }
+      if (decimalPlaces >= 0 && ++decimalPlaces > scale) {
+        if (c != '0') {
+          throw new ArithmeticException(decimal + " has more than " + scale + " decimal places");
+        }
+        continue;
+      }
+      value = Math.addExact(Math.multiplyExact(value, 10), c - '0');
+    }
+    for (int i = Math.max(decimalPlaces, 0); i < scale; i++) {
+      value = Math.multiplyExact(value, 10);
+    }
+    return value;
+  }
+
+  /** One side of the book, as a read-only list of orders. */
+  private final class OrderList extends AbstractList<MarketOrder> implements RandomAccess {
+
+    private final OrderType orderType;
+    private long[] prices = new long[DEFAULT_CAPACITY];
+    private long[] quantities = new long[DEFAULT_CAPACITY];
+    private int size;
+
+    OrderList(OrderType orderType) {
+      this.orderType = orderType;
+    }
+
+    @Override
+    public MarketOrder get(int index) {
+      Objects.checkIndex(index, size);
+      return new CompactMarketOrder(
+          orderType,
+          BigDecimal.valueOf(prices[index], priceScale),
+          BigDecimal.valueOf(quantities[index], quantityScale));
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+
+    void add(long price, long quantity) {
+      if (size == prices.length) {
+        prices = Arrays.copyOf(prices, size * 2);
+        quantities = Arrays.copyOf(quantities, size * 2);
+      }
+      modCount++;
+      prices[size] = price;
+      quantities[size] = quantity;
+      size++;
+    }
+  }
+
+  /** A Market Order created on demand from the book. */
+  @Value
+  private static class CompactMarketOrder implements MarketOrder {
+
+    OrderType type;
+    BigDecimal price;
+    BigDecimal quantity;
+
+    @Override
+    public BigDecimal getTotal() {
+      return price.multiply(quantity);
+    }
+  }
+}
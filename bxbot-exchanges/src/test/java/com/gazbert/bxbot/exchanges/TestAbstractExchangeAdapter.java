@@ -0,0 +1,520 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.gazbert.bxbot.exchange.api.ExchangeConfig;
+import com.gazbert.bxbot.exchange.api.NetworkConfig;
+import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
+import com.gazbert.bxbot.trading.api.TradingApiException;
+import com.google.gson.stream.JsonReader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the HTTP transport in the Abstract Exchange Adapter against a local HTTP server.
+ *
+ * @author gazbert
+ */
+public class TestAbstractExchangeAdapter {
+
+  private static final String JSON_PAYLOAD = "{\"result\":{\"bid\":\"18778.25\"}}";
+  private static final String ERROR_PAYLOAD = "{\"error\":[\"EGeneral:Invalid arguments\"]}";
+
+  private HttpServer httpServer;
+  private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+  private final Map<String, String> lastRequest = new ConcurrentHashMap<>();
+  private final AtomicInteger inFlightRequests = new AtomicInteger();
+  private final AtomicInteger maxInFlightRequests = new AtomicInteger();
+
+  private TestExchangeAdapter exchangeAdapter;
+
+  /** Starts a local HTTP server with canned responses. */
+  @Before
+  public void setupForEachTest() throws Exception {
+    httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    httpServer.setExecutor(Executors.newCachedThreadPool());
+    httpServer.createContext("/ok", exchange -> respond(exchange, 200, JSON_PAYLOAD));
+    httpServer.createContext("/unavailable", exchange -> respond(exchange, 503, ""));
+    httpServer.createContext("/not-found", exchange -> respond(exchange, 404, ""));
+    httpServer.createContext("/bad-request", exchange -> respond(exchange, 400, ERROR_PAYLOAD));
+    httpServer.createContext(
+        "/slow",
+        exchange -> {
+          sleep(300);
+          respond(exchange, 200, JSON_PAYLOAD);
+        });
+    httpServer.createContext("/accepted", exchange -> respond(exchange, 202, "queued"));
+    httpServer.createContext(
+        "/stalled-body",
+        exchange -> {
+          exchange.sendResponseHeaders(200, 0);
+          try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write("{\"result\":".getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
+            sleep(3000);
+          } catch (IOException e) {
+            // client gave up - expected
+          }
+        });
+    httpServer.createContext(
+        "/timeout",
+        exchange -> {
+          sleep(2000);
+          respond(exchange, 200, JSON_PAYLOAD);
+        });
+    httpServer.start();
+
+    exchangeAdapter = new TestExchangeAdapter();
+  }
+
+  /** Stops the local HTTP server. */
+  @After
+  public void tearDownAfterEachTest() {
+    httpServer.stop(0);
+  }
+
+  @Test
+  public void testGetRequestIsSentSuccessfully() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+
+    final AbstractExchangeAdapter.ExchangeHttpResponse response =
+        exchangeAdapter.sendNetworkRequest(url("/ok"), "GET", null, Map.of("API-Key", "key123"));
+
+    assertEquals(200, response.getStatusCode());
+    assertEquals(JSON_PAYLOAD, response.getPayload());
+    assertEquals("GET", lastRequest.get("method"));
+    assertEquals("key123", lastRequest.get("API-Key"));
+    assertTrue(lastRequest.get("User-Agent").startsWith("Mozilla/5.0"));
+  }
+
+  @Test
+  public void testPostRequestIsSentWithDefaultContentType() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+
+    final AbstractExchangeAdapter.ExchangeHttpResponse response =
+        exchangeAdapter.sendNetworkRequest(url("/ok"), "POST", "nonce=1&pair=XBTUSD", null);
+
+    assertEquals(200, response.getStatusCode());
+    assertEquals("POST", lastRequest.get("method"));
+    assertEquals("nonce=1&pair=XBTUSD", lastRequest.get("body"));
+    assertEquals("application/x-www-form-urlencoded", lastRequest.get("Content-Type"));
+  }
+
+  @Test
+  public void testPostRequestIsSentWithGivenContentType() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+
+    exchangeAdapter.sendNetworkRequest(
+        url("/ok"), "POST", "{}", Map.of("Content-Type", "application/json"));
+
+    assertEquals("application/json", lastRequest.get("Content-Type"));
+  }
+
+  @Test
+  public void testConnectionsAreKeptAliveAndReused() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+
+    for (int i = 0; i < 5; i++) {
+      exchangeAdapter.sendNetworkRequest(url("/ok"), "GET", null, null);
+    }
+
+    assertEquals(1, clientPorts.size());
+  }
+
+  @Test
+  public void testConcurrentConnectionsAreLimitedToMaxConnections() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(2));
+
+    final ExecutorService executorService = Executors.newFixedThreadPool(6);
+    try {
+      final List<Future<AbstractExchangeAdapter.ExchangeHttpResponse>> responses =
+          executorService.invokeAll(
+              Collections.nCopies(
+                  6, () -> exchangeAdapter.sendNetworkRequest(url("/slow"), "GET", null, null)));
+      for (final Future<AbstractExchangeAdapter.ExchangeHttpResponse> response : responses) {
+        assertEquals(200, response.get().getStatusCode());
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    assertTrue(maxInFlightRequests.get() <= 2);
+  }
+
+  @Test
+  public void testPublicRequestsAreRateLimited() throws Exception {
+    // 10 requests per second, with a burst of 10
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null, 600, 6000));
+
+    final long startTime = System.nanoTime();
+    for (int i = 0; i < 12; i++) {
+      exchangeAdapter.sendNetworkRequest(url("/ok"), "GET", null, null);
+    }
+    final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+    assertTrue("Requests were not rate limited: " + elapsedMillis, elapsedMillis >= 150);
+  }
+
+  @Test
+  public void testRequestsArePrivateUnlessTheyAreGets() throws Exception {
+    final URI uri = url("/ok").toURI();
+
+    assertFalse(exchangeAdapter.isPrivateRequest(HttpRequest.newBuilder(uri).GET().build()));
+    assertTrue(
+        exchangeAdapter.isPrivateRequest(
+            HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build()));
+    assertFalse(exchangeAdapter.isOrderRequest(HttpRequest.newBuilder(uri).GET().build()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPublicRequestsPerMinuteMustBeAtLeastOne() {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null, 0, null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPrivateRequestsPerMinuteMustBeAtLeastOne() {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null, null, 0));
+  }
+
+  @Test(expected = ExchangeNetworkException.class)
+  public void testNonFatalErrorCodeThrowsExchangeNetworkException() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+    exchangeAdapter.sendNetworkRequest(url("/unavailable"), "GET", null, null);
+  }
+
+  @Test(expected = ExchangeNetworkException.class)
+  public void testNotFoundThrowsExchangeNetworkException() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+    exchangeAdapter.sendNetworkRequest(url("/not-found"), "GET", null, null);
+  }
+
+  @Test
+  public void testFatalErrorCodeThrowsTradingApiExceptionWithErrorResponse() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+    try {
+      exchangeAdapter.sendNetworkRequest(url("/bad-request"), "GET", null, null);
+      fail("Expected TradingApiException");
+    } catch (TradingApiException e) {
+      assertTrue(e.getMessage().contains("HTTP status: 400"));
+      assertTrue(e.getMessage().contains(ERROR_PAYLOAD));
+    }
+  }
+
+  @Test(expected = ExchangeNetworkException.class)
+  public void testTimeoutThrowsExchangeNetworkException() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+    exchangeAdapter.sendNetworkRequest(url("/timeout"), "GET", null, null);
+  }
+
+  @Test(expected = ExchangeNetworkException.class)
+  public void testUnknownHostThrowsExchangeNetworkException() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+    exchangeAdapter.sendNetworkRequest(
+        new URL("http://unknown-host.invalid/ok"), "GET", null, null);
+  }
+
+  @Test
+  public void testStreamedResponseIsDecoded() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+
+    final AbstractExchangeAdapter.DecodedExchangeHttpResponse<String> response =
+        exchangeAdapter.sendNetworkRequest(url("/ok"), "GET", null, null, TestExchangeAdapter::bid);
+
+    assertEquals(200, response.getStatusCode());
+    assertEquals("18778.25", response.getDecodedPayload());
+    assertNull(response.getPayload());
+  }
+
+  @Test
+  public void testStreamedResponseConnectionsAreReusedWhenPayloadIsPartlyDecoded()
+      throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+
+    for (int i = 0; i < 5; i++) {
+      exchangeAdapter.sendNetworkRequest(
+          url("/ok"),
+          "GET",
+          null,
+          null,
+          jsonReader -> {
+            jsonReader.beginObject();
+            return jsonReader.nextName(); // leave the rest unread
+          });
+    }
+
+    assertEquals(1, clientPorts.size());
+  }
+
+  @Test
+  public void testStreamedResponseIsNotDecodedIfNotOk() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+
+    final AbstractExchangeAdapter.DecodedExchangeHttpResponse<String> response =
+        exchangeAdapter.sendNetworkRequest(
+            url("/accepted"), "GET", null, null, TestExchangeAdapter::bid);
+
+    assertEquals(202, response.getStatusCode());
+    assertEquals("queued", response.getPayload());
+    assertNull(response.getDecodedPayload());
+  }
+
+  @Test(expected = ExchangeNetworkException.class)
+  public void testStreamedResponseNonFatalErrorCodeThrowsExchangeNetworkException()
+      throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+    exchangeAdapter.sendNetworkRequest(
+        url("/unavailable"), "GET", null, null, TestExchangeAdapter::bid);
+  }
+
+  @Test
+  public void testStreamedResponseFatalErrorCodeThrowsTradingApiException() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+    try {
+      exchangeAdapter.sendNetworkRequest(
+          url("/bad-request"), "GET", null, null, TestExchangeAdapter::bid);
+      fail("Expected TradingApiException");
+    } catch (TradingApiException e) {
+      assertTrue(e.getMessage().contains(ERROR_PAYLOAD));
+    }
+  }
+
+  @Test
+  public void testStalledStreamedResponseThrowsExchangeNetworkException() throws Exception {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+
+    final long start = System.nanoTime();
+    try {
+      exchangeAdapter.sendNetworkRequest(
+          url("/stalled-body"), "GET", null, null, TestExchangeAdapter::bid);
+      fail("Expected ExchangeNetworkException");
+    } catch (ExchangeNetworkException e) {
+      assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2500);
+    }
+  }
+
+  @Test
+  public void testHttpClientIsCreatedUsingGivenFactory() throws Exception {
+    final AtomicReference<Duration> connectTimeout = new AtomicReference<>();
+    exchangeAdapter.setHttpClientFactory(
+        timeout -> {
+          connectTimeout.set(timeout);
+          return HttpClient.newHttpClient();
+        });
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+
+    final AbstractExchangeAdapter.ExchangeHttpResponse response =
+        exchangeAdapter.sendNetworkRequest(url("/ok"), "GET", null, null);
+
+    assertEquals(200, response.getStatusCode());
+    assertEquals(Duration.ofSeconds(1), connectTimeout.get());
+  }
+
+  @Test
+  public void testRequestMetricsAreRecorded() throws Exception {
+    final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    exchangeAdapter.setMeterRegistry(meterRegistry);
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+
+    exchangeAdapter.sendNetworkRequest(url("/ok"), "GET", null, null);
+    exchangeAdapter.sendNetworkRequest(url("/ok"), "GET", null, null);
+    try {
+      exchangeAdapter.sendNetworkRequest(url("/unavailable"), "POST", "nonce=1", null);
+      fail("Expected ExchangeNetworkException");
+    } catch (ExchangeNetworkException e) {
+      // expected
+    }
+
+    assertEquals(
+        2,
+        meterRegistry
+            .get("bxbot.exchange.requests")
+            .tags("exchange", "TestExchangeAdapter", "method", "GET", "uri", "/ok")
+            .tag("status", "200")
+            .timer()
+            .count());
+    assertEquals(
+        1,
+        meterRegistry
+            .get("bxbot.exchange.requests")
+            .tags("method", "POST", "uri", "/unavailable", "status", "503")
+            .timer()
+            .count());
+    assertEquals(
+        1,
+        meterRegistry
+            .get("bxbot.exchange.network.errors")
+            .tags("exchange", "TestExchangeAdapter", "uri", "/unavailable")
+            .counter()
+            .count(),
+        0);
+  }
+
+  @Test
+  public void testRequestMetricsAreRecordedWhenNoResponseIsReceived() throws Exception {
+    final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    exchangeAdapter.setMeterRegistry(meterRegistry);
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(null));
+
+    try {
+      exchangeAdapter.sendNetworkRequest(url("/timeout"), "GET", null, null);
+      fail("Expected ExchangeNetworkException");
+    } catch (ExchangeNetworkException e) {
+      // expected
+    }
+
+    assertEquals(
+        1,
+        meterRegistry
+            .get("bxbot.exchange.requests")
+            .tags("uri", "/timeout", "status", "IO_ERROR")
+            .timer()
+            .count());
+    assertEquals(
+        1,
+        meterRegistry.get("bxbot.exchange.network.errors").tag("uri", "/timeout").counter().count(),
+        0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMaxConnectionsMustBeAtLeastOne() {
+    exchangeAdapter.setNetworkConfig(someExchangeConfig(0));
+  }
+
+  // --------------------------------------------------------------------------
+  //  private utils
+  // --------------------------------------------------------------------------
+
+  private URL url(String path) throws IOException {
+    return new URL("http://localhost:" + httpServer.getAddress().getPort() + path);
+  }
+
+  private void respond(HttpExchange exchange, int statusCode, String payload) throws IOException {
+    final int inFlight = inFlightRequests.incrementAndGet();
+    maxInFlightRequests.accumulateAndGet(inFlight, Math::max);
+    try (InputStream requestBody = exchange.getRequestBody()) {
+      clientPorts.add(exchange.getRemoteAddress().getPort());
+      lastRequest.put("method", exchange.getRequestMethod());
+      lastRequest.put("body", new String(requestBody.readAllBytes(), StandardCharsets.UTF_8));
+      for (final String header : List.of("API-Key", "Content-Type", "User-Agent")) {
+        final String value = exchange.getRequestHeaders().getFirst(header);
+        if (value != null) {
+          lastRequest.put(header, value);
+        }
+      }
+
+      final byte[] responseBody = payload.getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(statusCode, responseBody.length == 0 ? -1 : responseBody.length);
+      try (OutputStream outputStream = exchange.getResponseBody()) {
+        outputStream.write(responseBody);
+      }
+    } finally {
+      inFlightRequests.decrementAndGet();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      TimeUnit.MILLISECONDS.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static ExchangeConfig someExchangeConfig(Integer maxConnections) {
+    return someExchangeConfig(maxConnections, null, null);
+  }
+
+  private static ExchangeConfig someExchangeConfig(
+      Integer maxConnections, Integer publicRequestsPerMinute, Integer privateRequestsPerMinute) {
+    final NetworkConfig networkConfig = EasyMock.createMock(NetworkConfig.class);
+    expect(networkConfig.getConnectionTimeout()).andReturn(1);
+    expect(networkConfig.getNonFatalErrorCodes()).andReturn(List.of(502, 503, 504));
+    expect(networkConfig.getNonFatalErrorMessages()).andReturn(List.of("Connection reset"));
+    expect(networkConfig.getMaxConnections()).andReturn(maxConnections);
+    expect(networkConfig.getPublicRequestsPerMinute()).andReturn(publicRequestsPerMinute);
+    expect(networkConfig.getPrivateRequestsPerMinute()).andReturn(privateRequestsPerMinute);
+
+    final ExchangeConfig exchangeConfig = EasyMock.createMock(ExchangeConfig.class);
+    expect(exchangeConfig.getNetworkConfig()).andReturn(networkConfig);
+
+    EasyMock.replay(networkConfig, exchangeConfig);
+    return exchangeConfig;
+  }
+
+  /** Minimal concrete adapter for testing the base class. */
+  private static class TestExchangeAdapter extends AbstractExchangeAdapter {
+
+    static String bid(JsonReader jsonReader) throws IOException {
+      jsonReader.beginObject();
+      jsonReader.nextName(); // result
+      jsonReader.beginObject();
+      String bid = null;
+      while (jsonReader.hasNext()) {
+        if ("bid".equals(jsonReader.nextName())) {
+          bid = jsonReader.nextString();
+        } else {
+          jsonReader.skipValue();
+        }
+      }
+      jsonReader.endObject();
+      jsonReader.endObject();
+      return bid;
+    }
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import static org.easymock.EasyMock.anyString;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.getCurrentArguments;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.gazbert.bxbot.trading.api.AsyncTradingApi;
+import com.gazbert.bxbot.trading.api.BalanceInfo;
+import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import com.gazbert.bxbot.trading.api.Ticker;
+import com.gazbert.bxbot.trading.api.TradingApi;
+import com.gazbert.bxbot.trading.api.TradingApiException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/**
+ * Tests the Async Trading API Bridge behaves as expected.
+ *
+ * @author gazbert
+ */
+public class TestAsyncTradingApiBridge {
+
+  private static final String MARKET_ID = "btcusd";
+  private static final String ORDER_ID = "12345";
+  private static final BigDecimal QUANTITY = new BigDecimal("0.5");
+  private static final BigDecimal PRICE = new BigDecimal("67000.12");
+
+  private final TradingApi tradingApi = createMock(TradingApi.class);
+
+  @Test
+  public void testCallsAreDelegatedToTheTradingApi() throws Exception {
+    final MarketOrderBook marketOrderBook = createMock(MarketOrderBook.class);
+    final OpenOrder openOrder = createMock(OpenOrder.class);
+    final List<OpenOrder> openOrders = List.of(openOrder);
+    final BalanceInfo balanceInfo = createMock(BalanceInfo.class);
+    final Ticker ticker = createMock(Ticker.class);
+    final BigDecimal fee = new BigDecimal("0.0026");
+    final BigDecimal minimumOrderVolume = new BigDecimal("0.0001");
+
+    expect(tradingApi.getImplName()).andReturn("Kraken API v1");
+    expect(tradingApi.getMarketOrders(MARKET_ID)).andReturn(marketOrderBook);
+    expect(tradingApi.getMarketOrders(List.of(MARKET_ID)))
+        .andReturn(Map.of(MARKET_ID, marketOrderBook));
+    expect(tradingApi.getYourOpenOrders(MARKET_ID)).andReturn(openOrders);
+    expect(tradingApi.createOrder(MARKET_ID, OrderType.BUY, QUANTITY, PRICE)).andReturn(ORDER_ID);
+    expect(tradingApi.cancelOrder(ORDER_ID, MARKET_ID)).andReturn(true);
+    expect(tradingApi.getLatestMarketPrice(MARKET_ID)).andReturn(PRICE);
+    expect(tradingApi.getBalanceInfo()).andReturn(balanceInfo);
+    expect(tradingApi.getPercentageOfBuyOrderTakenForExchangeFee(MARKET_ID)).andReturn(fee);
+    expect(tradingApi.getPercentageOfSellOrderTakenForExchangeFee(MARKET_ID)).andReturn(fee);
+    expect(tradingApi.getMinimumOrderVolume(MARKET_ID)).andReturn(minimumOrderVolume);
+    expect(tradingApi.getTicker(MARKET_ID)).andReturn(ticker);
+    expect(tradingApi.getTickers(List.of(MARKET_ID))).andReturn(Map.of(MARKET_ID, ticker));
+    replay(tradingApi);
+
+    final AsyncTradingApi asyncTradingApi = new AsyncTradingApiBridge(tradingApi, Runnable::run);
+    assertEquals("Kraken API v1", asyncTradingApi.getImplName());
+    assertSame(marketOrderBook, asyncTradingApi.getMarketOrders(MARKET_ID).get());
+    assertSame(
+        marketOrderBook, asyncTradingApi.getMarketOrders(List.of(MARKET_ID)).get().get(MARKET_ID));
+    assertSame(openOrders, asyncTradingApi.getYourOpenOrders(MARKET_ID).get());
+    assertEquals(
+        ORDER_ID, asyncTradingApi.createOrder(MARKET_ID, OrderType.BUY, QUANTITY, PRICE).get());
+    assertTrue(asyncTradingApi.cancelOrder(ORDER_ID, MARKET_ID).get());
+    assertEquals(PRICE, asyncTradingApi.getLatestMarketPrice(MARKET_ID).get());
+    assertSame(balanceInfo, asyncTradingApi.getBalanceInfo().get());
+    assertEquals(fee, asyncTradingApi.getPercentageOfBuyOrderTakenForExchangeFee(MARKET_ID).get());
+    assertEquals(fee, asyncTradingApi.getPercentageOfSellOrderTakenForExchangeFee(MARKET_ID).get());
+    assertEquals(minimumOrderVolume, asyncTradingApi.getMinimumOrderVolume(MARKET_ID).get());
+    assertSame(ticker, asyncTradingApi.getTicker(MARKET_ID).get());
+    assertSame(ticker, asyncTradingApi.getTickers(List.of(MARKET_ID)).get().get(MARKET_ID));
+
+    verify(tradingApi);
+  }
+
+  @Test
+  public void testCallsAreMadeOnVirtualThreadsByDefault() throws Exception {
+    expect(tradingApi.isThreadSafe()).andReturn(true);
+    expect(tradingApi.getTicker(MARKET_ID))
+        .andAnswer(
+            () -> {
+              assertTrue(Thread.currentThread().isVirtual());
+              return null;
+            });
+    replay(tradingApi);
+
+    final AsyncTradingApi asyncTradingApi = new AsyncTradingApiBridge(tradingApi);
+    asyncTradingApi.getTicker(MARKET_ID).get(5, TimeUnit.SECONDS);
+
+    verify(tradingApi);
+  }
+
+  @Test
+  public void testCallsAreMadeInTurnIfTradingApiIsNotThreadSafe() throws Exception {
+    final List<String> calledMarketIds = Collections.synchronizedList(new ArrayList<>());
+    final AtomicInteger callsInFlight = new AtomicInteger();
+    final AtomicInteger maxCallsInFlight = new AtomicInteger();
+    expect(tradingApi.isThreadSafe()).andReturn(false);
+    expect(tradingApi.getTicker(anyString()))
+        .andAnswer(
+            () -> {
+              assertTrue(Thread.currentThread().isVirtual());
+              maxCallsInFlight.accumulateAndGet(callsInFlight.incrementAndGet(), Math::max);
+              Thread.sleep(5);
+              calledMarketIds.add((String) getCurrentArguments()[0]);
+              callsInFlight.decrementAndGet();
+              return null;
+            })
+        .times(4);
+    replay(tradingApi);
+
+    final AsyncTradingApi asyncTradingApi = new AsyncTradingApiBridge(tradingApi);
+    final List<String> marketIds = List.of("market-1", "market-2", "market-3", "market-4");
+    final List<CompletableFuture<Ticker>> tickers = new ArrayList<>();
+    for (final String marketId : marketIds) {
+      tickers.add(asyncTradingApi.getTicker(marketId));
+    }
+    CompletableFuture.allOf(tickers.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+    assertEquals(marketIds, calledMarketIds);
+    assertEquals(1, maxCallsInFlight.get());
+    verify(tradingApi);
+  }
+
+  @Test
+  public void testCallsAreStillMadeAfterAnErrorIfTradingApiIsNotThreadSafe() throws Exception {
+    final Error error = new AssertionError("Eeek!");
+    final Ticker ticker = createMock(Ticker.class);
+    expect(tradingApi.isThreadSafe()).andReturn(false);
+    expect(tradingApi.getTicker(MARKET_ID)).andThrow(error);
+    expect(tradingApi.getTicker(MARKET_ID)).andReturn(ticker);
+    replay(tradingApi);
+
+    final AsyncTradingApi asyncTradingApi = new AsyncTradingApiBridge(tradingApi);
+    final CompletableFuture<Ticker> failedTicker = asyncTradingApi.getTicker(MARKET_ID);
+    final CompletableFuture<Ticker> nextTicker = asyncTradingApi.getTicker(MARKET_ID);
+
+    assertSame(ticker, nextTicker.get(5, TimeUnit.SECONDS));
+    assertSame(error, assertThrows(ExecutionException.class, failedTicker::get).getCause());
+    verify(tradingApi);
+  }
+
+  @Test
+  public void testExchangeNetworkExceptionCompletesTheFutureExceptionally() throws Exception {
+    final ExchangeNetworkException exception = new ExchangeNetworkException("Connection reset");
+    expect(tradingApi.getBalanceInfo()).andThrow(exception);
+    replay(tradingApi);
+
+    final CompletableFuture<BalanceInfo> balanceInfo =
+        new AsyncTradingApiBridge(tradingApi, Runnable::run).getBalanceInfo();
+
+    assertSame(exception, assertThrows(ExecutionException.class, balanceInfo::get).getCause());
+    verify(tradingApi);
+  }
+
+  @Test
+  public void testTradingApiExceptionCompletesTheFutureExceptionally() throws Exception {
+    final TradingApiException exception = new TradingApiException("Insufficient funds");
+    expect(tradingApi.createOrder(MARKET_ID, OrderType.SELL, QUANTITY, PRICE)).andThrow(exception);
+    replay(tradingApi);
+
+    final CompletableFuture<String> orderId =
+        new AsyncTradingApiBridge(tradingApi, Runnable::run)
+            .createOrder(MARKET_ID, OrderType.SELL, QUANTITY, PRICE);
+
+    assertSame(exception, assertThrows(ExecutionException.class, orderId::get).getCause());
+    verify(tradingApi);
+  }
+
+  @Test
+  public void testErrorCompletesTheFutureExceptionally() throws Exception {
+    final Error error = new StackOverflowError();
+    expect(tradingApi.getTicker(MARKET_ID)).andThrow(error);
+    replay(tradingApi);
+
+    final List<Throwable> uncaughtErrors = new ArrayList<>();
+    final CompletableFuture<Ticker> ticker =
+        new AsyncTradingApiBridge(
+                tradingApi,
+                task -> {
+                  try {
+                    task.run();
+                  } catch (Error e) {
+                    uncaughtErrors.add(e); // the Error still kills the thread making the call
+                  }
+                })
+            .getTicker(MARKET_ID);
+
+    assertSame(error, assertThrows(ExecutionException.class, ticker::get).getCause());
+    assertEquals(List.of(error), uncaughtErrors);
+    verify(tradingApi);
+  }
+
+  @Test
+  public void testRejectedCallCompletesTheFutureExceptionally() {
+    replay(tradingApi);
+
+    final CompletableFuture<Ticker> ticker =
+        new AsyncTradingApiBridge(
+                tradingApi,
+                task -> {
+                  throw new RejectedExecutionException("Shutting down");
+                })
+            .getTicker(MARKET_ID);
+
+    assertTrue(ticker.isCompletedExceptionally());
+    assertTrue(
+        assertThrows(ExecutionException.class, ticker::get).getCause()
+            instanceof RejectedExecutionException);
+    verify(tradingApi);
+  }
+}
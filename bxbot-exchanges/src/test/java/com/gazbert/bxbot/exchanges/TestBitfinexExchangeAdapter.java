@@ -150,6 +150,9 @@ public class TestBitfinexExchangeAdapter extends AbstractExchangeAdapterTest {
     expect(networkConfig.getConnectionTimeout()).andReturn(30);
     expect(networkConfig.getNonFatalErrorCodes()).andReturn(nonFatalNetworkErrorCodes);
     expect(networkConfig.getNonFatalErrorMessages()).andReturn(nonFatalNetworkErrorMessages);
+    expect(networkConfig.getMaxConnections()).andReturn(null);
+    expect(networkConfig.getPublicRequestsPerMinute()).andReturn(null);
+    expect(networkConfig.getPrivateRequestsPerMinute()).andReturn(null);
 
     exchangeConfig = PowerMock.createMock(ExchangeConfig.class);
     expect(exchangeConfig.getAuthenticationConfig()).andReturn(authenticationConfig);
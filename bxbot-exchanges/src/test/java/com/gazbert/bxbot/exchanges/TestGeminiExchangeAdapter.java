@@ -146,6 +146,9 @@ public class TestGeminiExchangeAdapter extends AbstractExchangeAdapterTest {
     expect(networkConfig.getConnectionTimeout()).andReturn(30);
     expect(networkConfig.getNonFatalErrorCodes()).andReturn(nonFatalNetworkErrorCodes);
     expect(networkConfig.getNonFatalErrorMessages()).andReturn(nonFatalNetworkErrorMessages);
+    expect(networkConfig.getMaxConnections()).andReturn(null);
+    expect(networkConfig.getPublicRequestsPerMinute()).andReturn(null);
+    expect(networkConfig.getPrivateRequestsPerMinute()).andReturn(null);
 
     final OtherConfig otherConfig = PowerMock.createMock(OtherConfig.class);
     expect(otherConfig.getItem("buy-fee")).andReturn("0.25");
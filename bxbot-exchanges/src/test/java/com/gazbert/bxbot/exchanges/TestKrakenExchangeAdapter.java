@@ -30,9 +30,12 @@ import static org.easymock.EasyMock.anyString;
 import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import com.gazbert.bxbot.exchange.api.AuthenticationConfig;
@@ -41,6 +44,9 @@ import com.gazbert.bxbot.exchange.api.ExchangeConfig;
 import com.gazbert.bxbot.exchange.api.NetworkConfig;
 import com.gazbert.bxbot.exchange.api.OtherConfig;
 import com.gazbert.bxbot.exchanges.AbstractExchangeAdapter.ExchangeHttpResponse;
+import com.gazbert.bxbot.exchanges.config.PairPrecisionConfigImpl;
+import com.gazbert.bxbot.exchanges.trading.api.impl.CompactMarketOrderBook;
+import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderBookImpl;
 import com.gazbert.bxbot.trading.api.BalanceInfo;
 import com.gazbert.bxbot.trading.api.ExchangeNetworkException;
 import com.gazbert.bxbot.trading.api.MarketOrderBook;
@@ -48,6 +54,9 @@ import com.gazbert.bxbot.trading.api.OpenOrder;
 import com.gazbert.bxbot.trading.api.OrderType;
 import com.gazbert.bxbot.trading.api.Ticker;
 import com.gazbert.bxbot.trading.api.TradingApiException;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import java.io.File;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -57,10 +66,13 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.easymock.EasyMock;
+import org.easymock.IAnswer;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -68,6 +80,7 @@ import org.powermock.api.easymock.PowerMock;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 
 /**
  * Tests the behaviour of the Kraken Exchange Adapter.
@@ -89,6 +102,8 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
   private static final String ASSET_PAIR_JSON_RESPONSE =
       "./src/test/exchange-data/kraken/AssetPairs.json";
   private static final String DEPTH_JSON_RESPONSE = "./src/test/exchange-data/kraken/Depth.json";
+  private static final String DEPTH_SHIBUSD_JSON_RESPONSE =
+      "./src/test/exchange-data/kraken/Depth-SHIBUSD.json";
   private static final String DEPTH_ERROR_JSON_RESPONSE =
       "./src/test/exchange-data/kraken/Depth-error.json";
   private static final String BALANCE_JSON_RESPONSE =
@@ -96,6 +111,8 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
   private static final String BALANCE_ERROR_JSON_RESPONSE =
       "./src/test/exchange-data/kraken/Balance-error.json";
   private static final String TICKER_JSON_RESPONSE = "./src/test/exchange-data/kraken/Ticker.json";
+  private static final String TICKERS_JSON_RESPONSE =
+      "./src/test/exchange-data/kraken/Tickers.json";
   private static final String TICKER_ERROR_JSON_RESPONSE =
       "./src/test/exchange-data/kraken/Ticker-error.json";
   private static final String OPEN_ORDERS_JSON_RESPONSE =
@@ -159,6 +176,7 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
   private ExchangeConfig exchangeConfig;
   private AuthenticationConfig authenticationConfig;
   private NetworkConfig networkConfig;
+  private OtherConfig otherConfig;
 
   /** Create some exchange config - the TradingEngine would normally do this. */
   @Before
@@ -171,11 +189,17 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
     expect(networkConfig.getConnectionTimeout()).andReturn(30);
     expect(networkConfig.getNonFatalErrorCodes()).andReturn(nonFatalNetworkErrorCodes);
     expect(networkConfig.getNonFatalErrorMessages()).andReturn(nonFatalNetworkErrorMessages);
+    expect(networkConfig.getMaxConnections()).andReturn(null);
+    expect(networkConfig.getPublicRequestsPerMinute()).andReturn(null);
+    expect(networkConfig.getPrivateRequestsPerMinute()).andReturn(null);
 
-    OtherConfig otherConfig = PowerMock.createMock(OtherConfig.class);
+    otherConfig = PowerMock.createMock(OtherConfig.class);
     expect(otherConfig.getItem("buy-fee")).andReturn("0.1");
     expect(otherConfig.getItem("sell-fee")).andReturn("0.2");
     expect(otherConfig.getItem("keep-alive-during-maintenance")).andReturn("false");
+    expect(otherConfig.getItem("nonce-file")).andReturn(null);
+    expect(otherConfig.getItem("nonce-window-enabled")).andReturn(null);
+    expect(otherConfig.getItem("use-websocket-order-book")).andReturn(null);
 
     exchangeConfig = PowerMock.createMock(ExchangeConfig.class);
     expect(exchangeConfig.getAuthenticationConfig()).andReturn(authenticationConfig);
@@ -190,12 +214,6 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
   @Test
   @SuppressWarnings("unchecked")
   public void testGettingMarketOrdersSuccessfully() throws Exception {
-    // Load the canned response from the exchange
-    final byte[] encoded = Files.readAllBytes(Paths.get(DEPTH_JSON_RESPONSE));
-    final AbstractExchangeAdapter.ExchangeHttpResponse exchangeResponse =
-        new AbstractExchangeAdapter.ExchangeHttpResponse(
-            200, "OK", new String(encoded, StandardCharsets.UTF_8));
-
     // Mock out param map, so we can assert the contents passed to the transport
     // layer are what we expect.
     final Map<String, String> requestParamMap = PowerMock.createMock(Map.class);
@@ -215,8 +233,9 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
             eq(DEPTH),
-            eq(requestParamMap))
-        .andReturn(exchangeResponse);
+            eq(requestParamMap),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(DEPTH_JSON_RESPONSE));
 
     PowerMock.replayAll();
     exchangeAdapter.init(exchangeConfig);
@@ -249,14 +268,318 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
     PowerMock.verifyAll();
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testGettingMarketOrdersForLargeVolumeHighPrecisionPair() throws Exception {
+    final String shibMarketId = "SHIBUSD";
+    final Map<String, String> requestParamMap = PowerMock.createMock(Map.class);
+    expect(requestParamMap.put("pair", shibMarketId)).andStubReturn(null);
+
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class,
+            MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
+            MOCKED_CREATE_REQUEST_PARAM_MAP_METHOD);
+
+    mockAssetPairsPublicRequest(exchangeAdapter);
+    PowerMock.expectPrivate(exchangeAdapter, MOCKED_CREATE_REQUEST_PARAM_MAP_METHOD)
+        .andReturn(requestParamMap);
+    PowerMock.expectPrivate(
+            exchangeAdapter,
+            MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
+            eq(DEPTH),
+            eq(requestParamMap),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(DEPTH_SHIBUSD_JSON_RESPONSE));
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+    // pair_decimals 8 and lot_decimals 5: the volumes would overflow the default 8 decimal places
+    Whitebox.setInternalState(
+        exchangeAdapter,
+        "pairPrecisionConfig",
+        new PairPrecisionConfigImpl(
+            Map.of(shibMarketId, 8), Map.of(shibMarketId, 5), Map.of()));
+
+    final MarketOrderBook marketOrderBook = exchangeAdapter.getMarketOrders(shibMarketId);
+
+    assertTrue(marketOrderBook instanceof CompactMarketOrderBook);
+    assertEquals(2, marketOrderBook.getSellOrders().size());
+    assertEquals(new BigDecimal("0.00001235"), marketOrderBook.getSellOrders().get(0).getPrice());
+    assertEquals(
+        new BigDecimal("150000000000.00000"),
+        marketOrderBook.getSellOrders().get(0).getQuantity());
+    assertEquals(1, marketOrderBook.getBuyOrders().size());
+    assertEquals(
+        new BigDecimal("98765432109.12345"), marketOrderBook.getBuyOrders().get(0).getQuantity());
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testGettingMarketOrdersThatDoNotFitPairPrecisionFallsBackToBigDecimals()
+      throws Exception {
+    final Map<String, String> requestParamMap = PowerMock.createMock(Map.class);
+    expect(requestParamMap.put("pair", MARKET_ID)).andStubReturn(null);
+
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class,
+            MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
+            MOCKED_CREATE_REQUEST_PARAM_MAP_METHOD);
+
+    mockAssetPairsPublicRequest(exchangeAdapter);
+    PowerMock.expectPrivate(exchangeAdapter, MOCKED_CREATE_REQUEST_PARAM_MAP_METHOD)
+        .andReturn(requestParamMap);
+    PowerMock.expectPrivate(
+            exchangeAdapter,
+            MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
+            eq(DEPTH),
+            eq(requestParamMap),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(DEPTH_JSON_RESPONSE));
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+
+    // XBTUSD has pair_decimals 1 in AssetPairs.json, but the Depth.json prices have 3
+    final MarketOrderBook marketOrderBook = exchangeAdapter.getMarketOrders(MARKET_ID);
+
+    assertFalse(marketOrderBook instanceof CompactMarketOrderBook);
+    assertEquals(100, marketOrderBook.getBuyOrders().size());
+    assertEquals(100, marketOrderBook.getSellOrders().size());
+    assertEquals(
+        0, marketOrderBook.getBuyOrders().get(0).getPrice().compareTo(new BigDecimal("662.55")));
+    assertEquals(
+        0, marketOrderBook.getSellOrders().get(0).getPrice().compareTo(new BigDecimal("664.536")));
+    assertSame(OrderType.SELL, marketOrderBook.getSellOrders().get(99).getType());
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testGettingMarketOrdersReturnsNewOrderBookEachTime() throws Exception {
+    final Map<String, String> requestParamMap = PowerMock.createMock(Map.class);
+    expect(requestParamMap.put("pair", MARKET_ID)).andStubReturn(null);
+
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class,
+            MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
+            MOCKED_CREATE_REQUEST_PARAM_MAP_METHOD);
+
+    mockAssetPairsPublicRequest(exchangeAdapter);
+    PowerMock.expectPrivate(exchangeAdapter, MOCKED_CREATE_REQUEST_PARAM_MAP_METHOD)
+        .andReturn(requestParamMap)
+        .times(3);
+    PowerMock.expectPrivate(
+            exchangeAdapter,
+            MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
+            eq(DEPTH),
+            eq(requestParamMap),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(DEPTH_JSON_RESPONSE))
+        .andAnswer(streamedResponse(DEPTH_JSON_RESPONSE))
+        .andAnswer(streamedResponse(DEPTH_ERROR_JSON_RESPONSE));
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+
+    final MarketOrderBook marketOrderBook = exchangeAdapter.getMarketOrders(MARKET_ID);
+    assertNotSame(marketOrderBook, exchangeAdapter.getMarketOrders(MARKET_ID));
+    assertThrows(TradingApiException.class, () -> exchangeAdapter.getMarketOrders(MARKET_ID));
+
+    // The book handed out first is left as it was by the later calls, including the failed one
+    assertEquals(100, marketOrderBook.getBuyOrders().size());
+    assertEquals(100, marketOrderBook.getSellOrders().size());
+    assertEquals(
+        0, marketOrderBook.getBuyOrders().get(0).getPrice().compareTo(new BigDecimal("662.55")));
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  public void testGettingMarketOrdersFromWebSocketOrderBook() throws Exception {
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class, MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD);
+    mockAssetPairsPublicRequest(exchangeAdapter);
+
+    final MarketOrderBookImpl localOrderBook =
+        new MarketOrderBookImpl(MARKET_ID, new ArrayList<>(), new ArrayList<>());
+    final KrakenWebSocketOrderBookFeed orderBookFeed =
+        PowerMock.createMock(KrakenWebSocketOrderBookFeed.class);
+    expect(orderBookFeed.getOrderBook(MARKET_ID, "XBT/USD")).andReturn(localOrderBook);
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+    Whitebox.setInternalState(exchangeAdapter, "orderBookFeed", orderBookFeed);
+
+    // No Depth request sent to the exchange
+    assertSame(localOrderBook, exchangeAdapter.getMarketOrders(MARKET_ID));
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testGettingMarketOrdersFallsBackToRestApiUntilWebSocketOrderBookIsSynced()
+      throws Exception {
+    final Map<String, String> requestParamMap = PowerMock.createMock(Map.class);
+    expect(requestParamMap.put("pair", MARKET_ID)).andStubReturn(null);
+
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class,
+            MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
+            MOCKED_CREATE_REQUEST_PARAM_MAP_METHOD);
+
+    mockAssetPairsPublicRequest(exchangeAdapter);
+    PowerMock.expectPrivate(exchangeAdapter, MOCKED_CREATE_REQUEST_PARAM_MAP_METHOD)
+        .andReturn(requestParamMap);
+    PowerMock.expectPrivate(
+            exchangeAdapter,
+            MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
+            eq(DEPTH),
+            eq(requestParamMap),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(DEPTH_JSON_RESPONSE));
+
+    final KrakenWebSocketOrderBookFeed orderBookFeed =
+        PowerMock.createMock(KrakenWebSocketOrderBookFeed.class);
+    expect(orderBookFeed.getOrderBook(MARKET_ID, "XBT/USD")).andReturn(null);
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+    Whitebox.setInternalState(exchangeAdapter, "orderBookFeed", orderBookFeed);
+
+    final MarketOrderBook marketOrderBook = exchangeAdapter.getMarketOrders(MARKET_ID);
+    assertEquals(100, marketOrderBook.getBuyOrders().size());
+    assertEquals(100, marketOrderBook.getSellOrders().size());
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  public void testShutdownClosesWebSocketOrderBook() throws Exception {
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class, MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD);
+    mockAssetPairsPublicRequest(exchangeAdapter);
+
+    final KrakenWebSocketOrderBookFeed orderBookFeed =
+        PowerMock.createMock(KrakenWebSocketOrderBookFeed.class);
+    orderBookFeed.close();
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+    Whitebox.setInternalState(exchangeAdapter, "orderBookFeed", orderBookFeed);
+
+    exchangeAdapter.shutdown();
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  public void testWebSocketOrderBookIsCreatedWhenEnabledInConfig() throws Exception {
+    PowerMock.reset(otherConfig);
+    expect(otherConfig.getItem("buy-fee")).andReturn("0.1");
+    expect(otherConfig.getItem("sell-fee")).andReturn("0.2");
+    expect(otherConfig.getItem("keep-alive-during-maintenance")).andReturn("false");
+    expect(otherConfig.getItem("nonce-file")).andReturn(null);
+    expect(otherConfig.getItem("nonce-window-enabled")).andReturn(null);
+    expect(otherConfig.getItem("use-websocket-order-book")).andReturn("true");
+    expect(otherConfig.getItem("websocket-order-book-depth")).andReturn("25");
+
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class, MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD);
+    mockAssetPairsPublicRequest(exchangeAdapter);
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+
+    final KrakenWebSocketOrderBookFeed orderBookFeed =
+        Whitebox.getInternalState(exchangeAdapter, "orderBookFeed");
+    assertNotNull(orderBookFeed);
+    assertEquals(25, (int) Whitebox.<Integer>getInternalState(orderBookFeed, "depth"));
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  public void testExchangeAdapterIsThreadSafeWhenNonceWindowEnabledInConfig() throws Exception {
+    PowerMock.reset(otherConfig);
+    expect(otherConfig.getItem("buy-fee")).andReturn("0.1");
+    expect(otherConfig.getItem("sell-fee")).andReturn("0.2");
+    expect(otherConfig.getItem("keep-alive-during-maintenance")).andReturn("false");
+    expect(otherConfig.getItem("nonce-file")).andReturn(null);
+    expect(otherConfig.getItem("nonce-window-enabled")).andReturn("true");
+    expect(otherConfig.getItem("use-websocket-order-book")).andReturn(null);
+
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class, MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD);
+    mockAssetPairsPublicRequest(exchangeAdapter);
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+    assertTrue(exchangeAdapter.isThreadSafe());
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  public void testExchangeAdapterIsNotThreadSafeWhenNonceWindowNotEnabledInConfig()
+      throws Exception {
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class, MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD);
+    mockAssetPairsPublicRequest(exchangeAdapter);
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+    assertFalse(exchangeAdapter.isThreadSafe());
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  public void testNoncesContinueFromNonceFileWhenSetInConfig() throws Exception {
+    final long persistedNonce = System.currentTimeMillis() + 1_000_000;
+    // A File, not a Path: PowerMock cannot proxy calls on the JDK's internal Path class
+    final File nonceFile = File.createTempFile("bxbot-kraken", ".nonce");
+    nonceFile.deleteOnExit();
+    Files.writeString(nonceFile.toPath(), Long.toString(persistedNonce));
+
+    PowerMock.reset(otherConfig);
+    expect(otherConfig.getItem("buy-fee")).andReturn("0.1");
+    expect(otherConfig.getItem("sell-fee")).andReturn("0.2");
+    expect(otherConfig.getItem("keep-alive-during-maintenance")).andReturn("false");
+    expect(otherConfig.getItem("nonce-file")).andReturn(nonceFile.getPath());
+    expect(otherConfig.getItem("nonce-window-enabled")).andReturn(null);
+    expect(otherConfig.getItem("use-websocket-order-book")).andReturn(null);
+
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class, MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD);
+    mockAssetPairsPublicRequest(exchangeAdapter);
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+
+    final NonceGenerator nonceGenerator =
+        Whitebox.getInternalState(exchangeAdapter, "nonceGenerator");
+    assertEquals(persistedNonce + 1, nonceGenerator.next());
+
+    PowerMock.verifyAll();
+  }
+
   @Test(expected = TradingApiException.class)
   @SuppressWarnings("unchecked")
   public void testGettingMarketOrdersHandlesErrorResponse() throws Exception {
-    final byte[] encoded = Files.readAllBytes(Paths.get(DEPTH_ERROR_JSON_RESPONSE));
-    final AbstractExchangeAdapter.ExchangeHttpResponse exchangeResponse =
-        new AbstractExchangeAdapter.ExchangeHttpResponse(
-            200, "OK", new String(encoded, StandardCharsets.UTF_8));
-
     final Map<String, String> requestParamMap = PowerMock.createMock(Map.class);
     expect(requestParamMap.put("pair", MARKET_ID)).andStubReturn(null);
 
@@ -273,8 +596,9 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
             eq(DEPTH),
-            eq(requestParamMap))
-        .andReturn(exchangeResponse);
+            eq(requestParamMap),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(DEPTH_ERROR_JSON_RESPONSE));
 
     PowerMock.replayAll();
     exchangeAdapter.init(exchangeConfig);
@@ -294,7 +618,8 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
             eq(DEPTH),
-            anyObject(Map.class))
+            anyObject(Map.class),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
         .andThrow(
             new ExchangeNetworkException("You're not giving orders. You're in my world now."));
 
@@ -316,7 +641,8 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
             eq(DEPTH),
-            anyObject(Map.class))
+            anyObject(Map.class),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
         .andThrow(
             new IllegalArgumentException(
                 "Down time is the worst, isn’t it? "
@@ -732,11 +1058,6 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
 
   @Test
   public void testGettingBalanceInfoSuccessfully() throws Exception {
-    final byte[] encoded = Files.readAllBytes(Paths.get(BALANCE_JSON_RESPONSE));
-    final AbstractExchangeAdapter.ExchangeHttpResponse exchangeResponse =
-        new AbstractExchangeAdapter.ExchangeHttpResponse(
-            200, "OK", new String(encoded, StandardCharsets.UTF_8));
-
     final KrakenExchangeAdapter exchangeAdapter =
         PowerMock.createPartialMockAndInvokeDefaultConstructor(
             KrakenExchangeAdapter.class, MOCKED_SEND_AUTHENTICATED_REQUEST_TO_EXCHANGE_METHOD);
@@ -745,8 +1066,9 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_AUTHENTICATED_REQUEST_TO_EXCHANGE_METHOD,
             eq(BALANCE),
-            eq(null))
-        .andReturn(exchangeResponse);
+            eq(null),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(BALANCE_JSON_RESPONSE));
 
     PowerMock.replayAll();
     exchangeAdapter.init(exchangeConfig);
@@ -769,11 +1091,6 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
 
   @Test(expected = TradingApiException.class)
   public void testGettingBalanceInfoHandlesExchangeErrorResponse() throws Exception {
-    final byte[] encoded = Files.readAllBytes(Paths.get(BALANCE_ERROR_JSON_RESPONSE));
-    final AbstractExchangeAdapter.ExchangeHttpResponse exchangeResponse =
-        new AbstractExchangeAdapter.ExchangeHttpResponse(
-            200, "OK", new String(encoded, StandardCharsets.UTF_8));
-
     // Partial mock so we do not send stuff down the wire
     final KrakenExchangeAdapter exchangeAdapter =
         PowerMock.createPartialMockAndInvokeDefaultConstructor(
@@ -782,8 +1099,9 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_AUTHENTICATED_REQUEST_TO_EXCHANGE_METHOD,
             eq(BALANCE),
-            anyObject(Map.class))
-        .andReturn(exchangeResponse);
+            anyObject(Map.class),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(BALANCE_ERROR_JSON_RESPONSE));
 
     PowerMock.replayAll();
     exchangeAdapter.init(exchangeConfig);
@@ -801,7 +1119,8 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_AUTHENTICATED_REQUEST_TO_EXCHANGE_METHOD,
             eq(BALANCE),
-            eq(null))
+            eq(null),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
         .andThrow(
             new ExchangeNetworkException(
                 "All the gods, all the heavens, all the hells, are within you."));
@@ -822,7 +1141,8 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_AUTHENTICATED_REQUEST_TO_EXCHANGE_METHOD,
             eq(BALANCE),
-            eq(null))
+            eq(null),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
         .andThrow(new IllegalStateException("Are those friendlies? I hope they're friendlies..."));
 
     PowerMock.replayAll();
@@ -839,11 +1159,6 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
   @Test
   @SuppressWarnings("unchecked")
   public void testGettingLatestMarketPriceSuccessfully() throws Exception {
-    final byte[] encoded = Files.readAllBytes(Paths.get(TICKER_JSON_RESPONSE));
-    final AbstractExchangeAdapter.ExchangeHttpResponse exchangeResponse =
-        new AbstractExchangeAdapter.ExchangeHttpResponse(
-            200, "OK", new String(encoded, StandardCharsets.UTF_8));
-
     final Map<String, String> requestParamMap = PowerMock.createMock(Map.class);
     expect(requestParamMap.put("pair", MARKET_ID)).andStubReturn(null);
 
@@ -860,8 +1175,9 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
             eq(TICKER),
-            eq(requestParamMap))
-        .andReturn(exchangeResponse);
+            eq(requestParamMap),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(TICKER_JSON_RESPONSE));
 
     PowerMock.replayAll();
     exchangeAdapter.init(exchangeConfig);
@@ -874,11 +1190,6 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
 
   @Test(expected = TradingApiException.class)
   public void testGettingLatestMarketPriceHandlesExchangeErrorResponse() throws Exception {
-    final byte[] encoded = Files.readAllBytes(Paths.get(TICKER_ERROR_JSON_RESPONSE));
-    final AbstractExchangeAdapter.ExchangeHttpResponse exchangeResponse =
-        new AbstractExchangeAdapter.ExchangeHttpResponse(
-            200, "OK", new String(encoded, StandardCharsets.UTF_8));
-
     final KrakenExchangeAdapter exchangeAdapter =
         PowerMock.createPartialMockAndInvokeDefaultConstructor(
             KrakenExchangeAdapter.class, MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD);
@@ -887,8 +1198,9 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
             eq(TICKER),
-            anyObject(Map.class))
-        .andReturn(exchangeResponse);
+            anyObject(Map.class),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(TICKER_ERROR_JSON_RESPONSE));
 
     PowerMock.replayAll();
     exchangeAdapter.init(exchangeConfig);
@@ -907,7 +1219,8 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
             eq(TICKER),
-            anyObject(Map.class))
+            anyObject(Map.class),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
         .andThrow(
             new ExchangeNetworkException(
                 "As long as you can still grab a breath, you fight. You breathe. "
@@ -932,7 +1245,8 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
             eq(TICKER),
-            anyObject(Map.class))
+            anyObject(Map.class),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
         .andThrow(
             new IllegalArgumentException(
                 "Yes, you have information. You can find out all about a man, "
@@ -954,11 +1268,6 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
   @Test
   @SuppressWarnings("unchecked")
   public void testGettingTickerSuccessfully() throws Exception {
-    final byte[] encoded = Files.readAllBytes(Paths.get(TICKER_JSON_RESPONSE));
-    final AbstractExchangeAdapter.ExchangeHttpResponse exchangeResponse =
-        new AbstractExchangeAdapter.ExchangeHttpResponse(
-            200, "OK", new String(encoded, StandardCharsets.UTF_8));
-
     final Map<String, String> requestParamMap = PowerMock.createMock(Map.class);
     expect(requestParamMap.put("pair", MARKET_ID)).andStubReturn(null);
 
@@ -975,8 +1284,9 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
             eq(TICKER),
-            eq(requestParamMap))
-        .andReturn(exchangeResponse);
+            eq(requestParamMap),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(TICKER_JSON_RESPONSE));
 
     PowerMock.replayAll();
     exchangeAdapter.init(exchangeConfig);
@@ -995,13 +1305,25 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
     PowerMock.verifyAll();
   }
 
+  @Test
+  public void testTickerResultsCanBeWrittenAsJson() throws Exception {
+    final KrakenExchangeAdapter exchangeAdapter = new KrakenExchangeAdapter();
+    Whitebox.invokeMethod(exchangeAdapter, "initGson");
+    final Gson gson = Whitebox.getInternalState(exchangeAdapter, "gson");
+    final String tickerJson =
+        "{\"XXBTZUSD\":{\"a\":[\"657.99900\",\"1\",\"1.000\"],\"o\":\"651.73600\"}}";
+
+    final Object tickerResult = gson.fromJson(tickerJson, krakenClass("KrakenTickerResult"));
+    assertEquals("{\"a\":\"657.99900\",\"o\":\"651.73600\"}", gson.toJson(tickerResult));
+
+    final Object tickersResult = gson.fromJson(tickerJson, krakenClass("KrakenTickersResult"));
+    assertEquals(
+        "{\"XXBTZUSD\":{\"a\":\"657.99900\",\"o\":\"651.73600\"}}",
+        gson.toJson(tickersResult));
+  }
+
   @Test(expected = TradingApiException.class)
   public void testGettingTickerHandlesExchangeErrorResponse() throws Exception {
-    final byte[] encoded = Files.readAllBytes(Paths.get(TICKER_ERROR_JSON_RESPONSE));
-    final AbstractExchangeAdapter.ExchangeHttpResponse exchangeResponse =
-        new AbstractExchangeAdapter.ExchangeHttpResponse(
-            200, "OK", new String(encoded, StandardCharsets.UTF_8));
-
     final KrakenExchangeAdapter exchangeAdapter =
         PowerMock.createPartialMockAndInvokeDefaultConstructor(
             KrakenExchangeAdapter.class, MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD);
@@ -1010,8 +1332,9 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
             eq(TICKER),
-            anyObject(Map.class))
-        .andReturn(exchangeResponse);
+            anyObject(Map.class),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(TICKER_ERROR_JSON_RESPONSE));
 
     PowerMock.replayAll();
     exchangeAdapter.init(exchangeConfig);
@@ -1030,7 +1353,8 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
             eq(TICKER),
-            anyObject(Map.class))
+            anyObject(Map.class),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
         .andThrow(new ExchangeNetworkException("KHAAANNN!"));
 
     PowerMock.replayAll();
@@ -1050,7 +1374,8 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             exchangeAdapter,
             MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
             eq(TICKER),
-            anyObject(Map.class))
+            anyObject(Map.class),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
         .andThrow(new IllegalArgumentException("Resistance is futile."));
 
     PowerMock.replayAll();
@@ -1060,6 +1385,132 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
     PowerMock.verifyAll();
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testGettingTickersForSeveralMarketsInOneRequest() throws Exception {
+    final Map<String, String> requestParamMap = PowerMock.createMock(Map.class);
+    expect(requestParamMap.put("pair", "XBTUSD,ETHUSD")).andReturn(null);
+
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class,
+            MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
+            MOCKED_CREATE_REQUEST_PARAM_MAP_METHOD);
+
+    mockAssetPairsPublicRequest(exchangeAdapter);
+    PowerMock.expectPrivate(exchangeAdapter, MOCKED_CREATE_REQUEST_PARAM_MAP_METHOD)
+        .andReturn(requestParamMap);
+    PowerMock.expectPrivate(
+            exchangeAdapter,
+            MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
+            eq(TICKER),
+            eq(requestParamMap),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(TICKERS_JSON_RESPONSE));
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+
+    final Map<String, Ticker> tickers =
+        exchangeAdapter.getTickers(List.of(MARKET_ID, "ETHUSD", MARKET_ID));
+    assertEquals(List.of(MARKET_ID, "ETHUSD"), List.copyOf(tickers.keySet()));
+
+    final Ticker btcTicker = tickers.get(MARKET_ID);
+    assertEquals(0, btcTicker.getLast().compareTo(new BigDecimal("657.99900")));
+    assertEquals(0, btcTicker.getBid().compareTo(new BigDecimal("655.20100")));
+    assertEquals(0, btcTicker.getVwap().compareTo(new BigDecimal("652.64807")));
+
+    final Ticker ethTicker = tickers.get("ETHUSD");
+    assertEquals(0, ethTicker.getLast().compareTo(new BigDecimal("3520.00000")));
+    assertEquals(0, ethTicker.getAsk().compareTo(new BigDecimal("3520.10000")));
+    assertEquals(0, ethTicker.getBid().compareTo(new BigDecimal("3519.85000")));
+    assertEquals(0, ethTicker.getHigh().compareTo(new BigDecimal("3560.25000")));
+    assertEquals(0, ethTicker.getLow().compareTo(new BigDecimal("3441.50000")));
+    assertEquals(0, ethTicker.getOpen().compareTo(new BigDecimal("3488.64000")));
+    assertEquals(0, ethTicker.getVolume().compareTo(new BigDecimal("8721.08300110")));
+    assertEquals(0, ethTicker.getVwap().compareTo(new BigDecimal("3502.77318")));
+    assertNull(ethTicker.getTimestamp());
+
+    PowerMock.verifyAll();
+  }
+
+  @Test
+  public void testGettingTickersForNoMarketsDoesNotCallExchange() throws Exception {
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class, MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD);
+    mockAssetPairsPublicRequest(exchangeAdapter);
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+
+    assertTrue(exchangeAdapter.getTickers(List.of()).isEmpty());
+    PowerMock.verifyAll();
+  }
+
+  @Test(expected = TradingApiException.class)
+  public void testGettingTickersHandlesMarketMissingFromResponse() throws Exception {
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class, MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD);
+    mockAssetPairsPublicRequest(exchangeAdapter);
+    PowerMock.expectPrivate(
+            exchangeAdapter,
+            MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
+            eq(TICKER),
+            anyObject(Map.class),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(TICKERS_JSON_RESPONSE));
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+
+    exchangeAdapter.getTickers(List.of(MARKET_ID, "XBTGBP"));
+    PowerMock.verifyAll();
+  }
+
+  @Test(expected = TradingApiException.class)
+  public void testGettingTickersHandlesExchangeErrorResponse() throws Exception {
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class, MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD);
+    mockAssetPairsPublicRequest(exchangeAdapter);
+    PowerMock.expectPrivate(
+            exchangeAdapter,
+            MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
+            eq(TICKER),
+            anyObject(Map.class),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(TICKER_ERROR_JSON_RESPONSE));
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+
+    exchangeAdapter.getTickers(List.of(MARKET_ID, "ETHUSD"));
+    PowerMock.verifyAll();
+  }
+
+  @Test(expected = ExchangeNetworkException.class)
+  public void testGettingTickersHandlesExchangeNetworkException() throws Exception {
+    final KrakenExchangeAdapter exchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            KrakenExchangeAdapter.class, MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD);
+    mockAssetPairsPublicRequest(exchangeAdapter);
+    PowerMock.expectPrivate(
+            exchangeAdapter,
+            MOCKED_SEND_PUBLIC_REQUEST_TO_EXCHANGE_METHOD,
+            eq(TICKER),
+            anyObject(Map.class),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andThrow(new ExchangeNetworkException("KHAAANNN!"));
+
+    PowerMock.replayAll();
+    exchangeAdapter.init(exchangeConfig);
+
+    exchangeAdapter.getTickers(List.of(MARKET_ID, "ETHUSD"));
+    PowerMock.verifyAll();
+  }
+
   // --------------------------------------------------------------------------
   //  Non Exchange visiting tests
   // --------------------------------------------------------------------------
@@ -1179,11 +1630,6 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
   @Test
   @SuppressWarnings("unchecked")
   public void testSendingPublicRequestToExchangeSuccessfully() throws Exception {
-    final byte[] encoded = Files.readAllBytes(Paths.get(TICKER_JSON_RESPONSE));
-    final AbstractExchangeAdapter.ExchangeHttpResponse exchangeResponse =
-        new AbstractExchangeAdapter.ExchangeHttpResponse(
-            200, "OK", new String(encoded, StandardCharsets.UTF_8));
-
     final Map<String, String> requestParamMap = PowerMock.createPartialMock(HashMap.class, "put");
     expect(requestParamMap.put("pair", MARKET_ID)).andStubReturn(null);
 
@@ -1203,8 +1649,9 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             eq(url),
             eq("GET"),
             eq(null),
-            eq(new HashMap<>()))
-        .andReturn(exchangeResponse);
+            eq(new HashMap<>()),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
+        .andAnswer(streamedResponse(TICKER_JSON_RESPONSE));
 
     PowerMock.replayAll();
     exchangeAdapter.init(exchangeConfig);
@@ -1237,7 +1684,8 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             eq(url),
             eq("GET"),
             eq(null),
-            eq(new HashMap<>()))
+            eq(new HashMap<>()),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
         .andThrow(
             new ExchangeNetworkException(
                 "And from his own flesh Hades gave birth to an"
@@ -1274,7 +1722,8 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
             eq(url),
             eq("GET"),
             eq(null),
-            eq(new HashMap<>()))
+            eq(new HashMap<>()),
+            anyObject(AbstractExchangeAdapter.ResponseDecoder.class))
         .andThrow(
             new TradingApiException(
                 "In 10 days, when the sun is eclipsed, I will unleash the Kraken. "
@@ -1505,10 +1954,34 @@ public class TestKrakenExchangeAdapter extends AbstractExchangeAdapterTest {
         .andReturn(assetsResponse);
   }
 
+  /*
+   * Feeds the canned response through the decoder the adapter passed to the transport layer - the
+   * same as the streamed transport does.
+   */
+  private static IAnswer<ExchangeHttpResponse> streamedResponse(String jsonResponseFile) {
+    return () -> {
+      final AbstractExchangeAdapter.ResponseDecoder<?> responseDecoder =
+          Arrays.stream(EasyMock.getCurrentArguments())
+              .filter(AbstractExchangeAdapter.ResponseDecoder.class::isInstance)
+              .map(AbstractExchangeAdapter.ResponseDecoder.class::cast)
+              .findFirst()
+              .orElseThrow();
+      try (JsonReader jsonReader =
+          new JsonReader(Files.newBufferedReader(Paths.get(jsonResponseFile)))) {
+        return new AbstractExchangeAdapter.DecodedExchangeHttpResponse<>(
+            200, "OK", null, responseDecoder.decode(jsonReader));
+      }
+    };
+  }
+
   private ExchangeHttpResponse createMockAssetPairs() throws IOException {
     final byte[] assetsMsg =
         Files.readAllBytes(Paths.get(TestKrakenExchangeAdapter.ASSET_PAIR_JSON_RESPONSE));
 
     return new ExchangeHttpResponse(200, "OK", new String(assetsMsg, StandardCharsets.UTF_8));
   }
+
+  private static Class<?> krakenClass(String nestedClassName) throws ClassNotFoundException {
+    return Class.forName(KrakenExchangeAdapter.class.getName() + "$" + nestedClassName);
+  }
 }
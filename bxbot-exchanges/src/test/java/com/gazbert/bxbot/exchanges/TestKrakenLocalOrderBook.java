@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.gazbert.bxbot.trading.api.MarketOrder;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OrderType;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the Kraken Local Order Book behaves as expected.
+ *
+ * @author gazbert
+ */
+public class TestKrakenLocalOrderBook {
+
+  private static final String MARKET_ID = "XBTUSD";
+  private static final int DEPTH = 3;
+
+  private KrakenLocalOrderBook orderBook;
+
+  /** Creates a synced order book. */
+  @Before
+  public void setupForEachTest() {
+    orderBook = new KrakenLocalOrderBook(MARKET_ID, DEPTH);
+    orderBook.applySnapshot(
+        levels(level("0.05005", "0.00000500"), level("0.05010", "0.00010000")),
+        levels(level("0.05000", "0.00000200"), level("0.04990", "1.50000000")));
+  }
+
+  @Test
+  public void testSnapshotIsOrderedBestPriceFirst() {
+    final MarketOrderBook snapshot = orderBook.snapshot();
+
+    assertEquals(MARKET_ID, snapshot.getMarketId());
+    assertPrices(snapshot.getSellOrders(), "0.05005", "0.05010");
+    assertPrices(snapshot.getBuyOrders(), "0.05000", "0.04990");
+
+    final MarketOrder bestBid = snapshot.getBuyOrders().get(0);
+    assertSame(OrderType.BUY, bestBid.getType());
+    assertEquals(new BigDecimal("0.00000200"), bestBid.getQuantity());
+    assertEquals(
+        new BigDecimal("0.05000").multiply(new BigDecimal("0.00000200")), bestBid.getTotal());
+    assertSame(OrderType.SELL, snapshot.getSellOrders().get(0).getType());
+  }
+
+  @Test
+  public void testChecksumUsesKrakenFormattedPricesAndVolumes() {
+    // Asks lowest first, then bids highest first - decimal points and leading zeros removed.
+    assertEquals(
+        crc32("5005" + "500" + "5010" + "10000" + "5000" + "200" + "4990" + "150000000"),
+        orderBook.checksum());
+  }
+
+  @Test
+  public void testUpdatesAreAppliedWhenChecksumMatches() {
+    final boolean synced =
+        orderBook.applyUpdate(
+            levels(level("0.05005", "0.00000000"), level("0.05020", "2.00000000")),
+            levels(level("0.05001", "0.10000000")),
+            Long.toString(
+                crc32(
+                    "5010" + "10000" + "5020" + "200000000" + "5001" + "10000000" + "5000" + "200"
+                        + "4990" + "150000000")));
+
+    assertTrue(synced);
+    final MarketOrderBook snapshot = orderBook.snapshot();
+    assertPrices(snapshot.getSellOrders(), "0.05010", "0.05020");
+    assertPrices(snapshot.getBuyOrders(), "0.05001", "0.05000", "0.04990");
+  }
+
+  @Test
+  public void testBookIsTruncatedToDepth() {
+    orderBook.applyUpdate(
+        List.of(), levels(level("0.04980", "1.0"), level("0.05002", "1.0")), null);
+
+    assertPrices(orderBook.snapshot().getBuyOrders(), "0.05002", "0.05000", "0.04990");
+  }
+
+  @Test
+  public void testBookIsClearedWhenChecksumDoesNotMatch() {
+    assertFalse(orderBook.applyUpdate(levels(level("0.05006", "1.0")), List.of(), "12345"));
+
+    assertFalse(orderBook.isSynced());
+    assertNull(orderBook.snapshot());
+  }
+
+  @Test
+  public void testUpdatesAreIgnoredUntilSnapshotIsApplied() {
+    orderBook.clear();
+
+    assertFalse(orderBook.applyUpdate(levels(level("0.05006", "1.0")), List.of(), null));
+    assertNull(orderBook.snapshot());
+
+    orderBook.applySnapshot(levels(level("0.05006", "1.0")), List.of());
+    assertTrue(orderBook.isSynced());
+    assertPrices(orderBook.snapshot().getSellOrders(), "0.05006");
+  }
+
+  // --------------------------------------------------------------------------
+  //  private utils
+  // --------------------------------------------------------------------------
+
+  private static List<String[]> levels(String[]... levels) {
+    return List.of(levels);
+  }
+
+  private static String[] level(String price, String volume) {
+    return new String[] {price, volume, "1534614248.123678"};
+  }
+
+  private static long crc32(String checksumInput) {
+    final CRC32 crc32 = new CRC32();
+    crc32.update(checksumInput.getBytes(StandardCharsets.US_ASCII));
+    return crc32.getValue();
+  }
+
+  private static void assertPrices(List<MarketOrder> marketOrders, String... prices) {
+    assertEquals(prices.length, marketOrders.size());
+    for (int i = 0; i < prices.length; i++) {
+      assertEquals(new BigDecimal(prices[i]), marketOrders.get(i).getPrice());
+    }
+  }
+}
@@ -0,0 +1,522 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.gazbert.bxbot.exchange.api.MarketDataListener;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.Ticker;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the Kraken WebSocket Order Book Feed against a local WebSocket stand-in for Kraken.
+ *
+ * @author gazbert
+ */
+public class TestKrakenWebSocketOrderBookFeed {
+
+  private static final String MARKET_ID = "XBTUSD";
+  private static final String PAIR = "XBT/USD";
+  private static final int DEPTH = 10;
+  private static final long TIMEOUT_MILLIS = 5000;
+
+  private static final String SNAPSHOT =
+      "[0,{\"as\":[[\"5541.30000\",\"2.50700000\",\"1534614248.123678\"]],"
+          + "\"bs\":[[\"5541.20000\",\"1.52900000\",\"1534614248.765567\"]]},"
+          + "\"book-10\",\"XBT/USD\"]";
+
+  private KrakenWebSocketStandIn kraken;
+  private KrakenWebSocketOrderBookFeed orderBookFeed;
+
+  /** Starts the Kraken stand-in. */
+  @Before
+  public void setupForEachTest() throws Exception {
+    kraken = new KrakenWebSocketStandIn();
+    orderBookFeed =
+        new KrakenWebSocketOrderBookFeed(
+            URI.create("ws://localhost:" + kraken.getPort() + "/"), DEPTH, Duration.ofSeconds(5));
+  }
+
+  /** Stops the feed and the Kraken stand-in. */
+  @After
+  public void tearDownAfterEachTest() throws Exception {
+    orderBookFeed.close();
+    kraken.close();
+  }
+
+  @Test
+  public void testOrderBookIsLoadedFromSnapshot() throws Exception {
+    assertNull(orderBookFeed.getOrderBook(MARKET_ID, PAIR));
+
+    final JsonObject subscribe = kraken.awaitMessage();
+    assertEquals("subscribe", subscribe.get("event").getAsString());
+    assertEquals(PAIR, subscribe.getAsJsonArray("pair").get(0).getAsString());
+    assertEquals("book", subscribe.getAsJsonObject("subscription").get("name").getAsString());
+    assertEquals(DEPTH, subscribe.getAsJsonObject("subscription").get("depth").getAsInt());
+
+    kraken.send(subscriptionStatus("subscribed"));
+    kraken.send("{\"event\":\"heartbeat\"}");
+    kraken.sendFragmented(SNAPSHOT);
+
+    final MarketOrderBook orderBook = awaitOrderBook(book -> true);
+    assertEquals(MARKET_ID, orderBook.getMarketId());
+    assertEquals(new BigDecimal("5541.30000"), orderBook.getSellOrders().get(0).getPrice());
+    assertEquals(new BigDecimal("2.50700000"), orderBook.getSellOrders().get(0).getQuantity());
+    assertEquals(new BigDecimal("5541.20000"), orderBook.getBuyOrders().get(0).getPrice());
+    assertEquals(new BigDecimal("1.52900000"), orderBook.getBuyOrders().get(0).getQuantity());
+  }
+
+  @Test
+  public void testUpdatesAreAppliedToOrderBook() throws Exception {
+    subscribeAndLoadSnapshot();
+
+    kraken.send("not json");
+    kraken.send(
+        "[0,{\"a\":[[\"5541.30000\",\"0.00000000\",\"1534614335.345903\"],"
+            + "[\"5541.80000\",\"0.33000000\",\"1534614335.345903\"]]},"
+            + "{\"b\":[[\"5541.20000\",\"2.00000000\",\"1534614335.345903\"]],"
+            + "\"c\":\""
+            + crc32("554180000" + "33000000" + "554120000" + "200000000")
+            + "\"},\"book-10\",\"XBT/USD\"]");
+
+    final MarketOrderBook orderBook =
+        awaitOrderBook(
+            book -> book.getSellOrders().get(0).getPrice().equals(new BigDecimal("5541.80000")));
+    assertEquals(1, orderBook.getSellOrders().size());
+    assertEquals(new BigDecimal("2.00000000"), orderBook.getBuyOrders().get(0).getQuantity());
+  }
+
+  @Test
+  public void testMarketIsResubscribedWhenChecksumDoesNotMatch() throws Exception {
+    subscribeAndLoadSnapshot();
+
+    kraken.send(
+        "[0,{\"a\":[[\"5541.40000\",\"1.00000000\",\"1534614335.345903\"]],\"c\":\"42\"},"
+            + "\"book-10\",\"XBT/USD\"]");
+
+    assertEquals("unsubscribe", kraken.awaitMessage().get("event").getAsString());
+    assertNull(orderBookFeed.getOrderBook(MARKET_ID, PAIR));
+
+    kraken.send(subscriptionStatus("unsubscribed"));
+    assertEquals("subscribe", kraken.awaitMessage().get("event").getAsString());
+
+    kraken.send(SNAPSHOT);
+    assertNotNull(awaitOrderBook(book -> true));
+  }
+
+  @Test
+  public void testFeedReconnectsWhenConnectionIsLost() throws Exception {
+    subscribeAndLoadSnapshot();
+
+    kraken.dropConnection();
+    awaitUnsynced();
+
+    assertEquals("subscribe", awaitSubscription().get("event").getAsString());
+    assertEquals(2, kraken.getConnectionCount());
+
+    kraken.send(SNAPSHOT);
+    assertNotNull(awaitOrderBook(book -> true));
+  }
+
+  @Test
+  public void testOrderBooksArePushedToListener() throws Exception {
+    final BlockingQueue<MarketOrderBook> pushedOrderBooks = new LinkedBlockingQueue<>();
+    orderBookFeed.streamOrderBooks(
+        Map.of(MARKET_ID, PAIR), new OrderBookCollector(pushedOrderBooks));
+    assertEquals("subscribe", kraken.awaitMessage().get("event").getAsString());
+
+    kraken.send(SNAPSHOT);
+    final MarketOrderBook snapshot = pushedOrderBooks.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    assertNotNull(snapshot);
+    assertEquals(MARKET_ID, snapshot.getMarketId());
+
+    kraken.send(
+        "[0,{\"b\":[[\"5541.20000\",\"2.00000000\",\"1534614335.345903\"]],"
+            + "\"c\":\""
+            + crc32("554130000" + "250700000" + "554120000" + "200000000")
+            + "\"},\"book-10\",\"XBT/USD\"]");
+    final MarketOrderBook update = pushedOrderBooks.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    assertNotNull(update);
+    assertEquals(new BigDecimal("2.00000000"), update.getBuyOrders().get(0).getQuantity());
+
+    // Reconnects straight away, without waiting for the order book to be requested
+    kraken.dropConnection();
+    assertEquals("subscribe", kraken.awaitMessage().get("event").getAsString());
+    assertEquals(2, kraken.getConnectionCount());
+  }
+
+  @Test
+  public void testMarketIsSubscribedAgainWhenSubscriptionFails() throws Exception {
+    assertNull(orderBookFeed.getOrderBook(MARKET_ID, PAIR));
+    kraken.awaitMessage();
+
+    kraken.send(
+        "{\"event\":\"subscriptionStatus\",\"status\":\"error\",\"pair\":\"XBT/USD\","
+            + "\"errorMessage\":\"Currency pair not supported\"}");
+
+    assertEquals("subscribe", awaitSubscription().get("event").getAsString());
+  }
+
+  @Test
+  public void testMarketIsSubscribedOnceWhenFirstRequestedConcurrently() throws Exception {
+    final int requestCount = 8;
+    final CountDownLatch start = new CountDownLatch(1);
+    final CountDownLatch requested = new CountDownLatch(requestCount);
+    for (int i = 0; i < requestCount; i++) {
+      Thread.ofPlatform()
+          .start(
+              () -> {
+                try {
+                  start.await();
+                  orderBookFeed.getOrderBook(MARKET_ID, PAIR);
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                } finally {
+                  requested.countDown();
+                }
+              });
+    }
+    start.countDown();
+    assertTrue(requested.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+    assertEquals("subscribe", kraken.awaitMessage().get("event").getAsString());
+    assertNull(kraken.received.poll(500, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testOrderBookIsKeptWhenAlreadySubscribed() throws Exception {
+    assertNull(orderBookFeed.getOrderBook(MARKET_ID, PAIR));
+    kraken.awaitMessage();
+
+    kraken.send(
+        "{\"event\":\"subscriptionStatus\",\"status\":\"error\",\"pair\":\"XBT/USD\","
+            + "\"errorMessage\":\"Already subscribed\"}");
+    kraken.send(SNAPSHOT);
+
+    assertNotNull(awaitOrderBook(book -> true));
+  }
+
+  @Test
+  public void testEventsWithMissingFieldsAreIgnored() throws Exception {
+    assertNull(orderBookFeed.getOrderBook(MARKET_ID, PAIR));
+    kraken.awaitMessage();
+
+    kraken.send("{\"status\":\"subscribed\"}");
+    kraken.send("{\"event\":\"subscriptionStatus\",\"status\":\"error\"}");
+    kraken.send("{\"event\":\"subscriptionStatus\",\"pair\":null}");
+    kraken.send(SNAPSHOT);
+
+    assertNotNull(awaitOrderBook(book -> true));
+  }
+
+  @Test
+  public void testConnectionIsClosedWhenFeedIsClosed() throws Exception {
+    orderBookFeed.streamOrderBooks(
+        Map.of(MARKET_ID, PAIR), new OrderBookCollector(new LinkedBlockingQueue<>()));
+    assertEquals("subscribe", kraken.awaitMessage().get("event").getAsString());
+
+    orderBookFeed.close();
+
+    assertTrue("Timed out waiting for client to close connection", kraken.awaitClose());
+    // Does not reconnect, even though order books were being streamed
+    assertNull(kraken.received.poll(500, TimeUnit.MILLISECONDS));
+    assertEquals(1, kraken.getConnectionCount());
+  }
+
+  // --------------------------------------------------------------------------
+  //  private utils
+  // --------------------------------------------------------------------------
+
+  private void subscribeAndLoadSnapshot() throws Exception {
+    assertNull(orderBookFeed.getOrderBook(MARKET_ID, PAIR));
+    kraken.awaitMessage();
+    kraken.send(SNAPSHOT);
+    awaitOrderBook(book -> true);
+  }
+
+  private MarketOrderBook awaitOrderBook(Predicate<MarketOrderBook> condition) throws Exception {
+    final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (System.currentTimeMillis() < deadline) {
+      final MarketOrderBook orderBook = orderBookFeed.getOrderBook(MARKET_ID, PAIR);
+      if (orderBook != null && condition.test(orderBook)) {
+        return orderBook;
+      }
+      Thread.sleep(10);
+    }
+    fail("Timed out waiting for order book");
+    return null;
+  }
+
+  /*
+   * Keeps requesting the order book, as the Trading Engine would, until the feed sends a message.
+   */
+  private JsonObject awaitSubscription() throws Exception {
+    final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (kraken.received.isEmpty() && System.currentTimeMillis() < deadline) {
+      orderBookFeed.getOrderBook(MARKET_ID, PAIR);
+      Thread.sleep(10);
+    }
+    return kraken.awaitMessage();
+  }
+
+  private void awaitUnsynced() throws Exception {
+    final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (orderBookFeed.getOrderBook(MARKET_ID, PAIR) != null) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("Timed out waiting for order book to be discarded");
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  /** Collects the order books pushed by the feed. */
+  private record OrderBookCollector(BlockingQueue<MarketOrderBook> orderBooks)
+      implements MarketDataListener {
+
+    @Override
+    public void onTicker(String marketId, Ticker ticker) {
+      fail("Unexpected ticker pushed for market: " + marketId);
+    }
+
+    @Override
+    public void onOrderBookUpdate(String marketId, MarketOrderBook marketOrderBook) {
+      orderBooks.add(marketOrderBook);
+    }
+
+    @Override
+    public void onOrderFilled(String marketId, OpenOrder filledOrder) {
+      fail("Unexpected order fill pushed for market: " + marketId);
+    }
+  }
+
+  private static String subscriptionStatus(String status) {
+    return "{\"event\":\"subscriptionStatus\",\"status\":\"" + status + "\",\"pair\":\"XBT/USD\"}";
+  }
+
+  private static long crc32(String checksumInput) {
+    final CRC32 crc32 = new CRC32();
+    crc32.update(checksumInput.getBytes(StandardCharsets.US_ASCII));
+    return crc32.getValue();
+  }
+
+  /**
+   * A minimal WebSocket server that stands in for Kraken. It accepts 1 connection at a time,
+   * records the text messages sent by the client, and sends the messages it is told to.
+   */
+  private static final class KrakenWebSocketStandIn implements AutoCloseable {
+
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final int OPCODE_CONTINUATION = 0x0;
+    private static final int OPCODE_TEXT = 0x1;
+    private static final int OPCODE_CLOSE = 0x8;
+
+    private final ServerSocket serverSocket;
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private final Thread acceptThread;
+    private volatile Socket socket;
+    private volatile DataOutputStream out;
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    KrakenWebSocketStandIn() throws IOException {
+      serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+      acceptThread = Thread.ofVirtual().start(this::acceptConnections);
+    }
+
+    int getPort() {
+      return serverSocket.getLocalPort();
+    }
+
+    int getConnectionCount() {
+      return connectionCount.get();
+    }
+
+    boolean awaitClose() throws InterruptedException {
+      return closed.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    JsonObject awaitMessage() throws InterruptedException {
+      final String message = received.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      assertNotNull("Timed out waiting for message from client", message);
+      return JsonParser.parseString(message).getAsJsonObject();
+    }
+
+    void send(String message) throws IOException {
+      writeFrame(true, OPCODE_TEXT, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void sendFragmented(String message) throws IOException {
+      final int split = message.length() / 2;
+      writeFrame(false, OPCODE_TEXT, message.substring(0, split).getBytes(StandardCharsets.UTF_8));
+      writeFrame(
+          true, OPCODE_CONTINUATION, message.substring(split).getBytes(StandardCharsets.UTF_8));
+    }
+
+    void dropConnection() throws IOException {
+      socket.close();
+    }
+
+    @Override
+    public void close() throws Exception {
+      serverSocket.close();
+      if (socket != null) {
+        socket.close();
+      }
+      acceptThread.join(TIMEOUT_MILLIS);
+    }
+
+    private void acceptConnections() {
+      try {
+        while (!serverSocket.isClosed()) {
+          try (Socket connection = serverSocket.accept()) {
+            socket = connection;
+            handleConnection(connection);
+          } catch (IOException e) {
+            // connection dropped - wait for the next one
+          }
+        }
+      } catch (Exception e) {
+        // server closed
+      }
+    }
+
+    private void handleConnection(Socket connection) throws Exception {
+      final DataInputStream in = new DataInputStream(connection.getInputStream());
+      String webSocketKey = null;
+      String header;
+      while (!(header = readLine(in)).isEmpty()) {
+        if (header.toLowerCase(Locale.ROOT).startsWith("sec-websocket-key:")) {
+          webSocketKey = header.substring(header.indexOf(':') + 1).trim();
+        }
+      }
+
+      final byte[] acceptKey =
+          MessageDigest.getInstance("SHA-1")
+              .digest((webSocketKey + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII));
+      out = new DataOutputStream(connection.getOutputStream());
+      synchronized (this) {
+        out.write(
+            ("HTTP/1.1 101 Switching Protocols\r\n"
+                    + "Upgrade: websocket\r\n"
+                    + "Connection: Upgrade\r\n"
+                    + "Sec-WebSocket-Accept: "
+                    + Base64.getEncoder().encodeToString(acceptKey)
+                    + "\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+      }
+      connectionCount.incrementAndGet();
+
+      while (true) {
+        final int opcode = in.readUnsignedByte() & 0x0F;
+        final int lengthAndMask = in.readUnsignedByte();
+        long length = lengthAndMask & 0x7F;
+        if (length == 126) {
+          length = in.readUnsignedShort();
+        } else if (length == 127) {
+          length = in.readLong();
+        }
+        final byte[] mask = new byte[4];
+        if ((lengthAndMask & 0x80) != 0) {
+          in.readFully(mask);
+        }
+        final byte[] payload = new byte[(int) length];
+        in.readFully(payload);
+        for (int i = 0; i < payload.length; i++) {
+          payload[i] ^= mask[i % 4];
+        }
+
+        if (opcode == OPCODE_TEXT) {
+          received.add(new String(payload, StandardCharsets.UTF_8));
+        } else if (opcode == OPCODE_CLOSE) {
+          writeFrame(true, OPCODE_CLOSE, payload);
+          closed.countDown();
+          return;
+        }
+      }
+    }
+
+    private synchronized void writeFrame(boolean last, int opcode, byte[] payload)
+        throws IOException {
+      out.write((last ? 0x80 : 0) | opcode);
+      if (payload.length < 126) {
+        out.write(payload.length);
+      } else if (payload.length <= 0xFFFF) {
+        out.write(126);
+        out.writeShort(payload.length);
+      } else {
+        out.write(127);
+        out.writeLong(payload.length);
+      }
+      out.write(payload);
+      out.flush();
+    }
+
+    private static String readLine(DataInputStream in) throws IOException {
+      final ByteArrayOutputStream line = new ByteArrayOutputStream();
+      int b;
+      while ((b = in.read()) != '\n') {
+        if (b == -1) {
+          throw new IOException("Connection closed during handshake");
+        }
+        if (b != '\r') {
+          line.write(b);
+        }
+      }
+      return line.toString(StandardCharsets.US_ASCII);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the Nonce Generator behaves as expected.
+ *
+ * @author gazbert
+ */
+public class TestNonceGenerator {
+
+  private static final long INITIAL_NONCE = 1_700_000_000_000L;
+  private static final int THREAD_COUNT = 8;
+  private static final int NONCES_PER_THREAD = 5_000;
+
+  private Path nonceFile;
+
+  /** Each test gets its own nonce file, which does not exist yet. */
+  @Before
+  public void setupForEachTest() throws Exception {
+    nonceFile = Files.createTempDirectory("bxbot-nonces").resolve("nonce");
+  }
+
+  @Test
+  public void testNoncesIncreaseFromInitialNonce() {
+    final NonceGenerator nonceGenerator = new NonceGenerator(INITIAL_NONCE);
+    assertEquals(INITIAL_NONCE + 1, nonceGenerator.next());
+    assertEquals(INITIAL_NONCE + 2, nonceGenerator.next());
+  }
+
+  @Test
+  public void testNoncesAreUniqueAcrossThreads() throws Exception {
+    final NonceGenerator nonceGenerator = new NonceGenerator(INITIAL_NONCE, nonceFile);
+    final Set<Long> nonces = ConcurrentHashMap.newKeySet();
+    final List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      threads.add(
+          Thread.ofPlatform()
+              .start(
+                  () -> {
+                    for (int j = 0; j < NONCES_PER_THREAD; j++) {
+                      nonces.add(nonceGenerator.next());
+                    }
+                  }));
+    }
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(THREAD_COUNT * NONCES_PER_THREAD, nonces.size());
+    assertEquals(INITIAL_NONCE + THREAD_COUNT * NONCES_PER_THREAD, nonceGenerator.next() - 1);
+  }
+
+  @Test
+  public void testNoncesKeepIncreasingAfterRestartEvenIfClockHasGoneBack() throws Exception {
+    final NonceGenerator nonceGenerator = new NonceGenerator(INITIAL_NONCE, nonceFile);
+    final long lastNonce = nonceGenerator.next();
+
+    final NonceGenerator restartedNonceGenerator =
+        new NonceGenerator(INITIAL_NONCE - 60_000, nonceFile);
+    final long nonceAfterRestart = restartedNonceGenerator.next();
+
+    assertEquals(lastNonce + NonceGenerator.RESERVED_BLOCK_SIZE + 1, nonceAfterRestart);
+    assertFalse(Files.exists(nonceFile.resolveSibling("nonce.tmp")));
+  }
+
+  @Test
+  public void testNoncesStartFromInitialNonceIfItIsAheadOfNonceFile() throws Exception {
+    Files.writeString(nonceFile, "42");
+    final NonceGenerator nonceGenerator = new NonceGenerator(INITIAL_NONCE, nonceFile);
+    assertEquals(INITIAL_NONCE + 1, nonceGenerator.next());
+    assertEquals(
+        INITIAL_NONCE + 1 + NonceGenerator.RESERVED_BLOCK_SIZE,
+        Long.parseLong(Files.readString(nonceFile)));
+  }
+
+  @Test
+  public void testNonceFileWithoutNonceIsRejected() throws Exception {
+    Files.writeString(nonceFile, "not a nonce");
+    assertThrows(
+        IllegalArgumentException.class, () -> new NonceGenerator(INITIAL_NONCE, nonceFile));
+  }
+
+  @Test
+  public void testFailureToReserveNoncesIsReported() throws Exception {
+    final NonceGenerator nonceGenerator =
+        new NonceGenerator(INITIAL_NONCE, nonceFile.resolveSibling("missing").resolve("nonce"));
+    assertThrows(UncheckedIOException.class, nonceGenerator::next);
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.Test;
+
+/**
+ * Tests the Request Signer produces the same output as the JDK encoders, digests and MACs.
+ *
+ * @author gazbert
+ */
+public class TestRequestSigner {
+
+  private static final byte[] SECRET = "kraken-secret".getBytes(StandardCharsets.UTF_8);
+  private static final String HMAC_SHA512 = "HmacSHA512";
+  private static final int THREAD_COUNT = 8;
+  private static final int SIGNATURES_PER_THREAD = 500;
+
+  @Test
+  public void testFormEncodingMatchesUrlEncoder() throws Exception {
+    final Map<String, String> params = new LinkedHashMap<>();
+    params.put("nonce", "1700000000000");
+    params.put("pair", "XXBTZUSD");
+    params.put("reserved", "a b+c&d=e/f?g%h~i*j.k-l_m");
+    params.put("unicode", "£100 € 🚀");
+    params.put("empty", "");
+    params.put("long", "x".repeat(2_000) + " ");
+
+    final StringBuilder expected = new StringBuilder();
+    for (final Map.Entry<String, String> param : params.entrySet()) {
+      if (!expected.isEmpty()) {
+        expected.append('&');
+      }
+      expected.append(param.getKey()).append('=');
+      expected.append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8));
+    }
+
+    final RequestSigner requestSigner = new RequestSigner(HMAC_SHA512, SECRET);
+    assertEquals(expected.toString(), requestSigner.formEncode(params));
+    assertEquals("", requestSigner.formEncode(Map.of()));
+  }
+
+  @Test
+  public void testSha256MatchesMessageDigest() throws Exception {
+    final RequestSigner requestSigner = new RequestSigner(HMAC_SHA512, SECRET);
+    final byte[] expected =
+        MessageDigest.getInstance("SHA-256")
+            .digest("1700000000000nonce=1700000000000&price=£1".getBytes(StandardCharsets.UTF_8));
+
+    assertArrayEquals(
+        expected, requestSigner.sha256("1700000000000", "nonce=1700000000000&price=£1"));
+    // The digest is reset for the next message
+    assertArrayEquals(
+        expected, requestSigner.sha256("1700000000000nonce=1700000000000&price=£1"));
+  }
+
+  @Test
+  public void testSignaturesMatchMac() throws Exception {
+    final RequestSigner requestSigner = new RequestSigner(HMAC_SHA512, SECRET);
+    final byte[] messageHash = requestSigner.sha256("message");
+    final byte[] expected = mac(HMAC_SHA512, "/0/private/É", messageHash);
+
+    assertEquals(
+        Base64.getEncoder().encodeToString(expected),
+        requestSigner.sign().update("/0/private/").update("É").update(messageHash).toBase64());
+    assertEquals(
+        HexFormat.of().formatHex(expected),
+        requestSigner.sign().update("/0/private/É").update(messageHash).toLowerCaseHex());
+    assertEquals(
+        HexFormat.of().withUpperCase().formatHex(expected),
+        requestSigner.sign().update("/0/private/É").update(messageHash).toUpperCaseHex());
+  }
+
+  @Test
+  public void testSigningIsResetWhenAbandoned() throws Exception {
+    final RequestSigner requestSigner = new RequestSigner(HMAC_SHA512, SECRET);
+    requestSigner.sign().update("abandoned");
+
+    assertEquals(
+        HexFormat.of().formatHex(mac(HMAC_SHA512, "payload", new byte[0])),
+        requestSigner.sign().update("payload").toLowerCaseHex());
+  }
+
+  @Test
+  public void testSignaturesAreCorrectAcrossThreads() throws Exception {
+    final RequestSigner requestSigner = new RequestSigner(HMAC_SHA512, SECRET);
+    final List<Callable<Integer>> signers = new ArrayList<>();
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      final String payload = "payload-" + i;
+      final String expected = HexFormat.of().formatHex(mac(HMAC_SHA512, payload, new byte[0]));
+      signers.add(
+          () -> {
+            int correctSignatures = 0;
+            for (int j = 0; j < SIGNATURES_PER_THREAD; j++) {
+              if (expected.equals(requestSigner.sign().update(payload).toLowerCaseHex())) {
+                correctSignatures++;
+              }
+            }
+            return correctSignatures;
+          });
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    try {
+      for (final Future<Integer> correctSignatures : executor.invokeAll(signers)) {
+        assertEquals(SIGNATURES_PER_THREAD, (int) correctSignatures.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testSigningStateIsReusedAcrossVirtualThreads() throws Exception {
+    final RequestSigner requestSigner = new RequestSigner(HMAC_SHA512, SECRET);
+    final List<RequestSigner.Signature> signatures = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      Thread.ofVirtual()
+          .start(
+              () -> {
+                final RequestSigner.Signature signature = requestSigner.sign();
+                signature.update("payload").toBase64();
+                signatures.add(signature);
+              })
+          .join();
+    }
+    assertSame(signatures.get(0), signatures.get(1));
+  }
+
+  @Test
+  public void testSignaturesAreCorrectWhenSigningIsInterleaved() throws Exception {
+    final RequestSigner requestSigner = new RequestSigner(HMAC_SHA512, SECRET);
+    final RequestSigner.Signature outer = requestSigner.sign().update("outer");
+    final String postData = requestSigner.formEncode(Map.of("nonce", "1"));
+    final String inner = requestSigner.sign().update(postData).toLowerCaseHex();
+
+    assertEquals(HexFormat.of().formatHex(mac(HMAC_SHA512, "nonce=1", new byte[0])), inner);
+    assertEquals(
+        HexFormat.of().formatHex(mac(HMAC_SHA512, "outer", new byte[0])), outer.toLowerCaseHex());
+  }
+
+  @Test
+  public void testUnknownMacAlgorithmIsRejected() {
+    assertThrows(NoSuchAlgorithmException.class, () -> new RequestSigner("HmacUnknown", SECRET));
+  }
+
+  @Test
+  public void testEmptySecretKeyIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new RequestSigner(HMAC_SHA512, new byte[0]));
+  }
+
+  private static byte[] mac(String algorithm, String message, byte[] messageHash)
+      throws NoSuchAlgorithmException, InvalidKeyException {
+    final Mac mac = Mac.getInstance(algorithm);
+    mac.init(new SecretKeySpec(SECRET, algorithm));
+    mac.update(message.getBytes(StandardCharsets.UTF_8));
+    return mac.doFinal(messageHash);
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+/**
+ * Tests the Token Bucket Rate Limiter behaves as expected.
+ *
+ * <p>The bucket is refilled using a fake clock, so the tests only wait for the threads under test.
+ *
+ * @author gazbert
+ */
+public class TestTokenBucketRateLimiter {
+
+  // 100 tokens per second: a waiting request re-checks the clock every 10ms
+  private static final int REQUESTS_PER_MINUTE = 6000;
+  private static final int CAPACITY = 100;
+  private static final long NANOS_PER_TOKEN = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long TEST_TIMEOUT_MILLIS = 5000;
+
+  private final AtomicLong clock = new AtomicLong();
+  private final List<String> tokensTaken = new CopyOnWriteArrayList<>();
+
+  @Test(timeout = TEST_TIMEOUT_MILLIS)
+  public void testBucketHoldsOneSecondsWorthOfTokens() throws Exception {
+    final TokenBucketRateLimiter rateLimiter = createRateLimiter();
+    clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+    takeAllTokens(rateLimiter);
+
+    final Thread request = startRequest(rateLimiter, "request", false);
+    awaitWaiting(request);
+    assertTrue(tokensTaken.isEmpty());
+
+    clock.addAndGet(NANOS_PER_TOKEN);
+    request.join();
+    assertEquals(List.of("request"), tokensTaken);
+  }
+
+  @Test(timeout = TEST_TIMEOUT_MILLIS)
+  public void testBucketIsRefilledAtConfiguredRate() throws Exception {
+    final TokenBucketRateLimiter rateLimiter = createRateLimiter();
+    takeAllTokens(rateLimiter);
+
+    final Thread request = startRequest(rateLimiter, "request", false);
+    awaitWaiting(request);
+    clock.addAndGet(NANOS_PER_TOKEN / 2);
+    TimeUnit.MILLISECONDS.sleep(50);
+    assertTrue(tokensTaken.isEmpty());
+
+    clock.addAndGet(NANOS_PER_TOKEN / 2);
+    request.join();
+    assertEquals(List.of("request"), tokensTaken);
+  }
+
+  @Test(timeout = TEST_TIMEOUT_MILLIS)
+  public void testPriorityRequestGoesAheadOfWaitingRequests() throws Exception {
+    final TokenBucketRateLimiter rateLimiter = createRateLimiter();
+    takeAllTokens(rateLimiter);
+
+    final Thread marketDataRequest = startRequest(rateLimiter, "market data", false);
+    awaitWaiting(marketDataRequest);
+    final Thread orderRequest = startRequest(rateLimiter, "order", true);
+    awaitWaiting(orderRequest);
+
+    clock.addAndGet(NANOS_PER_TOKEN);
+    orderRequest.join();
+    TimeUnit.MILLISECONDS.sleep(50);
+    assertEquals(List.of("order"), tokensTaken);
+
+    clock.addAndGet(NANOS_PER_TOKEN);
+    marketDataRequest.join();
+    assertEquals(List.of("order", "market data"), tokensTaken);
+  }
+
+  @Test(timeout = TEST_TIMEOUT_MILLIS)
+  public void testWaitingRequestIsNotBlockedByInterruptedPriorityRequest() throws Exception {
+    final TokenBucketRateLimiter rateLimiter = createRateLimiter();
+    takeAllTokens(rateLimiter);
+
+    final Thread orderRequest = startRequest(rateLimiter, "order", true);
+    awaitWaiting(orderRequest);
+    final Thread marketDataRequest = startRequest(rateLimiter, "market data", false);
+    awaitWaiting(marketDataRequest);
+
+    orderRequest.interrupt();
+    orderRequest.join();
+    clock.addAndGet(NANOS_PER_TOKEN);
+    marketDataRequest.join();
+    assertEquals(List.of("market data"), tokensTaken);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRequestsPerMinuteMustBeAtLeastOne() {
+    new TokenBucketRateLimiter(0);
+  }
+
+  // --------------------------------------------------------------------------
+  //  private utils
+  // --------------------------------------------------------------------------
+
+  private TokenBucketRateLimiter createRateLimiter() {
+    return new TokenBucketRateLimiter(REQUESTS_PER_MINUTE, clock::get);
+  }
+
+  private static void takeAllTokens(TokenBucketRateLimiter rateLimiter)
+      throws InterruptedException {
+    for (int i = 0; i < CAPACITY; i++) {
+      rateLimiter.acquire(false);
+    }
+  }
+
+  private Thread startRequest(TokenBucketRateLimiter rateLimiter, String name, boolean priority) {
+    final Thread request =
+        new Thread(
+            () -> {
+              try {
+                rateLimiter.acquire(priority);
+                tokensTaken.add(name);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            },
+            name);
+    request.start();
+    return request;
+  }
+
+  private static void awaitWaiting(Thread request) throws InterruptedException {
+    while (request.getState() != Thread.State.TIMED_WAITING) {
+      TimeUnit.MILLISECONDS.sleep(1);
+    }
+  }
+}
@@ -23,6 +23,7 @@
 
 package com.gazbert.bxbot.exchanges;
 
+import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.junit.Assert.assertEquals;
@@ -31,7 +32,9 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import com.gazbert.bxbot.exchange.api.AuthenticationConfig;
+import com.gazbert.bxbot.exchange.api.ExchangeAdapter;
 import com.gazbert.bxbot.exchange.api.ExchangeConfig;
+import com.gazbert.bxbot.exchange.api.MarketDataListener;
 import com.gazbert.bxbot.exchange.api.NetworkConfig;
 import com.gazbert.bxbot.exchange.api.OtherConfig;
 import com.gazbert.bxbot.exchanges.trading.api.impl.MarketOrderBookImpl;
@@ -48,10 +51,15 @@ import com.gazbert.bxbot.trading.api.Ticker;
 import com.gazbert.bxbot.trading.api.TradingApiException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import org.easymock.Capture;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -139,6 +147,8 @@ public class TestTryModeExchangeAdapter extends AbstractExchangeAdapter {
   private static final String MOCKED_GET_PERCENTAGE_OF_BUY_ORDER_TAKEN_FOR_EXCHANGE_FEE =
       "getPercentageOfBuyOrderTakenForExchangeFee";
   private static final String MOCKED_GET_TICKER_METHOD = "getTicker";
+  private static final String MOCKED_GET_TICKERS_METHOD = "getTickers";
+  private static final String MOCKED_SUBSCRIBE_TO_MARKET_DATA_METHOD = "subscribeToMarketData";
   private static final String MOCKED_GET_BALANCE_INFO = "getBalanceInfo";
   private static final String MOCKED_GET_MARKET_ORDERS = "getMarketOrders";
   private static final String MOCKED_GET_LATEST_MARKET_PRICE = "getLatestMarketPrice";
@@ -184,6 +194,9 @@ public class TestTryModeExchangeAdapter extends AbstractExchangeAdapter {
     expect(networkConfig.getConnectionTimeout()).andReturn(30);
     expect(networkConfig.getNonFatalErrorCodes()).andReturn(nonFatalNetworkErrorCodes);
     expect(networkConfig.getNonFatalErrorMessages()).andReturn(nonFatalNetworkErrorMessages);
+    expect(networkConfig.getMaxConnections()).andReturn(null);
+    expect(networkConfig.getPublicRequestsPerMinute()).andReturn(null);
+    expect(networkConfig.getPrivateRequestsPerMinute()).andReturn(null);
 
     OtherConfig otherConfig = PowerMock.createMock(OtherConfig.class);
     expect(otherConfig.getItem("simulatedBaseCurrency")).andReturn(BASE_CURRENCY).atLeastOnce();
@@ -293,6 +306,90 @@ public class TestTryModeExchangeAdapter extends AbstractExchangeAdapter {
     PowerMock.verifyAll();
   }
 
+  @Test
+  public void testCreateOrderWithGivenDelegateAndClock() throws Exception {
+
+    final Ticker tickerResponse =
+        new TickerImpl(LAST, BID, ASK, LOW, HIGH, OPEN, VOLUME, VWAP, TIMESTAMP);
+
+    final ExchangeAdapter delegateExchangeAdapter = PowerMock.createMock(ExchangeAdapter.class);
+    expect(delegateExchangeAdapter.getTicker(MARKET_ID)).andReturn(tickerResponse).times(2);
+
+    PowerMock.replayAll();
+
+    final Instant now = Instant.ofEpochSecond(TIMESTAMP);
+    final TryModeExchangeAdapter tryModeExchangeAdapter =
+        new TryModeExchangeAdapter(delegateExchangeAdapter, Clock.fixed(now, ZoneOffset.UTC));
+    tryModeExchangeAdapter.init(exchangeConfig);
+
+    final String orderId =
+        tryModeExchangeAdapter.createOrder(
+            MARKET_ID, OrderType.BUY, BUY_ORDER_QUANTITY, BUY_ORDER_PRICE);
+    assertEquals("DUMMY_BUY_ORDER_ID_" + now.toEpochMilli(), orderId);
+
+    final List<OpenOrder> openOrders = tryModeExchangeAdapter.getYourOpenOrders(MARKET_ID);
+    assertEquals(Date.from(now), openOrders.get(0).getCreationDate());
+
+    PowerMock.verify(delegateExchangeAdapter);
+  }
+
+  @Test
+  public void testShutdownIsDelegated() throws Exception {
+
+    final ExchangeAdapter delegateExchangeAdapter = PowerMock.createMock(ExchangeAdapter.class);
+    delegateExchangeAdapter.shutdown();
+
+    PowerMock.replayAll();
+
+    final TryModeExchangeAdapter tryModeExchangeAdapter =
+        new TryModeExchangeAdapter(delegateExchangeAdapter, Clock.systemUTC());
+    tryModeExchangeAdapter.init(exchangeConfig);
+    tryModeExchangeAdapter.shutdown();
+
+    PowerMock.verify(delegateExchangeAdapter);
+  }
+
+  @Test
+  public void testFilledOrderIsPushedToMarketDataListener() throws Exception {
+
+    final Ticker tickerResponse =
+        new TickerImpl(LAST, BID, ASK, LOW, HIGH, OPEN, VOLUME, VWAP, TIMESTAMP);
+
+    final BitstampExchangeAdapter delegateExchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            BitstampExchangeAdapter.class,
+            MOCKED_GET_TICKER_METHOD,
+            MOCKED_GET_PERCENTAGE_OF_BUY_ORDER_TAKEN_FOR_EXCHANGE_FEE,
+            MOCKED_SUBSCRIBE_TO_MARKET_DATA_METHOD);
+
+    final MarketDataListener marketDataListener = PowerMock.createMock(MarketDataListener.class);
+    delegateExchangeAdapter.subscribeToMarketData(List.of(MARKET_ID), marketDataListener);
+    PowerMock.expectPrivate(delegateExchangeAdapter, MOCKED_GET_TICKER_METHOD, eq(MARKET_ID))
+        .andReturn(tickerResponse);
+    final Capture<OpenOrder> filledOrder = Capture.newInstance();
+    marketDataListener.onOrderFilled(eq(MARKET_ID), capture(filledOrder));
+
+    final TryModeExchangeAdapter tryModeExchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            TryModeExchangeAdapter.class, MOCKED_CREATE_DELEGATE_EXCHANGE_ADAPTER);
+
+    PowerMock.expectPrivate(tryModeExchangeAdapter, MOCKED_CREATE_DELEGATE_EXCHANGE_ADAPTER)
+        .andReturn(delegateExchangeAdapter);
+
+    PowerMock.replayAll();
+
+    tryModeExchangeAdapter.init(exchangeConfig);
+    tryModeExchangeAdapter.subscribeToMarketData(List.of(MARKET_ID), marketDataListener);
+
+    final String orderId =
+        tryModeExchangeAdapter.createOrder(
+            MARKET_ID, OrderType.BUY, BUY_ORDER_QUANTITY, INSTANT_FILL_BUY_ORDER_PRICE);
+    assertEquals(orderId, filledOrder.getValue().getId());
+    assertEquals(OrderType.BUY, filledOrder.getValue().getType());
+
+    PowerMock.verifyAll();
+  }
+
   @Test
   public void testCreateBuyOrderThatFillsInstantly() throws Exception {
 
@@ -983,6 +1080,35 @@ public class TestTryModeExchangeAdapter extends AbstractExchangeAdapter {
     PowerMock.verifyAll();
   }
 
+  @Test
+  public void testGettingTickersSuccessfully() throws Exception {
+    final Ticker tickerResponse =
+        new TickerImpl(LAST, BID, ASK, LOW, HIGH, OPEN, VOLUME, VWAP, TIMESTAMP);
+
+    final BitstampExchangeAdapter delegateExchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            BitstampExchangeAdapter.class, MOCKED_GET_TICKERS_METHOD);
+    PowerMock.expectPrivate(
+            delegateExchangeAdapter, MOCKED_GET_TICKERS_METHOD, eq(List.of(MARKET_ID)))
+        .andReturn(Map.of(MARKET_ID, tickerResponse));
+
+    final TryModeExchangeAdapter tryModeExchangeAdapter =
+        PowerMock.createPartialMockAndInvokeDefaultConstructor(
+            TryModeExchangeAdapter.class, MOCKED_CREATE_DELEGATE_EXCHANGE_ADAPTER);
+
+    PowerMock.expectPrivate(tryModeExchangeAdapter, MOCKED_CREATE_DELEGATE_EXCHANGE_ADAPTER)
+        .andReturn(delegateExchangeAdapter);
+
+    PowerMock.replayAll();
+
+    tryModeExchangeAdapter.init(exchangeConfig);
+    final Map<String, Ticker> tickers = tryModeExchangeAdapter.getTickers(List.of(MARKET_ID));
+
+    assertSame(tickerResponse, tickers.get(MARKET_ID));
+
+    PowerMock.verifyAll();
+  }
+
   @Test(expected = ExchangeNetworkException.class)
   public void testGettingTickerHandlesExchangeNetworkException() throws Exception {
     final BitstampExchangeAdapter delegateExchangeAdapter =
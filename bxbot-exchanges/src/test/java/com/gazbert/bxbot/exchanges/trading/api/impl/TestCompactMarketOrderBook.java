@@ -0,0 +1,153 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.exchanges.trading.api.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gazbert.bxbot.trading.api.MarketOrder;
+import com.gazbert.bxbot.trading.api.OrderType;
+import java.math.BigDecimal;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Compact Market Order Book behaves as expected.
+ *
+ * @author gazbert
+ */
+class TestCompactMarketOrderBook {
+
+  private static final String MARKET_ID = "BTC_USD";
+  private static final int PRICE_SCALE = 5;
+  private static final int QUANTITY_SCALE = 8;
+
+  private CompactMarketOrderBook orderBook;
+
+  @BeforeEach
+  void setupBeforeEachTest() {
+    orderBook = new CompactMarketOrderBook(MARKET_ID, PRICE_SCALE, QUANTITY_SCALE);
+    orderBook.addSellOrder("111.11", "0.01614453");
+    orderBook.addSellOrder("222.22000", "2");
+    orderBook.addBuyOrder("110.5", "0.5");
+  }
+
+  @Test
+  void testMarketOrderBookIsInitialisedAsExpected() {
+    assertEquals(MARKET_ID, orderBook.getMarketId());
+    assertEquals(2, orderBook.getSellOrders().size());
+    assertEquals(1, orderBook.getBuyOrders().size());
+
+    final MarketOrder sellOrder = orderBook.getSellOrders().get(0);
+    assertSame(OrderType.SELL, sellOrder.getType());
+    assertEquals(new BigDecimal("111.11000"), sellOrder.getPrice());
+    assertEquals(new BigDecimal("0.01614453"), sellOrder.getQuantity());
+    final BigDecimal total = new BigDecimal("111.11").multiply(new BigDecimal("0.01614453"));
+    assertEquals(0, total.compareTo(sellOrder.getTotal()));
+
+    final MarketOrder buyOrder = orderBook.getBuyOrders().get(0);
+    assertSame(OrderType.BUY, buyOrder.getType());
+    assertEquals(new BigDecimal("110.50000"), buyOrder.getPrice());
+    assertEquals(new BigDecimal("0.50000000"), buyOrder.getQuantity());
+  }
+
+  @Test
+  void testMarketOrdersHaveValueSemantics() {
+    final MarketOrder order = orderBook.getSellOrders().get(1);
+    assertEquals(order, orderBook.getSellOrders().get(1));
+    assertEquals(order.hashCode(), orderBook.getSellOrders().get(1).hashCode());
+    assertNotEquals(order, orderBook.getSellOrders().get(0));
+    assertTrue(order.toString().contains("222.22000"));
+  }
+
+  @Test
+  void testBookGrowsBeyondItsInitialCapacity() {
+    final List<MarketOrder> sellOrders = orderBook.getSellOrders();
+    for (int i = 1; i <= 250; i++) {
+      orderBook.addSellOrder(Integer.toString(i), "1");
+    }
+    assertSame(sellOrders, orderBook.getSellOrders());
+    assertEquals(252, sellOrders.size());
+    assertEquals(new BigDecimal("111.11000"), sellOrders.get(0).getPrice());
+    assertEquals(new BigDecimal("250.00000"), sellOrders.get(251).getPrice());
+  }
+
+  @Test
+  void testOrdersCannotBeAccessedBeyondTheBook() {
+    final List<MarketOrder> buyOrders = orderBook.getBuyOrders();
+    assertThrows(IndexOutOfBoundsException.class, () -> buyOrders.get(1));
+    assertThrows(UnsupportedOperationException.class, () -> buyOrders.remove(0));
+    assertThrows(UnsupportedOperationException.class, buyOrders::clear);
+  }
+
+  @Test
+  void testIteratingWhilstBookIsFilledFailsFast() {
+    final Iterator<MarketOrder> sellOrders = orderBook.getSellOrders().iterator();
+    sellOrders.next();
+    orderBook.addSellOrder("333.33", "3");
+    assertThrows(ConcurrentModificationException.class, sellOrders::next);
+  }
+
+  @Test
+  void testFixedPointConversion() {
+    assertEquals(12345000L, CompactMarketOrderBook.toFixedPoint("123.45", 5));
+    assertEquals(12345000L, CompactMarketOrderBook.toFixedPoint("123.4500000000", 5));
+    assertEquals(100L, CompactMarketOrderBook.toFixedPoint("1.", 2));
+    assertEquals(5L, CompactMarketOrderBook.toFixedPoint("0.05", 2));
+    assertEquals(42L, CompactMarketOrderBook.toFixedPoint("42", 0));
+  }
+
+  @Test
+  void testFixedPointConversionRejectsPrecisionLoss() {
+    assertThrows(
+        ArithmeticException.class, () -> CompactMarketOrderBook.toFixedPoint("0.123", 2));
+  }
+
+  @Test
+  void testFixedPointConversionRejectsOverflow() {
+    assertThrows(
+        ArithmeticException.class,
+        () -> CompactMarketOrderBook.toFixedPoint("92233720368.54775808", 8));
+  }
+
+  @Test
+  void testFixedPointConversionRejectsInvalidDecimals() {
+    assertThrows(NumberFormatException.class, () -> CompactMarketOrderBook.toFixedPoint("", 2));
+    assertThrows(NumberFormatException.class, () -> CompactMarketOrderBook.toFixedPoint("1e5", 2));
+    assertThrows(NumberFormatException.class, () -> CompactMarketOrderBook.toFixedPoint("-1", 2));
+    assertThrows(
+        NumberFormatException.class, () -> CompactMarketOrderBook.toFixedPoint("1.2.3", 2));
+  }
+
+  @Test
+  void testToStringWorksAsExpected() {
+    assertTrue(orderBook.toString().contains(MARKET_ID));
+  }
+}
@@ -24,6 +24,7 @@
 package com.gazbert.bxbot.repository;
 
 import com.gazbert.bxbot.domain.exchange.ExchangeConfig;
+import java.util.List;
 
 /**
  * The Exchange configuration repository.
@@ -40,7 +41,14 @@ public interface ExchangeConfigRepository {
   ExchangeConfig get();
 
   /**
-   * Saves the exchange config.
+   * Fetches the config of all the exchanges the bot trades on.
+   *
+   * @return the main exchange config, followed by the additional exchange configs.
+   */
+  List<ExchangeConfig> getAll();
+
+  /**
+   * Saves the main exchange config. The additional exchange configs are left unchanged.
    *
    * @param config the exchange config.
    * @return the saved exchange config.
@@ -29,6 +29,8 @@ import com.gazbert.bxbot.datastore.yaml.ConfigurationManager;
 import com.gazbert.bxbot.datastore.yaml.exchange.ExchangeType;
 import com.gazbert.bxbot.domain.exchange.ExchangeConfig;
 import com.gazbert.bxbot.repository.ExchangeConfigRepository;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -62,11 +64,25 @@ public class ExchangeConfigYamlRepository implements ExchangeConfigRepository {
         .getExchange();
   }
 
+  @Override
+  public List<ExchangeConfig> getAll() {
+    log.info("Fetching all ExchangeConfig...");
+    final ExchangeType exchangeType =
+        configurationManager.loadConfig(ExchangeType.class, EXCHANGE_CONFIG_YAML_FILENAME);
+    final List<ExchangeConfig> exchangeConfigs = new ArrayList<>();
+    exchangeConfigs.add(exchangeType.getExchange());
+    if (exchangeType.getAdditionalExchanges() != null) {
+      exchangeConfigs.addAll(exchangeType.getAdditionalExchanges());
+    }
+    return exchangeConfigs;
+  }
+
   @Override
   public ExchangeConfig save(ExchangeConfig config) {
     log.info("About to save ExchangeConfig: {}", config);
 
-    final ExchangeType exchangeType = new ExchangeType();
+    final ExchangeType exchangeType =
+        configurationManager.loadConfig(ExchangeType.class, EXCHANGE_CONFIG_YAML_FILENAME);
     exchangeType.setExchange(config);
     configurationManager.saveConfig(
         ExchangeType.class, exchangeType, EXCHANGE_CONFIG_YAML_FILENAME);
@@ -25,7 +25,7 @@ package com.gazbert.bxbot.repository.yaml;
 
 import static com.gazbert.bxbot.datastore.yaml.FileLocations.EXCHANGE_CONFIG_YAML_FILENAME;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 
@@ -38,6 +38,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.easymock.Capture;
 import org.easymock.EasyMock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -51,6 +52,7 @@ class TestExchangeConfigYamlRepository {
 
   private static final String EXCHANGE_NAME = "Bitstamp";
   private static final String EXCHANGE_ADAPTER = "com.gazbert.bxbot.exchanges.TestExchangeAdapter";
+  private static final String ADDITIONAL_EXCHANGE_NAME = "Kraken";
 
   private static final String API_KEY_CONFIG_ITEM_KEY = "api-key";
   private static final String API_KEY_CONFIG_ITEM_VALUE = "apiKey--123";
@@ -113,10 +115,63 @@ class TestExchangeConfigYamlRepository {
     EasyMock.verify(configurationManager);
   }
 
+  @Test
+  void whenGetAllCalledThenReturnMainAndAdditionalExchangeConfigs() {
+    final ExchangeConfig additionalExchangeConfig = new ExchangeConfig();
+    additionalExchangeConfig.setName(ADDITIONAL_EXCHANGE_NAME);
+    final ExchangeType exchangeType = someInternalExchangeConfig();
+    exchangeType.setAdditionalExchanges(List.of(additionalExchangeConfig));
+    expect(
+            configurationManager.loadConfig(
+                eq(ExchangeType.class), eq(EXCHANGE_CONFIG_YAML_FILENAME)))
+        .andReturn(exchangeType);
+
+    EasyMock.replay(configurationManager);
+
+    final ExchangeConfigRepository exchangeConfigRepository =
+        new ExchangeConfigYamlRepository(configurationManager);
+    final List<ExchangeConfig> exchangeConfigs = exchangeConfigRepository.getAll();
+
+    assertThat(exchangeConfigs).hasSize(2);
+    assertThat(exchangeConfigs.get(0).getName()).isEqualTo(EXCHANGE_NAME);
+    assertThat(exchangeConfigs.get(1).getName()).isEqualTo(ADDITIONAL_EXCHANGE_NAME);
+
+    EasyMock.verify(configurationManager);
+  }
+
+  @Test
+  void whenGetAllCalledWithNoAdditionalExchangesThenReturnMainExchangeConfig() {
+    expect(
+            configurationManager.loadConfig(
+                eq(ExchangeType.class), eq(EXCHANGE_CONFIG_YAML_FILENAME)))
+        .andReturn(someInternalExchangeConfig());
+
+    EasyMock.replay(configurationManager);
+
+    final ExchangeConfigRepository exchangeConfigRepository =
+        new ExchangeConfigYamlRepository(configurationManager);
+    final List<ExchangeConfig> exchangeConfigs = exchangeConfigRepository.getAll();
+
+    assertThat(exchangeConfigs).hasSize(1);
+    assertThat(exchangeConfigs.get(0).getName()).isEqualTo(EXCHANGE_NAME);
+
+    EasyMock.verify(configurationManager);
+  }
+
   @Test
   void whenSaveCalledThenExpectRepositoryToSaveItAndReturnSavedExchangeConfig() {
+    final ExchangeConfig additionalExchangeConfig = new ExchangeConfig();
+    additionalExchangeConfig.setName(ADDITIONAL_EXCHANGE_NAME);
+    final ExchangeType existingExchangeType = someInternalExchangeConfig();
+    existingExchangeType.setAdditionalExchanges(List.of(additionalExchangeConfig));
+    expect(
+            configurationManager.loadConfig(
+                eq(ExchangeType.class), eq(EXCHANGE_CONFIG_YAML_FILENAME)))
+        .andReturn(existingExchangeType);
+
+    final Capture<ExchangeType> savedExchangeType = Capture.newInstance();
     configurationManager.saveConfig(
-        eq(ExchangeType.class), anyObject(ExchangeType.class), eq(EXCHANGE_CONFIG_YAML_FILENAME));
+        eq(ExchangeType.class), capture(savedExchangeType), eq(EXCHANGE_CONFIG_YAML_FILENAME));
 
     expect(
             configurationManager.loadConfig(
@@ -149,6 +204,10 @@ class TestExchangeConfigYamlRepository {
     assertThat(savedExchangeConfig.getOtherConfig())
         .containsEntry(SELL_FEE_CONFIG_ITEM_KEY, SELL_FEE_CONFIG_ITEM_VALUE);
 
+    // The additional exchanges are not changed by the save.
+    assertThat(savedExchangeType.getValue().getAdditionalExchanges())
+        .containsExactly(additionalExchangeConfig);
+
     EasyMock.verify(configurationManager);
   }
 
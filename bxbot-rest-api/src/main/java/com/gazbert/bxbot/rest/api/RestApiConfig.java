@@ -45,6 +45,8 @@ public class RestApiConfig {
 
   static final int DEFAULT_MAX_LINES = 1000;
   static final int DEFAULT_MAX_DOWNLOAD_SIZE = 1024 * 1024;
+  static final int DEFAULT_LOGFILE_STREAM_POLL_INTERVAL = 1000;
+  static final int DEFAULT_MAX_LOGFILE_STREAMS_PER_USER = 2;
 
   @NotNull
   @Min(1)
@@ -54,6 +56,14 @@ public class RestApiConfig {
   @Min(1)
   private int maxLogfileDownloadSize;
 
+  @NotNull
+  @Min(1)
+  private int logfileStreamPollInterval;
+
+  @NotNull
+  @Min(1)
+  private int maxLogfileStreamsPerUser;
+
   /** Creates the REST API config. */
   public RestApiConfig() {
     // No extra init needed.
@@ -114,4 +124,63 @@ public class RestApiConfig {
   void setMaxLogfileDownloadSize(int maxLogfileDownloadSize) {
     this.maxLogfileDownloadSize = maxLogfileDownloadSize;
   }
+
+  /**
+   * Returns how often (in millis) the logfile is checked for new lines when it is streamed by the
+   * REST API.
+   *
+   * <p>It is specified in the application.properties file:
+   * bxbot.restapi.logfileStreamPollInterval
+   *
+   * @return the logfile stream poll interval in millis.
+   */
+  public int getLogfileStreamPollInterval() {
+    if (logfileStreamPollInterval == 0) {
+      log.warn(
+          "bxbot.restapi.logfileStreamPollInterval not set in application.properties file. "
+              + "Defaulting to: "
+              + DEFAULT_LOGFILE_STREAM_POLL_INTERVAL
+              + " millis");
+      logfileStreamPollInterval = DEFAULT_LOGFILE_STREAM_POLL_INTERVAL;
+    }
+    return logfileStreamPollInterval;
+  }
+
+  /**
+   * Sets the logfile stream poll interval.
+   *
+   * @param logfileStreamPollInterval the poll interval in millis.
+   */
+  void setLogfileStreamPollInterval(int logfileStreamPollInterval) {
+    this.logfileStreamPollInterval = logfileStreamPollInterval;
+  }
+
+  /**
+   * Returns the max number of logfile streams a user can have open at the same time on the REST
+   * API.
+   *
+   * <p>It is specified in the application.properties file: bxbot.restapi.maxLogfileStreamsPerUser
+   *
+   * @return the max number of logfile streams per user.
+   */
+  public int getMaxLogfileStreamsPerUser() {
+    if (maxLogfileStreamsPerUser == 0) {
+      log.warn(
+          "bxbot.restapi.maxLogfileStreamsPerUser not set in application.properties file. "
+              + "Defaulting to: "
+              + DEFAULT_MAX_LOGFILE_STREAMS_PER_USER
+              + " streams");
+      maxLogfileStreamsPerUser = DEFAULT_MAX_LOGFILE_STREAMS_PER_USER;
+    }
+    return maxLogfileStreamsPerUser;
+  }
+
+  /**
+   * Sets the max number of logfile streams per user.
+   *
+   * @param maxLogfileStreamsPerUser the max number of logfile streams per user.
+   */
+  void setMaxLogfileStreamsPerUser(int maxLogfileStreamsPerUser) {
+    this.maxLogfileStreamsPerUser = maxLogfileStreamsPerUser;
+  }
 }
@@ -28,6 +28,7 @@ import static org.springframework.security.config.Customizer.withDefaults;
 
 import com.gazbert.bxbot.rest.api.security.authentication.JwtAuthenticationEntryPoint;
 import com.gazbert.bxbot.rest.api.security.authentication.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -118,6 +119,12 @@ public class WebSecurityConfig {
                 .requestMatchers(HttpMethod.OPTIONS, "/**")
                 .permitAll()
 
+                // Allow the async dispatch that ends a streamed response, e.g. the logfile stream.
+                // The request was authorised when the stream was started; the JWT filter only
+                // runs once per request.
+                .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                .permitAll()
+
                 // All other requests MUST be authenticated.
                 .anyRequest()
                 .authenticated());
@@ -38,7 +38,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.security.Principal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import lombok.extern.log4j.Log4j2;
+import org.apache.logging.log4j.Level;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
@@ -47,8 +54,10 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Controller for directing Bot Logfile requests.
@@ -64,10 +73,15 @@ public class BotLogfileController extends RestController {
 
   private static final String LOGFILE_RESOURCE_PATH = "/logfile";
   private static final String LOGFILE_DOWNLOAD_RESOURCE_PATH = "/logfile/download";
+  private static final String LOGFILE_STREAM_RESOURCE_PATH = "/logfile/stream";
+  private static final long LOGFILE_STREAM_TIMEOUT = Duration.ofMinutes(10).toMillis();
 
   private final RestApiConfig restApiConfig;
   private final BotLogfileService botLogfileService;
 
+  // Guarded by this. The number of logfile streams each user has open.
+  private final Map<String, Integer> logfileStreamCounts = new HashMap<>();
+
   /**
    * Creates the BotLogfileController.
    *
@@ -217,4 +231,120 @@ public class BotLogfileController extends RestController {
       return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
     }
   }
+
+  /**
+   * Streams the lines appended to the logfile as server-sent events, so a live bot can be watched
+   * without fetching the logfile again and again.
+   *
+   * <p>Only the bytes appended to the logfile since the last check are read and sent. Each "log"
+   * event has the lines that pass the filters, and its id is the byte offset to carry on from. A
+   * client that reconnects, e.g. after the stream has timed out, can send the id in the
+   * Last-Event-ID header to carry on where it left off. If neither the header nor the offset param
+   * is present, the stream starts at the end of the logfile.
+   *
+   * <p>Each stream holds a thread and a connection open, so a user can only have {@link
+   * RestApiConfig#getMaxLogfileStreamsPerUser()} streams open at the same time.
+   *
+   * @param principal the authenticated user making the request.
+   * @param level the least specific log level to send.
+   * @param filter the regex a line must contain a match for to be sent.
+   * @param offset the byte offset to start from.
+   * @param lastEventId the id of the last event received by the client.
+   * @return the stream of logfile lines.
+   */
+  @PreAuthorize("hasRole('USER')")
+  @GetMapping(value = LOGFILE_STREAM_RESOURCE_PATH, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(summary = "Streams the lines appended to the logfile")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "OK",
+            content = @Content(schema = @Schema(implementation = String.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad Request",
+            content = @Content(schema = @Schema(implementation = String.class))),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too Many Requests",
+            content = @Content(schema = @Schema(implementation = String.class)))
+      })
+  public ResponseEntity<SseEmitter> streamLogfile(
+      @Parameter(hidden = true) Principal principal,
+      @Parameter(description = "Least specific log level to send.", example = "WARN")
+          @RequestParam(name = "level", required = false)
+          String level,
+      @Parameter(description = "Regex a line must contain a match for.", example = "Kraken")
+          @RequestParam(name = "filter", required = false)
+          String filter,
+      @Parameter(description = "Byte offset in the logfile to start from.", example = "0")
+          @RequestParam(name = "offset", required = false)
+          Long offset,
+      @Parameter(hidden = true) @RequestHeader(name = "Last-Event-ID", required = false)
+          Long lastEventId) {
+
+    log.info(
+        "GET "
+            + LOGFILE_STREAM_RESOURCE_PATH
+            + " - streamLogfile() - caller: {}, level={}, filter={}, offset={}, lastEventId={}",
+        principal.getName(),
+        level,
+        filter,
+        offset,
+        lastEventId);
+
+    final Level minLevel = level == null ? null : Level.getLevel(level.toUpperCase(Locale.ROOT));
+    if (level != null && minLevel == null) {
+      log.warn("Unknown log level for logfile stream: {}", level);
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    final Pattern pattern;
+    try {
+      pattern = filter == null ? null : Pattern.compile(filter);
+    } catch (PatternSyntaxException e) {
+      log.warn("Invalid filter regex for logfile stream: {}", e.getMessage());
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+
+    final long startOffset;
+    if (offset != null) {
+      startOffset = offset;
+    } else if (lastEventId != null) {
+      startOffset = lastEventId;
+    } else {
+      startOffset = -1;
+    }
+
+    final String username = principal.getName();
+    if (!openLogfileStream(username)) {
+      log.warn("Too many logfile streams open for caller: {}", username);
+      return new ResponseEntity<>(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    final SseEmitter emitter = new SseEmitter(LOGFILE_STREAM_TIMEOUT);
+    new LogfileStream(
+            botLogfileService,
+            emitter,
+            new LogfileFilter(minLevel, pattern),
+            startOffset,
+            restApiConfig.getLogfileStreamPollInterval(),
+            restApiConfig.getLogfileDownloadSize(),
+            () -> closeLogfileStream(username))
+        .start();
+    return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+  }
+
+  private synchronized boolean openLogfileStream(String username) {
+    final int streamCount = logfileStreamCounts.getOrDefault(username, 0);
+    if (streamCount >= restApiConfig.getMaxLogfileStreamsPerUser()) {
+      return false;
+    }
+    logfileStreamCounts.put(username, streamCount + 1);
+    return true;
+  }
+
+  private synchronized void closeLogfileStream(String username) {
+    logfileStreamCounts.computeIfPresent(username, (user, count) -> count > 1 ? count - 1 : null);
+  }
 }
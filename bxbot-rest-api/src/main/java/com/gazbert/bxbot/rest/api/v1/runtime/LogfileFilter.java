@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.rest.api.v1.runtime;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.Level;
+
+/**
+ * Filters the lines of the logfile by log level and regex.
+ *
+ * <p>The level of a line is taken from the part of the line before the message, as written by the
+ * bot's log pattern, e.g. "4981 [main] 2019-07-20 17:30:20,429 INFO  TradingEngine run() - ...".
+ * Lines without a level, e.g. the lines of a stack trace, have the level of the entry they belong
+ * to, so a stack trace is kept or dropped with its log message. The regex is matched against each
+ * line.
+ *
+ * <p>This class is not thread safe: each stream has its own filter.
+ *
+ * @author gazbert
+ */
+final class LogfileFilter {
+
+  private static final String MESSAGE_SEPARATOR = " - ";
+  private static final Pattern LEVEL_PATTERN =
+      Pattern.compile("\\s(TRACE|DEBUG|INFO|WARN|ERROR|FATAL)\\s");
+
+  private final Level level;
+  private final Pattern pattern;
+  private Level entryLevel;
+
+  /**
+   * Creates the filter.
+   *
+   * @param level the least specific level to keep, or null to keep all levels.
+   * @param pattern the regex a line must contain a match for, or null to keep all lines.
+   */
+  LogfileFilter(Level level, Pattern pattern) {
+    this.level = level;
+    this.pattern = pattern;
+  }
+
+  /**
+   * Checks if a line is kept. The lines must be passed in logfile order.
+   *
+   * @param line the line.
+   * @return true if the line is kept.
+   */
+  boolean matches(String line) {
+    final Level lineLevel = levelOf(line);
+    if (lineLevel != null) {
+      entryLevel = lineLevel;
+    }
+    if (level != null && (entryLevel == null || !entryLevel.isMoreSpecificThan(level))) {
+      return false;
+    }
+    return pattern == null || pattern.matcher(line).find();
+  }
+
+  /* Only a line that starts a log entry, with the elapsed millis and a message, has a level. */
+  private static Level levelOf(String line) {
+    final int messageStart = line.indexOf(MESSAGE_SEPARATOR);
+    if (messageStart < 0 || !Character.isDigit(line.charAt(0))) {
+      return null;
+    }
+    final Matcher matcher = LEVEL_PATTERN.matcher(line).region(0, messageStart + 1);
+    return matcher.find() ? Level.getLevel(matcher.group(1)) : null;
+  }
+}
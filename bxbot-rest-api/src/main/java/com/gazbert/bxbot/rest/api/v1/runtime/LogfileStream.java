@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.rest.api.v1.runtime;
+
+import com.gazbert.bxbot.services.runtime.BotLogfileService;
+import com.gazbert.bxbot.services.runtime.LogfileLines;
+import java.io.IOException;
+import java.util.stream.Collectors;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Follows the logfile and sends the lines appended to it to a client as server-sent events.
+ *
+ * <p>A virtual thread checks the logfile every poll interval and only reads the bytes appended
+ * since the last check. The complete lines that pass the filter are sent in a "log" event, with
+ * a line per data field. The event id is the byte offset to read the next lines from, so a client
+ * that reconnects with it in the Last-Event-ID header carries on where it left off.
+ *
+ * <p>The stream ends when the client disconnects, the emitter times out, or the logfile cannot be
+ * read. The end callback is called once the virtual thread has stopped following the logfile.
+ *
+ * @author gazbert
+ */
+@Log4j2
+final class LogfileStream {
+
+  static final String EVENT_NAME = "log";
+
+  private final BotLogfileService botLogfileService;
+  private final SseEmitter emitter;
+  private final LogfileFilter filter;
+  private final long pollInterval;
+  private final int maxBytes;
+  private final Runnable onEnd;
+  private volatile boolean stopped;
+  private long offset;
+
+  /**
+   * Creates the logfile stream.
+   *
+   * @param botLogfileService the logfile service.
+   * @param emitter the emitter to send the events with.
+   * @param filter the filter the lines must pass to be sent.
+   * @param offset the byte offset to start from. If negative, the stream starts at the end of the
+   *     logfile.
+   * @param pollInterval how often to check the logfile for new lines, in millis.
+   * @param maxBytes the max number of bytes to read in a check.
+   * @param onEnd called once when the stream has ended.
+   */
+  LogfileStream(
+      BotLogfileService botLogfileService,
+      SseEmitter emitter,
+      LogfileFilter filter,
+      long offset,
+      long pollInterval,
+      int maxBytes,
+      Runnable onEnd) {
+    this.botLogfileService = botLogfileService;
+    this.emitter = emitter;
+    this.filter = filter;
+    this.offset = offset;
+    this.pollInterval = pollInterval;
+    this.maxBytes = maxBytes;
+    this.onEnd = onEnd;
+  }
+
+  /** Starts following the logfile. */
+  void start() {
+    emitter.onCompletion(this::stop);
+    emitter.onTimeout(this::stop);
+    emitter.onError(e -> stop());
+    Thread.ofVirtual().name("bxbot-logfile-stream").start(this::follow);
+  }
+
+  private void stop() {
+    stopped = true;
+  }
+
+  private void follow() {
+    try {
+      while (!stopped) {
+        final LogfileLines logfileLines;
+        try {
+          logfileLines = botLogfileService.getLogfileLines(offset, maxBytes);
+        } catch (IOException e) {
+          log.error("Failed to read logfile for stream. Details: " + e.getMessage());
+          emitter.completeWithError(e);
+          return;
+        }
+        offset = logfileLines.nextOffset();
+        send(logfileLines);
+
+        // Carry on straight away if there might be more lines to catch up on.
+        if (logfileLines.lines().isEmpty()) {
+          Thread.sleep(pollInterval);
+        }
+      }
+    } catch (IOException | IllegalStateException e) {
+      // The emitter throws IllegalStateException if it has completed since the check.
+      log.info("Logfile stream client has gone away: {}", e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      emitter.complete();
+    } finally {
+      stop();
+      onEnd.run();
+    }
+  }
+
+  private void send(LogfileLines logfileLines) throws IOException {
+    final String data =
+        logfileLines.lines().stream().filter(filter::matches).collect(Collectors.joining("\n"));
+    if (!data.isEmpty()) {
+      emitter.send(SseEmitter.event().id(Long.toString(offset)).name(EVENT_NAME).data(data));
+    }
+  }
+}
@@ -36,6 +36,8 @@ class TestRestApiConfig {
 
   private static final int MAX_LOGFILE_LINES = 1000;
   private static final int MAX_LOGFILE_DOWNLOAD_SIZE = 2 * 1048;
+  private static final int LOGFILE_STREAM_POLL_INTERVAL = 500;
+  private static final int MAX_LOGFILE_STREAMS_PER_USER = 5;
 
   @Test
   void testMaxLogfileLinesCanBeSetAndFetched() {
@@ -65,4 +67,36 @@ class TestRestApiConfig {
     assertThat(restApiConfig.getLogfileDownloadSize())
         .isEqualTo(RestApiConfig.DEFAULT_MAX_DOWNLOAD_SIZE);
   }
+
+  @Test
+  void testLogfileStreamPollIntervalCanBeSetAndFetched() {
+    final RestApiConfig restApiConfig = new RestApiConfig();
+    restApiConfig.setLogfileStreamPollInterval(LOGFILE_STREAM_POLL_INTERVAL);
+    assertThat(restApiConfig.getLogfileStreamPollInterval())
+        .isEqualTo(LOGFILE_STREAM_POLL_INTERVAL);
+  }
+
+  @Test
+  void testLogfileStreamPollIntervalDefaultFallback() {
+    final RestApiConfig restApiConfig = new RestApiConfig();
+    restApiConfig.setLogfileStreamPollInterval(0);
+    assertThat(restApiConfig.getLogfileStreamPollInterval())
+        .isEqualTo(RestApiConfig.DEFAULT_LOGFILE_STREAM_POLL_INTERVAL);
+  }
+
+  @Test
+  void testMaxLogfileStreamsPerUserCanBeSetAndFetched() {
+    final RestApiConfig restApiConfig = new RestApiConfig();
+    restApiConfig.setMaxLogfileStreamsPerUser(MAX_LOGFILE_STREAMS_PER_USER);
+    assertThat(restApiConfig.getMaxLogfileStreamsPerUser())
+        .isEqualTo(MAX_LOGFILE_STREAMS_PER_USER);
+  }
+
+  @Test
+  void testMaxLogfileStreamsPerUserDefaultFallback() {
+    final RestApiConfig restApiConfig = new RestApiConfig();
+    restApiConfig.setMaxLogfileStreamsPerUser(0);
+    assertThat(restApiConfig.getMaxLogfileStreamsPerUser())
+        .isEqualTo(RestApiConfig.DEFAULT_MAX_LOGFILE_STREAMS_PER_USER);
+  }
 }
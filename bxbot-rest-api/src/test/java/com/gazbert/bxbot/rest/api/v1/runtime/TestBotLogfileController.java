@@ -23,20 +23,32 @@
 
 package com.gazbert.bxbot.rest.api.v1.runtime;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.gazbert.bxbot.core.engine.TradingEngine;
 import com.gazbert.bxbot.core.mail.EmailAlerter;
 import com.gazbert.bxbot.services.runtime.BotLogfileService;
+import com.gazbert.bxbot.services.runtime.LogfileLines;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -49,6 +61,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 /**
@@ -63,6 +76,7 @@ class TestBotLogfileController extends AbstractRuntimeControllerTest {
 
   private static final String LOGFILE_ENDPOINT_URI = RUNTIME_ENDPOINT_BASE_URI + "/logfile";
   private static final String LOGFILE_DOWNLOAD_URI = LOGFILE_ENDPOINT_URI + "/download";
+  private static final String LOGFILE_STREAM_URI = LOGFILE_ENDPOINT_URI + "/stream";
 
   // This value must be the same as maxLogfileLines in test/resources/application.properties
   private static final int MAX_LOGFILE_LINES = 2;
@@ -74,6 +88,11 @@ class TestBotLogfileController extends AbstractRuntimeControllerTest {
   private static final String LOGFILE_LINE_2 = "4482 [main] 2019-07-20 17:30:21,429 INFO  Line 2";
   private static final String LOGFILE_LINE_3 = "4483 [main] 2019-07-20 17:30:22,429 INFO  Line 3";
   private static final String LOGFILE = LOGFILE_LINE_1 + LOGFILE_LINE_2 + LOGFILE_LINE_3;
+  private static final String LOGFILE_INFO_LINE =
+      "4483 [main] 2019-07-20 17:30:22,429 INFO  TradingEngine run() - Line 3";
+  private static final String LOGFILE_WARN_LINE =
+      "4484 [main] 2019-07-20 17:30:23,429 WARN  TradingEngine run() - Line 4";
+  private static final String LOGFILE_STACK_TRACE_LINE = "\tat com.gazbert.bxbot.Line5.run()";
 
   @MockBean private BotLogfileService botLogfileService;
 
@@ -267,4 +286,143 @@ class TestBotLogfileController extends AbstractRuntimeControllerTest {
         .perform(get(LOGFILE_ENDPOINT_URI).accept(MediaType.APPLICATION_JSON))
         .andExpect(status().isUnauthorized());
   }
+
+  @Test
+  void testStreamLogfileSendsTheAppendedLinesThatPassTheFilters() throws Exception {
+    given(botLogfileService.getLogfileLines(-1, MAX_LOGFILE_DOWNLOAD_SIZE))
+        .willReturn(new LogfileLines(List.of(), 300));
+    given(botLogfileService.getLogfileLines(300, MAX_LOGFILE_DOWNLOAD_SIZE))
+        .willReturn(
+            new LogfileLines(
+                List.of(
+                    LOGFILE_INFO_LINE,
+                    LOGFILE_WARN_LINE,
+                    LOGFILE_STACK_TRACE_LINE,
+                    LOGFILE_INFO_LINE),
+                500));
+    given(botLogfileService.getLogfileLines(500, MAX_LOGFILE_DOWNLOAD_SIZE))
+        .willReturn(new LogfileLines(List.of(), 500));
+
+    final MvcResult result =
+        mockMvc
+            .perform(
+                get(LOGFILE_STREAM_URI)
+                    .param("level", "warn")
+                    .param("filter", "Line")
+                    .header(
+                        "Authorization", "Bearer " + getJwt(VALID_USER_NAME, VALID_USER_PASSWORD)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(
+            () ->
+                assertThat(result.getResponse().getContentAsString())
+                    .isEqualTo(
+                        "id:500\nevent:log\ndata:"
+                            + LOGFILE_WARN_LINE
+                            + "\ndata:"
+                            + LOGFILE_STACK_TRACE_LINE
+                            + "\n\n"));
+    assertThat(result.getResponse().getContentType()).isEqualTo(MediaType.TEXT_EVENT_STREAM_VALUE);
+    result.getRequest().getAsyncContext().complete();
+  }
+
+  @Test
+  void testStreamLogfileCarriesOnFromTheLastEventId() throws Exception {
+    given(botLogfileService.getLogfileLines(500, MAX_LOGFILE_DOWNLOAD_SIZE))
+        .willReturn(new LogfileLines(List.of(LOGFILE_LINE_3), 550));
+    given(botLogfileService.getLogfileLines(550, MAX_LOGFILE_DOWNLOAD_SIZE))
+        .willThrow(new IOException("Oops!"));
+
+    final MvcResult result =
+        mockMvc
+            .perform(
+                get(LOGFILE_STREAM_URI)
+                    .header("Last-Event-ID", "500")
+                    .header(
+                        "Authorization", "Bearer " + getJwt(VALID_USER_NAME, VALID_USER_PASSWORD)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(
+            () ->
+                verify(botLogfileService, times(1))
+                    .getLogfileLines(550, MAX_LOGFILE_DOWNLOAD_SIZE));
+    assertThat(result.getResponse().getContentAsString())
+        .isEqualTo("id:550\nevent:log\ndata:" + LOGFILE_LINE_3 + "\n\n");
+    verify(botLogfileService, never()).getLogfileLines(-1, MAX_LOGFILE_DOWNLOAD_SIZE);
+
+    // The async dispatch that ends the stream gets past security to rethrow the logfile error.
+    assertThatThrownBy(() -> mockMvc.perform(asyncDispatch(result)))
+        .isInstanceOf(IOException.class)
+        .hasMessage("Oops!");
+  }
+
+  @Test
+  void testStreamLogfileReturnsTooManyRequestsWhenUserHasMaxStreamsOpen() throws Exception {
+    given(botLogfileService.getLogfileLines(anyLong(), anyInt()))
+        .willReturn(new LogfileLines(List.of(), 500));
+
+    final MvcResult firstStream = streamLogfileAsAdmin();
+    final MvcResult secondStream = streamLogfileAsAdmin();
+    mockMvc
+        .perform(
+            get(LOGFILE_STREAM_URI)
+                .header(
+                    "Authorization", "Bearer " + getJwt(VALID_ADMIN_NAME, VALID_ADMIN_PASSWORD)))
+        .andExpect(status().isTooManyRequests());
+
+    // The stream is given back when it ends.
+    firstStream.getRequest().getAsyncContext().complete();
+    final AtomicReference<MvcResult> thirdStream = new AtomicReference<>();
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(() -> thirdStream.set(streamLogfileAsAdmin()));
+
+    secondStream.getRequest().getAsyncContext().complete();
+    thirdStream.get().getRequest().getAsyncContext().complete();
+  }
+
+  @Test
+  void testStreamLogfileReturnsBadRequestForUnknownLevel() throws Exception {
+    mockMvc
+        .perform(
+            get(LOGFILE_STREAM_URI + "?level=chatty")
+                .header("Authorization", "Bearer " + getJwt(VALID_USER_NAME, VALID_USER_PASSWORD)))
+        .andExpect(status().isBadRequest());
+
+    verify(botLogfileService, never()).getLogfileLines(anyLong(), anyInt());
+  }
+
+  @Test
+  void testStreamLogfileReturnsBadRequestForInvalidFilter() throws Exception {
+    mockMvc
+        .perform(
+            get(LOGFILE_STREAM_URI + "?filter=[Line")
+                .header("Authorization", "Bearer " + getJwt(VALID_USER_NAME, VALID_USER_PASSWORD)))
+        .andExpect(status().isBadRequest());
+
+    verify(botLogfileService, never()).getLogfileLines(anyLong(), anyInt());
+  }
+
+  @Test
+  void testStreamLogfileWhenUnauthorizedWithMissingToken() throws Exception {
+    mockMvc
+        .perform(get(LOGFILE_STREAM_URI).accept(MediaType.TEXT_EVENT_STREAM))
+        .andExpect(status().isUnauthorized());
+  }
+
+  private MvcResult streamLogfileAsAdmin() throws Exception {
+    return mockMvc
+        .perform(
+            get(LOGFILE_STREAM_URI)
+                .header(
+                    "Authorization", "Bearer " + getJwt(VALID_ADMIN_NAME, VALID_ADMIN_PASSWORD)))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+  }
 }
@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.rest.api.v1.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.Level;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Logfile Filter behaves as expected.
+ *
+ * @author gazbert
+ */
+class TestLogfileFilter {
+
+  private static final String INFO_LINE =
+      "4981 [main] 2019-07-20 17:30:20,429 INFO  TradingEngine run() - ERROR in the message";
+  private static final String ERROR_LINE =
+      "4982 [main] 2019-07-20 17:30:21,429 ERROR TradingEngine run() - Kraken is down";
+  private static final String STACK_TRACE_LINE = "\tat com.gazbert.bxbot.core.TradingEngine.run()";
+  private static final String DEBUG_LINE =
+      "4983 [bxbot-strategy-0] 2019-07-20 17:30:22,429 DEBUG MyStrategy execute() - Kraken tick";
+
+  @Test
+  void testAllLinesAreKeptWithoutFilters() {
+    final LogfileFilter filter = new LogfileFilter(null, null);
+
+    assertThat(logfileLines().stream().filter(filter::matches))
+        .containsExactlyElementsOf(logfileLines());
+  }
+
+  @Test
+  void testLinesAreFilteredByLevelOfTheirEntry() {
+    final LogfileFilter filter = new LogfileFilter(Level.WARN, null);
+
+    assertThat(logfileLines().stream().filter(filter::matches))
+        .containsExactly(ERROR_LINE, STACK_TRACE_LINE);
+  }
+
+  @Test
+  void testLinesAreFilteredByRegex() {
+    final LogfileFilter filter = new LogfileFilter(null, Pattern.compile("Kraken"));
+
+    assertThat(logfileLines().stream().filter(filter::matches))
+        .containsExactly(ERROR_LINE, DEBUG_LINE);
+  }
+
+  @Test
+  void testLinesAreFilteredByLevelAndRegex() {
+    final LogfileFilter filter = new LogfileFilter(Level.DEBUG, Pattern.compile("Kraken"));
+
+    assertThat(logfileLines().stream().filter(filter::matches))
+        .containsExactly(ERROR_LINE, DEBUG_LINE);
+    assertThat(new LogfileFilter(Level.ERROR, Pattern.compile("ERROR")).matches(INFO_LINE))
+        .isFalse();
+  }
+
+  @Test
+  void testLinesBeforeTheFirstEntryAreDroppedByLevel() {
+    final LogfileFilter filter = new LogfileFilter(Level.TRACE, null);
+
+    assertThat(filter.matches(STACK_TRACE_LINE)).isFalse();
+    assertThat(filter.matches("")).isFalse();
+  }
+
+  private static List<String> logfileLines() {
+    return List.of(INFO_LINE, ERROR_LINE, STACK_TRACE_LINE, DEBUG_LINE);
+  }
+}
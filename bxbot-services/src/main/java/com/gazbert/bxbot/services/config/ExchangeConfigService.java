@@ -24,6 +24,7 @@
 package com.gazbert.bxbot.services.config;
 
 import com.gazbert.bxbot.domain.exchange.ExchangeConfig;
+import java.util.List;
 
 /**
  * The Exchange configuration service.
@@ -40,7 +41,14 @@ public interface ExchangeConfigService {
   ExchangeConfig getExchangeConfig();
 
   /**
-   * Updates the exchange config.
+   * Fetches the config of all the exchanges the bot trades on.
+   *
+   * @return the main exchange config, followed by the additional exchange configs.
+   */
+  List<ExchangeConfig> getAllExchangeConfig();
+
+  /**
+   * Updates the main exchange config.
    *
    * @param config the exchange config.
    * @return the updated exchange config.
@@ -26,6 +26,7 @@ package com.gazbert.bxbot.services.config.impl;
 import com.gazbert.bxbot.domain.exchange.ExchangeConfig;
 import com.gazbert.bxbot.repository.ExchangeConfigRepository;
 import com.gazbert.bxbot.services.config.ExchangeConfigService;
+import java.util.List;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -63,6 +64,11 @@ public class ExchangeConfigServiceImpl implements ExchangeConfigService {
     return exchangeConfigRepository.get();
   }
 
+  @Override
+  public List<ExchangeConfig> getAllExchangeConfig() {
+    return exchangeConfigRepository.getAll();
+  }
+
   @Override
   public ExchangeConfig updateExchangeConfig(ExchangeConfig config) {
     log.info("About to update Exchange config: {}", config);
@@ -72,4 +72,18 @@ public interface BotLogfileService {
    * @throws IOException if an error occurs fetching the logfile.
    */
   String getLogfileHead(int lineCount) throws IOException;
+
+  /**
+   * Returns the complete lines appended to the logfile since the given byte offset, so the logfile
+   * can be followed without re-reading it. A line still being written is returned by a later call.
+   * If the offset is past the end of the logfile, e.g. because the logfile has been rolled over,
+   * the logfile is read from the start.
+   *
+   * @param offset the byte offset to read from. If negative, no lines are read and the next offset
+   *     is the end of the logfile.
+   * @param maxBytes the max number of bytes to read.
+   * @return the lines read and the byte offset to read the next lines from.
+   * @throws IOException if an error occurs reading the logfile.
+   */
+  LogfileLines getLogfileLines(long offset, int maxBytes) throws IOException;
 }
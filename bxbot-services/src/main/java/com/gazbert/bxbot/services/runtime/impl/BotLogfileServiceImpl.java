@@ -24,13 +24,17 @@
 package com.gazbert.bxbot.services.runtime.impl;
 
 import com.gazbert.bxbot.services.runtime.BotLogfileService;
+import com.gazbert.bxbot.services.runtime.LogfileLines;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,6 +53,7 @@ import org.springframework.stereotype.Service;
 public class BotLogfileServiceImpl implements BotLogfileService {
 
   private static final String NEWLINE = System.lineSeparator();
+  private static final int TAIL_BLOCK_SIZE = 8192;
   private final LogFileWebEndpoint logFileWebEndpoint;
 
   /**
@@ -110,55 +115,109 @@ public class BotLogfileServiceImpl implements BotLogfileService {
     return truncatedFile.toString();
   }
 
-  private static List<String> tailFile(final Path source, final int lineCount) throws IOException {
-    try (Stream<String> stream = Files.lines(source)) {
-      final FileBuffer fileBuffer = new FileBuffer(lineCount);
-      stream.forEach(fileBuffer::collectTailLine);
-      return fileBuffer.getTailLines();
-    }
-  }
+  @Override
+  public LogfileLines getLogfileLines(long offset, int maxBytes) throws IOException {
+    final Resource resource = logFileWebEndpoint.logFile();
+    final Path logfilePath = Paths.get(resource.getURI());
+    try (FileChannel channel = FileChannel.open(logfilePath, StandardOpenOption.READ)) {
+      final long end = channel.size();
+      if (offset < 0) {
+        return new LogfileLines(List.of(), end);
+      }
+      final long start = offset > end ? 0 : offset;
+      final ByteBuffer appended = ByteBuffer.allocate((int) Math.min(end - start, maxBytes));
+      readFully(channel, appended, start, appended.capacity());
 
-  private static List<String> headFile(final Path source, final int lineCount) throws IOException {
-    try (Stream<String> stream = Files.lines(source)) {
-      final FileBuffer fileBuffer = new FileBuffer(lineCount);
-      stream.forEach(fileBuffer::collectHeadLine);
-      return fileBuffer.getHeadLines();
+      int length = appended.limit();
+      while (length > 0 && appended.get(length - 1) != '\n') {
+        length--;
+      }
+      // A line longer than maxBytes would never be complete, so it is split.
+      if (length == 0 && appended.limit() == maxBytes) {
+        length = endOfLastCompleteCharacter(appended, maxBytes);
+      }
+      final List<String> lines =
+          new String(appended.array(), 0, length, StandardCharsets.UTF_8).lines().toList();
+      return new LogfileLines(lines, start + length);
     }
   }
 
-  /** Util class for reading lines of a logfile. */
-  private static final class FileBuffer {
-    private int offset = 0;
-    private final int maxLines;
-    private final String[] lines;
+  /*
+   * Reads the file backwards from the end, a block at a time, until it has found the start of the
+   * first line requested, so the cost depends on the lines requested, not the size of the file.
+   */
+  private static List<String> tailFile(final Path source, final int lineCount) throws IOException {
+    if (lineCount <= 0) {
+      return List.of();
+    }
+    try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+      final long end = channel.size();
+      final ByteBuffer block = ByteBuffer.allocate(TAIL_BLOCK_SIZE);
+      long start = 0;
+      int lineBreakCount = 0;
+      // The line break at the very end of the file ends the last line; it doesn't start a new one.
+      long blockEnd = end - 1;
+      while (blockEnd > 0 && lineBreakCount < lineCount) {
+        final long blockStart = Math.max(0, blockEnd - TAIL_BLOCK_SIZE);
+        readFully(channel, block, blockStart, (int) (blockEnd - blockStart));
+        for (int i = block.limit() - 1; i >= 0; i--) {
+          if (block.get(i) == '\n' && ++lineBreakCount == lineCount) {
+            start = blockStart + i + 1;
+            break;
+          }
+        }
+        blockEnd = blockStart;
+      }
 
-    FileBuffer(int maxLines) {
-      this.maxLines = maxLines;
-      this.lines = new String[maxLines];
+      final ByteBuffer tail = ByteBuffer.allocate((int) (end - start));
+      readFully(channel, tail, start, tail.capacity());
+      return new String(tail.array(), 0, tail.limit(), StandardCharsets.UTF_8).lines().toList();
     }
+  }
 
-    void collectTailLine(String line) {
-      lines[offset++ % maxLines] = line;
+  /*
+   * Returns where the last complete UTF-8 character ends, so a split line does not split a
+   * character across 2 reads. The bytes of a character are a lead byte followed by continuation
+   * bytes (10xxxxxx); the lead byte gives the number of bytes in the character.
+   */
+  private static int endOfLastCompleteCharacter(ByteBuffer bytes, int end) {
+    int start = end - 1;
+    while (start > 0 && (bytes.get(start) & 0xC0) == 0x80) {
+      start--;
     }
+    final int leadByte = bytes.get(start) & 0xFF;
+    final int characterLength;
+    if (leadByte >= 0xF0) {
+      characterLength = 4;
+    } else if (leadByte >= 0xE0) {
+      characterLength = 3;
+    } else if (leadByte >= 0xC0) {
+      characterLength = 2;
+    } else {
+      characterLength = 1;
+    }
+    // If the buffer is too small to hold a whole character, it is split so the stream moves on.
+    return start + characterLength <= end || start == 0 ? end : start;
+  }
 
-    void collectHeadLine(String line) {
-      if (offset + 1 <= maxLines) {
-        lines[offset++] = line;
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position, int length)
+      throws IOException {
+    buffer.clear().limit(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        break; // the file has been truncated, e.g. rolled over
       }
     }
+    buffer.flip();
+  }
 
-    List<String> getTailLines() {
-      // Truncates the file head if file line count > maxLines
-      return IntStream.range(offset < maxLines ? 0 : offset - maxLines, offset)
-          .mapToObj(idx -> lines[idx % maxLines])
-          .toList();
+  /* Files.lines() reads the file lazily, so only the lines requested are read. */
+  private static List<String> headFile(final Path source, final int lineCount) throws IOException {
+    if (lineCount <= 0) {
+      return List.of();
     }
-
-    List<String> getHeadLines() {
-      // Truncates the file tail if file line count > maxLines
-      return IntStream.range(0, maxLines > offset ? offset : maxLines)
-          .mapToObj(idx -> lines[idx % maxLines])
-          .toList();
+    try (Stream<String> stream = Files.lines(source)) {
+      return stream.limit(lineCount).toList();
     }
   }
 }
@@ -30,6 +30,7 @@ import static org.easymock.EasyMock.verify;
 
 import com.gazbert.bxbot.domain.exchange.ExchangeConfig;
 import com.gazbert.bxbot.repository.ExchangeConfigRepository;
+import java.util.List;
 import org.easymock.EasyMock;
 import org.junit.jupiter.api.Test;
 
@@ -55,6 +56,21 @@ class TestExchangeConfigService {
     verify(exchangeConfigRepository);
   }
 
+  @Test
+  void whenGetAllExchangeConfigCalledThenExpectConfigToBeReturned() {
+    final List<ExchangeConfig> exchangeConfigs = List.of(new ExchangeConfig());
+    final ExchangeConfigRepository exchangeConfigRepository =
+        EasyMock.createMock(ExchangeConfigRepository.class);
+    expect(exchangeConfigRepository.getAll()).andReturn(exchangeConfigs);
+    replay(exchangeConfigRepository);
+
+    final ExchangeConfigServiceImpl exchangeConfigService =
+        new ExchangeConfigServiceImpl(exchangeConfigRepository);
+
+    assertThat(exchangeConfigService.getAllExchangeConfig()).isEqualTo(exchangeConfigs);
+    verify(exchangeConfigRepository);
+  }
+
   @Test
   void whenUpdateExchangeConfigCalledThenExpectUpdatedConfigToBeReturned() {
     final ExchangeConfig exchangeConfig = new ExchangeConfig();
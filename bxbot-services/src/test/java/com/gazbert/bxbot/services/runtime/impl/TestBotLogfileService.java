@@ -28,11 +28,15 @@ import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 
+import com.gazbert.bxbot.services.runtime.LogfileLines;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import org.easymock.EasyMock;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.actuate.logging.LogFileWebEndpoint;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
@@ -44,6 +48,8 @@ import org.springframework.core.io.Resource;
  */
 class TestBotLogfileService {
 
+  @TempDir private Path tempDir;
+
   @Test
   void whenGetLogfileCalledThenExpectLogfileContentToBeReturned() throws Exception {
     final String logfilePath = "src/test/logfiles/logfile.log";
@@ -259,4 +265,111 @@ class TestBotLogfileService {
     assertThat(new String(logfileInBytes, StandardCharsets.UTF_8)).isEqualTo(firstLineOfLogfile);
     verify(logFileWebEndpoint);
   }
+
+  @Test
+  void whenLogfileTailSpansSeveralBlocksThenExpectOnlyTheLastLinesToBeReturned() throws Exception {
+    final StringBuilder logfileContent = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      logfileContent.append("line ").append(i).append(i % 2 == 0 ? "\n" : "\r\n");
+    }
+    final Path logfile = Files.writeString(tempDir.resolve("bxbot.log"), logfileContent);
+    final BotLogfileServiceImpl botLogfileService = serviceFor(logfile);
+
+    assertThat(botLogfileService.getLogfileTail(3001))
+        .startsWith("line 1999" + System.lineSeparator())
+        .endsWith("line 4998" + System.lineSeparator() + "line 4999" + System.lineSeparator());
+    assertThat(botLogfileService.getLogfileTail(3001).lines()).hasSize(3001);
+    assertThat(botLogfileService.getLogfileTail(6000).lines()).hasSize(5000);
+    assertThat(botLogfileService.getLogfileHead(2))
+        .isEqualTo("line 0" + System.lineSeparator() + "line 1" + System.lineSeparator());
+  }
+
+  @Test
+  void whenLogfileIsEmptyOrNoLinesAreRequestedThenExpectNothingToBeReturned() throws Exception {
+    final Path emptyLogfile = Files.writeString(tempDir.resolve("empty.log"), "");
+    assertThat(serviceFor(emptyLogfile).getLogfileTail(10)).isEmpty();
+
+    final Path logfile = Files.writeString(tempDir.resolve("bxbot.log"), "line 0\n");
+    assertThat(serviceFor(logfile).getLogfileTail(1)).isEqualTo("line 0" + System.lineSeparator());
+    assertThat(serviceFor(logfile).getLogfileTail(0)).isEmpty();
+    assertThat(serviceFor(logfile).getLogfileHead(0)).isEmpty();
+  }
+
+  @Test
+  void whenLogfileLinesCalledThenExpectOnlyCompleteAppendedLinesToBeReturned() throws Exception {
+    final Path logfile = Files.writeString(tempDir.resolve("bxbot.log"), "line 0\n");
+    final BotLogfileServiceImpl botLogfileService = serviceFor(logfile);
+
+    final LogfileLines fromEnd = botLogfileService.getLogfileLines(-1, 1024);
+    assertThat(fromEnd.lines()).isEmpty();
+    assertThat(fromEnd.nextOffset()).isEqualTo(7);
+
+    Files.writeString(logfile, "line 1\r\nline 2\nline", StandardOpenOption.APPEND);
+    final LogfileLines appended = botLogfileService.getLogfileLines(fromEnd.nextOffset(), 1024);
+    assertThat(appended.lines()).containsExactly("line 1", "line 2");
+    assertThat(appended.nextOffset()).isEqualTo(22);
+
+    Files.writeString(logfile, " 3\n", StandardOpenOption.APPEND);
+    final LogfileLines completed = botLogfileService.getLogfileLines(appended.nextOffset(), 1024);
+    assertThat(completed.lines()).containsExactly("line 3");
+
+    final LogfileLines nothingNew =
+        botLogfileService.getLogfileLines(completed.nextOffset(), 1024);
+    assertThat(nothingNew.lines()).isEmpty();
+    assertThat(nothingNew.nextOffset()).isEqualTo(completed.nextOffset());
+  }
+
+  @Test
+  void whenLogfileLinesExceedMaxBytesThenExpectTheRestToBeReturnedNextTime() throws Exception {
+    final Path logfile =
+        Files.writeString(tempDir.resolve("bxbot.log"), "line 0\nline 1\nlong line 2\n");
+    final BotLogfileServiceImpl botLogfileService = serviceFor(logfile);
+
+    final LogfileLines first = botLogfileService.getLogfileLines(0, 10);
+    assertThat(first.lines()).containsExactly("line 0");
+    final LogfileLines second = botLogfileService.getLogfileLines(first.nextOffset(), 10);
+    assertThat(second.lines()).containsExactly("line 1");
+    final LogfileLines split = botLogfileService.getLogfileLines(second.nextOffset(), 10);
+    assertThat(split.lines()).containsExactly("long line ");
+    assertThat(botLogfileService.getLogfileLines(split.nextOffset(), 10).lines())
+        .containsExactly("2");
+  }
+
+  @Test
+  void whenLongLineIsSplitThenExpectMultiByteCharactersNotToBeSplit() throws Exception {
+    final Path logfile = Files.writeString(tempDir.resolve("bxbot.log"), "price 10€\nab😀cd\n");
+    final BotLogfileServiceImpl botLogfileService = serviceFor(logfile);
+
+    // '€' is 3 bytes: only 2 of them fit in the first read.
+    final LogfileLines beforeEuro = botLogfileService.getLogfileLines(0, 10);
+    assertThat(beforeEuro.lines()).containsExactly("price 10");
+    assertThat(beforeEuro.nextOffset()).isEqualTo(8);
+    final LogfileLines euro = botLogfileService.getLogfileLines(beforeEuro.nextOffset(), 10);
+    assertThat(euro.lines()).containsExactly("€");
+
+    // '😀' is 4 bytes: only 2 of them fit in the first read.
+    final LogfileLines beforeEmoji = botLogfileService.getLogfileLines(euro.nextOffset(), 4);
+    assertThat(beforeEmoji.lines()).containsExactly("ab");
+    final LogfileLines emoji = botLogfileService.getLogfileLines(beforeEmoji.nextOffset(), 4);
+    assertThat(emoji.lines()).containsExactly("😀");
+    assertThat(botLogfileService.getLogfileLines(emoji.nextOffset(), 4).lines())
+        .containsExactly("cd");
+  }
+
+  @Test
+  void whenLogfileHasBeenRolledOverThenExpectLinesToBeReadFromTheStart() throws Exception {
+    final Path logfile = Files.writeString(tempDir.resolve("bxbot.log"), "new line 0\n");
+
+    final LogfileLines lines = serviceFor(logfile).getLogfileLines(1000, 1024);
+
+    assertThat(lines.lines()).containsExactly("new line 0");
+    assertThat(lines.nextOffset()).isEqualTo(11);
+  }
+
+  private static BotLogfileServiceImpl serviceFor(Path logfile) {
+    final LogFileWebEndpoint logFileWebEndpoint = EasyMock.createMock(LogFileWebEndpoint.class);
+    expect(logFileWebEndpoint.logFile()).andReturn(new FileSystemResource(logfile)).anyTimes();
+    replay(logFileWebEndpoint);
+    return new BotLogfileServiceImpl(logFileWebEndpoint);
+  }
 }
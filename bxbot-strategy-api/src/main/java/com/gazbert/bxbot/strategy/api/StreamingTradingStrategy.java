@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.strategy.api;
+
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.Ticker;
+
+/**
+ * A Trading Strategy that also reacts to market data as soon as the Exchange Adapter sees it,
+ * instead of waiting for its next trade cycle.
+ *
+ * <p>The Trading Engine delivers the events for the strategy's market in the order the adapter saw
+ * them. It never calls the callbacks concurrently with each other or with {@link #execute()}: you
+ * still do not have to code for concurrency.
+ *
+ * <p>Each strategy has a bounded event queue. If the strategy cannot keep up, the oldest queued
+ * ticker or order book update is dropped to make room: a newer one supersedes it. Order fills are
+ * never dropped to make room for market data. If the queue fills up with order fills, the strategy
+ * would miss one, so the Trading Engine shuts down the bot instead.
+ *
+ * <p>Only Exchange Adapters that can push market data, e.g. from an exchange WebSocket feed,
+ * deliver events - see the documentation for the adapter you are using. {@link #execute()} is
+ * still called each trade cycle.
+ *
+ * @author gazbert
+ * @since 1.1
+ */
+public interface StreamingTradingStrategy extends TradingStrategy {
+
+  /**
+   * Called when the Exchange Adapter sees a new ticker for the strategy's market.
+   *
+   * @param ticker the ticker.
+   * @throws StrategyException if something goes bad. The Trading Engine will shut down the bot.
+   */
+  default void onTicker(Ticker ticker) throws StrategyException {
+    // Override to react to tickers.
+  }
+
+  /**
+   * Called when the Exchange Adapter sees the order book for the strategy's market change.
+   *
+   * @param marketOrderBook the latest order book.
+   * @throws StrategyException if something goes bad. The Trading Engine will shut down the bot.
+   */
+  default void onOrderBookUpdate(MarketOrderBook marketOrderBook) throws StrategyException {
+    // Override to react to order book updates.
+  }
+
+  /**
+   * Called when the Exchange Adapter sees one of your orders on the strategy's market being filled.
+   *
+   * @param filledOrder the order that was filled.
+   * @throws StrategyException if something goes bad. The Trading Engine will shut down the bot.
+   */
+  default void onOrderFilled(OpenOrder filledOrder) throws StrategyException {
+    // Override to react to order fills.
+  }
+}
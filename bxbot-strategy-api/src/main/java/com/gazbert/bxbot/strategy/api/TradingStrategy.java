@@ -23,6 +23,7 @@
 
 package com.gazbert.bxbot.strategy.api;
 
+import com.gazbert.bxbot.trading.api.AsyncTradingApi;
 import com.gazbert.bxbot.trading.api.Market;
 import com.gazbert.bxbot.trading.api.TradingApi;
 
@@ -46,6 +47,33 @@ public interface TradingStrategy {
    */
   void init(TradingApi tradingApi, Market market, StrategyConfig config);
 
+  /**
+   * Called once by the Trading Engine when it starts up, instead of {@link #init(TradingApi,
+   * Market, StrategyConfig)}.
+   *
+   * <p>Override this method if your strategy wants to make independent Trading API calls
+   * concurrently within an {@link #execute()}, e.g. fetch the market order book whilst checking
+   * its open orders. The futures the Async Trading API returns complete on other threads: wait for
+   * them before {@link #execute()} returns.
+   *
+   * <p>The default implementation ignores the Async Trading API and calls {@link
+   * #init(TradingApi, Market, StrategyConfig)}.
+   *
+   * @param tradingApi the Trading API.
+   * @param asyncTradingApi the asynchronous Trading API. It makes its calls on the Trading API,
+   *     one at a time if the Trading API is not thread safe.
+   * @param market the market for this strategy.
+   * @param config optional configuration for the strategy.
+   * @since 1.1
+   */
+  default void init(
+      TradingApi tradingApi,
+      AsyncTradingApi asyncTradingApi,
+      Market market,
+      StrategyConfig config) {
+    init(tradingApi, market, config);
+  }
+
   /**
    * Called by the Trading Engine during each trade cycle.
    *
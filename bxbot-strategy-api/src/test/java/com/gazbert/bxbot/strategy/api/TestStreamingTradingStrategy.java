@@ -0,0 +1,65 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.strategy.api;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+import com.gazbert.bxbot.trading.api.Market;
+import com.gazbert.bxbot.trading.api.MarketOrderBook;
+import com.gazbert.bxbot.trading.api.OpenOrder;
+import com.gazbert.bxbot.trading.api.Ticker;
+import com.gazbert.bxbot.trading.api.TradingApi;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests default impl methods of StreamingTradingStrategy interface.
+ *
+ * @author gazbert
+ */
+class TestStreamingTradingStrategy {
+
+  @Test
+  void testCallbacksAreIgnoredByDefault() {
+    final MyStreamingStrategyImpl myStrategy = new MyStreamingStrategyImpl();
+
+    assertDoesNotThrow(() -> myStrategy.onTicker(Mockito.mock(Ticker.class)));
+    assertDoesNotThrow(() -> myStrategy.onOrderBookUpdate(Mockito.mock(MarketOrderBook.class)));
+    assertDoesNotThrow(() -> myStrategy.onOrderFilled(Mockito.mock(OpenOrder.class)));
+  }
+
+  /** Test class. */
+  static class MyStreamingStrategyImpl implements StreamingTradingStrategy {
+
+    @Override
+    public void init(TradingApi tradingApi, Market market, StrategyConfig config) {
+      // noimpl
+    }
+
+    @Override
+    public void execute() {
+      // noimpl
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.strategy.api;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.gazbert.bxbot.trading.api.Market;
+import com.gazbert.bxbot.trading.api.TradingApi;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests default impl methods of TradingStrategy interface.
+ *
+ * @author gazbert
+ */
+class TestTradingStrategy {
+
+  @Test
+  void testInitWithAsyncTradingApiCallsInit() {
+    final TradingApi tradingApi = Mockito.mock(TradingApi.class);
+    final Market market = Mockito.mock(Market.class);
+    final StrategyConfig config = Mockito.mock(StrategyConfig.class);
+    final MyStrategyImpl myStrategy = new MyStrategyImpl();
+
+    myStrategy.init(tradingApi, null, market, config);
+
+    assertSame(tradingApi, myStrategy.tradingApi);
+    assertSame(market, myStrategy.market);
+    assertSame(config, myStrategy.config);
+  }
+
+  /** Test class. */
+  static class MyStrategyImpl implements TradingStrategy {
+
+    private TradingApi tradingApi;
+    private Market market;
+    private StrategyConfig config;
+
+    @Override
+    public void init(TradingApi tradingApi, Market market, StrategyConfig config) {
+      this.tradingApi = tradingApi;
+      this.market = market;
+      this.config = config;
+    }
+
+    @Override
+    public void execute() {
+      // noimpl
+    }
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.trading.api;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The asynchronous companion of the {@link TradingApi}.
+ *
+ * <p>Each call returns straight away with a future that completes once the exchange has responded.
+ * This lets a Trading Strategy overlap independent calls within a trade cycle, e.g. fetch the
+ * market order book whilst checking its open orders:
+ *
+ * <pre>
+ * final CompletableFuture&lt;MarketOrderBook&gt; orderBook = asyncTradingApi.getMarketOrders(id);
+ * final CompletableFuture&lt;List&lt;OpenOrder&gt;&gt; openOrders =
+ *     asyncTradingApi.getYourOpenOrders(id);
+ * CompletableFuture.allOf(orderBook, openOrders).join();
+ * </pre>
+ *
+ * <p>If a call fails, its future completes exceptionally with the {@link ExchangeNetworkException}
+ * or {@link TradingApiException} the {@link TradingApi} would have thrown. Note that {@link
+ * CompletableFuture#join()} wraps it in a {@link java.util.concurrent.CompletionException} and
+ * {@link CompletableFuture#get()} wraps it in an {@link java.util.concurrent.ExecutionException}.
+ *
+ * @author gazbert
+ * @since 1.4
+ */
+public interface AsyncTradingApi {
+
+  /**
+   * Returns the current version of the API.
+   *
+   * @return the API version.
+   * @since 1.4
+   */
+  default String getVersion() {
+    return "1.4";
+  }
+
+  /**
+   * Returns the API implementation name.
+   *
+   * @return the API implementation name.
+   * @since 1.4
+   */
+  String getImplName();
+
+  /**
+   * Fetches latest <em>market</em> orders for a given market.
+   *
+   * @param marketId the id of the market.
+   * @return the future market order book.
+   * @see TradingApi#getMarketOrders(String)
+   * @since 1.4
+   */
+  CompletableFuture<MarketOrderBook> getMarketOrders(String marketId);
+
+  /**
+   * Fetches latest <em>market</em> orders for several markets.
+   *
+   * @param marketIds the ids of the markets.
+   * @return the future market order books, keyed by market id.
+   * @see TradingApi#getMarketOrders(Collection)
+   * @since 1.4
+   */
+  CompletableFuture<Map<String, MarketOrderBook>> getMarketOrders(Collection<String> marketIds);
+
+  /**
+   * Fetches <em>your</em> current open orders, i.e. the orders placed by the bot.
+   *
+   * @param marketId the id of the market.
+   * @return the future list of your open orders.
+   * @see TradingApi#getYourOpenOrders(String)
+   * @since 1.4
+   */
+  CompletableFuture<List<OpenOrder>> getYourOpenOrders(String marketId);
+
+  /**
+   * Places an order on the exchange.
+   *
+   * @param marketId the id of the market.
+   * @param orderType either {@link OrderType#BUY} or {@link OrderType#SELL}.
+   * @param quantity amount of units you are buying/selling in this order.
+   * @param price the price per unit you are buying/selling at.
+   * @return the future id of the order.
+   * @see TradingApi#createOrder(String, OrderType, BigDecimal, BigDecimal)
+   * @since 1.4
+   */
+  CompletableFuture<String> createOrder(
+      String marketId, OrderType orderType, BigDecimal quantity, BigDecimal price);
+
+  /**
+   * Cancels your existing order on the exchange.
+   *
+   * @param orderId your order Id.
+   * @param marketId the id of the market the order was placed on.
+   * @return a future that is true if order cancelled ok, false otherwise.
+   * @see TradingApi#cancelOrder(String, String)
+   * @since 1.4
+   */
+  CompletableFuture<Boolean> cancelOrder(String orderId, String marketId);
+
+  /**
+   * Fetches the latest price for a given market. This is usually in BTC for altcoin markets and
+   * USD for BTC/USD markets - see the Exchange Adapter documentation.
+   *
+   * @param marketId the id of the market.
+   * @return the future latest market price.
+   * @see TradingApi#getLatestMarketPrice(String)
+   * @since 1.4
+   */
+  CompletableFuture<BigDecimal> getLatestMarketPrice(String marketId);
+
+  /**
+   * Fetches the balance of your wallets on the exchange.
+   *
+   * @return the future balance info.
+   * @see TradingApi#getBalanceInfo()
+   * @since 1.4
+   */
+  CompletableFuture<BalanceInfo> getBalanceInfo();
+
+  /**
+   * Returns the exchange BUY order fee for a given market id.
+   *
+   * @param marketId the id of the market.
+   * @return the future percentage of the BUY order taken by the exchange as a fee.
+   * @see TradingApi#getPercentageOfBuyOrderTakenForExchangeFee(String)
+   * @since 1.4
+   */
+  CompletableFuture<BigDecimal> getPercentageOfBuyOrderTakenForExchangeFee(String marketId);
+
+  /**
+   * Returns the exchange SELL order fee for a given market id.
+   *
+   * @param marketId the id of the market.
+   * @return the future percentage of the SELL order taken by the exchange as a fee.
+   * @see TradingApi#getPercentageOfSellOrderTakenForExchangeFee(String)
+   * @since 1.4
+   */
+  CompletableFuture<BigDecimal> getPercentageOfSellOrderTakenForExchangeFee(String marketId);
+
+  /**
+   * Returns the minimum order volume for a given market id.
+   *
+   * @param marketId the id of the market.
+   * @return the future minimum order volume, or null if the exchange does not provide it.
+   * @see TradingApi#getMinimumOrderVolume(String)
+   * @since 1.4
+   */
+  CompletableFuture<BigDecimal> getMinimumOrderVolume(String marketId);
+
+  /**
+   * Returns the exchange Ticker for a given market id.
+   *
+   * @param marketId the id of the market.
+   * @return the future ticker.
+   * @see TradingApi#getTicker(String)
+   * @since 1.4
+   */
+  CompletableFuture<Ticker> getTicker(String marketId);
+
+  /**
+   * Returns the exchange Tickers for several markets.
+   *
+   * @param marketIds the ids of the markets.
+   * @return the future tickers, keyed by market id.
+   * @see TradingApi#getTickers(Collection)
+   * @since 1.4
+   */
+  CompletableFuture<Map<String, Ticker>> getTickers(Collection<String> marketIds);
+}
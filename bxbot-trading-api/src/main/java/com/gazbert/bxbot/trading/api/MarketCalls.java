@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.trading.api;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Makes the same Trading API call for several markets. Used by the default multi-market methods of
+ * the {@link TradingApi}.
+ *
+ * <p>The calls are only made concurrently if the Trading API is thread safe. Each concurrent call
+ * runs in its own virtual thread: the calls spend nearly all their time waiting for the exchange
+ * to respond.
+ *
+ * @author gazbert
+ */
+final class MarketCalls {
+
+  private MarketCalls() {
+    // noimpl
+  }
+
+  /**
+   * Makes the call for each market and waits for all of them to complete.
+   *
+   * @param marketIds the ids of the markets. Duplicates are only called once.
+   * @param marketCall the call to make for each market.
+   * @param concurrently true to make the calls concurrently, false to make them one at a time on
+   *     the calling thread.
+   * @param <T> the result type.
+   * @return the results, keyed by market id, in the order the market ids were given.
+   * @throws ExchangeNetworkException if a call failed with a network error, or the calling thread
+   *     was interrupted whilst waiting.
+   * @throws TradingApiException if a call failed for any reason other than a network error.
+   */
+  static <T> Map<String, T> call(
+      Collection<String> marketIds, MarketCall<T> marketCall, boolean concurrently)
+      throws ExchangeNetworkException, TradingApiException {
+
+    final Set<String> uniqueMarketIds = new LinkedHashSet<>(marketIds);
+    final Map<String, T> results = new LinkedHashMap<>();
+    if (!concurrently || uniqueMarketIds.size() <= 1) {
+      for (final String marketId : uniqueMarketIds) {
+        results.put(marketId, marketCall.call(marketId));
+      }
+      return results;
+    }
+
+    try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+      final Map<String, Future<T>> calls = new LinkedHashMap<>();
+      for (final String marketId : uniqueMarketIds) {
+        calls.put(marketId, executorService.submit(() -> marketCall.call(marketId)));
+      }
+      try {
+        for (final Map.Entry<String, Future<T>> call : calls.entrySet()) {
+          results.put(call.getKey(), call.getValue().get());
+        }
+      } catch (ExecutionException e) {
+        executorService.shutdownNow(); // no point waiting for the other calls
+        throw rethrow(e.getCause());
+      } catch (InterruptedException e) {
+        executorService.shutdownNow();
+        Thread.currentThread().interrupt();
+        throw new ExchangeNetworkException("Interrupted whilst waiting for market calls.", e);
+      }
+    }
+    return results;
+  }
+
+  private static TradingApiException rethrow(Throwable cause)
+      throws ExchangeNetworkException, TradingApiException {
+    if (cause instanceof ExchangeNetworkException exchangeNetworkException) {
+      throw exchangeNetworkException;
+    } else if (cause instanceof TradingApiException tradingApiException) {
+      throw tradingApiException;
+    } else if (cause instanceof RuntimeException runtimeException) {
+      throw runtimeException;
+    } else if (cause instanceof Error error) {
+      throw error;
+    }
+    return new TradingApiException("Market call failed unexpectedly.", cause);
+  }
+
+  /**
+   * A Trading API call for a single market.
+   *
+   * @param <T> the result type.
+   */
+  @FunctionalInterface
+  interface MarketCall<T> {
+
+    /**
+     * Makes the call.
+     *
+     * @param marketId the id of the market.
+     * @return the result of the call.
+     * @throws ExchangeNetworkException if a network error occurred.
+     * @throws TradingApiException if the call failed for any reason other than a network error.
+     */
+    T call(String marketId) throws ExchangeNetworkException, TradingApiException;
+  }
+}
@@ -24,7 +24,9 @@
 package com.gazbert.bxbot.trading.api;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * BX-bot's Trading API.
@@ -51,7 +53,7 @@ public interface TradingApi {
    * @since 1.0
    */
   default String getVersion() {
-    return "1.2";
+    return "1.4";
   }
 
   /**
@@ -62,6 +64,25 @@ public interface TradingApi {
    */
   String getImplName();
 
+  /**
+   * Returns whether the API implementation can be called from several threads at once.
+   *
+   * <p>A thread safe implementation must allow any of its methods to be called concurrently: it
+   * must not share mutable state between calls without synchronizing it, and any credentials it
+   * signs requests with, e.g. nonces, must still be accepted by the exchange if concurrent
+   * requests arrive out of order. Calls made from a single thread must still reach the exchange
+   * in the order they were made.
+   *
+   * <p>The default implementation returns false: the default multi-market methods then make their
+   * calls one at a time. Exchange Adapters that meet the above override this method.
+   *
+   * @return true if the API implementation is thread safe, false otherwise.
+   * @since 1.3
+   */
+  default boolean isThreadSafe() {
+    return false;
+  }
+
   /**
    * Fetches latest <em>market</em> orders for a given market.
    *
@@ -80,6 +101,33 @@ public interface TradingApi {
   MarketOrderBook getMarketOrders(String marketId)
       throws ExchangeNetworkException, TradingApiException;
 
+  /**
+   * Fetches latest <em>market</em> orders for several markets in one call.
+   *
+   * <p>The default implementation calls {@link #getMarketOrders(String)} for each market. If the
+   * API implementation is {@link #isThreadSafe() thread safe}, the calls are made concurrently, so
+   * it takes about as long as the slowest call; otherwise they are made one at a time. Exchange
+   * Adapters whose exchange can return the order books for several markets in one request override
+   * this method.
+   *
+   * @param marketIds the ids of the markets.
+   * @return the market order books, keyed by market id, in the order the market ids were given.
+   * @throws ExchangeNetworkException if a network error occurred trying to connect to the exchange.
+   *     If several calls fail, the error for the first market id is thrown. This is implementation
+   *     specific for each Exchange Adapter - see the documentation for the adapter you are using.
+   *     You could retry the API call, or exit from your Trading Strategy and let the Trading
+   *     Engine execute your Trading Strategy at the next trade cycle.
+   * @throws TradingApiException if the API call failed for any reason other than a network error.
+   *     This means something bad as happened; you would probably want to wrap this exception in a
+   *     StrategyException and let the Trading Engine shutdown the bot immediately to prevent
+   *     unexpected losses.
+   * @since 1.3
+   */
+  default Map<String, MarketOrderBook> getMarketOrders(Collection<String> marketIds)
+      throws ExchangeNetworkException, TradingApiException {
+    return MarketCalls.call(marketIds, this::getMarketOrders, isThreadSafe());
+  }
+
   /**
    * Fetches <em>your</em> current open orders, i.e. the orders placed by the bot.
    *
@@ -314,4 +362,31 @@ public interface TradingApi {
       }
     };
   }
+
+  /**
+   * Returns the exchange Tickers for several markets in one call.
+   *
+   * <p>The default implementation calls {@link #getTicker(String)} for each market. If the API
+   * implementation is {@link #isThreadSafe() thread safe}, the calls are made concurrently, so it
+   * takes about as long as the slowest call; otherwise they are made one at a time. Exchange
+   * Adapters whose exchange can return the Tickers for several markets in one request override
+   * this method.
+   *
+   * @param marketIds the ids of the markets.
+   * @return the exchange Tickers, keyed by market id, in the order the market ids were given.
+   * @throws ExchangeNetworkException if a network error occurred trying to connect to the exchange.
+   *     If several calls fail, the error for the first market id is thrown. This is implementation
+   *     specific for each Exchange Adapter - see the documentation for the adapter you are using.
+   *     You could retry the API call, or exit from your Trading Strategy and let the Trading
+   *     Engine execute your Trading Strategy at the next trade cycle.
+   * @throws TradingApiException if the API call failed for any reason other than a network error.
+   *     This means something bad as happened; you would probably want to wrap this exception in a
+   *     StrategyException and let the Trading Engine shutdown the bot immediately to prevent
+   *     unexpected losses.
+   * @since 1.3
+   */
+  default Map<String, Ticker> getTickers(Collection<String> marketIds)
+      throws TradingApiException, ExchangeNetworkException {
+    return MarketCalls.call(marketIds, this::getTicker, isThreadSafe());
+  }
 }
@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.trading.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests default impl methods of AsyncTradingApi interface.
+ *
+ * @author gazbert
+ */
+class TestAsyncTradingApi {
+
+  @Test
+  void testGetVersion() {
+    final MyAsyncApiImpl myAsyncApi = new MyAsyncApiImpl();
+    assertEquals("1.4", myAsyncApi.getVersion());
+    assertEquals(new TestTradingApi.MyApiImpl().getVersion(), myAsyncApi.getVersion());
+  }
+
+  /** Test class. */
+  static class MyAsyncApiImpl implements AsyncTradingApi {
+
+    @Override
+    public String getImplName() {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<MarketOrderBook> getMarketOrders(String marketId) {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<Map<String, MarketOrderBook>> getMarketOrders(
+        Collection<String> marketIds) {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<List<OpenOrder>> getYourOpenOrders(String marketId) {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<String> createOrder(
+        String marketId, OrderType orderType, BigDecimal quantity, BigDecimal price) {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> cancelOrder(String orderId, String marketId) {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> getLatestMarketPrice(String marketId) {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<BalanceInfo> getBalanceInfo() {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> getPercentageOfBuyOrderTakenForExchangeFee(
+        String marketId) {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> getPercentageOfSellOrderTakenForExchangeFee(
+        String marketId) {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> getMinimumOrderVolume(String marketId) {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<Ticker> getTicker(String marketId) {
+      return null;
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Ticker>> getTickers(Collection<String> marketIds) {
+      return null;
+    }
+  }
+}
@@ -24,11 +24,19 @@
 package com.gazbert.bxbot.trading.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -41,7 +49,7 @@ class TestTradingApi {
   @Test
   void testGetVersion() {
     final MyApiImpl myApi = new MyApiImpl();
-    assertEquals("1.2", myApi.getVersion());
+    assertEquals("1.4", myApi.getVersion());
   }
 
   @Test
@@ -68,6 +76,194 @@ class TestTradingApi {
     assertNull(minimumOrderVolume);
   }
 
+  @Test
+  void testIsNotThreadSafe() {
+    final MyApiImpl myApi = new MyApiImpl();
+    assertFalse(myApi.isThreadSafe());
+  }
+
+  @Test
+  void testGetTickersForSeveralMarkets() throws Exception {
+    final MyApiImpl myApi = new MyApiImpl();
+    final Map<String, Ticker> tickers =
+        myApi.getTickers(List.of("market-123", "market-456", "market-123"));
+
+    assertEquals(List.of("market-123", "market-456"), List.copyOf(tickers.keySet()));
+    assertNotNull(tickers.get("market-123"));
+    assertNotNull(tickers.get("market-456"));
+  }
+
+  @Test
+  void testGetTickersForNoMarkets() throws Exception {
+    final MyApiImpl myApi = new MyApiImpl();
+    assertTrue(myApi.getTickers(List.of()).isEmpty());
+  }
+
+  @Test
+  void testGetMarketOrdersForSeveralMarketsIsConcurrentIfThreadSafe() throws Exception {
+    final CountDownLatch allCallsStarted = new CountDownLatch(3);
+    final MarketOrderBook marketOrderBook = new MyMarketOrderBook();
+    final MyApiImpl myApi =
+        new MyThreadSafeApiImpl() {
+          @Override
+          public MarketOrderBook getMarketOrders(String marketId) {
+            allCallsStarted.countDown();
+            try {
+              // Only returns the book if all 3 calls are in flight at once
+              return allCallsStarted.await(5, TimeUnit.SECONDS) ? marketOrderBook : null;
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              return null;
+            }
+          }
+        };
+
+    final Map<String, MarketOrderBook> marketOrderBooks =
+        myApi.getMarketOrders(List.of("market-3", "market-1", "market-2"));
+
+    assertEquals(
+        List.of("market-3", "market-1", "market-2"), List.copyOf(marketOrderBooks.keySet()));
+    marketOrderBooks.values().forEach(book -> assertSame(marketOrderBook, book));
+  }
+
+  @Test
+  void testGetMarketOrdersForSeveralMarketsIsSequentialIfNotThreadSafe() throws Exception {
+    final Thread callingThread = Thread.currentThread();
+    final AtomicInteger callsInFlight = new AtomicInteger();
+    final MarketOrderBook marketOrderBook = new MyMarketOrderBook();
+    final MyApiImpl myApi =
+        new MyApiImpl() {
+          @Override
+          public MarketOrderBook getMarketOrders(String marketId) {
+            try {
+              // Only returns the book if it is the only call in flight
+              return callsInFlight.incrementAndGet() == 1 && Thread.currentThread() == callingThread
+                  ? marketOrderBook
+                  : null;
+            } finally {
+              callsInFlight.decrementAndGet();
+            }
+          }
+        };
+
+    final Map<String, MarketOrderBook> marketOrderBooks =
+        myApi.getMarketOrders(List.of("market-3", "market-1", "market-2"));
+
+    assertEquals(
+        List.of("market-3", "market-1", "market-2"), List.copyOf(marketOrderBooks.keySet()));
+    marketOrderBooks.values().forEach(book -> assertSame(marketOrderBook, book));
+  }
+
+  @Test
+  void testGetMarketOrdersForSingleMarketIsCalledDirectly() throws Exception {
+    final Thread callingThread = Thread.currentThread();
+    final MarketOrderBook marketOrderBook = new MyMarketOrderBook();
+    final MyApiImpl myApi =
+        new MyApiImpl() {
+          @Override
+          public MarketOrderBook getMarketOrders(String marketId) {
+            return Thread.currentThread() == callingThread ? marketOrderBook : null;
+          }
+        };
+
+    assertSame(marketOrderBook, myApi.getMarketOrders(List.of("market-123")).get("market-123"));
+  }
+
+  @Test
+  void testGetMarketOrdersForSeveralMarketsThrowsFirstExchangeNetworkException() {
+    final MyApiImpl myApi =
+        new MyThreadSafeApiImpl() {
+          @Override
+          public MarketOrderBook getMarketOrders(String marketId)
+              throws ExchangeNetworkException, TradingApiException {
+            if ("market-2".equals(marketId)) {
+              throw new ExchangeNetworkException("Connection reset");
+            } else if ("market-3".equals(marketId)) {
+              throw new TradingApiException("Unknown market");
+            }
+            return null;
+          }
+        };
+
+    final ExchangeNetworkException exception =
+        assertThrows(
+            ExchangeNetworkException.class,
+            () -> myApi.getMarketOrders(List.of("market-1", "market-2", "market-3")));
+    assertEquals("Connection reset", exception.getMessage());
+  }
+
+  @Test
+  void testGetTickersForSeveralMarketsThrowsTradingApiException() {
+    final MyApiImpl myApi =
+        new MyThreadSafeApiImpl() {
+          @Override
+          public Ticker getTicker(String marketId) throws TradingApiException {
+            throw new TradingApiException("Unknown market: " + marketId);
+          }
+        };
+
+    final TradingApiException exception =
+        assertThrows(
+            TradingApiException.class, () -> myApi.getTickers(List.of("market-1", "market-2")));
+    assertEquals("Unknown market: market-1", exception.getMessage());
+  }
+
+  @Test
+  void testGetTickersForSeveralMarketsThrowsRuntimeException() {
+    final MyApiImpl myApi =
+        new MyThreadSafeApiImpl() {
+          @Override
+          public Ticker getTicker(String marketId) {
+            throw new IllegalStateException("Eeek!");
+          }
+        };
+
+    assertThrows(
+        IllegalStateException.class, () -> myApi.getTickers(List.of("market-1", "market-2")));
+  }
+
+  @Test
+  void testGetTickersForSeveralMarketsThrowsError() {
+    final MyApiImpl myApi =
+        new MyThreadSafeApiImpl() {
+          @Override
+          public Ticker getTicker(String marketId) {
+            throw new OutOfMemoryError("Eeek!");
+          }
+        };
+
+    assertThrows(
+        OutOfMemoryError.class, () -> myApi.getTickers(List.of("market-1", "market-2")));
+  }
+
+  @Test
+  void testGetTickersForSeveralMarketsWhenInterrupted() {
+    final MyApiImpl myApi =
+        new MyThreadSafeApiImpl() {
+          @Override
+          public Ticker getTicker(String marketId) throws ExchangeNetworkException {
+            try {
+              Thread.sleep(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+              throw new ExchangeNetworkException("Interrupted", e);
+            }
+            return null;
+          }
+        };
+
+    Thread.currentThread().interrupt();
+    try {
+      final ExchangeNetworkException exception =
+          assertThrows(
+              ExchangeNetworkException.class,
+              () -> myApi.getTickers(List.of("market-1", "market-2")));
+      assertEquals("Interrupted whilst waiting for market calls.", exception.getMessage());
+      assertTrue(Thread.currentThread().isInterrupted());
+    } finally {
+      Thread.interrupted(); // clear the flag for the next test
+    }
+  }
+
   /** Test class. */
   static class MyApiImpl implements TradingApi {
 
@@ -77,7 +273,8 @@ class TestTradingApi {
     }
 
     @Override
-    public MarketOrderBook getMarketOrders(String marketId) {
+    public MarketOrderBook getMarketOrders(String marketId)
+        throws ExchangeNetworkException, TradingApiException {
       return null;
     }
 
@@ -117,4 +314,32 @@ class TestTradingApi {
       return null;
     }
   }
+
+  /** Thread safe test class. */
+  static class MyThreadSafeApiImpl extends MyApiImpl {
+
+    @Override
+    public boolean isThreadSafe() {
+      return true;
+    }
+  }
+
+  /** Test order book. */
+  static class MyMarketOrderBook implements MarketOrderBook {
+
+    @Override
+    public String getMarketId() {
+      return null;
+    }
+
+    @Override
+    public List<MarketOrder> getSellOrders() {
+      return List.of();
+    }
+
+    @Override
+    public List<MarketOrder> getBuyOrders() {
+      return List.of();
+    }
+  }
 }
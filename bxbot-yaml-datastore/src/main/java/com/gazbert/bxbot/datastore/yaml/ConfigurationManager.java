@@ -24,13 +24,30 @@
 package com.gazbert.bxbot.datastore.yaml;
 
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Component;
 import org.yaml.snakeyaml.DumperOptions;
@@ -47,14 +64,32 @@ import org.yaml.snakeyaml.representer.Representer;
 /**
  * The generic configuration manager loads config from a given YAML config file.
  *
+ * <p>The config loaded from each file is cached as a snapshot, so reading config does not take a
+ * lock or touch the disk. The snapshot is never handed out: each load returns a copy of it, which
+ * the caller is free to change. The directory of each cached file is watched, and the snapshot is
+ * reloaded and swapped when the file changes. If it cannot be reloaded, it is dropped, and the
+ * next load reads the file and reports the error.
+ *
+ * <p>Config is saved to a temp file, which is synced to disk and then moved over the config file,
+ * so a crash never leaves a half written file. The saved config then replaces the snapshot.
+ * Writes to a file are serialised by a lock per file: they do not block the readers, or the
+ * writers of other files.
+ *
  * @author gazbert
  */
 @Component
 @Log4j2
-public class ConfigurationManager {
+public class ConfigurationManager implements AutoCloseable {
 
   private static final String YAML_HEADER = "---" + System.lineSeparator();
 
+  private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+  private final Map<Path, Object> fileLocks = new ConcurrentHashMap<>();
+  private final Map<Class<?>, List<Property>> configProperties = new ConcurrentHashMap<>();
+  private final PropertyUtils propertyUtils = new PropertyUtils();
+  private WatchService watchService;
+  private boolean closed;
+
   /** Creates the Configuration Manager. */
   public ConfigurationManager() {
     // No extra init needed.
@@ -68,30 +103,19 @@ public class ConfigurationManager {
    * @param <T> the type of config.
    * @return the loaded config.
    */
-  public synchronized <T> T loadConfig(final Class<T> configClass, String yamlConfigFile) {
-
-    log.info("Loading configuration for [{}] from: {} ...", configClass, yamlConfigFile);
-
-    try (final FileInputStream fileInputStream = new FileInputStream(yamlConfigFile)) {
-
-      final LoaderOptions options = new LoaderOptions();
-      final Yaml yaml = new Yaml(new Constructor(configClass, options));
-      final T requestedConfig = yaml.load(fileInputStream);
-
-      log.info("Loaded and set configuration for [{}] successfully!", configClass);
-      return requestedConfig;
-
-    } catch (IOException e) {
-      final String errorMsg = "Failed to find or read [" + yamlConfigFile + "] config";
-      log.error(errorMsg, e);
-      throw new IllegalStateException(errorMsg, e);
-
-    } catch (Exception e) {
-      final String errorMsg =
-          "Failed to load [" + yamlConfigFile + "] file. Details: " + e.getMessage();
-      log.error(errorMsg, e);
-      throw new IllegalArgumentException(errorMsg, e);
+  public <T> T loadConfig(final Class<T> configClass, String yamlConfigFile) {
+    Snapshot snapshot = snapshots.get(yamlConfigFile);
+    if (snapshot == null || snapshot.configClass() != configClass) {
+      final Path file = absolutePathOf(yamlConfigFile);
+      synchronized (lockFor(file)) {
+        snapshot = snapshots.get(yamlConfigFile);
+        if (snapshot == null || snapshot.configClass() != configClass) {
+          snapshot = new Snapshot(configClass, file, readConfig(configClass, yamlConfigFile));
+          cache(yamlConfigFile, snapshot);
+        }
+      }
     }
+    return configClass.cast(copyOf(snapshot.config()));
   }
 
   /**
@@ -102,25 +126,117 @@ public class ConfigurationManager {
    * @param yamlConfigFile the YAML config filename.
    * @param <T> the type of config.
    */
-  public synchronized <T> void saveConfig(Class<T> configClass, T config, String yamlConfigFile) {
+  public <T> void saveConfig(Class<T> configClass, T config, String yamlConfigFile) {
 
     log.info("Saving configuration for [{}] to: {} ...", configClass, yamlConfigFile);
 
-    try (final FileOutputStream fileOutputStream = new FileOutputStream(yamlConfigFile);
-        final PrintWriter writer =
-            new PrintWriter(fileOutputStream, true, StandardCharsets.UTF_8)) {
-
+    final String yamlContent;
+    try {
       // Skip null fields and order the YAML fields
       final DumperOptions options = new DumperOptions();
       final Representer representer = new SkipNullFieldRepresenter(options);
       representer.setPropertyUtils(new ReversedPropertyUtils());
       final Yaml yaml = new Yaml(representer);
 
-      final StringBuilder sb = new StringBuilder(YAML_HEADER);
-      sb.append(yaml.dumpAs(config, Tag.MAP, DumperOptions.FlowStyle.BLOCK));
+      yamlContent = YAML_HEADER + yaml.dumpAs(config, Tag.MAP, DumperOptions.FlowStyle.BLOCK);
+      log.debug("YAML file content:\n{}", yamlContent);
 
-      log.debug("YAML file content:\n{}", sb);
-      writer.print(sb);
+    } catch (Exception e) {
+      final String errorMsg =
+          "Failed to save config to [" + yamlConfigFile + "] file. Details: " + e.getMessage();
+      log.error(errorMsg, e);
+      throw new IllegalArgumentException(errorMsg, e);
+    }
+
+    final Path file = absolutePathOf(yamlConfigFile);
+    synchronized (lockFor(file)) {
+      try {
+        writeAtomically(file, yamlContent);
+      } catch (IOException e) {
+        final String errorMsg = "Failed to write [" + yamlConfigFile + "] config";
+        log.error(errorMsg, e);
+        throw new IllegalStateException(errorMsg, e);
+      }
+      // Swap the snapshot now rather than wait for the file watcher to see the change.
+      cache(yamlConfigFile, new Snapshot(configClass, file, copyOf(config)));
+    }
+  }
+
+  /** Stops watching the config files. The config is read from the files from now on. */
+  @Override
+  public synchronized void close() {
+    closed = true;
+    snapshots.clear();
+    if (watchService != null) {
+      try {
+        watchService.close();
+      } catch (IOException e) {
+        log.warn("Failed to close the config file watcher", e);
+      }
+    }
+  }
+
+  /* Writes to a temp file, syncs it and moves it over the config file. */
+  private static void writeAtomically(Path file, String content) throws IOException {
+    final Path tempFile = file.resolveSibling("." + file.getFileName() + ".tmp");
+    try {
+      try (FileChannel channel =
+          FileChannel.open(
+              tempFile,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.WRITE)) {
+        final ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      try {
+        Files.move(
+            tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+
+    // Sync the directory too, so the move survives a crash. Not every OS can open a directory.
+    try (FileChannel directory = FileChannel.open(file.getParent(), StandardOpenOption.READ)) {
+      directory.force(true);
+    } catch (IOException e) {
+      log.debug("Cannot sync config directory: {}", file.getParent());
+    }
+  }
+
+  /* Swaps the snapshot for the file, if the file can be watched for changes. */
+  private synchronized void cache(String yamlConfigFile, Snapshot snapshot) {
+    if (watch(snapshot.file().getParent())) {
+      snapshots.put(yamlConfigFile, snapshot);
+    }
+  }
+
+  private Object lockFor(Path file) {
+    return fileLocks.computeIfAbsent(file, lockedFile -> new Object());
+  }
+
+  private static Path absolutePathOf(String yamlConfigFile) {
+    return Path.of(yamlConfigFile).toAbsolutePath().normalize();
+  }
+
+  private <T> T readConfig(final Class<T> configClass, String yamlConfigFile) {
+
+    log.info("Loading configuration for [{}] from: {} ...", configClass, yamlConfigFile);
+
+    try (final FileInputStream fileInputStream = new FileInputStream(yamlConfigFile)) {
+
+      final LoaderOptions options = new LoaderOptions();
+      final Yaml yaml = new Yaml(new Constructor(configClass, options));
+      final T requestedConfig = yaml.load(fileInputStream);
+
+      log.info("Loaded and set configuration for [{}] successfully!", configClass);
+      return requestedConfig;
 
     } catch (IOException e) {
       final String errorMsg = "Failed to find or read [" + yamlConfigFile + "] config";
@@ -129,12 +245,131 @@ public class ConfigurationManager {
 
     } catch (Exception e) {
       final String errorMsg =
-          "Failed to save config to [" + yamlConfigFile + "] file. Details: " + e.getMessage();
+          "Failed to load [" + yamlConfigFile + "] file. Details: " + e.getMessage();
       log.error(errorMsg, e);
       throw new IllegalArgumentException(errorMsg, e);
     }
   }
 
+  /* Watches the directory, starting the watcher thread on first use. */
+  private boolean watch(Path directory) {
+    if (closed) {
+      return false;
+    }
+    try {
+      if (watchService == null) {
+        final WatchService newWatchService = FileSystems.getDefault().newWatchService();
+        Thread.ofPlatform()
+            .name("bxbot-config-file-watcher")
+            .daemon()
+            .start(() -> watchConfigFiles(newWatchService));
+        watchService = newWatchService;
+      }
+      directory.register(
+          watchService,
+          StandardWatchEventKinds.ENTRY_CREATE,
+          StandardWatchEventKinds.ENTRY_MODIFY,
+          StandardWatchEventKinds.ENTRY_DELETE);
+      return true;
+    } catch (IOException e) {
+      log.warn("Cannot watch config directory " + directory + " - config will not be cached", e);
+      return false;
+    }
+  }
+
+  private void watchConfigFiles(WatchService configWatchService) {
+    try {
+      while (true) {
+        final WatchKey watchKey = configWatchService.take();
+        final Path directory = (Path) watchKey.watchable();
+        final Set<Path> changedFiles = new LinkedHashSet<>();
+        boolean overflow = false;
+        for (final WatchEvent<?> event : watchKey.pollEvents()) {
+          if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            overflow = true;
+          } else {
+            changedFiles.add(directory.resolve((Path) event.context()));
+          }
+        }
+        watchKey.reset();
+        for (final Map.Entry<String, Snapshot> entry : snapshots.entrySet()) {
+          final Path file = entry.getValue().file();
+          if (overflow ? directory.equals(file.getParent()) : changedFiles.contains(file)) {
+            reload(entry.getKey(), entry.getValue());
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ClosedWatchServiceException e) {
+      log.info("Stopped watching the config files");
+    }
+  }
+
+  private void reload(String yamlConfigFile, Snapshot snapshot) {
+    synchronized (lockFor(snapshot.file())) {
+      try {
+        cache(
+            yamlConfigFile,
+            new Snapshot(
+                snapshot.configClass(),
+                snapshot.file(),
+                readConfig(snapshot.configClass(), yamlConfigFile)));
+        log.info("Reloaded changed config file: {}", yamlConfigFile);
+      } catch (RuntimeException e) {
+        snapshots.remove(yamlConfigFile);
+        log.warn("Failed to reload changed config file: {}", yamlConfigFile);
+      }
+    }
+  }
+
+  /* Deep copies the config, using the same bean properties as the YAML loader. */
+  private Object copyOf(Object value) {
+    if (value instanceof List<?> list) {
+      final List<Object> copy = new ArrayList<>(list.size());
+      for (final Object item : list) {
+        copy.add(copyOf(item));
+      }
+      return copy;
+    }
+    if (value instanceof Set<?> set) {
+      final Set<Object> copy = new LinkedHashSet<>();
+      for (final Object item : set) {
+        copy.add(copyOf(item));
+      }
+      return copy;
+    }
+    if (value instanceof Map<?, ?> map) {
+      final Map<Object, Object> copy = new LinkedHashMap<>();
+      for (final Map.Entry<?, ?> entry : map.entrySet()) {
+        copy.put(entry.getKey(), copyOf(entry.getValue()));
+      }
+      return copy;
+    }
+    if (value == null || value instanceof Enum || value.getClass().getName().startsWith("java.")) {
+      return value; // strings, numbers, booleans, etc.
+    }
+    try {
+      final Object copy = value.getClass().getDeclaredConstructor().newInstance();
+      for (final Property property : propertiesOf(value.getClass())) {
+        property.set(copy, copyOf(property.get(value)));
+      }
+      return copy;
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to copy config: " + value.getClass(), e);
+    }
+  }
+
+  private List<Property> propertiesOf(Class<?> configClass) {
+    return configProperties.computeIfAbsent(
+        configClass,
+        type -> {
+          synchronized (propertyUtils) {
+            return List.copyOf(propertyUtils.getProperties(type));
+          }
+        });
+  }
+
   /** Stops null fields from getting written out to YAML. */
   private static class SkipNullFieldRepresenter extends Representer {
 
@@ -162,4 +397,7 @@ public class ConfigurationManager {
       return result;
     }
   }
+
+  /** The config loaded from a file. */
+  private record Snapshot(Class<?> configClass, Path file, Object config) {}
 }
@@ -24,12 +24,16 @@
 package com.gazbert.bxbot.datastore.yaml.exchange;
 
 import com.gazbert.bxbot.domain.exchange.ExchangeConfig;
+import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  * Wraps Exchange config for dumping to and loading from YAML.
  *
+ * <p>The main exchange is mandatory. The optional additional exchanges let 1 bot trade on several
+ * exchanges: each Market is bound to one of them by name.
+ *
  * @author gazbert
  */
 @Setter
@@ -38,6 +42,9 @@ public class ExchangeType {
 
   private ExchangeConfig exchange;
 
+  /** Null if there are no additional exchanges, so it is not written out. */
+  private List<ExchangeConfig> additionalExchanges;
+
   /** Creates the Exchange type. */
   public ExchangeType() {
     // No extra init needed.
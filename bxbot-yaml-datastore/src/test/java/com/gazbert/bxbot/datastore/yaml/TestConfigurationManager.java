@@ -0,0 +1,213 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 gazbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.gazbert.bxbot.datastore.yaml;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.gazbert.bxbot.datastore.yaml.market.MarketsType;
+import com.gazbert.bxbot.domain.market.MarketConfig;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the Configuration Manager caches, reloads and saves the config as expected.
+ *
+ * @author gazbert
+ */
+class TestConfigurationManager {
+
+  private static final Path VALID_YAML_CONFIG_FILE =
+      Path.of("src/test/config/markets/valid-markets.yaml");
+  private static final Path INVALID_YAML_CONFIG_FILE =
+      Path.of("src/test/config/markets/invalid-markets.yaml");
+  private static final Duration RELOAD_TIMEOUT = Duration.ofSeconds(30);
+  private static final int SAVING_THREAD_COUNT = 4;
+  private static final int SAVES_PER_THREAD = 20;
+
+  @TempDir private Path tempDir;
+
+  private Path configFile;
+  private ConfigurationManager configurationManager;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    configFile = tempDir.resolve("markets.yaml");
+    Files.copy(VALID_YAML_CONFIG_FILE, configFile);
+    configurationManager = new ConfigurationManager();
+  }
+
+  @AfterEach
+  void tearDown() {
+    configurationManager.close();
+  }
+
+  @Test
+  void testEachLoadReturnsItsOwnCopyOfTheConfig() {
+    final MarketsType marketsType = loadMarkets();
+    marketsType.getMarkets().getFirst().setName("Changed");
+    marketsType.getMarkets().getFirst().setAdditionalTradingStrategyIds(List.of("other"));
+    marketsType.getMarkets().removeLast();
+
+    final MarketsType reloadedMarketsType = loadMarkets();
+    assertEquals(2, reloadedMarketsType.getMarkets().size());
+    final MarketConfig market = reloadedMarketsType.getMarkets().getFirst();
+    assertEquals("btc_usd", market.getId());
+    assertEquals("BTC/USD", market.getName());
+    assertEquals("scalping-strategy", market.getTradingStrategyId());
+    assertNull(market.getAdditionalTradingStrategyIds());
+  }
+
+  @Test
+  void testConfigIsReloadedWhenFileChanges() throws Exception {
+    assertEquals(2, loadMarkets().getMarkets().size());
+
+    final MarketsType marketsType = loadMarkets();
+    marketsType.getMarkets().removeLast();
+    final ConfigurationManager otherConfigurationManager = new ConfigurationManager();
+    otherConfigurationManager.saveConfig(MarketsType.class, marketsType, configFile.toString());
+    otherConfigurationManager.close();
+
+    await().atMost(RELOAD_TIMEOUT).until(() -> loadMarkets().getMarkets().size() == 1);
+  }
+
+  @Test
+  void testSavedConfigIsLoadedStraightAway() {
+    final MarketsType marketsType = loadMarkets();
+    marketsType.getMarkets().getFirst().setName("Saved");
+    configurationManager.saveConfig(MarketsType.class, marketsType, configFile.toString());
+
+    assertEquals("Saved", loadMarkets().getMarkets().getFirst().getName());
+  }
+
+  @Test
+  void testConfigIsSavedWithoutLeavingTempFiles() throws Exception {
+    // A temp file left behind by a crash mid-save is overwritten
+    final Path staleTempFile = tempDir.resolve(".markets.yaml.tmp");
+    Files.writeString(staleTempFile, "markets: [");
+
+    final MarketsType marketsType = loadMarkets();
+    marketsType.getMarkets().removeLast();
+    configurationManager.saveConfig(MarketsType.class, marketsType, configFile.toString());
+
+    try (Stream<Path> files = Files.list(tempDir)) {
+      assertEquals(List.of(configFile), files.toList());
+    }
+    final ConfigurationManager otherConfigurationManager = new ConfigurationManager();
+    assertEquals(
+        1,
+        otherConfigurationManager
+            .loadConfig(MarketsType.class, configFile.toString())
+            .getMarkets()
+            .size());
+    otherConfigurationManager.close();
+  }
+
+  @Test
+  void testConcurrentSavesToDifferentFilesAreAllWritten() throws Exception {
+    final List<Path> configFiles = new ArrayList<>();
+    for (int i = 0; i < SAVING_THREAD_COUNT; i++) {
+      configFiles.add(
+          Files.copy(VALID_YAML_CONFIG_FILE, tempDir.resolve("markets-" + i + ".yaml")));
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(SAVING_THREAD_COUNT);
+    try {
+      final List<Future<?>> saves = new ArrayList<>();
+      for (final Path file : configFiles) {
+        saves.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < SAVES_PER_THREAD; i++) {
+                    final MarketsType marketsType =
+                        configurationManager.loadConfig(MarketsType.class, file.toString());
+                    marketsType.getMarkets().getFirst().setName(file.getFileName() + "-" + i);
+                    configurationManager.saveConfig(
+                        MarketsType.class, marketsType, file.toString());
+                  }
+                }));
+      }
+      for (final Future<?> save : saves) {
+        save.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    for (final Path file : configFiles) {
+      final String expectedName = file.getFileName() + "-" + (SAVES_PER_THREAD - 1);
+      assertEquals(
+          expectedName,
+          configurationManager
+              .loadConfig(MarketsType.class, file.toString())
+              .getMarkets()
+              .getFirst()
+              .getName());
+      assertTrue(Files.readString(file).contains(expectedName));
+    }
+  }
+
+  @Test
+  void testInvalidChangedFileIsReportedOnNextLoad() throws Exception {
+    loadMarkets();
+    Files.copy(INVALID_YAML_CONFIG_FILE, configFile, StandardCopyOption.REPLACE_EXISTING);
+
+    await()
+        .atMost(RELOAD_TIMEOUT)
+        .ignoreExceptions()
+        .until(
+            () -> {
+              assertThrows(IllegalArgumentException.class, this::loadMarkets);
+              return true;
+            });
+  }
+
+  @Test
+  void testConfigIsReadFromFileOnceClosed() throws Exception {
+    loadMarkets();
+    configurationManager.close();
+    Files.copy(INVALID_YAML_CONFIG_FILE, configFile, StandardCopyOption.REPLACE_EXISTING);
+
+    assertThrows(IllegalArgumentException.class, this::loadMarkets);
+  }
+
+  private MarketsType loadMarkets() {
+    return configurationManager.loadConfig(MarketsType.class, configFile.toString());
+  }
+}
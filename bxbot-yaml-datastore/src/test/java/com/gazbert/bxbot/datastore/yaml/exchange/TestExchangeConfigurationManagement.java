@@ -48,6 +48,9 @@ class TestExchangeConfigurationManagement {
   private static final String VALID_YAML_CONFIG_FILENAME =
       "src/test/config/exchange/valid-exchange.yaml";
 
+  private static final String VALID_MULTI_EXCHANGE_YAML_CONFIG_FILENAME =
+      "src/test/config/exchange/valid-multi-exchange.yaml";
+
   private static final String INVALID_YAML_CONFIG_FILENAME =
       "src/test/config/exchange/invalid-exchange.yaml";
 
@@ -128,6 +131,29 @@ class TestExchangeConfigurationManagement {
 
     assertThat(exchangeType.getExchange().getOtherConfig())
         .containsEntry(SELL_FEE_CONFIG_ITEM_KEY, SELL_FEE_CONFIG_ITEM_VALUE);
+
+    assertThat(exchangeType.getAdditionalExchanges()).isNull();
+  }
+
+  @Test
+  void testLoadingValidMultiExchangeYamlConfigFileIsSuccessful() {
+    final ConfigurationManager configurationManager = new ConfigurationManager();
+    final ExchangeType exchangeType =
+        configurationManager.loadConfig(
+            ExchangeType.class, VALID_MULTI_EXCHANGE_YAML_CONFIG_FILENAME);
+
+    assertThat(exchangeType.getExchange().getName()).isEqualTo(EXCHANGE_NAME);
+    assertThat(exchangeType.getAdditionalExchanges()).hasSize(1);
+
+    final ExchangeConfig additionalExchange = exchangeType.getAdditionalExchanges().getFirst();
+    assertThat(additionalExchange.getName()).isEqualTo("Kraken");
+    assertThat(additionalExchange.getAdapter())
+        .isEqualTo("com.gazbert.bxbot.exchanges.KrakenExchangeAdapter");
+    assertThat(additionalExchange.getAuthenticationConfig())
+        .containsEntry(API_KEY_CONFIG_ITEM_KEY, "your-kraken-api-key");
+    assertThat(additionalExchange.getNetworkConfig().getConnectionTimeout()).isEqualTo(20);
+    assertThat(additionalExchange.getOtherConfig())
+        .containsEntry("keep-alive-during-maintenance", "false");
   }
 
   @Test